@@ -35,8 +35,9 @@ public enum DistributableEjbSubsystemSchema implements SubsystemResourceXMLSchem
     VERSION_2_0(2, 0), // WildFly 36-39
     VERSION_2_0_COMMUNITY(2, 0, Stability.COMMUNITY), // WildFly 39-41
     VERSION_3_0(3, 0), // WildFly 42-present, EAP 8.2-present
+    VERSION_3_0_COMMUNITY(3, 0, Stability.COMMUNITY), // WildFly 43-present
     ;
-    static final Set<DistributableEjbSubsystemSchema> CURRENT = Set.of(VERSION_3_0);
+    static final Set<DistributableEjbSubsystemSchema> CURRENT = Set.of(VERSION_3_0, VERSION_3_0_COMMUNITY);
 
     private final VersionedNamespace<IntVersion, DistributableEjbSubsystemSchema> namespace;
     private final ResourceXMLParticleFactory factory = ResourceXMLParticleFactory.newInstance(this);
@@ -130,6 +131,9 @@ public enum DistributableEjbSubsystemSchema implements SubsystemResourceXMLSchem
         if (this.since(VERSION_3_0) || this.since(VERSION_2_0_COMMUNITY)) {
             builder.addAttribute(InfinispanTimerManagementResourceDefinitionRegistrar.IDLE_THRESHOLD);
         }
+        if (this.since(VERSION_3_0_COMMUNITY)) {
+            builder.addAttribute(InfinispanTimerManagementResourceDefinitionRegistrar.MAX_CONCURRENT_TIMEOUTS);
+        }
         return builder.build();
     }
 }
@@ -23,6 +23,7 @@ import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.modules.Module;
@@ -70,12 +71,21 @@ public class InfinispanTimerManagementResourceDefinitionRegistrar implements Chi
             .setRequired(false)
             .build();
 
+    static final AttributeDefinition MAX_CONCURRENT_TIMEOUTS = new SimpleAttributeDefinitionBuilder("max-concurrent-timeouts", ModelType.INT)
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1))
+            .setFlags(Flag.RESTART_RESOURCE_SERVICES)
+            .setValidator(new IntRangeValidator(1))
+            .setStability(Stability.COMMUNITY)
+            .build();
+
     @Override
     public ManagementResourceRegistration register(ManagementResourceRegistration parent, ManagementResourceRegistrationContext context) {
         ResourceDescriptionResolver resolver = DistributableEjbSubsystemResourceDefinitionRegistrar.RESOLVER.createChildResolver(REGISTRATION.getPathElement());
         ResourceDescriptor descriptor = ResourceDescriptor.builder(resolver)
                 .addAttributes(CACHE_ATTRIBUTE_GROUP.getAttributes())
-                .addAttributes(List.of(MARSHALLER, MAX_ACTIVE_TIMERS, IDLE_THRESHOLD))
+                .addAttributes(List.of(MARSHALLER, MAX_ACTIVE_TIMERS, IDLE_THRESHOLD, MAX_CONCURRENT_TIMEOUTS))
                 .addCapability(CAPABILITY)
                 .withRuntimeHandler(ResourceOperationRuntimeHandler.configureService(this))
                 .build();
@@ -88,6 +98,7 @@ public class InfinispanTimerManagementResourceDefinitionRegistrar implements Chi
     public ResourceServiceInstaller configure(OperationContext context, ModelNode model) throws OperationFailedException {
         OptionalInt maxActiveTimers = Optional.ofNullable(MAX_ACTIVE_TIMERS.resolveModelAttribute(context, model).asIntOrNull()).map(OptionalInt::of).orElse(OptionalInt.empty());
         Optional<Duration> idleThreshold = Optional.ofNullable(IDLE_THRESHOLD.resolve(context, model));
+        int maxConcurrentTimeouts = MAX_CONCURRENT_TIMEOUTS.resolveModelAttribute(context, model).asInt();
         Function<Module, ByteBufferMarshaller> marshallerFactory = MARSHALLER.resolve(context, model);
         TimerManagementConfiguration config = new TimerManagementConfiguration() {
             @Override
@@ -104,6 +115,11 @@ public class InfinispanTimerManagementResourceDefinitionRegistrar implements Chi
             public Optional<Duration> getIdleThreshold() {
                 return idleThreshold;
             }
+
+            @Override
+            public int getMaxConcurrentTimeouts() {
+                return maxConcurrentTimeouts;
+            }
         };
         return CapabilityServiceInstaller.BlockingBuilder.of(CAPABILITY, Supplier.of(new InfinispanTimerManagementProvider(config, CACHE_ATTRIBUTE_GROUP.resolve(context, model)))).build();
     }
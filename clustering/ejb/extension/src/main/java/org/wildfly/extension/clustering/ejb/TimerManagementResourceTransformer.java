@@ -31,6 +31,8 @@ public class TimerManagementResourceTransformer implements Consumer<ModelVersion
             builder.getAttributeBuilder()
                     .setDiscard(DiscardAttributeChecker.UNDEFINED, InfinispanTimerManagementResourceDefinitionRegistrar.IDLE_THRESHOLD)
                     .addRejectCheck(RejectAttributeChecker.DEFINED, InfinispanTimerManagementResourceDefinitionRegistrar.IDLE_THRESHOLD)
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, InfinispanTimerManagementResourceDefinitionRegistrar.MAX_CONCURRENT_TIMEOUTS)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, InfinispanTimerManagementResourceDefinitionRegistrar.MAX_CONCURRENT_TIMEOUTS)
                     .end();
         }
     }
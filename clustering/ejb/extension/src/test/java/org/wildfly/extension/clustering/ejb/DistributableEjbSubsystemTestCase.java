@@ -137,6 +137,9 @@ public class DistributableEjbSubsystemTestCase extends AbstractSubsystemSchemaTe
 
         ModelNode persistentTimerManagement = subsystem.get(InfinispanTimerManagementResourceDefinitionRegistrar.REGISTRATION.getPathElement().getKey(), "distributed");
         assertEquals(100, persistentTimerManagement.get(InfinispanTimerManagementResourceDefinitionRegistrar.MAX_ACTIVE_TIMERS.getName()).resolve().asInt());
+        if (this.schema.since(DistributableEjbSubsystemSchema.VERSION_3_0_COMMUNITY)) {
+            assertEquals(4, persistentTimerManagement.get(InfinispanTimerManagementResourceDefinitionRegistrar.MAX_CONCURRENT_TIMEOUTS.getName()).resolve().asInt());
+        }
 
         ModelNode transientTimerManagement = subsystem.get(InfinispanTimerManagementResourceDefinitionRegistrar.REGISTRATION.getPathElement().getKey(), "transient");
         assertEquals(1000, transientTimerManagement.get(InfinispanTimerManagementResourceDefinitionRegistrar.MAX_ACTIVE_TIMERS.getName()).resolve().asInt());
@@ -99,6 +99,11 @@ public class InfinispanTimerManagementProvider implements TimerManagementProvide
             public CacheContainerCommandDispatcherFactory getCommandDispatcherFactory() {
                 return commandDispatcherFactory.get();
             }
+
+            @Override
+            public int getMaxConcurrentTimeouts() {
+                return InfinispanTimerManagementProvider.this.configuration.getMaxConcurrentTimeouts();
+            }
         };
         ServiceInstaller factoryInstaller = ServiceInstaller.BlockingBuilder.of(Supplier.of(new InfinispanTimerManagerFactory<>(factoryConfiguration)))
                 .provides(name)
@@ -116,6 +116,11 @@ public class InfinispanTimerManager<I, C> implements TimerManager<I> {
             public TimerRegistry<I> getTimerRegistry() {
                 return registry;
             }
+
+            @Override
+            public int getMaxConcurrentTimeouts() {
+                return config.getMaxConcurrentTimeouts();
+            }
         });
         @SuppressWarnings("resource")
         SchedulerService<I, Instant> localScheduler = new LocalSchedulerService<>(new LocalSchedulerService.Configuration<I>() {
@@ -22,4 +22,5 @@ public interface InfinispanTimerManagerConfiguration<I, C> extends EmbeddedCache
     TimerRegistry<I> getRegistry();
     Marshaller<Object, C> getMarshaller();
     CacheContainerCommandDispatcherFactory getCommandDispatcherFactory();
+    int getMaxConcurrentTimeouts();
 }
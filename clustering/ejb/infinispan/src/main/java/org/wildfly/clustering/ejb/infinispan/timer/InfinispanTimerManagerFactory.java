@@ -98,6 +98,11 @@ public class InfinispanTimerManagerFactory<I> implements TimerManagerFactory<I>
             public CacheContainerCommandDispatcherFactory getCommandDispatcherFactory() {
                 return factoryConfiguration.getCommandDispatcherFactory();
             }
+
+            @Override
+            public int getMaxConcurrentTimeouts() {
+                return factoryConfiguration.getMaxConcurrentTimeouts();
+            }
         });
     }
 }
@@ -17,4 +17,5 @@ public interface InfinispanTimerManagerFactoryConfiguration<I> extends TimerMana
 
     ByteBufferMarshaller getMarshaller();
     CacheContainerCommandDispatcherFactory getCommandDispatcherFactory();
+    int getMaxConcurrentTimeouts();
 }
@@ -7,13 +7,23 @@ package org.wildfly.clustering.ejb.infinispan.timer;
 
 import java.security.PrivilegedAction;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.wildfly.clustering.cache.batch.Batch;
 import org.wildfly.clustering.cache.infinispan.embedded.distribution.Locality;
@@ -34,7 +44,13 @@ import org.wildfly.clustering.server.scheduler.Scheduler;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
- * The timer invocation task
+ * The timer invocation task.
+ * When invoked for an expired timer, other locally owned timers that are also due are dispatched along with it, up to the maximum number of concurrent timeouts.
+ * The meta data of these co-expiring timers is prefetched via a single round of asynchronous cache reads,
+ * and the timeouts of those timers that are due are submitted to an executor whose size limits the number of concurrent timeouts for the associated timed object.
+ * Each timeout re-reads the meta data of its timer within its batch, since the timer may have been canceled or rescheduled since it was prefetched.
+ * The result of each dispatched timeout is then returned when the scheduler subsequently invokes this task for the corresponding timer.
+ * A dispatched timeout that reschedules its timer discards its result, since it no longer corresponds to a scheduled entry.
  * @author Paul Ferraro
  */
 public class TimerTask<I, V> implements Predicate<I>, AutoCloseable {
@@ -45,15 +61,34 @@ public class TimerTask<I, V> implements Predicate<I>, AutoCloseable {
         TimerManager<I> getTimerManager();
         Locality getLocality();
         Scheduler<I, TimeoutMetaData> getScheduler();
+        /**
+         * Returns the scheduled entries, which must be sorted by scheduled time.
+         * @return the scheduled entries
+         */
         ScheduledEntries<I, Instant> getScheduledEntries();
         TimerRegistry<I> getTimerRegistry();
+        /**
+         * Returns the maximum number of timeouts that may be processed concurrently.
+         * @return a positive number of timeouts
+         */
+        default int getMaxConcurrentTimeouts() {
+            return 1;
+        }
     }
 
-    private final ExecutorService executor = Executors.newSingleThreadExecutor(THREAD_FACTORY);
+    private final ExecutorService executor;
     private final Configuration<I, V> configuration;
+    private final int maxConcurrentTimeouts;
+    // Timeouts dispatched along with a previously expired timer
+    // Populated by the scheduler thread, but entries are also removed by dispatched timeouts that reschedule their timer
+    private final Map<I, Future<Boolean>> dispatched = new ConcurrentHashMap<>();
+    // Incremented whenever the timeouts of a previous dispatch are discarded
+    private final AtomicLong generation = new AtomicLong();
 
     TimerTask(Configuration<I, V> configuration) {
         this.configuration = configuration;
+        this.maxConcurrentTimeouts = configuration.getMaxConcurrentTimeouts();
+        this.executor = (this.maxConcurrentTimeouts > 1) ? Executors.newFixedThreadPool(this.maxConcurrentTimeouts, THREAD_FACTORY) : Executors.newSingleThreadExecutor(THREAD_FACTORY);
     }
 
     @Override
@@ -69,6 +104,106 @@ public class TimerTask<I, V> implements Predicate<I>, AutoCloseable {
 
     @Override
     public boolean test(I id) {
+        Future<Boolean> future = this.dispatched.remove(id);
+        if (future == null) {
+            // Any remaining timeouts of a previous dispatch were either canceled or rescheduled
+            this.discardDispatched();
+            Locality locality = this.configuration.getLocality();
+            // Ensure timer is owned by local member
+            if (!locality.isLocal(new InfinispanTimerMetaDataKey<>(id))) {
+                InfinispanEjbLogger.ROOT_LOGGER.debugf("Skipping timeout processing of non-local timer %s", id);
+                return true;
+            }
+            future = this.dispatch(id, locality);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Timer was canceled by the scheduler (should not happen)
+            return false;
+        } catch (ExecutionException e) {
+            InfinispanEjbLogger.ROOT_LOGGER.info(e.getLocalizedMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Dispatches the timeout of the specified timer, along with the timeouts of other locally owned timers that are also due, up to the maximum number of concurrent timeouts.
+     * @param id the identifier of an expired timer
+     * @param locality the locality of the current consistent hash
+     * @return the result of the timeout of the specified timer
+     */
+    private Future<Boolean> dispatch(I id, Locality locality) {
+        Future<Boolean> result;
+        try {
+            result = this.submit(id, false);
+        } catch (RejectedExecutionException e) {
+            // Scheduler was shutdown
+            return CompletableFuture.completedFuture(false);
+        }
+        // The specified timer occupies one of the available slots
+        int limit = this.maxConcurrentTimeouts - 1;
+        if (limit <= 0) {
+            return result;
+        }
+        Instant now = Instant.now();
+        List<I> candidates = new ArrayList<>(limit);
+        for (Map.Entry<I, Instant> entry : this.configuration.getScheduledEntries()) {
+            if (candidates.size() >= limit) break;
+            // Entries are sorted by scheduled time
+            if (entry.getValue().isAfter(now)) break;
+            I candidate = entry.getKey();
+            if (!candidate.equals(id) && locality.isLocal(new InfinispanTimerMetaDataKey<>(candidate))) {
+                candidates.add(candidate);
+            }
+        }
+        if (!candidates.isEmpty()) {
+            TimerMetaDataFactory<I, V> metaDataFactory = this.configuration.getTimerFactory().getMetaDataFactory();
+            // Prefetch meta data of co-expiring timers in a single round of asynchronous reads
+            Map<I, CompletableFuture<V>> values = new HashMap<>();
+            for (I candidate : candidates) {
+                values.put(candidate, metaDataFactory.tryValueAsync(candidate).toCompletableFuture());
+            }
+            for (I candidate : candidates) {
+                try {
+                    V value = values.get(candidate).join();
+                    // Timers that no longer exist or are not yet due are left to be processed individually
+                    if ((value != null) && !metaDataFactory.createImmutableTimerMetaData(value).getNextTimeout().orElse(Instant.MAX).isAfter(now)) {
+                        this.submit(candidate, true);
+                    }
+                } catch (CompletionException | RejectedExecutionException e) {
+                    InfinispanEjbLogger.ROOT_LOGGER.debugf(e, "Failed to dispatch timeout for timer %s", candidate);
+                }
+            }
+            InfinispanEjbLogger.ROOT_LOGGER.debugf("Dispatched %d co-expiring timers along with timer %s", this.dispatched.size(), id);
+        }
+        return result;
+    }
+
+    /**
+     * Discards the timeouts of a previous dispatch, whose timers will be processed individually by the scheduler.
+     * A discarded timeout that is already running does not invoke its timer, unless it acquired the lock on the meta data of its timer beforehand.
+     * In the latter case, the subsequent timeout of the same timer waits for this lock, and then finds its timer not yet due.
+     */
+    private void discardDispatched() {
+        if (!this.dispatched.isEmpty()) {
+            this.generation.incrementAndGet();
+            for (Future<Boolean> future : this.dispatched.values()) {
+                // Cancellation does not interrupt a running timeout, which instead checks the generation of its dispatch
+                future.cancel(false);
+            }
+            this.dispatched.clear();
+        }
+    }
+
+    /**
+     * Submits the timeout of the specified timer.
+     * @param id a timer identifier
+     * @param coExpiring indicates whether the timeout is dispatched along with the timeout of another timer
+     * @return the result of the timeout
+     */
+    private Future<Boolean> submit(I id, boolean coExpiring) {
         TimerFactory<I, V> timerFactory = this.configuration.getTimerFactory();
         TimerMetaDataFactory<I, V> metaDataFactory = timerFactory.getMetaDataFactory();
         Scheduler<I, TimeoutMetaData> scheduler = this.configuration.getScheduler();
@@ -76,24 +211,29 @@ public class TimerTask<I, V> implements Predicate<I>, AutoCloseable {
         TimerRegistry<I> registry = this.configuration.getTimerRegistry();
         ScheduledEntries<I, Instant> entries = this.configuration.getScheduledEntries();
         Supplier<Locality> localityProvider = this.configuration::getLocality;
+        Map<I, Future<Boolean>> dispatched = this.dispatched;
+        AtomicLong currentGeneration = this.generation;
+        long generation = currentGeneration.get();
         TimerMetaDataKey<I> key = new InfinispanTimerMetaDataKey<>(id);
-        // Ensure timer is owned by local member
-        if (!localityProvider.get().isLocal(key)) {
-            InfinispanEjbLogger.ROOT_LOGGER.debugf("Skipping timeout processing of non-local timer %s", id);
-            return true;
-        }
         Callable<Boolean> task = new Callable<>() {
             @Override
             public Boolean call() {
                 InfinispanEjbLogger.ROOT_LOGGER.debugf("Initiating timeout for timer %s", id);
                 try (Batch batch = manager.getBatchFactory().get()) {
                     try {
+                        // Always read for update, since a value prefetched during dispatch may be stale
                         V value = metaDataFactory.findValue(id);
                         if (value == null) {
                             InfinispanEjbLogger.ROOT_LOGGER.debugf("Timer not found %s", id);
                             return true;
                         }
 
+                        // Safeguard : ensure a co-expiring timeout was not discarded since its dispatch
+                        if (coExpiring && (currentGeneration.get() != generation)) {
+                            InfinispanEjbLogger.ROOT_LOGGER.debugf("Discarding dispatched timeout for timer %s", id);
+                            return false;
+                        }
+
                         TimerMetaData metaData = metaDataFactory.createTimerMetaData(id, value);
                         Optional<Instant> currentTimeoutReference = metaData.getNextTimeout();
 
@@ -161,6 +301,8 @@ public class TimerTask<I, V> implements Predicate<I>, AutoCloseable {
 
                         // Reschedule using next timeout
                         InfinispanEjbLogger.ROOT_LOGGER.debugf("Rescheduling timer %s for next timeout %s", id, nextTimeout.get());
+                        // The result of a dispatched timeout must not be returned for the next timeout of this timer
+                        dispatched.remove(id);
                         entries.add(id, nextTimeout.get());
                         return false;
                     } catch (RuntimeException | Error e) {
@@ -170,19 +312,18 @@ public class TimerTask<I, V> implements Predicate<I>, AutoCloseable {
                 }
             }
         };
+        FutureTask<Boolean> future = new FutureTask<>(task);
+        if (coExpiring) {
+            // Register prior to execution, so that a rescheduling timeout cannot precede its registration
+            this.dispatched.put(id, future);
+        }
         try {
             // Use isolated thread context
-            return this.executor.submit(task).get();
+            this.executor.execute(future);
         } catch (RejectedExecutionException e) {
-            // Scheduler was shutdown
-            return false;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            // Timer was canceled by the scheduler (should not happen)
-            return false;
-        } catch (ExecutionException e) {
-            InfinispanEjbLogger.ROOT_LOGGER.info(e.getLocalizedMessage(), e);
-            return false;
+            this.dispatched.remove(id, future);
+            throw e;
         }
+        return future;
     }
 }
@@ -20,4 +20,12 @@ public interface TimerManagementConfiguration extends EvictionConfiguration {
 
     Function<Module, ByteBufferMarshaller> getMarshallerFactory();
 
+    /**
+     * Returns the maximum number of timeouts of a given timed object that may be processed concurrently.
+     * @return a positive number of timeouts
+     */
+    default int getMaxConcurrentTimeouts() {
+        return 1;
+    }
+
 }
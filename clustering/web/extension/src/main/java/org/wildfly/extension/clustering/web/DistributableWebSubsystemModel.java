@@ -23,9 +23,10 @@ public enum DistributableWebSubsystemModel implements SubsystemModel {
     VERSION_3_0_0(3, 0, 0), // WildFly 27-29
     VERSION_4_0_0(4, 0, 0), // WildFly 30-38, EAP 8.0-8.1
     VERSION_5_0_0(5, 0, 0), // WildFly 39-41
-    VERSION_6_0_0(6, 0, 0), // WildFly 42-present, EAP 8.2-present
+    VERSION_6_0_0(6, 0, 0), // WildFly 42, EAP 8.2-present
+    VERSION_7_0_0(7, 0, 0), // WildFly 43-present
     ;
-    public static final DistributableWebSubsystemModel CURRENT = VERSION_6_0_0;
+    public static final DistributableWebSubsystemModel CURRENT = VERSION_7_0_0;
 
     private final ModelVersion version;
 
@@ -42,8 +42,9 @@ public enum DistributableWebSubsystemSchema implements SubsystemResourceXMLSchem
     VERSION_5_0(5, 0), // WildFly 36-39
     VERSION_5_0_COMMUNITY(5, 0, Stability.COMMUNITY), // WildFly 39-41
     VERSION_6_0(6, 0), // WildFly 42-present, EAP 8.2-present
+    VERSION_6_0_COMMUNITY(6, 0, Stability.COMMUNITY), // WildFly 43-present
     ;
-    static final Set<DistributableWebSubsystemSchema> CURRENT = Set.of(VERSION_6_0);
+    static final Set<DistributableWebSubsystemSchema> CURRENT = Set.of(VERSION_6_0, VERSION_6_0_COMMUNITY);
 
     private final ResourceXMLParticleFactory factory = ResourceXMLParticleFactory.newInstance(this);
     private final VersionedNamespace<IntVersion, DistributableWebSubsystemSchema> namespace;
@@ -111,9 +112,14 @@ public enum DistributableWebSubsystemSchema implements SubsystemResourceXMLSchem
                     .addAttributes(ResourceDescriptor.stream(EnumSet.allOf(RankedAffinityResourceDefinitionRegistrar.Attribute.class)).toList())
                     .build());
         }
-        return this.sessionManagementElementBuilder(SessionManagementResourceRegistration.INFINISPAN, InfinispanSessionManagementResourceDefinitionRegistrar.CACHE_ATTRIBUTE_GROUP)
-                .withContent(contentBuilder.build())
-                .build();
+        NamedResourceRegistrationXMLElement.Builder builder = this.sessionManagementElementBuilder(SessionManagementResourceRegistration.INFINISPAN, InfinispanSessionManagementResourceDefinitionRegistrar.CACHE_ATTRIBUTE_GROUP);
+        if (this.since(VERSION_6_0_COMMUNITY)) {
+            builder.addAttribute(InfinispanSessionManagementResourceDefinitionRegistrar.NEAR_CACHE_LIFESPAN);
+            builder.addAttribute(InfinispanSessionManagementResourceDefinitionRegistrar.LAST_ACCESS_FLUSH_INTERVAL);
+            builder.addAttribute(InfinispanSessionManagementResourceDefinitionRegistrar.EXPIRATION_BATCH_SIZE);
+            builder.addAttribute(InfinispanSessionManagementResourceDefinitionRegistrar.EXPIRATION_BATCH_INTERVAL);
+        }
+        return builder.withContent(contentBuilder.build()).build();
     }
 
     ResourceRegistrationXMLElement hotrodSessionManagementElement() {
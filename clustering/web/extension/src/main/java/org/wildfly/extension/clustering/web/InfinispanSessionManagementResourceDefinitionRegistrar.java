@@ -4,9 +4,16 @@
  */
 package org.wildfly.extension.clustering.web;
 
+import java.time.Duration;
 import java.util.List;
 
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.infinispan.service.InfinispanCacheConfigurationAttributeGroup;
 import org.wildfly.clustering.server.service.CacheConfigurationAttributeGroup;
 import org.wildfly.extension.clustering.web.session.infinispan.InfinispanSessionManagementProvider;
@@ -26,6 +33,30 @@ public class InfinispanSessionManagementResourceDefinitionRegistrar extends Sess
             .setRequired(false)
             .build();
 
+    static final DurationAttributeDefinition NEAR_CACHE_LIFESPAN = DurationAttributeDefinition.builder("near-cache-lifespan")
+            .setRequired(false)
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    static final DurationAttributeDefinition LAST_ACCESS_FLUSH_INTERVAL = DurationAttributeDefinition.builder("last-access-flush-interval")
+            .setRequired(false)
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    static final AttributeDefinition EXPIRATION_BATCH_SIZE = new SimpleAttributeDefinitionBuilder("expiration-batch-size", ModelType.INT)
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+            .setValidator(new IntRangeValidator(1))
+            .setStability(Stability.COMMUNITY)
+            .build();
+
+    static final DurationAttributeDefinition EXPIRATION_BATCH_INTERVAL = DurationAttributeDefinition.builder("expiration-batch-interval")
+            .setRequired(false)
+            .setDefaultValue(Duration.ofMillis(100))
+            .setStability(Stability.COMMUNITY)
+            .build();
+
     InfinispanSessionManagementResourceDefinitionRegistrar() {
         super(SessionManagementResourceRegistration.INFINISPAN, CACHE_ATTRIBUTE_GROUP, InfinispanSessionManagementProvider::new);
     }
@@ -33,7 +64,7 @@ public class InfinispanSessionManagementResourceDefinitionRegistrar extends Sess
     @Override
     public ResourceDescriptor.Builder apply(ResourceDescriptor.Builder builder) {
         return super.apply(builder)
-                .addAttributes(List.of(IDLE_THRESHOLD))
+                .addAttributes(List.of(IDLE_THRESHOLD, NEAR_CACHE_LIFESPAN, LAST_ACCESS_FLUSH_INTERVAL, EXPIRATION_BATCH_SIZE, EXPIRATION_BATCH_INTERVAL))
                 .requireSingletonChildResource(AffinityResourceRegistration.PRIMARY_OWNER)
                 ;
     }
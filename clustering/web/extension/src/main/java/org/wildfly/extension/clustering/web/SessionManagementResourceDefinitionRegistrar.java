@@ -4,11 +4,16 @@
  */
 package org.wildfly.extension.clustering.web;
 
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinitionRegistrar.EXPIRATION_BATCH_INTERVAL;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinitionRegistrar.EXPIRATION_BATCH_SIZE;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinitionRegistrar.IDLE_THRESHOLD;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinitionRegistrar.LAST_ACCESS_FLUSH_INTERVAL;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinitionRegistrar.NEAR_CACHE_LIFESPAN;
 
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
@@ -94,6 +99,11 @@ public abstract class SessionManagementResourceDefinitionRegistrar implements Ch
         SessionGranularity granularity = GRANULARITY.resolve(context, model);
         SessionMarshallerFactory marshallerFactory = MARSHALLER.resolve(context, model);
         Optional<Duration> idleThreshold = Optional.ofNullable(IDLE_THRESHOLD.resolve(context, model));
+        Optional<Duration> nearCacheLifespan = Optional.ofNullable(NEAR_CACHE_LIFESPAN.resolve(context, model));
+        Optional<Duration> lastAccessFlushInterval = Optional.ofNullable(LAST_ACCESS_FLUSH_INTERVAL.resolve(context, model));
+        ModelNode expirationBatchSizeValue = EXPIRATION_BATCH_SIZE.resolveModelAttribute(context, model);
+        OptionalInt expirationBatchSize = expirationBatchSizeValue.isDefined() ? OptionalInt.of(expirationBatchSizeValue.asInt()) : OptionalInt.empty();
+        Duration expirationBatchInterval = EXPIRATION_BATCH_INTERVAL.resolve(context, model);
         DistributableSessionManagementConfiguration<DeploymentUnit> configuration = new DistributableSessionManagementConfiguration<>() {
             @Override
             public SessionAttributePersistenceStrategy getAttributePersistenceStrategy() {
@@ -109,6 +119,26 @@ public abstract class SessionManagementResourceDefinitionRegistrar implements Ch
             public Optional<Duration> getIdleThreshold() {
                 return idleThreshold;
             }
+
+            @Override
+            public Optional<Duration> getNearCacheLifespan() {
+                return nearCacheLifespan;
+            }
+
+            @Override
+            public Optional<Duration> getLastAccessFlushInterval() {
+                return lastAccessFlushInterval;
+            }
+
+            @Override
+            public OptionalInt getExpirationBatchSize() {
+                return expirationBatchSize;
+            }
+
+            @Override
+            public Duration getExpirationBatchInterval() {
+                return expirationBatchInterval;
+            }
         };
         BinaryServiceConfiguration cacheConfiguration = this.cacheAttributeGroup.resolve(context, model);
         DistributableSessionManagementProviderFactory providerFactory = this.providerFactory;
@@ -33,5 +33,13 @@ public class SessionManagementResourceTransformer implements BiConsumer<ModelVer
                     .addRejectCheck(RejectAttributeChecker.DEFINED, InfinispanSessionManagementResourceDefinitionRegistrar.IDLE_THRESHOLD)
                     .end();
         }
+
+        if (DistributableWebSubsystemModel.VERSION_7_0_0.requiresTransformation(version)) {
+            builder.getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.UNDEFINED, InfinispanSessionManagementResourceDefinitionRegistrar.NEAR_CACHE_LIFESPAN, InfinispanSessionManagementResourceDefinitionRegistrar.LAST_ACCESS_FLUSH_INTERVAL, InfinispanSessionManagementResourceDefinitionRegistrar.EXPIRATION_BATCH_SIZE)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, InfinispanSessionManagementResourceDefinitionRegistrar.NEAR_CACHE_LIFESPAN, InfinispanSessionManagementResourceDefinitionRegistrar.LAST_ACCESS_FLUSH_INTERVAL, InfinispanSessionManagementResourceDefinitionRegistrar.EXPIRATION_BATCH_SIZE)
+                    .setDiscard(DiscardAttributeChecker.ALWAYS, InfinispanSessionManagementResourceDefinitionRegistrar.EXPIRATION_BATCH_INTERVAL)
+                    .end();
+        }
     }
 }
@@ -9,6 +9,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
@@ -85,6 +86,15 @@ public class InfinispanSessionManagementProvider extends AbstractSessionManageme
                     idleThreshold.ifPresent(container::idleTimeout);
                 }
 
+                Optional<Duration> nearCacheLifespan = getSessionManagementConfiguration().getNearCacheLifespan();
+                // Near cache is only meaningful for non-owners, i.e. for distributed caches
+                if (nearCacheLifespan.isPresent() && builder.clustering().cacheMode().isDistributed()) {
+                    // Retain entries read from a remote owner locally, which are invalidated by their owner on write
+                    builder.clustering().l1().enable().lifespan(nearCacheLifespan.get().toMillis(), TimeUnit.MILLISECONDS);
+                    // Near cache effectiveness is reported via the hit/miss metrics of the runtime resource of this cache
+                    builder.statistics().enable();
+                }
+
                 PersistenceConfiguration persistence = builder.persistence().create();
                 // If cache is configured to passivate and purge on startup, but application does not define passivation thresholds, then remove useless stores
                 if (!strategy.isEnabled() && persistence.passivation() && persistence.stores().stream().allMatch(StoreConfiguration::purgeOnStartup)) {
@@ -7,6 +7,7 @@ package org.wildfly.clustering.web.service.session;
 
 import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.Function;
 
 import org.wildfly.clustering.marshalling.ByteBufferMarshaller;
@@ -38,4 +39,36 @@ public interface DistributableSessionManagementConfiguration<M> {
     default Optional<Duration> getIdleThreshold() {
         return Optional.empty();
     }
+
+    /**
+     * Returns the duration for which a session read from a remote owner is retained locally, if a near cache is enabled.
+     * @return the duration for which a session read from a remote owner is retained locally, if a near cache is enabled.
+     */
+    default Optional<Duration> getNearCacheLifespan() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the interval at which deferred last access updates of sessions are flushed, if last access updates should be deferred.
+     * @return the interval at which deferred last access updates of sessions are flushed, if last access updates should be deferred.
+     */
+    default Optional<Duration> getLastAccessFlushInterval() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the maximum number of expired sessions whose listeners are notified per batch, if expired sessions should be processed in batches.
+     * @return the maximum number of expired sessions processed per batch, if expired sessions should be processed in batches.
+     */
+    default OptionalInt getExpirationBatchSize() {
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Returns the interval between batches of expired sessions.
+     * @return the interval between batches of expired sessions.
+     */
+    default Duration getExpirationBatchInterval() {
+        return Duration.ofMillis(100);
+    }
 }
@@ -10,6 +10,7 @@ import io.undertow.server.session.SessionConfig;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.wildfly.clustering.function.Consumer;
@@ -26,21 +27,33 @@ import org.wildfly.clustering.web.undertow.logging.UndertowClusteringLogger;
  * @author Paul Ferraro
  */
 public class DistributableSession extends AbstractDistributableSession {
+    private static final AtomicIntegerFieldUpdater<DistributableSession> ATTRIBUTE_READS = AtomicIntegerFieldUpdater.newUpdater(DistributableSession.class, "attributeReads");
+    private static final AtomicIntegerFieldUpdater<DistributableSession> ATTRIBUTE_WRITES = AtomicIntegerFieldUpdater.newUpdater(DistributableSession.class, "attributeWrites");
+
     private final UndertowSessionManager manager;
     private final AtomicReference<Consumer<HttpServerExchange>> closeTask;
     private final Instant startTime;
     private final BlockingReference<Session<Map<String, Object>>> reference;
+    private final LastAccessWriteBehind writeBehind;
+    // Number of attribute reads and writes by the current request
+    private volatile int attributeReads = 0;
+    private volatile int attributeWrites = 0;
 
     public DistributableSession(UndertowSessionManager manager, Session<Map<String, Object>> session, Consumer<HttpServerExchange> closeTask) {
-        this(manager, BlockingReference.of(session), closeTask, session.getMetaData().getLastAccessStartTime().isEmpty() ? session.getMetaData().getCreationTime() : Instant.now());
+        this(manager, session, closeTask, null);
+    }
+
+    DistributableSession(UndertowSessionManager manager, Session<Map<String, Object>> session, Consumer<HttpServerExchange> closeTask, LastAccessWriteBehind writeBehind) {
+        this(manager, BlockingReference.of(session), closeTask, session.getMetaData().getLastAccessStartTime().isEmpty() ? session.getMetaData().getCreationTime() : Instant.now(), writeBehind);
     }
 
-    private DistributableSession(UndertowSessionManager manager, BlockingReference<Session<Map<String, Object>>> reference, Consumer<HttpServerExchange> closeTask, Instant startTime) {
+    private DistributableSession(UndertowSessionManager manager, BlockingReference<Session<Map<String, Object>>> reference, Consumer<HttpServerExchange> closeTask, Instant startTime, LastAccessWriteBehind writeBehind) {
         super(manager, reference);
         this.manager = manager;
         this.reference = reference;
         this.closeTask = new AtomicReference<>(closeTask);
         this.startTime = startTime;
+        this.writeBehind = writeBehind;
     }
 
     @Override
@@ -51,11 +64,19 @@ public class DistributableSession extends AbstractDistributableSession {
             try {
                 this.reference.getReader().read(completeSession -> {
                     // Session must be closed, even if invalid
-                    try (Session<?> session = completeSession) {
+                    try (Session<Map<String, Object>> session = completeSession) {
                         if (session.isValid()) {
                             // According to §7.6 of the servlet specification:
                             // The session is considered to be accessed when a request that is part of the session is first handled by the servlet container.
-                            session.getMetaData().setLastAccess(this.startTime, Instant.now());
+                            Instant endTime = Instant.now();
+                            LastAccessWriteBehind writeBehind = this.writeBehind;
+                            // Defer last access of sessions whose attributes were not written by this request
+                            if ((writeBehind == null) || (this.attributeWrites > 0) || !writeBehind.defer(session, this.startTime, endTime)) {
+                                if (writeBehind != null) {
+                                    writeBehind.cancel(session.getId());
+                                }
+                                session.getMetaData().setLastAccess(this.startTime, endTime);
+                            }
                         }
                     } catch (Throwable e) {
                         // Don't propagate exceptions at the stage, since response was already committed
@@ -63,11 +84,22 @@ public class DistributableSession extends AbstractDistributableSession {
                     }
                 });
             } finally {
-                closeTask.accept(exchange);
+                try {
+                    this.recordAttributeAccess();
+                } finally {
+                    closeTask.accept(exchange);
+                }
             }
         }
     }
 
+    private void recordAttributeAccess() {
+        RecordableSessionManagerStatistics statistics = this.manager.getStatistics();
+        if (statistics != null) {
+            statistics.recordAttributeAccess(this.attributeReads, this.attributeWrites);
+        }
+    }
+
     @Override
     public void invalidate(HttpServerExchange exchange) {
         try {
@@ -174,6 +206,7 @@ public class DistributableSession extends AbstractDistributableSession {
     @Override
     public Object getAttribute(String name) {
         try {
+            ATTRIBUTE_READS.incrementAndGet(this);
             return super.getAttribute(name);
         } catch (IllegalStateException e) {
             this.close(null);
@@ -184,6 +217,7 @@ public class DistributableSession extends AbstractDistributableSession {
     @Override
     public Object setAttribute(String name, Object value) {
         try {
+            ATTRIBUTE_WRITES.incrementAndGet(this);
             return super.setAttribute(name, value);
         } catch (IllegalStateException e) {
             this.close(null);
@@ -194,6 +228,7 @@ public class DistributableSession extends AbstractDistributableSession {
     @Override
     public Object removeAttribute(String name) {
         try {
+            ATTRIBUTE_WRITES.incrementAndGet(this);
             return super.removeAttribute(name);
         } catch (IllegalStateException e) {
             this.close(null);
@@ -8,8 +8,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.StampedLock;
 
 import io.undertow.UndertowMessages;
 import io.undertow.server.HttpServerExchange;
@@ -54,8 +52,11 @@ public class DistributableSessionManager implements UndertowSessionManager {
     private final SessionListeners listeners;
     private final SessionManager<Map<String, Object>> manager;
     private final RecordableSessionManagerStatistics statistics;
-    private final StampedLock lifecycleLock = new StampedLock();
-    private final AtomicLong lifecycleStamp = new AtomicLong(0L);
+    private final LastAccessWriteBehind writeBehind;
+    private final SessionExpirationSweeper expirationSweeper;
+    // Tracks in-flight requests without per-request allocation
+    private final LifecycleGate lifecycleGate = new LifecycleGate();
+    private final Consumer<HttpServerExchange> closeTask;
     private final BiFunction<SessionConfig, HttpServerExchange, Session<Map<String, Object>>> createSession;
     private final BiFunction<SessionConfig, HttpServerExchange, Session<Map<String, Object>>> findSession;
 
@@ -67,6 +68,24 @@ public class DistributableSessionManager implements UndertowSessionManager {
         this.manager = config.getSessionManager();
         this.listeners = config.getSessionListeners();
         this.statistics = config.getStatistics();
+        this.expirationSweeper = config.getExpirationSweeper();
+        this.writeBehind = config.getLastAccessFlushInterval().map(interval -> new LastAccessWriteBehind(this.manager, interval)).orElse(null);
+
+        LifecycleGate gate = this.lifecycleGate;
+        AttachmentKey<DetachableSession> key = this.key;
+        // Shared by all requests, thus callers must ensure this is only invoked once per request
+        this.closeTask = new Consumer<>() {
+            @Override
+            public void accept(HttpServerExchange exchange) {
+                try {
+                    gate.exit();
+                } finally {
+                    if (exchange != null) {
+                        exchange.removeAttachment(key);
+                    }
+                }
+            }
+        };
 
         Function<String, Session<Map<String, Object>>> createSession = this.manager::createSession;
         // Ignore SessionConfig and return identifier from factory
@@ -92,11 +111,14 @@ public class DistributableSessionManager implements UndertowSessionManager {
 
     @Override
     public void start() {
-        long stamp = this.lifecycleStamp.getAndSet(0L);
-        if (StampedLock.isWriteLockStamp(stamp)) {
-            this.lifecycleLock.unlockWrite(stamp);
+        this.lifecycleGate.open();
+        if (this.expirationSweeper != null) {
+            this.expirationSweeper.start();
         }
         this.manager.start();
+        if (this.writeBehind != null) {
+            this.writeBehind.start();
+        }
         if (this.statistics != null) {
             this.statistics.reset();
         }
@@ -105,37 +127,27 @@ public class DistributableSessionManager implements UndertowSessionManager {
     @Override
     public void stop() {
         try {
-            this.lifecycleStamp.set(this.lifecycleLock.tryWriteLock(60, TimeUnit.SECONDS));
+            // Drain in-flight requests
+            this.lifecycleGate.close(60, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+        if (this.writeBehind != null) {
+            // Flush deferred updates while session manager is still available
+            this.writeBehind.stop();
+        }
         this.manager.stop();
+        if (this.expirationSweeper != null) {
+            // Process remaining expired sessions
+            this.expirationSweeper.stop();
+        }
     }
 
     private Consumer<HttpServerExchange> getSessionCloseTask() {
-        StampedLock lock = this.lifecycleLock;
-        long stamp = lock.tryReadLock();
-        if (!StampedLock.isReadLockStamp(stamp)) {
+        if (!this.lifecycleGate.enter()) {
             throw UndertowClusteringLogger.ROOT_LOGGER.sessionManagerStopped();
         }
-        AttachmentKey<DetachableSession> key = this.key;
-        AtomicLong stampRef = new AtomicLong(stamp);
-        return new Consumer<>() {
-            @Override
-            public void accept(HttpServerExchange exchange) {
-                try {
-                    // Ensure we only unlock once.
-                    long stamp = stampRef.getAndSet(0L);
-                    if (StampedLock.isReadLockStamp(stamp)) {
-                        lock.unlockRead(stamp);
-                    }
-                } finally {
-                    if (exchange != null) {
-                        exchange.removeAttachment(key);
-                    }
-                }
-            }
-        };
+        return this.closeTask;
     }
 
     @Override
@@ -173,17 +185,11 @@ public class DistributableSessionManager implements UndertowSessionManager {
             throw UndertowMessages.MESSAGES.couldNotFindSessionCookieConfig();
         }
         Consumer<HttpServerExchange> closeTask = this.getSessionCloseTask();
+        // Close task is shared, so ensure it is invoked exactly once on every path that does not yield a session
+        Session<Map<String, Object>> session = null;
         try {
-            Session<Map<String, Object>> session = sessionFactory.apply(config, exchange);
-            try {
-                if ((session == null) || !session.isValid()) {
-                    try {
-                        Consumer.close().accept(session);
-                        return null;
-                    } finally {
-                        closeTask.accept(exchange);
-                    }
-                }
+            session = sessionFactory.apply(config, exchange);
+            if ((session != null) && session.isValid()) {
                 // Apply session ID encoding
                 config.setSessionId(exchange, session.getId());
                 if (this.statistics != null) {
@@ -192,19 +198,27 @@ public class DistributableSessionManager implements UndertowSessionManager {
                         this.statistics.record(metaData);
                     }
                 }
-                DetachableSession result = new DetachableSession(new DistributableSession(this, session, closeTask));
+                DetachableSession result = new DetachableSession(new DistributableSession(this, session, closeTask, this.writeBehind));
                 if (exchange != null) {
                     exchange.putAttachment(this.key, result);
                 }
                 return result;
-            } catch (RuntimeException | Error e) {
-                Consumer.close().accept(session);
-                throw e;
             }
         } catch (RuntimeException | Error e) {
-            closeTask.accept(exchange);
+            try {
+                Consumer.close().accept(session);
+            } finally {
+                closeTask.accept(exchange);
+            }
             throw e;
         }
+        // Session does not exist or was invalidated
+        try {
+            Consumer.close().accept(session);
+        } finally {
+            closeTask.accept(exchange);
+        }
+        return null;
     }
 
     @Override
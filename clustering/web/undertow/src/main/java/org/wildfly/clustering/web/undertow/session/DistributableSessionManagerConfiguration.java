@@ -5,7 +5,9 @@
 
 package org.wildfly.clustering.web.undertow.session;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 
 import org.wildfly.clustering.session.SessionManager;
 
@@ -19,4 +21,20 @@ public interface DistributableSessionManagerConfiguration {
     SessionManager<Map<String, Object>> getSessionManager();
     SessionListeners getSessionListeners();
     RecordableSessionManagerStatistics getStatistics();
+
+    /**
+     * Returns the interval at which deferred last access updates of sessions are flushed, if last access updates should be deferred.
+     * @return an optional flush interval
+     */
+    default Optional<Duration> getLastAccessFlushInterval() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the sweeper through which expired sessions are processed, if expired sessions are processed in batches.
+     * @return a sweeper, or null, if expired sessions are processed by the expiration scheduler
+     */
+    default SessionExpirationSweeper getExpirationSweeper() {
+        return null;
+    }
 }
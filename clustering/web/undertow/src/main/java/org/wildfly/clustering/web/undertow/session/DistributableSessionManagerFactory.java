@@ -7,6 +7,7 @@ package org.wildfly.clustering.web.undertow.session;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.ServiceLoader;
 import java.util.concurrent.CompletionException;
 import java.util.function.BiFunction;
@@ -24,6 +25,7 @@ import org.wildfly.clustering.session.SessionManager;
 import org.wildfly.clustering.session.SessionManagerConfiguration;
 import org.wildfly.clustering.session.SessionManagerFactory;
 import org.wildfly.clustering.web.container.SessionManagerFactoryConfiguration;
+import org.wildfly.clustering.web.service.session.DistributableSessionManagementConfiguration;
 
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.session.SessionListeners;
@@ -41,10 +43,24 @@ public class DistributableSessionManagerFactory implements io.undertow.servlet.a
 
     private final SessionManagerFactory<ServletContext, Map<String, Object>> factory;
     private final SessionManagerFactoryConfiguration config;
+    private final Optional<Duration> lastAccessFlushInterval;
+    private final OptionalInt expirationBatchSize;
+    private final Duration expirationBatchInterval;
 
     public DistributableSessionManagerFactory(SessionManagerFactory<ServletContext, Map<String, Object>> factory, SessionManagerFactoryConfiguration config) {
+        this(factory, config, Optional.empty(), OptionalInt.empty(), Duration.ZERO);
+    }
+
+    public DistributableSessionManagerFactory(SessionManagerFactory<ServletContext, Map<String, Object>> factory, SessionManagerFactoryConfiguration config, DistributableSessionManagementConfiguration<?> managementConfiguration) {
+        this(factory, config, managementConfiguration.getLastAccessFlushInterval(), managementConfiguration.getExpirationBatchSize(), managementConfiguration.getExpirationBatchInterval());
+    }
+
+    private DistributableSessionManagerFactory(SessionManagerFactory<ServletContext, Map<String, Object>> factory, SessionManagerFactoryConfiguration config, Optional<Duration> lastAccessFlushInterval, OptionalInt expirationBatchSize, Duration expirationBatchInterval) {
         this.factory = factory;
         this.config = config;
+        this.lastAccessFlushInterval = lastAccessFlushInterval;
+        this.expirationBatchSize = expirationBatchSize;
+        this.expirationBatchInterval = expirationBatchInterval;
     }
 
     @Override
@@ -55,7 +71,9 @@ public class DistributableSessionManagerFactory implements io.undertow.servlet.a
         Supplier<String> factory = info.getSessionIdGenerator()::createSessionId;
         // Session listeners are application-specific
         SessionListeners listeners = new SessionListeners();
-        Consumer<ImmutableSession> expirationListener = new UndertowSessionExpirationListener(deployment, listeners, inactiveSessionStatistics);
+        Consumer<ImmutableSession> undertowExpirationListener = new UndertowSessionExpirationListener(deployment, listeners, inactiveSessionStatistics);
+        SessionExpirationSweeper expirationSweeper = this.expirationBatchSize.isPresent() ? new SessionExpirationSweeper(undertowExpirationListener, this.expirationBatchSize.getAsInt(), this.expirationBatchInterval) : null;
+        Consumer<ImmutableSession> expirationListener = (expirationSweeper != null) ? expirationSweeper : undertowExpirationListener;
         SessionManagerConfiguration<ServletContext> configuration = new SessionManagerConfiguration<>() {
             @Override
             public ServletContext getContext() {
@@ -110,7 +128,8 @@ public class DistributableSessionManagerFactory implements io.undertow.servlet.a
                 };
             }
         });
-        RecordableSessionManagerStatistics statistics = (inactiveSessionStatistics != null) ? new DistributableSessionManagerStatistics(manager.getStatistics(), inactiveSessionStatistics, this.config.getMaxActiveSessions()) : null;
+        Optional<Duration> lastAccessFlushInterval = this.lastAccessFlushInterval;
+        RecordableSessionManagerStatistics statistics = (inactiveSessionStatistics != null) ? new DistributableSessionManagerStatistics(manager.getStatistics(), inactiveSessionStatistics, expirationSweeper, this.config.getMaxActiveSessions()) : null;
         UndertowSessionManager result = new DistributableSessionManager(new DistributableSessionManagerConfiguration() {
             @Override
             public String getDeploymentName() {
@@ -131,6 +150,16 @@ public class DistributableSessionManagerFactory implements io.undertow.servlet.a
             public RecordableSessionManagerStatistics getStatistics() {
                 return statistics;
             }
+
+            @Override
+            public Optional<Duration> getLastAccessFlushInterval() {
+                return lastAccessFlushInterval;
+            }
+
+            @Override
+            public SessionExpirationSweeper getExpirationSweeper() {
+                return expirationSweeper;
+            }
         });
         result.setDefaultSessionTimeout((int) this.config.getDefaultSessionTimeout().getSeconds());
         return result;
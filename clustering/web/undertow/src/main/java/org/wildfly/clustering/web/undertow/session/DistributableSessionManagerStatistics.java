@@ -7,9 +7,11 @@ package org.wildfly.clustering.web.undertow.session;
 
 import java.util.OptionalInt;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.wildfly.clustering.session.ImmutableSessionMetaData;
 import org.wildfly.clustering.session.SessionStatistics;
+import org.wildfly.extension.undertow.session.SessionExpirationStatistics;
 
 /**
  * @author Paul Ferraro
@@ -18,13 +20,22 @@ public class DistributableSessionManagerStatistics implements RecordableSessionM
 
     private final RecordableInactiveSessionStatistics inactiveSessionStatistics;
     private final SessionStatistics activeSessionStatistics;
+    private final SessionExpirationStatistics expirationStatistics;
     private final OptionalInt maxActiveSessions;
     private volatile long startTime = System.currentTimeMillis();
     private final AtomicLong createdSessionCount = new AtomicLong();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder attributeReadCount = new LongAdder();
+    private final LongAdder attributeWriteCount = new LongAdder();
 
     public DistributableSessionManagerStatistics(SessionStatistics activeSessionStatistics, RecordableInactiveSessionStatistics inactiveSessionStatistics, OptionalInt maxActiveSessions) {
+        this(activeSessionStatistics, inactiveSessionStatistics, null, maxActiveSessions);
+    }
+
+    public DistributableSessionManagerStatistics(SessionStatistics activeSessionStatistics, RecordableInactiveSessionStatistics inactiveSessionStatistics, SessionExpirationStatistics expirationStatistics, OptionalInt maxActiveSessions) {
         this.activeSessionStatistics = activeSessionStatistics;
         this.inactiveSessionStatistics = inactiveSessionStatistics;
+        this.expirationStatistics = expirationStatistics;
         this.maxActiveSessions = maxActiveSessions;
         this.reset();
     }
@@ -39,9 +50,19 @@ public class DistributableSessionManagerStatistics implements RecordableSessionM
         this.createdSessionCount.incrementAndGet();
     }
 
+    @Override
+    public void recordAttributeAccess(int reads, int writes) {
+        this.requestCount.increment();
+        this.attributeReadCount.add(reads);
+        this.attributeWriteCount.add(writes);
+    }
+
     @Override
     public void reset() {
         this.createdSessionCount.set(0L);
+        this.requestCount.reset();
+        this.attributeReadCount.reset();
+        this.attributeWriteCount.reset();
         this.startTime = System.currentTimeMillis();
         this.inactiveSessionStatistics.reset();
     }
@@ -66,6 +87,11 @@ public class DistributableSessionManagerStatistics implements RecordableSessionM
         return this.inactiveSessionStatistics.getExpiredSessionCount();
     }
 
+    @Override
+    public long getPendingExpirationCount() {
+        return (this.expirationStatistics != null) ? this.expirationStatistics.getPendingExpirationCount() : 0;
+    }
+
     @Override
     public long getRejectedSessions() {
         // We never reject sessions
@@ -82,6 +108,18 @@ public class DistributableSessionManagerStatistics implements RecordableSessionM
         return this.inactiveSessionStatistics.getMeanSessionLifetime().toMillis();
     }
 
+    @Override
+    public double getMeanAttributeReads() {
+        long requests = this.requestCount.sum();
+        return (requests > 0) ? (double) this.attributeReadCount.sum() / requests : 0d;
+    }
+
+    @Override
+    public double getMeanAttributeWrites() {
+        long requests = this.requestCount.sum();
+        return (requests > 0) ? (double) this.attributeWriteCount.sum() / requests : 0d;
+    }
+
     @Override
     public long getStartTime() {
         return this.startTime;
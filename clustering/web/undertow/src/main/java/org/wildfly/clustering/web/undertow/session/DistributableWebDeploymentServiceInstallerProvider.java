@@ -83,12 +83,13 @@ public class DistributableWebDeploymentServiceInstallerProvider implements WebDe
         Immutability immutability = Immutability.classes(immutableClasses);
         DeploymentServiceInstaller providedInstaller = provider.getSessionManagerFactoryServiceInstaller(new SessionManagerFactoryConfigurationAdapter<>(configuration, provider.getSessionManagementConfiguration(), immutability));
 
+        DistributableSessionManagementConfiguration<DeploymentUnit> managementConfiguration = provider.getSessionManagementConfiguration();
         ServiceDependency<SuspendableActivityRegistrar> activityRegistry = ServiceDependency.on(SuspendableActivityRegistrar.SERVICE_DESCRIPTOR);
         ServiceDependency<Executor> executor = ServiceDependency.on(Capabilities.MANAGEMENT_EXECUTOR);
         ServiceDependency<io.undertow.servlet.api.SessionManagerFactory> factory = ServiceDependency.<SessionManagerFactory<ServletContext, Map<String, Object>>>on(WebDeploymentServiceDescriptor.SESSION_MANAGER_FACTORY.resolve(unit)).map(new Function<>() {
             @Override
             public io.undertow.servlet.api.SessionManagerFactory apply(SessionManagerFactory<ServletContext, Map<String, Object>> factory) {
-                return new DistributableSessionManagerFactory(factory, configuration) {
+                return new DistributableSessionManagerFactory(factory, configuration, managementConfiguration) {
                     @Override
                     public UndertowSessionManager createSessionManager(Deployment deployment) {
                         UndertowSessionManager manager = super.createSessionManager(deployment);
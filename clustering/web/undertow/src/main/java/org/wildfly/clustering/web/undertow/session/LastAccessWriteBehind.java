@@ -0,0 +1,126 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.undertow.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.session.Session;
+import org.wildfly.clustering.session.SessionManager;
+import org.wildfly.clustering.session.SessionMetaData;
+import org.wildfly.clustering.web.undertow.logging.UndertowClusteringLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Defers the last access update of sessions whose state was not otherwise modified by a request.
+ * Deferred updates are coalesced per session and flushed periodically, such that a session accessed by many read-only requests per interval is written at most once per interval.
+ * An update is only deferred if the interval is small relative to the max-idle of its session, and if the session would not expire before the next flush.
+ */
+class LastAccessWriteBehind implements Runnable {
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(LastAccessWriteBehind.class, WildFlySecurityManager.getClassLoaderPrivileged(LastAccessWriteBehind.class));
+    // Updates of a session may only be deferred if the flush interval does not exceed this fraction of its max-idle
+    private static final int MAX_IDLE_DIVISOR = 4;
+
+    private final SessionManager<Map<String, Object>> manager;
+    private final Duration interval;
+    private final Map<String, Map.Entry<Instant, Instant>> accesses = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService executor;
+
+    LastAccessWriteBehind(SessionManager<Map<String, Object>> manager, Duration interval) {
+        this.manager = manager;
+        this.interval = interval;
+    }
+
+    void start() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, THREAD_FACTORY);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        long interval = this.interval.toMillis();
+        executor.scheduleWithFixedDelay(this, interval, interval, TimeUnit.MILLISECONDS);
+        this.executor = executor;
+    }
+
+    void stop() {
+        ScheduledExecutorService executor = this.executor;
+        if (executor != null) {
+            this.executor = null;
+            executor.shutdown();
+            try {
+                executor.awaitTermination(this.interval.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Flush any remaining updates
+            this.run();
+        }
+    }
+
+    /**
+     * Attempts to defer the specified last access of the specified session.
+     * @param session a session
+     * @param startTime the start time of the access
+     * @param endTime the end time of the access
+     * @return true, if the update was deferred, false if it must be applied by the caller
+     */
+    boolean defer(Session<Map<String, Object>> session, Instant startTime, Instant endTime) {
+        if (this.executor == null) return false;
+        SessionMetaData metaData = session.getMetaData();
+        Optional<Instant> lastAccessTime = metaData.getLastAccessTime();
+        // New sessions must be written immediately
+        if (lastAccessTime.isEmpty()) return false;
+        Optional<Duration> maxIdle = metaData.getMaxIdle();
+        if (maxIdle.isPresent()) {
+            if (maxIdle.get().dividedBy(MAX_IDLE_DIVISOR).compareTo(this.interval) < 0) return false;
+            // Ensure that a flush will occur before the session would expire, based on its persistent last access
+            if (!lastAccessTime.get().plus(maxIdle.get()).minus(this.interval.multipliedBy(2)).isAfter(endTime)) return false;
+        }
+        this.accesses.merge(session.getId(), Map.entry(startTime, endTime), (previous, current) -> current.getValue().isAfter(previous.getValue()) ? current : previous);
+        return true;
+    }
+
+    /**
+     * Discards any deferred update of the specified session, e.g. if superseded by an immediate update.
+     * @param id a session identifier
+     */
+    void cancel(String id) {
+        this.accesses.remove(id);
+    }
+
+    /**
+     * Returns the number of sessions with a deferred update.
+     * @return the number of sessions with a deferred update.
+     */
+    int getPendingCount() {
+        return this.accesses.size();
+    }
+
+    @Override
+    public void run() {
+        for (String id : this.accesses.keySet()) {
+            Map.Entry<Instant, Instant> access = this.accesses.remove(id);
+            if (access == null) continue;
+            try (Session<Map<String, Object>> session = this.manager.findSession(id)) {
+                if ((session != null) && session.isValid()) {
+                    SessionMetaData metaData = session.getMetaData();
+                    // Skip if superseded by a more recent update
+                    Optional<Instant> lastAccessTime = metaData.getLastAccessTime();
+                    if (lastAccessTime.isEmpty() || access.getValue().isAfter(lastAccessTime.get())) {
+                        metaData.setLastAccess(access.getKey(), access.getValue());
+                    }
+                }
+            } catch (RuntimeException e) {
+                UndertowClusteringLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+}
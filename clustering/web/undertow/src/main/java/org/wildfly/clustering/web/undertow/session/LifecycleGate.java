@@ -0,0 +1,85 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.clustering.web.undertow.session;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A gate guarding the use of a component against a concurrent lifecycle transition.
+ * Entries and exits are tracked via monotonic striped counters, thus entering and exiting the gate neither allocates nor contends on a shared lock.
+ * Once closed, the gate rejects further entry and a caller can wait for in-flight callers to exit.
+ */
+class LifecycleGate {
+
+    private final LongAdder entries = new LongAdder();
+    private final LongAdder exits = new LongAdder();
+    private volatile boolean closed = false;
+
+    /**
+     * Attempts to enter this gate. If successful, the caller must subsequently {@link #exit()} this gate exactly once.
+     * @return true, if this gate was entered, false if this gate is closed.
+     */
+    boolean enter() {
+        this.entries.increment();
+        // Counterpart to the closed check in close(...)
+        if (this.closed) {
+            this.exit();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Exits this gate.
+     */
+    void exit() {
+        this.exits.increment();
+        if (this.closed) {
+            synchronized (this) {
+                this.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Opens this gate.
+     */
+    void open() {
+        this.closed = false;
+    }
+
+    /**
+     * Closes this gate, and waits for any in-flight callers to exit.
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the timeout
+     * @return true, if all in-flight callers exited, false if the timeout elapsed.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean close(long timeout, TimeUnit unit) throws InterruptedException {
+        this.closed = true;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            while (!this.isQuiescent()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates whether there were no in-flight callers at some point during this invocation.
+     * Since both counters increase monotonically, reading exits before entries guarantees that, if equal,
+     * the number of exits was at least the number of entries at the instant between the two reads.
+     */
+    private boolean isQuiescent() {
+        long exits = this.exits.sum();
+        return exits >= this.entries.sum();
+    }
+}
@@ -5,6 +5,8 @@
 package org.wildfly.clustering.web.undertow.session;
 
 import org.wildfly.clustering.session.ImmutableSessionMetaData;
+import org.wildfly.extension.undertow.session.SessionAttributeStatistics;
+import org.wildfly.extension.undertow.session.SessionExpirationStatistics;
 
 import io.undertow.server.session.SessionManagerStatistics;
 
@@ -12,6 +14,13 @@ import io.undertow.server.session.SessionManagerStatistics;
  * Recordable {@link SessionManagerStatistics}.
  * @author Paul Ferraro
  */
-public interface RecordableSessionManagerStatistics extends SessionManagerStatistics, Recordable<ImmutableSessionMetaData> {
+public interface RecordableSessionManagerStatistics extends SessionManagerStatistics, SessionExpirationStatistics, SessionAttributeStatistics, Recordable<ImmutableSessionMetaData> {
     Recordable<ImmutableSessionMetaData> getInactiveSessionRecorder();
+
+    /**
+     * Records the session attributes accessed by a request.
+     * @param reads the number of attribute reads
+     * @param writes the number of attribute writes or removals
+     */
+    void recordAttributeAccess(int reads, int writes);
 }
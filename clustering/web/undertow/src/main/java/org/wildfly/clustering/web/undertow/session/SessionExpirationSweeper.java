@@ -0,0 +1,124 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.clustering.web.undertow.session;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.function.Consumer;
+import org.wildfly.clustering.session.ImmutableSession;
+import org.wildfly.clustering.web.undertow.logging.UndertowClusteringLogger;
+import org.wildfly.extension.undertow.session.SessionExpirationStatistics;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Session expiration listener that defers notification of expired sessions to a dedicated thread, which processes at most a fixed number of sessions per tick.
+ * This prevents a burst of expirations, e.g. following the merge of a network partition, from saturating the threads of the expiration scheduler with listener callbacks.
+ * <p>
+ * Deferral changes the order of events relative to the expiration scheduler:
+ * listeners of a deferred session are notified after the scheduler has removed the session, and outside of the batch in which it was removed.
+ * Listeners are given the immutable session passed to this listener by the scheduler, so they may still read its attributes, but cannot observe it via the session manager.
+ * </p>
+ * <p>
+ * The backlog is bounded to a fixed number of batches.
+ * While the backlog is full, or this sweeper is not started, expired sessions are processed by the calling thread, i.e. within the removal batch of the scheduler.
+ * </p>
+ */
+public class SessionExpirationSweeper implements Consumer<ImmutableSession>, SessionExpirationStatistics, Runnable {
+    // Maximum number of batches retained by the backlog
+    static final int MAX_BACKLOG_BATCHES = 100;
+
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(SessionExpirationSweeper.class, WildFlySecurityManager.getClassLoaderPrivileged(SessionExpirationSweeper.class));
+
+    private final Consumer<ImmutableSession> listener;
+    private final int batchSize;
+    private final Duration interval;
+    private final BlockingQueue<ImmutableSession> expired;
+    private volatile ScheduledExecutorService executor;
+
+    SessionExpirationSweeper(Consumer<ImmutableSession> listener, int batchSize, Duration interval) {
+        this.listener = listener;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.expired = new LinkedBlockingQueue<>((int) Math.min(Integer.MAX_VALUE, (long) batchSize * MAX_BACKLOG_BATCHES));
+    }
+
+    public void start() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, THREAD_FACTORY);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        long interval = this.interval.toMillis();
+        executor.scheduleWithFixedDelay(this, interval, interval, TimeUnit.MILLISECONDS);
+        this.executor = executor;
+    }
+
+    public void stop() {
+        ScheduledExecutorService executor = this.executor;
+        if (executor != null) {
+            this.executor = null;
+            executor.shutdown();
+            try {
+                executor.awaitTermination(this.interval.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Drain backlog, while deployment is still available
+            this.sweep(Integer.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void accept(ImmutableSession session) {
+        if ((this.executor != null) && this.expired.offer(session)) {
+            // Guard against concurrent stop
+            if (this.executor == null) {
+                this.sweep(Integer.MAX_VALUE);
+            }
+        } else {
+            // Not started, or backlog is full
+            this.listener.accept(session);
+        }
+    }
+
+    @Override
+    public long getPendingExpirationCount() {
+        return this.expired.size();
+    }
+
+    @Override
+    public void run() {
+        this.sweep(this.batchSize);
+    }
+
+    /**
+     * Processes up to the specified number of expired sessions.
+     * @param limit the maximum number of sessions to process
+     * @return the number of processed sessions
+     */
+    int sweep(int limit) {
+        int count = 0;
+        while (count < limit) {
+            ImmutableSession session = this.expired.poll();
+            if (session == null) break;
+            this.notify(session);
+            count += 1;
+        }
+        return count;
+    }
+
+    private void notify(ImmutableSession session) {
+        try {
+            this.listener.accept(session);
+        } catch (RuntimeException e) {
+            UndertowClusteringLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+        }
+    }
+}
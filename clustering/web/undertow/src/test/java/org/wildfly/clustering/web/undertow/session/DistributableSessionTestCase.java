@@ -197,6 +197,26 @@ public class DistributableSessionTestCase {
         verifyNoMoreInteractions(this.closeTask);
     }
 
+    @Test
+    public void requestDoneRecordsAttributeAccess() {
+        io.undertow.server.session.Session session = this.getSession(Optional.of(Instant.now()));
+        RecordableSessionManagerStatistics statistics = mock(RecordableSessionManagerStatistics.class);
+        Map<String, Object> attributes = new HashMap<>();
+
+        doReturn(statistics).when(this.manager).getStatistics();
+        doReturn(attributes).when(this.session).getAttributes();
+
+        session.getAttribute("foo");
+        session.getAttribute("foo");
+        session.getAttribute("bar");
+        session.setAttribute("foo", "value");
+        session.removeAttribute("foo");
+
+        session.requestDone(new HttpServerExchange(null));
+
+        verify(statistics).recordAttributeAccess(3, 2);
+    }
+
     @Test
     public void getCreationTime() {
         io.undertow.server.session.Session session = this.getSession(Optional.empty());
@@ -0,0 +1,104 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.clustering.web.undertow.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.wildfly.clustering.session.Session;
+import org.wildfly.clustering.session.SessionManager;
+import org.wildfly.clustering.session.SessionMetaData;
+
+/**
+ * Unit test for {@link LastAccessWriteBehind}.
+ */
+public class LastAccessWriteBehindTestCase {
+    private static final Duration INTERVAL = Duration.ofMinutes(1);
+    private static final Duration MAX_IDLE = Duration.ofMinutes(30);
+
+    private final SessionManager<Map<String, Object>> manager = mock(SessionManager.class);
+    private final Session<Map<String, Object>> session = mock(Session.class);
+    private final SessionMetaData metaData = mock(SessionMetaData.class);
+
+    @Test
+    public void coalesce() {
+        String id = "session";
+        Instant now = Instant.now();
+        doReturn(id).when(this.session).getId();
+        doReturn(this.metaData).when(this.session).getMetaData();
+        doReturn(Optional.of(MAX_IDLE)).when(this.metaData).getMaxIdle();
+        doReturn(Optional.of(now.minus(INTERVAL))).when(this.metaData).getLastAccessTime();
+
+        LastAccessWriteBehind writeBehind = new LastAccessWriteBehind(this.manager, INTERVAL);
+        // Updates cannot be deferred until started
+        assertFalse(writeBehind.defer(this.session, now, now.plusMillis(1)));
+
+        writeBehind.start();
+        try {
+            assertTrue(writeBehind.defer(this.session, now.plusSeconds(2), now.plusSeconds(3)));
+            assertTrue(writeBehind.defer(this.session, now, now.plusMillis(1)));
+            assertEquals(1, writeBehind.getPendingCount());
+
+            doReturn(this.session).when(this.manager).findSession(id);
+            doReturn(true).when(this.session).isValid();
+
+            writeBehind.run();
+
+            // Only the most recent access should be written
+            verify(this.metaData).setLastAccess(now.plusSeconds(2), now.plusSeconds(3));
+            verify(this.session).close();
+            assertEquals(0, writeBehind.getPendingCount());
+
+            assertTrue(writeBehind.defer(this.session, now.plusSeconds(4), now.plusSeconds(5)));
+            writeBehind.cancel(id);
+            assertEquals(0, writeBehind.getPendingCount());
+        } finally {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    public void immediate() {
+        Instant now = Instant.now();
+        doReturn("session").when(this.session).getId();
+        doReturn(this.metaData).when(this.session).getMetaData();
+
+        LastAccessWriteBehind writeBehind = new LastAccessWriteBehind(this.manager, INTERVAL);
+        writeBehind.start();
+        try {
+            // New session
+            doReturn(Optional.of(MAX_IDLE)).when(this.metaData).getMaxIdle();
+            doReturn(Optional.empty()).when(this.metaData).getLastAccessTime();
+            assertFalse(writeBehind.defer(this.session, now, now.plusMillis(1)));
+
+            // Interval is too large relative to max-idle
+            doReturn(Optional.of(INTERVAL.multipliedBy(3))).when(this.metaData).getMaxIdle();
+            doReturn(Optional.of(now.minus(INTERVAL))).when(this.metaData).getLastAccessTime();
+            assertFalse(writeBehind.defer(this.session, now, now.plusMillis(1)));
+
+            // Session would expire before the next flush
+            doReturn(Optional.of(MAX_IDLE)).when(this.metaData).getMaxIdle();
+            doReturn(Optional.of(now.minus(MAX_IDLE).plus(INTERVAL))).when(this.metaData).getLastAccessTime();
+            assertFalse(writeBehind.defer(this.session, now, now.plusMillis(1)));
+
+            assertEquals(0, writeBehind.getPendingCount());
+        } finally {
+            writeBehind.stop();
+        }
+        verify(this.manager, never()).findSession(any());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.clustering.web.undertow.session;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LifecycleGate}.
+ */
+public class LifecycleGateTestCase {
+
+    @Test
+    public void test() throws InterruptedException {
+        LifecycleGate gate = new LifecycleGate();
+
+        assertTrue(gate.enter());
+        assertTrue(gate.enter());
+        gate.exit();
+
+        // Close should time out while a caller is in-flight
+        assertFalse(gate.close(10, TimeUnit.MILLISECONDS));
+        assertFalse(gate.enter());
+
+        gate.exit();
+        assertTrue(gate.close(0, TimeUnit.SECONDS));
+        assertFalse(gate.enter());
+
+        gate.open();
+        assertTrue(gate.enter());
+        gate.exit();
+        assertTrue(gate.close(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void drain() throws Exception {
+        LifecycleGate gate = new LifecycleGate();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch started = new CountDownLatch(threads);
+            AtomicBoolean closed = new AtomicBoolean(false);
+            AtomicBoolean violation = new AtomicBoolean(false);
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(() -> {
+                    started.countDown();
+                    while (gate.enter()) {
+                        // No caller may be admitted once close has completed
+                        if (closed.get()) {
+                            violation.set(true);
+                        }
+                        Thread.yield();
+                        gate.exit();
+                    }
+                }));
+            }
+            started.await();
+            assertTrue(gate.close(10, TimeUnit.SECONDS));
+            closed.set(true);
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            assertFalse(violation.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.clustering.web.undertow.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.undertow.server.session.Session;
+import io.undertow.server.session.SessionListener;
+import io.undertow.server.session.SessionListeners;
+import io.undertow.servlet.api.Deployment;
+import io.undertow.servlet.spec.ServletContextImpl;
+
+import org.junit.Test;
+import org.wildfly.clustering.function.Consumer;
+import org.wildfly.clustering.session.ImmutableSession;
+import org.wildfly.clustering.session.ImmutableSessionMetaData;
+
+/**
+ * Unit test for {@link SessionExpirationSweeper}.
+ */
+public class SessionExpirationSweeperTestCase {
+    private static final int BATCH_SIZE = 10;
+
+    private final Consumer<ImmutableSession> listener = mock(Consumer.class);
+
+    @Test
+    public void notStarted() {
+        SessionExpirationSweeper sweeper = new SessionExpirationSweeper(this.listener, BATCH_SIZE, Duration.ofMinutes(1));
+        ImmutableSession session = mock(ImmutableSession.class);
+
+        sweeper.accept(session);
+
+        verify(this.listener).accept(session);
+        assertEquals(0, sweeper.getPendingExpirationCount());
+    }
+
+    @Test
+    public void sweep() {
+        // Use a long interval, so that ticks can be triggered explicitly
+        SessionExpirationSweeper sweeper = new SessionExpirationSweeper(this.listener, BATCH_SIZE, Duration.ofMinutes(1));
+        sweeper.start();
+        try {
+            for (int i = 0; i < 25; ++i) {
+                sweeper.accept(mock(ImmutableSession.class));
+            }
+            verify(this.listener, never()).accept(any());
+            assertEquals(25, sweeper.getPendingExpirationCount());
+
+            // Each tick processes a bounded number of sessions
+            sweeper.run();
+            verify(this.listener, times(10)).accept(any());
+            assertEquals(15, sweeper.getPendingExpirationCount());
+
+            // Listener failures must not stall the backlog
+            doThrow(IllegalStateException.class).when(this.listener).accept(any());
+            sweeper.run();
+            verify(this.listener, times(20)).accept(any());
+            assertEquals(5, sweeper.getPendingExpirationCount());
+        } finally {
+            sweeper.stop();
+        }
+        // Backlog is drained on stop
+        verify(this.listener, times(25)).accept(any());
+        assertEquals(0, sweeper.getPendingExpirationCount());
+    }
+
+    @Test
+    public void backlogFull() {
+        SessionExpirationSweeper sweeper = new SessionExpirationSweeper(this.listener, BATCH_SIZE, Duration.ofMinutes(1));
+        sweeper.start();
+        try {
+            int capacity = BATCH_SIZE * SessionExpirationSweeper.MAX_BACKLOG_BATCHES;
+            for (int i = 0; i < capacity; ++i) {
+                sweeper.accept(mock(ImmutableSession.class));
+            }
+            verify(this.listener, never()).accept(any());
+            assertEquals(capacity, sweeper.getPendingExpirationCount());
+
+            // Sessions exceeding the backlog are processed by the calling thread
+            ImmutableSession session = mock(ImmutableSession.class);
+            sweeper.accept(session);
+            verify(this.listener).accept(session);
+            assertEquals(capacity, sweeper.getPendingExpirationCount());
+        } finally {
+            sweeper.stop();
+        }
+        assertEquals(0, sweeper.getPendingExpirationCount());
+    }
+
+    @Test
+    public void deferredSessionGranularity() {
+        this.deferred(new CoarseSessionAttributes());
+    }
+
+    @Test
+    public void deferredAttributeGranularity() {
+        this.deferred(new FineSessionAttributes());
+    }
+
+    private void deferred(SessionAttributes cache) {
+        Deployment deployment = mock(Deployment.class);
+        UndertowSessionManager manager = mock(UndertowSessionManager.class);
+        ServletContextImpl context = mock(ServletContextImpl.class);
+        SessionListener sessionListener = mock(SessionListener.class);
+        ImmutableSession session = mock(ImmutableSession.class);
+        ImmutableSessionMetaData metaData = mock(ImmutableSessionMetaData.class);
+        String id = "session";
+
+        SessionListeners listeners = new SessionListeners();
+        listeners.addSessionListener(sessionListener);
+
+        doReturn(context).when(deployment).getServletContext();
+        doReturn(Thread.currentThread().getContextClassLoader()).when(context).getClassLoader();
+        doReturn(manager).when(deployment).getSessionManager();
+        doReturn(id).when(session).getId();
+        doReturn(metaData).when(session).getMetaData();
+        doReturn(Instant.now()).when(metaData).getCreationTime();
+        doReturn(Optional.of(Instant.now())).when(metaData).getLastAccessStartTime();
+        doReturn(Optional.empty()).when(metaData).getMaxIdle();
+
+        Map<String, Object> destroyedAttributes = new HashMap<>();
+        doAnswer(invocation -> {
+            // Listener of deferred session is notified after its removal
+            assertFalse(cache.contains(id));
+            Session destroyed = invocation.getArgument(0);
+            for (String name : destroyed.getAttributeNames()) {
+                destroyedAttributes.put(name, destroyed.getAttribute(name));
+            }
+            return null;
+        }).when(sessionListener).sessionDestroyed(any(), isNull(), same(SessionListener.SessionDestroyedReason.TIMEOUT));
+
+        cache.setAttribute(id, "foo", "initial");
+        cache.setAttribute(id, "bar", "initial");
+        cache.setAttribute(id, "foo", "final");
+        cache.removeAttribute(id, "bar");
+        cache.setAttribute(id, "baz", "final");
+
+        SessionExpirationSweeper sweeper = new SessionExpirationSweeper(new UndertowSessionExpirationListener(deployment, listeners, null), BATCH_SIZE, Duration.ofMinutes(1));
+        sweeper.start();
+        try {
+            // Emulate expiration scheduler, which reads the immutable session, then removes it within the same batch
+            doReturn(cache.getAttributes(id)).when(session).getAttributes();
+            sweeper.accept(session);
+            cache.remove(id);
+
+            verify(sessionListener, never()).sessionDestroyed(any(), any(), any());
+
+            sweeper.run();
+        } finally {
+            sweeper.stop();
+        }
+
+        verify(sessionListener).sessionDestroyed(any(), isNull(), same(SessionListener.SessionDestroyedReason.TIMEOUT));
+        assertEquals(Map.of("foo", "final", "baz", "final"), destroyedAttributes);
+    }
+
+    interface SessionAttributes {
+        void setAttribute(String id, String name, Object value);
+
+        void removeAttribute(String id, String name);
+
+        Map<String, Object> getAttributes(String id);
+
+        boolean contains(String id);
+
+        void remove(String id);
+    }
+
+    // Emulates SESSION granularity, which stores all attributes of a session within a single cache entry
+    static class CoarseSessionAttributes implements SessionAttributes {
+        private final Map<String, Map<String, Object>> cache = new ConcurrentHashMap<>();
+
+        @Override
+        public void setAttribute(String id, String name, Object value) {
+            Map<String, Object> attributes = new HashMap<>(this.cache.getOrDefault(id, Map.of()));
+            attributes.put(name, value);
+            this.cache.put(id, attributes);
+        }
+
+        @Override
+        public void removeAttribute(String id, String name) {
+            Map<String, Object> attributes = new HashMap<>(this.cache.getOrDefault(id, Map.of()));
+            attributes.remove(name);
+            this.cache.put(id, attributes);
+        }
+
+        @Override
+        public Map<String, Object> getAttributes(String id) {
+            return Map.copyOf(this.cache.get(id));
+        }
+
+        @Override
+        public boolean contains(String id) {
+            return this.cache.containsKey(id);
+        }
+
+        @Override
+        public void remove(String id) {
+            this.cache.remove(id);
+        }
+    }
+
+    // Emulates ATTRIBUTE granularity, which stores each attribute of a session within a separate cache entry
+    static class FineSessionAttributes implements SessionAttributes {
+        private final Map<Map.Entry<String, String>, Object> cache = new ConcurrentHashMap<>();
+
+        @Override
+        public void setAttribute(String id, String name, Object value) {
+            this.cache.put(Map.entry(id, name), value);
+        }
+
+        @Override
+        public void removeAttribute(String id, String name) {
+            this.cache.remove(Map.entry(id, name));
+        }
+
+        @Override
+        public Map<String, Object> getAttributes(String id) {
+            Map<String, Object> attributes = new HashMap<>();
+            for (Map.Entry<Map.Entry<String, String>, Object> entry : this.cache.entrySet()) {
+                if (entry.getKey().getKey().equals(id)) {
+                    attributes.put(entry.getKey().getValue(), entry.getValue());
+                }
+            }
+            return Map.copyOf(attributes);
+        }
+
+        @Override
+        public boolean contains(String id) {
+            return this.cache.keySet().stream().anyMatch(key -> key.getKey().equals(id));
+        }
+
+        @Override
+        public void remove(String id) {
+            this.cache.keySet().removeIf(key -> key.getKey().equals(id));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ee.subsystem;
+
+import java.io.IOException;
+
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.jboss.as.version.Stability;
+
+/**
+ * Tests the community schema of the EE subsystem, which requires a server running at community stability.
+ */
+public class EeCommunitySubsystemTestCase extends AbstractSubsystemBaseTest {
+
+    public EeCommunitySubsystemTestCase() {
+        super(EeExtension.SUBSYSTEM_NAME, new EeExtension());
+    }
+
+    @Override
+    protected String getSubsystemXml() throws IOException {
+        return readResource("subsystem-community.xml");
+    }
+
+    @Override
+    protected String getSubsystemXsdPath() throws Exception {
+        return "schema/jboss-as-ee_community_7_0.xsd";
+    }
+
+    @Override
+    protected AdditionalInitialization createAdditionalInitialization() {
+        return AdditionalInitialization.withCapabilities(Stability.COMMUNITY, PathManager.SERVICE_DESCRIPTOR.getName());
+    }
+}
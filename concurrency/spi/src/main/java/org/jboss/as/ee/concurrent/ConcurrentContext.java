@@ -25,13 +25,14 @@ import java.io.ObjectOutputStream;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.Thread.currentThread;
 
@@ -81,6 +82,10 @@ public class ConcurrentContext {
 
     private final Map<String, ContextHandleFactory> factoryMap = new HashMap<>();
     private List<ContextHandleFactory> factoryOrderedList;
+    /**
+     * the context capture plans, computed once per context service types configuration
+     */
+    private final Map<ContextServiceTypesConfiguration, ContextCapture[]> capturePlans = new ConcurrentHashMap<>();
 
     private volatile ServiceName serviceName;
 
@@ -120,6 +125,7 @@ public class ConcurrentContext {
         sortedSet.addAll(factoryMap.values());
         // TODO *FOLLOW UP* now that we have factories coming from deployments, rework the ordering approach to no use treeset, which does not supports factories with same priority (the order param)
         factoryOrderedList = new ArrayList<>(sortedSet);
+        capturePlans.clear();
     }
 
     /**
@@ -129,33 +135,63 @@ public class ConcurrentContext {
      * @return
      */
     public SetupContextHandle saveContext(ContextService contextService, Map<String, String> contextObjectProperties) {
-        final ContextServiceTypesConfiguration contextServiceTypesConfiguration = ((WildFlyContextService)contextService).getContextServiceTypesConfiguration();
-        final List<SetupContextHandle> handles = new ArrayList<>(factoryOrderedList.size());
+        final ContextCapture[] plan = getCapturePlan(((WildFlyContextService)contextService).getContextServiceTypesConfiguration());
+        SetupContextHandle[] handles = new SetupContextHandle[plan.length];
+        int size = 0;
+        for (ContextCapture capture : plan) {
+            final SetupContextHandle setupContextHandle = capture.saveContext(contextService, contextObjectProperties);
+            if (setupContextHandle != null) {
+                handles[size++] = setupContextHandle;
+            }
+        }
+        if (size < handles.length) {
+            handles = Arrays.copyOf(handles, size);
+        }
+        return new ChainedSetupContextHandle(this, handles);
+    }
+
+    /**
+     * Retrieves the plan to capture context for the specified configuration, computing it on first use.
+     * Which factory method provides the handle of each context type only depends on the configuration, thus it's resolved once, and factories whose handles never set up any context are left out.
+     * @param contextServiceTypesConfiguration
+     * @return
+     */
+    private ContextCapture[] getCapturePlan(ContextServiceTypesConfiguration contextServiceTypesConfiguration) {
+        final ContextCapture[] plan = capturePlans.get(contextServiceTypesConfiguration);
+        return plan != null ? plan : capturePlans.computeIfAbsent(contextServiceTypesConfiguration, this::createCapturePlan);
+    }
+
+    private ContextCapture[] createCapturePlan(ContextServiceTypesConfiguration contextServiceTypesConfiguration) {
+        final List<ContextCapture> plan = new ArrayList<>(factoryOrderedList.size());
         for (ContextHandleFactory factory : factoryOrderedList) {
             // TODO *FOLLOW UP* migrate all factories on other subsystems to use the new EE10ContextHandleFactory API, and once all done replace the legacy ContextHandleFactory API with the new one, no need to keep both
             if (factory instanceof EE10ContextHandleFactory) {
                 final EE10ContextHandleFactory ee10ContextHandleFactory = (EE10ContextHandleFactory) factory;
+                if (ee10ContextHandleFactory.isNoOp()) {
+                    continue;
+                }
                 final String contextType = ee10ContextHandleFactory.getContextType();
-                final SetupContextHandle setupContextHandle;
                 if (contextServiceTypesConfiguration.isCleared(contextType)) {
-                    setupContextHandle = ee10ContextHandleFactory.clearedContext(contextService, contextObjectProperties);
+                    plan.add(ee10ContextHandleFactory::clearedContext);
                 } else if (contextServiceTypesConfiguration.isPropagated(contextType)) {
-                    setupContextHandle = ee10ContextHandleFactory.propagatedContext(contextService, contextObjectProperties);
+                    plan.add(ee10ContextHandleFactory::propagatedContext);
                 } else if (contextServiceTypesConfiguration.isUnchanged(contextType)) {
-                    setupContextHandle = ee10ContextHandleFactory.unchangedContext(contextService, contextObjectProperties);
-                } else {
-                    setupContextHandle = null;
-                }
-                if (setupContextHandle != null) {
-                    handles.add(setupContextHandle);
+                    plan.add(ee10ContextHandleFactory::unchangedContext);
                 }
             } else {
                 if (contextServiceTypesConfiguration.isPropagated(ContextServiceDefinition.APPLICATION)) {
-                    handles.add(factory.saveContext(contextService, contextObjectProperties));
+                    plan.add(factory::saveContext);
                 }
             }
         }
-        return new ChainedSetupContextHandle(this, handles);
+        return plan.toArray(new ContextCapture[0]);
+    }
+
+    /**
+     * The resolved factory method which saves the context of a specific type.
+     */
+    private interface ContextCapture {
+        SetupContextHandle saveContext(ContextService contextService, Map<String, String> contextObjectProperties);
     }
 
     /**
@@ -165,9 +201,9 @@ public class ConcurrentContext {
 
         private static final long serialVersionUID = 3609876437062603461L;
         private transient ConcurrentContext concurrentContext;
-        private transient List<SetupContextHandle> setupHandles;
+        private transient SetupContextHandle[] setupHandles;
 
-        private ChainedSetupContextHandle(ConcurrentContext concurrentContext, List<SetupContextHandle> setupHandles) {
+        private ChainedSetupContextHandle(ConcurrentContext concurrentContext, SetupContextHandle[] setupHandles) {
             this.concurrentContext = concurrentContext;
             this.setupHandles = setupHandles;
         }
@@ -177,12 +213,12 @@ public class ConcurrentContext {
             if (concurrentContext.getServiceName() == null) {
                 throw EeLogger.ROOT_LOGGER.serviceNotStarted();
             }
-            final LinkedList<ResetContextHandle> resetHandles = new LinkedList<>();
-            final ResetContextHandle resetContextHandle = new ChainedResetContextHandle(resetHandles);
+            final ResetContextHandle[] resetHandles = new ResetContextHandle[setupHandles.length];
+            final ChainedResetContextHandle resetContextHandle = new ChainedResetContextHandle(resetHandles);
             try {
                 ConcurrentContext.pushCurrent(concurrentContext);
                 for (SetupContextHandle handle : setupHandles) {
-                    resetHandles.addFirst(handle.setup());
+                    resetHandles[resetContextHandle.size++] = handle.setup();
                 }
             } catch (Error | RuntimeException e) {
                 resetContextHandle.reset();
@@ -201,7 +237,7 @@ public class ConcurrentContext {
             // write the concurrent context service name
             out.writeObject(concurrentContext.serviceName);
             // write the number of setup handles
-            out.write(setupHandles.size());
+            out.write(setupHandles.length);
             // write each handle
             ContextHandleFactory factory = null;
             String factoryName = null;
@@ -249,16 +285,16 @@ public class ConcurrentContext {
                 }
                 concurrentContext = (ConcurrentContext) serviceController.getValue();
                 // read setup handles
-                setupHandles = new ArrayList<>();
+                setupHandles = new SetupContextHandle[in.read()];
                 ContextHandleFactory factory = null;
                 String factoryName = null;
-                for(int i = in.read(); i > 0; i--) {
+                for(int i = 0; i < setupHandles.length; i++) {
                     factoryName = in.readUTF();
                     factory = concurrentContext.factoryMap.get(factoryName);
                     if(factory == null) {
                         throw EeLogger.ROOT_LOGGER.factoryNotFound(concurrentContext.toString(), factoryName);
                     }
-                    setupHandles.add(factory.readSetupContextHandle(in));
+                    setupHandles[i] = factory.readSetupContextHandle(in);
                 }
             } finally {
                 if (sm == null) {
@@ -274,21 +310,24 @@ public class ConcurrentContext {
     }
 
     /**
-     * A reset context handle that is a chain of other reset context handles
+     * A reset context handle that is a chain of other reset context handles, which are reset in the reverse order of their setup
      */
     private static class ChainedResetContextHandle implements ResetContextHandle {
 
         private static final long serialVersionUID = 8329909590327062062L;
-        private transient List<ResetContextHandle> resetHandles;
+        private transient ResetContextHandle[] resetHandles;
+        // the number of handles set up
+        private transient int size;
 
-        private ChainedResetContextHandle(List<ResetContextHandle> resetHandles) {
+        private ChainedResetContextHandle(ResetContextHandle[] resetHandles) {
             this.resetHandles = resetHandles;
         }
 
         @Override
         public void reset() {
             if(resetHandles != null) {
-                for (ResetContextHandle handle : resetHandles) {
+                for (int i = size - 1; i >= 0; i--) {
+                    final ResetContextHandle handle = resetHandles[i];
                     try {
                         handle.reset();
                     } catch (Throwable e) {
@@ -0,0 +1,809 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.concurrent.ContextService;
+import jakarta.enterprise.concurrent.ManagedTask;
+import jakarta.enterprise.concurrent.ManagedTaskListener;
+
+import org.jboss.as.controller.ProcessStateNotifier;
+import org.jboss.as.ee.logging.EeLogger;
+import org.wildfly.extension.requestcontroller.ControlPoint;
+
+/**
+ * {@link jakarta.enterprise.concurrent.ManagedExecutorService} implementation that runs each task on a new virtual thread.
+ * The context of the submitting thread is captured on submission, and set up (and reset) around the execution of the task.
+ * Rather than by the size of a thread pool, the number of concurrently executing tasks is limited by a semaphore.
+ * A task submitted while this limit is reached waits for a permit on its own virtual thread, and thus never blocks the submitting thread.
+ * The {@link ManagedTaskListener} of a {@link ManagedTask} is notified of the lifecycle of the task, and its execution properties are honoured.
+ */
+public class VirtualThreadManagedExecutorService extends AbstractExecutorService implements WildFlyManagedExecutorService {
+
+    private final String name;
+    private final VirtualThreadManagedThreadFactory threadFactory;
+    private final long hungTaskThreshold;
+    private final int maxThreads;
+    private final Semaphore permits;
+    private final WildFlyContextService contextService;
+    private final ControlPoint controlPoint;
+    private final ProcessStateNotifier processStateNotifier;
+    // Maps each started thread to its execution
+    private final Map<Thread, Execution> executions = new ConcurrentHashMap<>();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final AtomicInteger largest = new AtomicInteger();
+    private final ManagedExecutorRuntimeStats runtimeStats = new ManagedExecutorRuntimeStats() {
+        @Override
+        public int getActiveThreadsCount() {
+            return VirtualThreadManagedExecutorService.this.maxThreads - VirtualThreadManagedExecutorService.this.permits.availablePermits();
+        }
+
+        @Override
+        public long getCompletedTaskCount() {
+            return VirtualThreadManagedExecutorService.this.completed.sum();
+        }
+
+        @Override
+        public int getHungThreadsCount() {
+            final Instant now = Instant.now();
+            int count = 0;
+            for (Execution execution : VirtualThreadManagedExecutorService.this.executions.values()) {
+                if (VirtualThreadManagedExecutorService.this.isHung(execution, now)) {
+                    count += 1;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public int getMaxThreadsCount() {
+            return VirtualThreadManagedExecutorService.this.largest.get();
+        }
+
+        @Override
+        public int getQueueSize() {
+            return Math.max(0, this.getThreadsCount() - this.getActiveThreadsCount());
+        }
+
+        @Override
+        public long getTaskCount() {
+            return VirtualThreadManagedExecutorService.this.submitted.sum();
+        }
+
+        @Override
+        public int getThreadsCount() {
+            return VirtualThreadManagedExecutorService.this.executions.size();
+        }
+
+        @Override
+        public long getVirtualThreadTaskCount() {
+            return this.getTaskCount();
+        }
+
+        @Override
+        public long getCompletedVirtualThreadTaskCount() {
+            return this.getCompletedTaskCount();
+        }
+    };
+    private volatile boolean shutdown = false;
+
+    /**
+     * @param name the name of the executor
+     * @param threadFactory the factory of the executor's virtual threads
+     * @param hungTaskThreshold the runtime, in milliseconds, for tasks to be considered hung, or 0 if tasks are never considered hung
+     * @param maxThreads the maximum number of concurrently executing tasks
+     * @param contextService the context service used to propagate the submitting thread's context to tasks, may be null
+     * @param controlPoint the control point, may be null
+     * @param processStateNotifier the process state notifier
+     */
+    public VirtualThreadManagedExecutorService(String name, VirtualThreadManagedThreadFactory threadFactory, long hungTaskThreshold, int maxThreads, WildFlyContextService contextService, ControlPoint controlPoint, ProcessStateNotifier processStateNotifier) {
+        this.name = name;
+        this.threadFactory = threadFactory;
+        this.hungTaskThreshold = hungTaskThreshold;
+        this.maxThreads = maxThreads;
+        this.permits = new Semaphore(maxThreads);
+        this.contextService = contextService;
+        this.controlPoint = controlPoint;
+        this.processStateNotifier = processStateNotifier;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    ControlPoint getControlPoint() {
+        return this.controlPoint;
+    }
+
+    ProcessStateNotifier getProcessStateNotifier() {
+        return this.processStateNotifier;
+    }
+
+    @Override
+    public WildFlyManagedThreadFactory getWildFlyManagedThreadFactory() {
+        return this.threadFactory;
+    }
+
+    @Override
+    public ManagedExecutorRuntimeStats getRuntimeStats() {
+        return this.runtimeStats;
+    }
+
+    @Override
+    public ContextService getContextService() {
+        return this.contextService;
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new ManagedTaskFuture<>(Executors.callable(runnable, value), runnable);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new ManagedTaskFuture<>(callable, callable);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if ((command instanceof ManagedTask) && !(command instanceof ManagedTaskFuture)) {
+            // The listener of a managed task is notified with the future of its execution
+            this.execute(this.newTaskFor(command, null));
+            return;
+        }
+        final ManagedTaskFuture<?> future = (command instanceof ManagedTaskFuture) ? (ManagedTaskFuture<?>) command : null;
+        final Map<String, String> properties = (future != null) ? getExecutionProperties(future.task) : Map.of();
+        if (future != null) {
+            future.submitted();
+        }
+        Runnable runnable = command;
+        try {
+            runnable = ControlPointUtils.doWrap(command, this.controlPoint, this.processStateNotifier);
+            this.dispatch(this.contextualize(SecurityIdentityUtils.doIdentityWrap(runnable), properties), command, properties, (runnable != command) ? this.controlPoint : null);
+        } catch (RuntimeException e) {
+            if (runnable != command) {
+                this.controlPoint.requestComplete();
+            }
+            if (future != null) {
+                future.abort(e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Captures the context of the calling thread, to be applied around each execution of the specified task.
+     * @param task a task
+     * @param properties the execution properties of the task
+     * @return a contextual task
+     */
+    Runnable contextualize(Runnable task, Map<String, String> properties) {
+        if (this.contextService == null) {
+            return task;
+        }
+        return properties.isEmpty() ? this.contextService.contextualRunnable(task) : this.contextService.createContextualProxy(task, properties, Runnable.class);
+    }
+
+    /**
+     * Captures the context of the calling thread, to be applied around each execution of the specified task.
+     * @param task a task
+     * @param properties the execution properties of the task
+     * @return a contextual task
+     */
+    @SuppressWarnings("unchecked")
+    <V> Callable<V> contextualize(Callable<V> task, Map<String, String> properties) {
+        if (this.contextService == null) {
+            return task;
+        }
+        return properties.isEmpty() ? this.contextService.contextualCallable(task) : this.contextService.createContextualProxy(task, properties, Callable.class);
+    }
+
+    /**
+     * Notifies the specified listener of a managed task, if any, of an event in the lifecycle of the task.
+     * A failing listener does not affect the execution of its task.
+     * @param listener a listener, may be null
+     * @param notification the notification of the listener
+     */
+    void notifyListener(ManagedTaskListener listener, Consumer<ManagedTaskListener> notification) {
+        if (listener != null) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                EeLogger.ROOT_LOGGER.debugf(e, "Managed task listener of %s failed", this.name);
+            }
+        }
+    }
+
+    /**
+     * Returns the execution properties of the specified task.
+     * @param task a submitted task
+     * @return the execution properties of a {@link ManagedTask}, or an empty map otherwise
+     */
+    static Map<String, String> getExecutionProperties(Object task) {
+        if (task instanceof ManagedTask) {
+            final Map<String, String> properties = ((ManagedTask) task).getExecutionProperties();
+            if (properties != null) {
+                return properties;
+            }
+        }
+        return Map.of();
+    }
+
+    /**
+     * Returns the listener of the specified task.
+     * @param task a submitted task
+     * @return the listener of a {@link ManagedTask}, or null otherwise
+     */
+    static ManagedTaskListener getManagedTaskListener(Object task) {
+        return (task instanceof ManagedTask) ? ((ManagedTask) task).getManagedTaskListener() : null;
+    }
+
+    /**
+     * Runs the specified task on a new virtual thread, once permitted by the concurrency limit.
+     * @param task the task to run
+     * @param command the submitted command, cancelled if the task is considered hung, or if interrupted before the task was permitted to run
+     * @param properties the execution properties of the submitted command, whose identity name and long-running hint apply to hung task detection
+     * @param controlPoint the control point of the request begun on submission of the task, completed by the task itself, or null if none was begun
+     */
+    void dispatch(Runnable task, Runnable command, Map<String, String> properties, ControlPoint controlPoint) {
+        if (this.shutdown) {
+            throw new RejectedExecutionException();
+        }
+        final Execution execution = new Execution(task, command, properties, controlPoint);
+        final Thread thread = this.threadFactory.newThread(execution);
+        this.executions.put(thread, execution);
+        // Recheck, in case of concurrent shutdown
+        if (this.shutdown) {
+            this.executions.remove(thread);
+            throw new RejectedExecutionException();
+        }
+        try {
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            this.executions.remove(thread);
+            throw new RejectedExecutionException(e);
+        }
+        this.submitted.increment();
+        this.largest.accumulateAndGet(this.executions.size(), Math::max);
+    }
+
+    private boolean isHung(Execution execution, Instant now) {
+        final Instant start = execution.start;
+        return (this.hungTaskThreshold > 0) && !execution.longRunning && (start != null) && (Duration.between(start, now).toMillis() > this.hungTaskThreshold);
+    }
+
+    @Override
+    public void terminateHungTasks() {
+        final String executorName = this.getClass().getSimpleName() + ":" + this.name;
+        EeLogger.ROOT_LOGGER.debugf("Cancelling %s hung tasks...", executorName);
+        final Instant now = Instant.now();
+        for (Map.Entry<Thread, Execution> entry : this.executions.entrySet()) {
+            final Execution execution = entry.getValue();
+            if (this.isHung(execution, now)) {
+                final String taskName = (execution.identityName != null) ? execution.identityName : entry.getKey().getName();
+                try {
+                    if (execution.cancel(entry.getKey())) {
+                        EeLogger.ROOT_LOGGER.hungTaskCancelled(executorName, taskName);
+                    } else {
+                        EeLogger.ROOT_LOGGER.hungTaskNotCancelled(executorName, taskName);
+                    }
+                } catch (Throwable throwable) {
+                    EeLogger.ROOT_LOGGER.huntTaskTerminationFailure(throwable, executorName, taskName);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        if (this.executions.isEmpty()) {
+            synchronized (this.executions) {
+                this.executions.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        this.shutdown();
+        final List<Runnable> commands = new ArrayList<>();
+        for (Map.Entry<Thread, Execution> entry : this.executions.entrySet()) {
+            entry.getKey().interrupt();
+            commands.add(entry.getValue().command);
+        }
+        return commands;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.shutdown && this.executions.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this.executions) {
+            while (!this.isTerminated()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this.executions, remaining);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public <U> CompletableFuture<U> newIncompleteFuture() {
+        return new ManagedCompletableFuture<>(this, this.contextService);
+    }
+
+    @Override
+    public <U> CompletableFuture<U> completedFuture(U value) {
+        final CompletableFuture<U> future = this.newIncompleteFuture();
+        future.complete(value);
+        return future;
+    }
+
+    @Override
+    public <U> CompletionStage<U> completedStage(U value) {
+        return this.completedFuture(value);
+    }
+
+    @Override
+    public <U> CompletableFuture<U> failedFuture(Throwable exception) {
+        final CompletableFuture<U> future = this.newIncompleteFuture();
+        future.completeExceptionally(exception);
+        return future;
+    }
+
+    @Override
+    public <U> CompletionStage<U> failedStage(Throwable exception) {
+        return this.failedFuture(exception);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> copy(CompletableFuture<T> stage) {
+        return this.copy((CompletionStage<T>) stage);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> copy(CompletionStage<T> stage) {
+        final CompletableFuture<T> future = this.newIncompleteFuture();
+        stage.whenComplete((result, exception) -> {
+            if (exception != null) {
+                future.completeExceptionally(exception);
+            } else {
+                future.complete(result);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Void> runAsync(Runnable runnable) {
+        return this.<Void>newIncompleteFuture().completeAsync(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <U> CompletableFuture<U> supplyAsync(Supplier<U> supplier) {
+        return this.<U>newIncompleteFuture().completeAsync(supplier);
+    }
+
+    private class Execution implements Runnable {
+        private final Runnable task;
+        private final Runnable command;
+        private final String identityName;
+        private final boolean longRunning;
+        private final ControlPoint controlPoint;
+        // Null while waiting for a permit
+        private volatile Instant start;
+
+        Execution(Runnable task, Runnable command, Map<String, String> properties, ControlPoint controlPoint) {
+            this.task = task;
+            this.command = command;
+            this.identityName = properties.get(ManagedTask.IDENTITY_NAME);
+            this.longRunning = Boolean.parseBoolean(properties.get(ManagedTask.LONGRUNNING_HINT));
+            this.controlPoint = controlPoint;
+        }
+
+        @Override
+        public void run() {
+            final VirtualThreadManagedExecutorService executor = VirtualThreadManagedExecutorService.this;
+            try {
+                executor.permits.acquire();
+                try {
+                    this.start = Instant.now();
+                    this.task.run();
+                } finally {
+                    executor.permits.release();
+                    executor.completed.increment();
+                }
+            } catch (InterruptedException e) {
+                // Executor was shutdown before this task was permitted to run
+                try {
+                    // Complete the future of a submitted task, which would otherwise never complete
+                    if (this.command instanceof Future) {
+                        ((Future<?>) this.command).cancel(false);
+                    }
+                } finally {
+                    // Complete the request begun on submission, which the task would otherwise complete
+                    if (this.controlPoint != null) {
+                        this.controlPoint.requestComplete();
+                    }
+                }
+                Thread.currentThread().interrupt();
+            } finally {
+                executor.executions.remove(Thread.currentThread());
+                if (executor.shutdown && executor.executions.isEmpty()) {
+                    synchronized (executor.executions) {
+                        executor.executions.notifyAll();
+                    }
+                }
+            }
+        }
+
+        boolean cancel(Thread thread) {
+            if (this.command instanceof Future) {
+                return ((Future<?>) this.command).cancel(true);
+            }
+            thread.interrupt();
+            return true;
+        }
+    }
+
+    /**
+     * The future of a submitted task, which notifies the {@link ManagedTaskListener} of a {@link ManagedTask} of the lifecycle of the task.
+     */
+    private class ManagedTaskFuture<V> extends FutureTask<V> {
+        private final Object task;
+        private final ManagedTaskListener listener;
+        private volatile Throwable exception;
+        private volatile Throwable abortCause;
+
+        ManagedTaskFuture(Callable<V> callable, Object task) {
+            super(callable);
+            this.task = task;
+            this.listener = getManagedTaskListener(task);
+        }
+
+        void submitted() {
+            VirtualThreadManagedExecutorService.this.notifyListener(this.listener, listener -> listener.taskSubmitted(this, VirtualThreadManagedExecutorService.this, this.task));
+        }
+
+        void abort(Throwable cause) {
+            this.abortCause = cause;
+            this.setException(cause);
+        }
+
+        @Override
+        public void run() {
+            if (!this.isDone()) {
+                VirtualThreadManagedExecutorService.this.notifyListener(this.listener, listener -> listener.taskStarting(this, VirtualThreadManagedExecutorService.this, this.task));
+            }
+            super.run();
+        }
+
+        @Override
+        protected void setException(Throwable exception) {
+            this.exception = exception;
+            super.setException(exception);
+        }
+
+        @Override
+        protected void done() {
+            if (this.listener != null) {
+                final Throwable abortCause = this.isCancelled() ? new CancellationException() : this.abortCause;
+                if (abortCause != null) {
+                    VirtualThreadManagedExecutorService.this.notifyListener(this.listener, listener -> listener.taskAborted(this, VirtualThreadManagedExecutorService.this, this.task, abortCause));
+                }
+                final Throwable exception = (abortCause != null) ? abortCause : this.exception;
+                VirtualThreadManagedExecutorService.this.notifyListener(this.listener, listener -> listener.taskDone(this, VirtualThreadManagedExecutorService.this, this.task, exception));
+            }
+        }
+    }
+
+    /**
+     * A {@link CompletableFuture} whose dependent stages run asynchronously on the managed executor by default.
+     * The action of each dependent stage runs with the context of the thread that created the stage, regardless of the executor that runs it.
+     */
+    private static class ManagedCompletableFuture<T> extends CompletableFuture<T> {
+        private final Executor executor;
+        private final ContextService contextService;
+
+        ManagedCompletableFuture(Executor executor, ContextService contextService) {
+            this.executor = executor;
+            this.contextService = contextService;
+        }
+
+        @Override
+        public Executor defaultExecutor() {
+            return this.executor;
+        }
+
+        @Override
+        public <U> CompletableFuture<U> newIncompleteFuture() {
+            return new ManagedCompletableFuture<>(this.executor, this.contextService);
+        }
+
+        private Runnable contextual(Runnable action) {
+            return (this.contextService != null) ? this.contextService.contextualRunnable(action) : action;
+        }
+
+        private <R> Supplier<R> contextual(Supplier<R> supplier) {
+            return (this.contextService != null) ? this.contextService.contextualSupplier(supplier) : supplier;
+        }
+
+        private <A> Consumer<A> contextual(Consumer<A> action) {
+            return (this.contextService != null) ? this.contextService.contextualConsumer(action) : action;
+        }
+
+        private <A, B> BiConsumer<A, B> contextual(BiConsumer<A, B> action) {
+            return (this.contextService != null) ? this.contextService.contextualConsumer(action) : action;
+        }
+
+        private <A, R> Function<A, R> contextual(Function<A, R> function) {
+            return (this.contextService != null) ? this.contextService.contextualFunction(function) : function;
+        }
+
+        private <A, B, R> BiFunction<A, B, R> contextual(BiFunction<A, B, R> function) {
+            return (this.contextService != null) ? this.contextService.contextualFunction(function) : function;
+        }
+
+        @Override
+        public <U> CompletableFuture<U> thenApply(Function<? super T, ? extends U> fn) {
+            return super.thenApply(this.contextual(fn));
+        }
+
+        @Override
+        public <U> CompletableFuture<U> thenApplyAsync(Function<? super T, ? extends U> fn) {
+            return super.thenApplyAsync(this.contextual(fn));
+        }
+
+        @Override
+        public <U> CompletableFuture<U> thenApplyAsync(Function<? super T, ? extends U> fn, Executor executor) {
+            return super.thenApplyAsync(this.contextual(fn), executor);
+        }
+
+        @Override
+        public CompletableFuture<Void> thenAccept(Consumer<? super T> action) {
+            return super.thenAccept(this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<Void> thenAcceptAsync(Consumer<? super T> action) {
+            return super.thenAcceptAsync(this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<Void> thenAcceptAsync(Consumer<? super T> action, Executor executor) {
+            return super.thenAcceptAsync(this.contextual(action), executor);
+        }
+
+        @Override
+        public CompletableFuture<Void> thenRun(Runnable action) {
+            return super.thenRun(this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<Void> thenRunAsync(Runnable action) {
+            return super.thenRunAsync(this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<Void> thenRunAsync(Runnable action, Executor executor) {
+            return super.thenRunAsync(this.contextual(action), executor);
+        }
+
+        @Override
+        public <U, V> CompletableFuture<V> thenCombine(CompletionStage<? extends U> other, BiFunction<? super T, ? super U, ? extends V> fn) {
+            return super.thenCombine(other, this.contextual(fn));
+        }
+
+        @Override
+        public <U, V> CompletableFuture<V> thenCombineAsync(CompletionStage<? extends U> other, BiFunction<? super T, ? super U, ? extends V> fn) {
+            return super.thenCombineAsync(other, this.contextual(fn));
+        }
+
+        @Override
+        public <U, V> CompletableFuture<V> thenCombineAsync(CompletionStage<? extends U> other, BiFunction<? super T, ? super U, ? extends V> fn, Executor executor) {
+            return super.thenCombineAsync(other, this.contextual(fn), executor);
+        }
+
+        @Override
+        public <U> CompletableFuture<Void> thenAcceptBoth(CompletionStage<? extends U> other, BiConsumer<? super T, ? super U> action) {
+            return super.thenAcceptBoth(other, this.contextual(action));
+        }
+
+        @Override
+        public <U> CompletableFuture<Void> thenAcceptBothAsync(CompletionStage<? extends U> other, BiConsumer<? super T, ? super U> action) {
+            return super.thenAcceptBothAsync(other, this.contextual(action));
+        }
+
+        @Override
+        public <U> CompletableFuture<Void> thenAcceptBothAsync(CompletionStage<? extends U> other, BiConsumer<? super T, ? super U> action, Executor executor) {
+            return super.thenAcceptBothAsync(other, this.contextual(action), executor);
+        }
+
+        @Override
+        public CompletableFuture<Void> runAfterBoth(CompletionStage<?> other, Runnable action) {
+            return super.runAfterBoth(other, this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<Void> runAfterBothAsync(CompletionStage<?> other, Runnable action) {
+            return super.runAfterBothAsync(other, this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<Void> runAfterBothAsync(CompletionStage<?> other, Runnable action, Executor executor) {
+            return super.runAfterBothAsync(other, this.contextual(action), executor);
+        }
+
+        @Override
+        public <U> CompletableFuture<U> applyToEither(CompletionStage<? extends T> other, Function<? super T, U> fn) {
+            return super.applyToEither(other, this.contextual(fn));
+        }
+
+        @Override
+        public <U> CompletableFuture<U> applyToEitherAsync(CompletionStage<? extends T> other, Function<? super T, U> fn) {
+            return super.applyToEitherAsync(other, this.contextual(fn));
+        }
+
+        @Override
+        public <U> CompletableFuture<U> applyToEitherAsync(CompletionStage<? extends T> other, Function<? super T, U> fn, Executor executor) {
+            return super.applyToEitherAsync(other, this.contextual(fn), executor);
+        }
+
+        @Override
+        public CompletableFuture<Void> acceptEither(CompletionStage<? extends T> other, Consumer<? super T> action) {
+            return super.acceptEither(other, this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<Void> acceptEitherAsync(CompletionStage<? extends T> other, Consumer<? super T> action) {
+            return super.acceptEitherAsync(other, this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<Void> acceptEitherAsync(CompletionStage<? extends T> other, Consumer<? super T> action, Executor executor) {
+            return super.acceptEitherAsync(other, this.contextual(action), executor);
+        }
+
+        @Override
+        public CompletableFuture<Void> runAfterEither(CompletionStage<?> other, Runnable action) {
+            return super.runAfterEither(other, this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<Void> runAfterEitherAsync(CompletionStage<?> other, Runnable action) {
+            return super.runAfterEitherAsync(other, this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<Void> runAfterEitherAsync(CompletionStage<?> other, Runnable action, Executor executor) {
+            return super.runAfterEitherAsync(other, this.contextual(action), executor);
+        }
+
+        @Override
+        public <U> CompletableFuture<U> thenCompose(Function<? super T, ? extends CompletionStage<U>> fn) {
+            return super.thenCompose(this.contextual(fn));
+        }
+
+        @Override
+        public <U> CompletableFuture<U> thenComposeAsync(Function<? super T, ? extends CompletionStage<U>> fn) {
+            return super.thenComposeAsync(this.contextual(fn));
+        }
+
+        @Override
+        public <U> CompletableFuture<U> thenComposeAsync(Function<? super T, ? extends CompletionStage<U>> fn, Executor executor) {
+            return super.thenComposeAsync(this.contextual(fn), executor);
+        }
+
+        @Override
+        public CompletableFuture<T> whenComplete(BiConsumer<? super T, ? super Throwable> action) {
+            return super.whenComplete(this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<T> whenCompleteAsync(BiConsumer<? super T, ? super Throwable> action) {
+            return super.whenCompleteAsync(this.contextual(action));
+        }
+
+        @Override
+        public CompletableFuture<T> whenCompleteAsync(BiConsumer<? super T, ? super Throwable> action, Executor executor) {
+            return super.whenCompleteAsync(this.contextual(action), executor);
+        }
+
+        @Override
+        public <U> CompletableFuture<U> handle(BiFunction<? super T, Throwable, ? extends U> fn) {
+            return super.handle(this.contextual(fn));
+        }
+
+        @Override
+        public <U> CompletableFuture<U> handleAsync(BiFunction<? super T, Throwable, ? extends U> fn) {
+            return super.handleAsync(this.contextual(fn));
+        }
+
+        @Override
+        public <U> CompletableFuture<U> handleAsync(BiFunction<? super T, Throwable, ? extends U> fn, Executor executor) {
+            return super.handleAsync(this.contextual(fn), executor);
+        }
+
+        @Override
+        public CompletableFuture<T> exceptionally(Function<Throwable, ? extends T> fn) {
+            return super.exceptionally(this.contextual(fn));
+        }
+
+        @Override
+        public CompletableFuture<T> exceptionallyAsync(Function<Throwable, ? extends T> fn) {
+            return super.exceptionallyAsync(this.contextual(fn));
+        }
+
+        @Override
+        public CompletableFuture<T> exceptionallyAsync(Function<Throwable, ? extends T> fn, Executor executor) {
+            return super.exceptionallyAsync(this.contextual(fn), executor);
+        }
+
+        @Override
+        public CompletableFuture<T> exceptionallyCompose(Function<Throwable, ? extends CompletionStage<T>> fn) {
+            return super.exceptionallyCompose(this.contextual(fn));
+        }
+
+        @Override
+        public CompletableFuture<T> exceptionallyComposeAsync(Function<Throwable, ? extends CompletionStage<T>> fn) {
+            return super.exceptionallyComposeAsync(this.contextual(fn));
+        }
+
+        @Override
+        public CompletableFuture<T> exceptionallyComposeAsync(Function<Throwable, ? extends CompletionStage<T>> fn, Executor executor) {
+            return super.exceptionallyComposeAsync(this.contextual(fn), executor);
+        }
+
+        // completeAsync(Supplier) delegates to this method
+        @Override
+        public CompletableFuture<T> completeAsync(Supplier<? extends T> supplier, Executor executor) {
+            return super.completeAsync(this.contextual(supplier), executor);
+        }
+    }
+}
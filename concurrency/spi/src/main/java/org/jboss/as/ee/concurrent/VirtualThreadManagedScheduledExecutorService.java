@@ -0,0 +1,380 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.enterprise.concurrent.LastExecution;
+import jakarta.enterprise.concurrent.ManagedTask;
+import jakarta.enterprise.concurrent.ManagedTaskListener;
+import jakarta.enterprise.concurrent.SkippedException;
+import jakarta.enterprise.concurrent.Trigger;
+
+import org.jboss.as.controller.ProcessStateNotifier;
+import org.wildfly.extension.requestcontroller.ControlPoint;
+
+/**
+ * {@link jakarta.enterprise.concurrent.ManagedScheduledExecutorService} implementation that runs each execution of a task on a new virtual thread.
+ * Scheduling is handled by a single timer thread, which only dispatches due executions, and is itself virtual.
+ * The context of the scheduling thread is captured on submission, and set up (and reset) around each execution of the task.
+ * The {@link ManagedTaskListener} of a {@link ManagedTask} is notified of each submission, start, skip, and completion of an execution of the task.
+ */
+public class VirtualThreadManagedScheduledExecutorService extends VirtualThreadManagedExecutorService implements WildFlyManagedScheduledExecutorService {
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    /**
+     * @param name the name of the executor
+     * @param threadFactory the factory of the executor's virtual threads
+     * @param hungTaskThreshold the runtime, in milliseconds, for tasks to be considered hung, or 0 if tasks are never considered hung
+     * @param maxThreads the maximum number of concurrently executing tasks
+     * @param contextService the context service used to propagate the scheduling thread's context to tasks, may be null
+     * @param controlPoint the control point, may be null
+     * @param processStateNotifier the process state notifier
+     */
+    public VirtualThreadManagedScheduledExecutorService(String name, VirtualThreadManagedThreadFactory threadFactory, long hungTaskThreshold, int maxThreads, WildFlyContextService contextService, ControlPoint controlPoint, ProcessStateNotifier processStateNotifier) {
+        super(name, threadFactory, hungTaskThreshold, maxThreads, contextService, controlPoint, processStateNotifier);
+        this.timer = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return this.schedule(Executors.callable(command), command, delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return this.schedule(callable, callable, delay, unit);
+    }
+
+    private <V> ScheduledFuture<V> schedule(Callable<V> callable, Object task, long delay, TimeUnit unit) {
+        return this.schedule(callable, task, Instant.now().plusNanos(unit.toNanos(delay)), (lastExecution, taskScheduledTime) -> null);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        final Duration interval = Duration.ofNanos(unit.toNanos(period));
+        return this.schedule(Executors.callable(command), command, Instant.now().plusNanos(unit.toNanos(initialDelay)), (lastExecution, taskScheduledTime) -> lastExecution.getScheduledStart().toInstant().plus(interval));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        final Duration interval = Duration.ofNanos(unit.toNanos(delay));
+        return this.schedule(Executors.callable(command), command, Instant.now().plusNanos(unit.toNanos(initialDelay)), (lastExecution, taskScheduledTime) -> lastExecution.getRunEnd().toInstant().plus(interval));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, Trigger trigger) {
+        return this.schedule(Executors.callable(command), command, trigger);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, Trigger trigger) {
+        return this.schedule(callable, callable, trigger);
+    }
+
+    private <V> ScheduledFuture<V> schedule(Callable<V> callable, Object task, Trigger trigger) {
+        final Schedule schedule = new Schedule() {
+            @Override
+            public Instant getNextRunTime(LastExecution lastExecution, Instant taskScheduledTime) {
+                final Date nextRunTime = trigger.getNextRunTime(lastExecution, Date.from(taskScheduledTime));
+                return (nextRunTime != null) ? nextRunTime.toInstant() : null;
+            }
+
+            @Override
+            public boolean skipRun(LastExecution lastExecution, Instant scheduledRunTime) {
+                return trigger.skipRun(lastExecution, Date.from(scheduledRunTime));
+            }
+        };
+        return this.schedule(callable, task, schedule.getNextRunTime(null, Instant.now()), schedule);
+    }
+
+    private <V> ScheduledFuture<V> schedule(Callable<V> callable, Object task, Instant firstRunTime, Schedule schedule) {
+        final Callable<V> wrapped = SecurityIdentityUtils.doIdentityWrap(ControlPointUtils.doScheduledWrap(callable, this.getControlPoint(), this.getProcessStateNotifier()));
+        final Map<String, String> properties = getExecutionProperties(task);
+        final ScheduledTask<V> scheduledTask = new ScheduledTask<>(this.contextualize(wrapped, properties), task, properties, schedule);
+        scheduledTask.schedule(firstRunTime);
+        return scheduledTask;
+    }
+
+    @Override
+    public void shutdown() {
+        this.timer.shutdown();
+        super.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        this.timer.shutdownNow();
+        return super.shutdownNow();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.timer.isTerminated() && super.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return this.timer.awaitTermination(timeout, unit) && super.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Computes the run times of a scheduled task.
+     */
+    private interface Schedule {
+        /**
+         * @param lastExecution the last execution of the task, or null, if the task did not yet run
+         * @param taskScheduledTime the time at which the task was scheduled
+         * @return the time of the next run of the task, or null, if the task should not run again
+         */
+        Instant getNextRunTime(LastExecution lastExecution, Instant taskScheduledTime);
+
+        /**
+         * @param lastExecution the last execution of the task, or null, if the task did not yet run
+         * @param scheduledRunTime the time at which the run was scheduled
+         * @return true, if the run should be skipped, false otherwise
+         */
+        default boolean skipRun(LastExecution lastExecution, Instant scheduledRunTime) {
+            return false;
+        }
+    }
+
+    /**
+     * A task that is scheduled, via the timer, to run on a virtual thread, and rescheduled after each run according to its {@link Schedule}.
+     */
+    private class ScheduledTask<V> implements ScheduledFuture<V>, Runnable {
+        private final Callable<V> task;
+        private final Object submittedTask;
+        private final Map<String, String> properties;
+        private final String identityName;
+        private final ManagedTaskListener listener;
+        private final Schedule schedule;
+        private final Instant taskScheduledTime = Instant.now();
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile TaskExecution lastExecution;
+        private volatile Instant scheduledRunTime;
+        private volatile ScheduledFuture<?> timerFuture;
+        // Guarded by this
+        private Thread thread;
+
+        ScheduledTask(Callable<V> task, Object submittedTask, Map<String, String> properties, Schedule schedule) {
+            this.task = task;
+            this.submittedTask = submittedTask;
+            this.properties = properties;
+            this.identityName = properties.getOrDefault(ManagedTask.IDENTITY_NAME, submittedTask.toString());
+            this.listener = getManagedTaskListener(submittedTask);
+            this.schedule = schedule;
+        }
+
+        private void submitted() {
+            VirtualThreadManagedScheduledExecutorService.this.notifyListener(this.listener, listener -> listener.taskSubmitted(this, VirtualThreadManagedScheduledExecutorService.this, this.submittedTask));
+        }
+
+        private void starting() {
+            VirtualThreadManagedScheduledExecutorService.this.notifyListener(this.listener, listener -> listener.taskStarting(this, VirtualThreadManagedScheduledExecutorService.this, this.submittedTask));
+        }
+
+        private void aborted(Throwable cause) {
+            VirtualThreadManagedScheduledExecutorService.this.notifyListener(this.listener, listener -> listener.taskAborted(this, VirtualThreadManagedScheduledExecutorService.this, this.submittedTask, cause));
+            this.done(cause);
+        }
+
+        private void done(Throwable exception) {
+            VirtualThreadManagedScheduledExecutorService.this.notifyListener(this.listener, listener -> listener.taskDone(this, VirtualThreadManagedScheduledExecutorService.this, this.submittedTask, exception));
+        }
+
+        @SuppressWarnings("unchecked")
+        void schedule(Instant runTime) {
+            if (runTime == null) {
+                final TaskExecution lastExecution = this.lastExecution;
+                this.result.complete((lastExecution != null) ? (V) lastExecution.getResult() : null);
+                return;
+            }
+            this.scheduledRunTime = runTime;
+            final long delay = Math.max(0L, Duration.between(Instant.now(), runTime).toNanos());
+            try {
+                this.timerFuture = VirtualThreadManagedScheduledExecutorService.this.timer.schedule(this::dispatch, delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                this.aborted(e);
+                this.result.completeExceptionally(e);
+                throw e;
+            }
+            this.submitted();
+            // Recheck, in case of concurrent cancellation
+            if (this.result.isDone()) {
+                this.timerFuture.cancel(false);
+            }
+        }
+
+        private void dispatch() {
+            if (this.result.isDone()) return;
+            try {
+                // Scheduled tasks begin their request on each execution
+                VirtualThreadManagedScheduledExecutorService.this.dispatch(this, this, this.properties, null);
+            } catch (RejectedExecutionException e) {
+                this.aborted(e);
+                this.result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            // Once this thread is registered, a concurrent cancellation leaves the notification of completion to this run
+            synchronized (this) {
+                if (this.result.isDone()) return;
+                this.thread = Thread.currentThread();
+            }
+            final Instant scheduledRunTime = this.scheduledRunTime;
+            final Instant runStart;
+            final V value;
+            try {
+                if (this.schedule.skipRun(this.lastExecution, scheduledRunTime)) {
+                    this.aborted(new SkippedException());
+                    this.reschedule(this.lastExecution);
+                    return;
+                }
+                this.starting();
+                runStart = Instant.now();
+                value = this.task.call();
+            } catch (Throwable e) {
+                this.done(e);
+                this.result.completeExceptionally(e);
+                return;
+            } finally {
+                synchronized (this) {
+                    this.thread = null;
+                }
+            }
+            this.done(this.result.isCancelled() ? new CancellationException() : null);
+            final TaskExecution execution = new TaskExecution(this.identityName, value, scheduledRunTime, runStart, Instant.now());
+            this.lastExecution = execution;
+            this.reschedule(execution);
+        }
+
+        private void reschedule(TaskExecution lastExecution) {
+            try {
+                this.schedule(this.schedule.getNextRunTime(lastExecution, this.taskScheduledTime));
+            } catch (RuntimeException e) {
+                this.result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final boolean cancelled = this.result.cancel(mayInterruptIfRunning);
+            final ScheduledFuture<?> timerFuture = this.timerFuture;
+            if (timerFuture != null) {
+                timerFuture.cancel(false);
+            }
+            final Thread thread;
+            synchronized (this) {
+                thread = this.thread;
+            }
+            if (cancelled) {
+                final CancellationException exception = new CancellationException();
+                VirtualThreadManagedScheduledExecutorService.this.notifyListener(this.listener, listener -> listener.taskAborted(this, VirtualThreadManagedScheduledExecutorService.this, this.submittedTask, exception));
+                if (thread == null) {
+                    // Otherwise notified on completion of the current run
+                    this.done(exception);
+                } else if (mayInterruptIfRunning) {
+                    thread.interrupt();
+                }
+            }
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.result.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return this.result.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return this.result.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return this.result.get(timeout, unit);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            final ScheduledFuture<?> timerFuture = this.timerFuture;
+            return (timerFuture != null) ? timerFuture.getDelay(unit) : 0L;
+        }
+
+        @Override
+        public int compareTo(Delayed delayed) {
+            return Long.compare(this.getDelay(TimeUnit.NANOSECONDS), delayed.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static class TaskExecution implements LastExecution {
+        private final String identityName;
+        private final Object result;
+        private final Instant scheduledStart;
+        private final Instant runStart;
+        private final Instant runEnd;
+
+        TaskExecution(String identityName, Object result, Instant scheduledStart, Instant runStart, Instant runEnd) {
+            this.identityName = identityName;
+            this.result = result;
+            this.scheduledStart = scheduledStart;
+            this.runStart = runStart;
+            this.runEnd = runEnd;
+        }
+
+        @Override
+        public String getIdentityName() {
+            return this.identityName;
+        }
+
+        @Override
+        public Object getResult() {
+            return this.result;
+        }
+
+        @Override
+        public Date getScheduledStart() {
+            return Date.from(this.scheduledStart);
+        }
+
+        @Override
+        public Date getRunStart() {
+            return Date.from(this.runStart);
+        }
+
+        @Override
+        public Date getRunEnd() {
+            return Date.from(this.runEnd);
+        }
+    }
+}
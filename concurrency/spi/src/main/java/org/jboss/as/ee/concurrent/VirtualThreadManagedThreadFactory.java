@@ -0,0 +1,85 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.as.ee.logging.EeLogger;
+import org.jboss.as.ee.utils.VirtualThreadUtils;
+
+/**
+ * {@link jakarta.enterprise.concurrent.ManagedThreadFactory} implementation creating virtual threads.
+ * If a context service is specified, the context of the thread creating a new thread is captured, and set up (and reset) around the execution of the new thread's task.
+ */
+public class VirtualThreadManagedThreadFactory implements WildFlyManagedThreadFactory {
+
+    private final String name;
+    private final ThreadFactory factory;
+    private final WildFlyContextService contextService;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopped = false;
+
+    /**
+     * Creates a managed thread factory that creates virtual threads, if supported by the current runtime.
+     * @param name the name of the thread factory, used as the name prefix of its threads
+     * @param contextService the context service used to propagate context to created threads, may be null
+     * @return a new managed thread factory, or null, if virtual threads are not supported
+     */
+    public static VirtualThreadManagedThreadFactory create(String name, WildFlyContextService contextService) {
+        ThreadFactory factory = VirtualThreadUtils.createThreadFactory(name + "-");
+        return (factory != null) ? new VirtualThreadManagedThreadFactory(name, factory, contextService) : null;
+    }
+
+    VirtualThreadManagedThreadFactory(String name, ThreadFactory factory, WildFlyContextService contextService) {
+        this.name = name;
+        this.factory = factory;
+        this.contextService = contextService;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        if (this.stopped) {
+            throw EeLogger.ROOT_LOGGER.managedThreadFactoryStopped(this.name);
+        }
+        final Runnable task = (this.contextService != null) ? this.contextService.contextualRunnable(SecurityIdentityUtils.doIdentityWrap(runnable)) : runnable;
+        final Thread thread = this.factory.newThread(() -> {
+            try {
+                task.run();
+            } finally {
+                this.threads.remove(Thread.currentThread());
+            }
+        });
+        this.threads.add(thread);
+        return thread;
+    }
+
+    @Override
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        // A fork join worker thread cannot be virtual
+        return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    }
+
+    @Override
+    public void stop() {
+        this.stopped = true;
+        for (Thread thread : this.threads) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Virtual threads always have normal priority.
+     * @return {@link Thread#NORM_PRIORITY}
+     */
+    @Override
+    public int getPriority() {
+        return Thread.NORM_PRIORITY;
+    }
+}
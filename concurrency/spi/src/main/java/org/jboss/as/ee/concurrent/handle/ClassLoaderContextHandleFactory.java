@@ -23,10 +23,12 @@ public class ClassLoaderContextHandleFactory implements EE10ContextHandleFactory
 
     public static final String NAME = "CLASSLOADER";
 
-    private final ClassLoader classLoader;
+    private static final SetupContextHandle CLEARED_CONTEXT_HANDLE = new ClassLoaderSetupContextHandle(null);
+
+    private final SetupContextHandle propagatedContextHandle;
 
     public ClassLoaderContextHandleFactory(ClassLoader classLoader) {
-        this.classLoader = classLoader;
+        this.propagatedContextHandle = new ClassLoaderSetupContextHandle(classLoader);
     }
 
     @Override
@@ -36,12 +38,12 @@ public class ClassLoaderContextHandleFactory implements EE10ContextHandleFactory
 
     @Override
     public SetupContextHandle propagatedContext(ContextService contextService, Map<String, String> contextObjectProperties) {
-        return new ClassLoaderSetupContextHandle(classLoader);
+        return propagatedContextHandle;
     }
 
     @Override
     public SetupContextHandle clearedContext(ContextService contextService, Map<String, String> contextObjectProperties) {
-        return new ClassLoaderSetupContextHandle(null);
+        return CLEARED_CONTEXT_HANDLE;
     }
 
     @Override
@@ -61,7 +63,7 @@ public class ClassLoaderContextHandleFactory implements EE10ContextHandleFactory
 
     @Override
     public SetupContextHandle readSetupContextHandle(ObjectInputStream in) throws IOException, ClassNotFoundException {
-        return new ClassLoaderSetupContextHandle(in.readBoolean() ? classLoader : null);
+        return in.readBoolean() ? propagatedContextHandle : CLEARED_CONTEXT_HANDLE;
     }
 
     static class ClassLoaderSetupContextHandle implements SetupContextHandle {
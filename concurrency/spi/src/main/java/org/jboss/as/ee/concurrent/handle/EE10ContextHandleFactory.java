@@ -43,6 +43,14 @@ public interface EE10ContextHandleFactory extends ContextHandleFactory {
         return null;
     }
 
+    /**
+     * Indicates if the factory's handles never set up any context, in which case the factory may be skipped when saving context.
+     * @return true if the factory's handles are no-ops, false otherwise
+     */
+    default boolean isNoOp() {
+        return false;
+    }
+
     @Override
     default SetupContextHandle saveContext(ContextService contextService, Map<String, String> contextObjectProperties) {
         throw new UnsupportedOperationException();
@@ -27,12 +27,10 @@ public class NamingContextHandleFactory implements EE10ContextHandleFactory {
 
     public static final String NAME = "NAMING";
 
-    private final NamespaceContextSelector namespaceContextSelector;
-    private final ServiceName duServiceName;
+    private final NamingContextHandle propagatedContextHandle;
 
     public NamingContextHandleFactory(NamespaceContextSelector namespaceContextSelector, ServiceName duServiceName) {
-        this.namespaceContextSelector = namespaceContextSelector;
-        this.duServiceName = duServiceName;
+        this.propagatedContextHandle = new NamingContextHandle(namespaceContextSelector, duServiceName);
     }
 
     @Override
@@ -47,7 +45,7 @@ public class NamingContextHandleFactory implements EE10ContextHandleFactory {
 
     @Override
     public SetupContextHandle propagatedContext(ContextService contextService, Map<String, String> contextObjectProperties) {
-        return new NamingContextHandle(namespaceContextSelector,duServiceName);
+        return propagatedContextHandle;
     }
 
     @Override
@@ -67,7 +65,7 @@ public class NamingContextHandleFactory implements EE10ContextHandleFactory {
 
     @Override
     public SetupContextHandle readSetupContextHandle(ObjectInputStream in) throws IOException, ClassNotFoundException {
-        return in.readBoolean() ? new NamingContextHandle(namespaceContextSelector,duServiceName) : CLEARED_CONTEXT_HANDLE;
+        return in.readBoolean() ? propagatedContextHandle : CLEARED_CONTEXT_HANDLE;
     }
 
     private static class NamingContextHandle implements SetupContextHandle, ResetContextHandle {
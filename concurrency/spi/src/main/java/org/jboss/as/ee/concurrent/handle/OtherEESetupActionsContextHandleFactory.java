@@ -8,7 +8,6 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -28,10 +27,12 @@ public class OtherEESetupActionsContextHandleFactory implements EE10ContextHandl
 
     private final List<SetupAction> setupActions;
     private final SetupContextHandle clearedContextHandle;
+    private final SetupContextHandle propagatedContextHandle;
 
     public OtherEESetupActionsContextHandleFactory(List<SetupAction> setupActions) {
         this.setupActions = setupActions;
         this.clearedContextHandle = new ClearedSetupContextHandle(setupActions);
+        this.propagatedContextHandle = new PropagatedSetupContextHandle(setupActions);
     }
 
     @Override
@@ -46,7 +47,12 @@ public class OtherEESetupActionsContextHandleFactory implements EE10ContextHandl
 
     @Override
     public SetupContextHandle propagatedContext(ContextService contextService, Map<String, String> contextObjectProperties) {
-        return new PropagatedSetupContextHandle(setupActions);
+        return propagatedContextHandle;
+    }
+
+    @Override
+    public boolean isNoOp() {
+        return setupActions.isEmpty();
     }
 
     @Override
@@ -66,7 +72,7 @@ public class OtherEESetupActionsContextHandleFactory implements EE10ContextHandl
 
     @Override
     public SetupContextHandle readSetupContextHandle(ObjectInputStream in) throws IOException, ClassNotFoundException {
-        return in.readBoolean() ? new PropagatedSetupContextHandle(setupActions) : clearedContextHandle;
+        return in.readBoolean() ? propagatedContextHandle : clearedContextHandle;
     }
 
     private static class PropagatedSetupContextHandle implements SetupContextHandle {
@@ -85,12 +91,11 @@ public class OtherEESetupActionsContextHandleFactory implements EE10ContextHandl
 
         @Override
         public org.jboss.as.ee.concurrent.handle.ResetContextHandle setup() throws IllegalStateException {
-            final LinkedList<SetupAction> resetActions = new LinkedList<>();
-            final PropagatedResetContextHandle resetContextHandle = new PropagatedResetContextHandle(resetActions);
+            final PropagatedResetContextHandle resetContextHandle = new PropagatedResetContextHandle(this.setupActions);
             try {
                 for (SetupAction setupAction : this.setupActions) {
                     setupAction.setup(Collections.<String, Object>emptyMap());
-                    resetActions.addFirst(setupAction);
+                    resetContextHandle.size++;
                 }
             } catch (Error | RuntimeException e) {
                 resetContextHandle.reset();
@@ -114,11 +119,14 @@ public class OtherEESetupActionsContextHandleFactory implements EE10ContextHandl
 
         private static final long serialVersionUID = -1279030727101664631L;
         private List<SetupAction> resetActions;
+        // the number of actions set up, which are torn down in reverse order
+        private int size;
 
         private PropagatedResetContextHandle(List<SetupAction> resetActions) {
             this.resetActions = resetActions;
         }
 
+
         @Override
         public String getFactoryName() {
             return NAME;
@@ -127,7 +135,8 @@ public class OtherEESetupActionsContextHandleFactory implements EE10ContextHandl
         @Override
         public void reset() {
             if(resetActions != null) {
-                for (SetupAction resetAction : this.resetActions) {
+                for (int i = size - 1; i >= 0; i--) {
+                    final SetupAction resetAction = this.resetActions.get(i);
                     try {
                         resetAction.teardown(Collections.<String, Object>emptyMap());
                     } catch (Throwable e) {
@@ -166,7 +175,13 @@ public class OtherEESetupActionsContextHandleFactory implements EE10ContextHandl
         @Override
         public org.jboss.as.ee.concurrent.handle.ResetContextHandle setup() throws IllegalStateException {
             // we probably should instead have a thread stack with the current setup actions and restore current on reset?
-            new PropagatedResetContextHandle(setupActions).reset();
+            for (SetupAction setupAction : setupActions) {
+                try {
+                    setupAction.teardown(Collections.<String, Object>emptyMap());
+                } catch (Throwable e) {
+                    EeLogger.ROOT_LOGGER.debug("failed to teardown action",e);
+                }
+            }
             return new ResetContextHandle() {
                 @Override
                 public void reset() {
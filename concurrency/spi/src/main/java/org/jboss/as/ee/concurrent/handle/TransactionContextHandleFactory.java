@@ -28,6 +28,8 @@ public class TransactionContextHandleFactory implements EE10ContextHandleFactory
 
     public static final String NAME = ContextServiceDefinition.TRANSACTION;
 
+    private final SetupContextHandle clearedContextHandle = new ClearedSetupContextHandle(ContextTransactionManager.getInstance());
+
     @Override
     public String getContextType() {
         return NAME;
@@ -39,7 +41,7 @@ public class TransactionContextHandleFactory implements EE10ContextHandleFactory
             // override to unchanged
             return null;
         }
-        return new ClearedSetupContextHandle(ContextTransactionManager.getInstance());
+        return clearedContextHandle;
     }
 
     @Override
@@ -52,7 +54,7 @@ public class TransactionContextHandleFactory implements EE10ContextHandleFactory
     public SetupContextHandle unchangedContext(ContextService contextService, Map<String, String> contextObjectProperties) {
         if (contextObjectProperties != null && ManagedTask.SUSPEND.equals(contextObjectProperties.get(ManagedTask.TRANSACTION))) {
             // override to cleared
-            return new ClearedSetupContextHandle(ContextTransactionManager.getInstance());
+            return clearedContextHandle;
         }
         return null;
     }
@@ -74,7 +76,7 @@ public class TransactionContextHandleFactory implements EE10ContextHandleFactory
 
     @Override
     public SetupContextHandle readSetupContextHandle(ObjectInputStream in) throws IOException, ClassNotFoundException {
-        return new ClearedSetupContextHandle(ContextTransactionManager.getInstance());
+        return clearedContextHandle;
     }
 
     private static class ClearedSetupContextHandle implements SetupContextHandle {
@@ -27,9 +27,11 @@ public class TransactionLeakContextHandleFactory implements ContextHandleFactory
 
     public static final String NAME = "TRANSACTION_LEAK";
 
+    private final SetupContextHandle setupContextHandle = new TransactionLeakSetupContextHandle(ContextTransactionManager.getInstance());
+
     @Override
     public SetupContextHandle saveContext(ContextService contextService, Map<String, String> contextObjectProperties) {
-        return new TransactionLeakSetupContextHandle(ContextTransactionManager.getInstance());
+        return setupContextHandle;
     }
 
     @Override
@@ -49,7 +51,7 @@ public class TransactionLeakContextHandleFactory implements ContextHandleFactory
 
     @Override
     public SetupContextHandle readSetupContextHandle(ObjectInputStream in) throws IOException, ClassNotFoundException {
-        return new TransactionLeakSetupContextHandle(ContextTransactionManager.getInstance());
+        return setupContextHandle;
     }
 
     private static class TransactionLeakSetupContextHandle implements SetupContextHandle {
@@ -12,6 +12,8 @@ import java.util.function.Supplier;
 
 import org.jboss.as.controller.ProcessStateNotifier;
 import org.jboss.as.ee.concurrent.ConcurrencyImplementation;
+import org.jboss.as.ee.concurrent.VirtualThreadManagedScheduledExecutorService;
+import org.jboss.as.ee.concurrent.VirtualThreadManagedThreadFactory;
 import org.jboss.as.ee.concurrent.WildFlyManagedThreadFactory;
 import org.jboss.as.ee.concurrent.WildFlyContextService;
 import org.jboss.as.ee.concurrent.WildFlyManagedExecutorService;
@@ -52,6 +54,7 @@ public class ManagedScheduledExecutorServiceService extends EEConcurrentAbstract
     private final Supplier<RequestController> requestControllerSupplier;
     private ControlPoint controlPoint;
     private final Supplier<ManagedExecutorHungTasksPeriodicTerminationService> hungTasksPeriodicTerminationService;
+    private final boolean virtual;
 
     private Future hungTasksPeriodicTerminationFuture;
 
@@ -71,13 +74,15 @@ public class ManagedScheduledExecutorServiceService extends EEConcurrentAbstract
      * @param threadLifeTime
      * @param rejectPolicy
      * @param threadPriority
+     * @param hungTasksPeriodicTerminationService
+     * @param virtual
      */
     public ManagedScheduledExecutorServiceService(final Consumer<ManagedScheduledExecutorServiceAdapter> consumer,
                                                   final Supplier<WildFlyContextService> contextServiceSupplier,
                                                   final Supplier<WildFlyManagedThreadFactory> managedThreadFactorySupplier,
                                                   final Supplier<ProcessStateNotifier> processStateNotifierSupplier,
                                                   final Supplier<RequestController> requestControllerSupplier,
-                                                  String name, String jndiName, long hungTaskThreshold, long hungTaskTerminationPeriod, boolean longRunningTasks, int corePoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, WildFlyManagedExecutorService.RejectPolicy rejectPolicy, Integer threadPriority, final Supplier<ManagedExecutorHungTasksPeriodicTerminationService> hungTasksPeriodicTerminationService) {
+                                                  String name, String jndiName, long hungTaskThreshold, long hungTaskTerminationPeriod, boolean longRunningTasks, int corePoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, WildFlyManagedExecutorService.RejectPolicy rejectPolicy, Integer threadPriority, final Supplier<ManagedExecutorHungTasksPeriodicTerminationService> hungTasksPeriodicTerminationService, boolean virtual) {
         super(jndiName);
         this.consumer = consumer;
         this.contextServiceSupplier.set(contextServiceSupplier);
@@ -95,6 +100,7 @@ public class ManagedScheduledExecutorServiceService extends EEConcurrentAbstract
         this.rejectPolicy = rejectPolicy;
         this.threadPriority = threadPriority;
         this.hungTasksPeriodicTerminationService = hungTasksPeriodicTerminationService;
+        this.virtual = virtual;
     }
 
     @Override
@@ -106,12 +112,21 @@ public class ManagedScheduledExecutorServiceService extends EEConcurrentAbstract
             WildFlyManagedThreadFactory managedThreadFactory = managedThreadFactorySupplier != null ? managedThreadFactorySupplier.get() : null;
             priority = managedThreadFactory != null ? managedThreadFactory.getPriority() : Thread.NORM_PRIORITY;
         }
-        WildFlyManagedThreadFactory managedThreadFactory = ConcurrencyImplementation.INSTANCE.newManagedThreadFactory("EE-ManagedScheduledExecutorService-" + name, null, priority);
+        final VirtualThreadManagedThreadFactory virtualThreadFactory = virtual ? VirtualThreadManagedThreadFactory.create("EE-ManagedScheduledExecutorService-" + name, null) : null;
+        if (virtual && virtualThreadFactory == null) {
+            EeLogger.ROOT_LOGGER.virtualThreadsNotSupported(name);
+        }
         if (requestControllerSupplier != null) {
             final RequestController requestController = requestControllerSupplier.get();
             controlPoint = requestController != null ? requestController.getControlPoint(name, "managed-scheduled-executor-service") : null;
         }
-        executorService = new ManagedScheduledExecutorServiceAdapter(ConcurrencyImplementation.INSTANCE.newManagedScheduledExecutorService(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, contextServiceSupplier != null ? contextServiceSupplier.get() : null, rejectPolicy, controlPoint, processStateNotifierSupplier.get()));
+        if (virtualThreadFactory != null) {
+            // the number of concurrently executing tasks is limited by core-threads
+            executorService = new ManagedScheduledExecutorServiceAdapter(new VirtualThreadManagedScheduledExecutorService(name, virtualThreadFactory, hungTaskThreshold, Math.max(1, corePoolSize), contextServiceSupplier != null ? contextServiceSupplier.get() : null, controlPoint, processStateNotifierSupplier.get()));
+        } else {
+            WildFlyManagedThreadFactory managedThreadFactory = ConcurrencyImplementation.INSTANCE.newManagedThreadFactory("EE-ManagedScheduledExecutorService-" + name, null, priority);
+            executorService = new ManagedScheduledExecutorServiceAdapter(ConcurrencyImplementation.INSTANCE.newManagedScheduledExecutorService(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, contextServiceSupplier != null ? contextServiceSupplier.get() : null, rejectPolicy, controlPoint, processStateNotifierSupplier.get()));
+        }
         if (hungTaskThreshold > 0 && hungTaskTerminationPeriod > 0) {
             hungTasksPeriodicTerminationFuture = hungTasksPeriodicTerminationService.get().startHungTaskPeriodicTermination(executorService, hungTaskTerminationPeriod);
         }
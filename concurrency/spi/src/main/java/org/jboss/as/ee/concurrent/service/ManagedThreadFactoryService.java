@@ -9,6 +9,7 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.jboss.as.ee.concurrent.ConcurrencyImplementation;
+import org.jboss.as.ee.concurrent.VirtualThreadManagedThreadFactory;
 import org.jboss.as.ee.concurrent.WildFlyManagedThreadFactory;
 import org.jboss.as.ee.concurrent.WildFlyContextService;
 import org.jboss.as.ee.logging.EeLogger;
@@ -26,24 +27,34 @@ public class ManagedThreadFactoryService extends EEConcurrentAbstractService<Wil
     private final String name;
     private final DelegatingSupplier<WildFlyContextService> contextServiceSupplier = new DelegatingSupplier<>();
     private final int priority;
+    private final boolean virtual;
 
     /**
      * @param name
      * @param jndiName
      * @param priority
+     * @param virtual
      */
-    public ManagedThreadFactoryService(final Consumer<WildFlyManagedThreadFactory> consumer, final Supplier<WildFlyContextService> ctxServiceSupplier, String name, String jndiName, int priority) {
+    public ManagedThreadFactoryService(final Consumer<WildFlyManagedThreadFactory> consumer, final Supplier<WildFlyContextService> ctxServiceSupplier, String name, String jndiName, int priority, boolean virtual) {
         super(jndiName);
         this.consumer = consumer;
         this.name = name;
         this.contextServiceSupplier.set(ctxServiceSupplier);
         this.priority = priority;
+        this.virtual = virtual;
     }
 
     @Override
     void startValue(StartContext context) throws StartException {
         final String threadFactoryName = "EE-ManagedThreadFactory-"+name;
-        consumer.accept(managedThreadFactory = ConcurrencyImplementation.INSTANCE.newManagedThreadFactory(threadFactoryName, contextServiceSupplier.get(), priority));
+        WildFlyManagedThreadFactory managedThreadFactory = virtual ? VirtualThreadManagedThreadFactory.create(threadFactoryName, contextServiceSupplier.get()) : null;
+        if (managedThreadFactory == null) {
+            if (virtual) {
+                EeLogger.ROOT_LOGGER.virtualThreadsNotSupported(name);
+            }
+            managedThreadFactory = ConcurrencyImplementation.INSTANCE.newManagedThreadFactory(threadFactoryName, contextServiceSupplier.get(), priority);
+        }
+        consumer.accept(this.managedThreadFactory = managedThreadFactory);
     }
 
     @Override
@@ -6,6 +6,7 @@ package org.jboss.as.ee.subsystem;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -22,6 +23,8 @@ public interface ManagedExecutorServiceMetricsAttributes {
     String MAX_THREAD_COUNT = "max-thread-count";
     String TASK_COUNT = "task-count";
     String THREAD_COUNT = "thread-count";
+    String VIRTUAL_THREAD_TASK_COUNT = "virtual-thread-task-count";
+    String COMPLETED_VIRTUAL_THREAD_TASK_COUNT = "completed-virtual-thread-task-count";
 
     AttributeDefinition ACTIVE_THREAD_COUNT_AD = new SimpleAttributeDefinitionBuilder(ACTIVE_THREAD_COUNT, ModelType.INT)
             .setUndefinedMetricValue(ModelNode.ZERO)
@@ -44,4 +47,12 @@ public interface ManagedExecutorServiceMetricsAttributes {
     AttributeDefinition THREAD_COUNT_AD = new SimpleAttributeDefinitionBuilder(THREAD_COUNT, ModelType.INT)
             .setUndefinedMetricValue(ModelNode.ZERO)
             .build();
+    AttributeDefinition VIRTUAL_THREAD_TASK_COUNT_AD = new SimpleAttributeDefinitionBuilder(VIRTUAL_THREAD_TASK_COUNT, ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStability(Stability.COMMUNITY)
+            .build();
+    AttributeDefinition COMPLETED_VIRTUAL_THREAD_TASK_COUNT_AD = new SimpleAttributeDefinitionBuilder(COMPLETED_VIRTUAL_THREAD_TASK_COUNT, ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStability(Stability.COMMUNITY)
+            .build();
 }
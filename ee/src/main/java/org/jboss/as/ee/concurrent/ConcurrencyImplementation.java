@@ -96,6 +96,15 @@ public interface ConcurrencyImplementation {
      */
     void parseConcurrentElement60(XMLExtendedStreamReader reader, List<ModelNode> operations, PathAddress subsystemPathAddress) throws XMLStreamException;
 
+    /**
+     * Parses <concurrent/> XML element for EE subsystem community schema 7.0
+     * @param reader the stream reader
+     * @param operations the list to add operations
+     * @param subsystemPathAddress the subsystem path address
+     * @throws XMLStreamException if an error occurs
+     */
+    void parseConcurrentElement70(XMLExtendedStreamReader reader, List<ModelNode> operations, PathAddress subsystemPathAddress) throws XMLStreamException;
+
     /**
      * Writes <concurrent/> XML element.
      * @param writer the stream writer
@@ -51,4 +51,20 @@ public interface ManagedExecutorRuntimeStats {
      * @return the current number of executor threads
      */
     int getThreadsCount();
+
+    /**
+     *
+     * @return the approximate total number of tasks that have ever been submitted for execution on virtual threads
+     */
+    default long getVirtualThreadTaskCount() {
+        return 0;
+    }
+
+    /**
+     *
+     * @return the approximate total number of tasks that have completed execution on virtual threads
+     */
+    default long getCompletedVirtualThreadTaskCount() {
+        return 0;
+    }
 }
@@ -20,10 +20,10 @@ import org.jboss.staxmapper.XMLExtendedStreamWriter;
  */
 class EESubsystemXmlPersister implements XMLStreamConstants, XMLElementWriter<SubsystemMarshallingContext> {
 
-    public static final EESubsystemXmlPersister INSTANCE = new EESubsystemXmlPersister();
-
-    private EESubsystemXmlPersister() {
+    private final Namespace namespace;
 
+    EESubsystemXmlPersister(Namespace namespace) {
+        this.namespace = namespace;
     }
 
     /**
@@ -31,7 +31,7 @@ class EESubsystemXmlPersister implements XMLStreamConstants, XMLElementWriter<Su
      */
     @Override
     public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
-        context.startSubsystemElement(Namespace.CURRENT.getUriString(), false);
+        context.startSubsystemElement(this.namespace.getUriString(), false);
 
         ModelNode eeSubSystem = context.getModelNode();
         GlobalModulesDefinition.INSTANCE.marshallAsElement(eeSubSystem, writer);
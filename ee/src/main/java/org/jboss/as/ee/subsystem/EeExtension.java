@@ -7,6 +7,7 @@ package org.jboss.as.ee.subsystem;
 
 import org.jboss.as.controller.Extension;
 import org.jboss.as.controller.ExtensionContext;
+import org.jboss.as.controller.Feature;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SubsystemRegistration;
@@ -30,7 +31,7 @@ public class EeExtension implements Extension {
     public static final String SUBSYSTEM_NAME = "ee";
     private static final String RESOURCE_NAME = EeExtension.class.getPackage().getName() + ".LocalDescriptions";
 
-    private static final ModelVersion CURRENT_MODEL_VERSION = EESubsystemModel.Version.v6_0_0;
+    private static final ModelVersion CURRENT_MODEL_VERSION = EESubsystemModel.Version.v7_0_0;
 
     protected static final PathElement PATH_SUBSYSTEM = PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, SUBSYSTEM_NAME);
 
@@ -56,7 +57,8 @@ public class EeExtension implements Extension {
         rootResource.registerSubModel(new DefaultBindingsResourceDefinition(new DefaultBindingsConfigurationProcessor()));
         rootResource.registerSubModel(new GlobalDirectoryResourceDefinition());
 
-        subsystem.registerXMLElementWriter(EESubsystemXmlPersister.INSTANCE);
+        // Persist using the current namespace of the stability level of this server
+        subsystem.registerXMLElementWriter(new EESubsystemXmlPersister(Feature.map(Namespace.CURRENT_NAMESPACES).get(context.getStability())));
     }
 
     /**
@@ -72,6 +74,9 @@ public class EeExtension implements Extension {
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.EE_4_0.getUriString(), EESubsystemParser40::new);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.EE_5_0.getUriString(), EESubsystemParser50::new);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.EE_6_0.getUriString(), EESubsystemParser60::new);
+        if (context.enables(Namespace.EE_COMMUNITY_7_0)) {
+            context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.EE_COMMUNITY_7_0.getUriString(), EESubsystemParser70::new);
+        }
         context.setProfileParsingCompletionHandler(new BeanValidationProfileParsingCompletionHandler());
     }
 
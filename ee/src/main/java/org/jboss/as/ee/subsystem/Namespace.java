@@ -4,13 +4,18 @@
  */
 package org.jboss.as.ee.subsystem;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.Feature;
+import org.jboss.as.version.Stability;
 
 /**
  * @author Stuart Douglas
  */
-enum Namespace {
+enum Namespace implements Feature {
     // must be first
     UNKNOWN(null, false),
 
@@ -21,19 +26,31 @@ enum Namespace {
     EE_3_0("urn:jboss:domain:ee:3.0", false),
     EE_4_0("urn:jboss:domain:ee:4.0", false),
     EE_5_0("urn:jboss:domain:ee:5.0", false),
-    EE_6_0("urn:jboss:domain:ee:6.0", false)
+    EE_6_0("urn:jboss:domain:ee:6.0", false),
+    EE_COMMUNITY_7_0("urn:jboss:domain:ee:community:7.0", false, Stability.COMMUNITY)
     ;
     /**
      * The current namespace version.
      */
     public static final Namespace CURRENT = EE_6_0;
 
+    /**
+     * The current namespace version of each stability level.
+     */
+    static final Set<Namespace> CURRENT_NAMESPACES = EnumSet.of(EE_6_0, EE_COMMUNITY_7_0);
+
     private final String name;
     private final boolean beanValidationIncluded;
+    private final Stability stability;
 
     Namespace(final String name, final boolean beanValidationIncluded) {
+        this(name, beanValidationIncluded, Stability.DEFAULT);
+    }
+
+    Namespace(final String name, final boolean beanValidationIncluded, final Stability stability) {
         this.name = name;
         this.beanValidationIncluded = beanValidationIncluded;
+        this.stability = stability;
     }
 
     /**
@@ -49,6 +66,11 @@ enum Namespace {
         return beanValidationIncluded;
     }
 
+    @Override
+    public Stability getStability() {
+        return stability;
+    }
+
     private static final Map<String, Namespace> MAP;
 
     static {
@@ -65,6 +65,11 @@ public class TestConcurrencyImplementation implements ConcurrencyImplementation
 
     }
 
+    @Override
+    public void parseConcurrentElement70(XMLExtendedStreamReader reader, List<ModelNode> operations, PathAddress subsystemPathAddress) throws XMLStreamException {
+
+    }
+
     @Override
     public void writeConcurrentElement(XMLExtendedStreamWriter writer, ModelNode eeSubSystem) throws XMLStreamException {
 
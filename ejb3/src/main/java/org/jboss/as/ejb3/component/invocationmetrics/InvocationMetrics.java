@@ -5,76 +5,108 @@
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 /**
+ * Invocation metrics of a component, both in total and per business method.
+ * Counters are striped, such that recording an invocation neither allocates nor contends on a single memory location.
+ * The metrics of each business method retain two {@link LatencyHistogram}s, whose size depends on the range of latencies observed.
+ *
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
     public static class Values {
-        final long invocations;
-        final long executionTime;
-        final long waitTime;
-
-        private Values(final long invocations, final long waitTime, final long executionTime) {
-            this.invocations = invocations;
-            this.executionTime = executionTime;
-            this.waitTime = waitTime;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder executionTime = new LongAdder();
+        private final LongAdder waitTime = new LongAdder();
+        private final LatencyHistogram executionTimes = new LatencyHistogram();
+        private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+        Values() {
+        }
+
+        void record(final long invocationWaitTime, final long invocationExecutionTime) {
+            invocations.increment();
+            waitTime.add(invocationWaitTime);
+            executionTime.add(invocationExecutionTime);
+            waitTimes.record(invocationWaitTime);
+            executionTimes.record(invocationExecutionTime);
+        }
+
+        /**
+         * Returns the combined metrics of these and the specified values.
+         * @param values other invocation metrics
+         * @return combined invocation metrics
+         */
+        Values combine(final Values values) {
+            final Values combined = new Values();
+            combined.add(this);
+            combined.add(values);
+            return combined;
+        }
+
+        private void add(final Values values) {
+            invocations.add(values.invocations.sum());
+            waitTime.add(values.waitTime.sum());
+            executionTime.add(values.executionTime.sum());
+            waitTimes.add(values.waitTimes);
+            executionTimes.add(values.executionTimes);
         }
 
         public long getExecutionTime() {
-            return executionTime;
+            return executionTime.sum();
         }
 
         public long getInvocations() {
-            return invocations;
+            return invocations.sum();
         }
 
         public long getWaitTime() {
-            return waitTime;
+            return waitTime.sum();
+        }
+
+        /**
+         * Returns the execution time of an invocation at the specified percentile.
+         * @param percentile a percentile, between 0 and 100
+         * @return an execution time
+         */
+        public long getExecutionTimePercentile(final double percentile) {
+            return executionTimes.getValueAtPercentile(percentile);
+        }
+
+        /**
+         * Returns the wait time of an invocation at the specified percentile.
+         * @param percentile a percentile, between 0 and 100
+         * @return a wait time
+         */
+        public long getWaitTimePercentile(final double percentile) {
+            return waitTimes.getValueAtPercentile(percentile);
         }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
+    private final Values values = new Values();
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
+    // Keyed by method, from which the views keyed by method name and by method signature are derived on demand
+    private final ConcurrentMap<Method, Values> methods = new ConcurrentHashMap<>();
 
     void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
         concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
-        }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
+        values.record(invocationWaitTime, invocationExecutionTime);
+        Values methodValues = methods.get(method);
+        if (methodValues == null) {
+            methodValues = methods.computeIfAbsent(method, key -> new Values());
         }
-    }
-
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
-        }
-        return ref;
+        methodValues.record(invocationWaitTime, invocationExecutionTime);
     }
 
     public long getConcurrent() {
@@ -82,62 +114,53 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return values.getExecutionTime();
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        return values.getInvocations();
+    }
+
+    /**
+     * Returns the execution time of an invocation at the specified percentile.
+     * @param percentile a percentile, between 0 and 100
+     * @return an execution time
+     */
+    public long getExecutionTimePercentile(final double percentile) {
+        return values.getExecutionTimePercentile(percentile);
     }
 
+    /**
+     * Returns the invocation metrics per method, keyed by method name.
+     * The metrics of methods sharing the same name are aggregated.
+     * @return a map of invocation metrics per method name
+     */
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
-            }
-        };
+        return aggregate(Method::getName);
+    }
+
+    /**
+     * Returns the invocation metrics per method, keyed by method signature, e.g. {@code doIt(java.lang.String,int[])}.
+     * @return a map of invocation metrics per method signature
+     */
+    public Map<String, Values> getMethodSignatures() {
+        return aggregate(InvocationMetrics::signature);
+    }
+
+    private Map<String, Values> aggregate(final Function<Method, String> key) {
+        final Map<String, Values> result = new HashMap<>();
+        for (Map.Entry<Method, Values> entry : methods.entrySet()) {
+            result.merge(key.apply(entry.getKey()), entry.getValue(), Values::combine);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static String signature(final Method method) {
+        final StringJoiner joiner = new StringJoiner(",", method.getName() + "(", ")");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            joiner.add(parameterType.getTypeName());
+        }
+        return joiner.toString();
     }
 
     public long getPeakConcurrent() {
@@ -145,13 +168,21 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        return values.getWaitTime();
+    }
+
+    /**
+     * Returns the wait time of an invocation at the specified percentile.
+     * @param percentile a percentile, between 0 and 100
+     * @return a wait time
+     */
+    public long getWaitTimePercentile(final double percentile) {
+        return values.getWaitTimePercentile(percentile);
     }
 
     void startInvocation() {
         final long v = concurrent.incrementAndGet();
-        // concurrent might decrement here, but we take that missing peak for granted.
         if (peakConcurrent.get() < v)
-            peakConcurrent.incrementAndGet();
+            peakConcurrent.accumulateAndGet(v, Math::max);
     }
 }
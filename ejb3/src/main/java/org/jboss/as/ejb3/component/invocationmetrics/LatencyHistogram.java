@@ -0,0 +1,98 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of latencies, whose buckets partition each power of 2 into {@value #SUB_BUCKETS} linear sub-buckets.
+ * Consequently, a percentile is reported with a relative error of at most 1/{@value #SUB_BUCKETS}.
+ * Each bucket is a striped counter, such that concurrent recordings of similar values do not contend on a single memory location.
+ * Buckets are only allocated on their first recording, such that a histogram only retains counters for the range of latencies actually observed,
+ * plus a single array of references to its buckets.
+ * Values beyond {@link Integer#MAX_VALUE} are recorded as {@link Integer#MAX_VALUE}.
+ */
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = bucket(Integer.MAX_VALUE) + 1;
+
+    private final AtomicReferenceArray<LongAdder> counts = new AtomicReferenceArray<>(BUCKETS);
+
+    void record(long value) {
+        this.getCount(bucket((int) Math.max(0L, Math.min(value, Integer.MAX_VALUE)))).increment();
+    }
+
+    /**
+     * Adds the counts of the specified histogram to this histogram.
+     * @param histogram another histogram
+     */
+    void add(LatencyHistogram histogram) {
+        for (int i = 0; i < BUCKETS; ++i) {
+            LongAdder count = histogram.counts.get(i);
+            if (count != null) {
+                this.getCount(i).add(count.sum());
+            }
+        }
+    }
+
+    private LongAdder getCount(int bucket) {
+        LongAdder count = this.counts.get(bucket);
+        if (count == null) {
+            LongAdder newCount = new LongAdder();
+            count = this.counts.compareAndExchange(bucket, null, newCount);
+            if (count == null) {
+                count = newCount;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the value at the specified percentile of all recorded values, i.e. the largest value equivalent to the bucket containing that percentile.
+     * @param percentile a percentile, between 0 and 100
+     * @return the value at the specified percentile, or 0, if no values were recorded.
+     */
+    long getValueAtPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            LongAdder count = this.counts.get(i);
+            counts[i] = (count != null) ? count.sum() : 0L;
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100d) / 100d * total));
+        long count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            count += counts[i];
+            if (count >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return highestEquivalentValue(BUCKETS - 1);
+    }
+
+    private static int bucket(int value) {
+        if (value < SUB_BUCKETS) {
+            return value;
+        }
+        int exponent = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long highestEquivalentValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
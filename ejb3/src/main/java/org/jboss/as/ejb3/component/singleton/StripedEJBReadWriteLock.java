@@ -0,0 +1,259 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * A {@link ReadWriteLock} with the same semantics as {@link EJBReadWriteLock}, optimized for read-mostly singletons.
+ * <p/>
+ * Readers register themselves in one of several counters, selected by thread, each occupying its own cache line.
+ * Consequently, acquiring an uncontended read lock updates a counter shared only with the readers of the same stripe,
+ * instead of the single reader count shared by all readers of a {@link java.util.concurrent.locks.ReentrantReadWriteLock}.
+ * In exchange, acquiring the write lock must visit every stripe.
+ * <p/>
+ * The lock prefers writers: once a writer announces itself, new readers wait until it has released the write lock,
+ * while the writer waits for the current readers to drain.
+ * Threads already holding a read lock, or the write lock, can always (re)acquire a read lock.
+ * A thread holding a read lock that attempts to acquire the write lock fails with an {@link jakarta.ejb.IllegalLoopbackException}.
+ */
+public class StripedEJBReadWriteLock implements ReadWriteLock {
+
+    // The number of counters per cache line
+    private static final int PADDING = 8;
+    // The smallest power of 2 not less than the number of processors
+    private static final int STRIPES = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    // Only every PADDING-th element is used
+    private final AtomicLongArray readers = new AtomicLongArray(STRIPES * PADDING);
+    // The number of read locks held by the current thread
+    private final ThreadLocal<int[]> readLockCount = ThreadLocal.withInitial(() -> new int[1]);
+    // Serializes writers
+    private final ReentrantLock writer = new ReentrantLock();
+    private volatile boolean writerPending = false;
+
+    // Guards the conditions on which readers and writers wait
+    private final ReentrantLock sync = new ReentrantLock();
+    private final Condition readersReleased = this.sync.newCondition();
+    private final Condition writerReleased = this.sync.newCondition();
+
+    private final Lock readLock = new ReadLock();
+    private final Lock writeLock = new WriteLock();
+
+    @Override
+    public Lock readLock() {
+        return this.readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return this.writeLock;
+    }
+
+    private static int stripe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((hash >>> 16) & (STRIPES - 1)) * PADDING;
+    }
+
+    private long readers() {
+        long count = 0;
+        for (int i = 0; i < STRIPES; ++i) {
+            count += this.readers.get(i * PADDING);
+        }
+        return count;
+    }
+
+    private boolean acquireRead(long nanos) throws InterruptedException {
+        int[] count = this.readLockCount.get();
+        int stripe = stripe();
+        if ((count[0] > 0) || this.writer.isHeldByCurrentThread()) {
+            // Reentrant readers must not wait for a pending writer, since that writer is waiting for them
+            this.readers.getAndIncrement(stripe);
+            count[0] += 1;
+            return true;
+        }
+        long deadline = System.nanoTime() + nanos;
+        while (true) {
+            if (!this.writerPending) {
+                this.readers.getAndIncrement(stripe);
+                // Recheck, since a writer may have announced itself before observing our increment
+                if (!this.writerPending) {
+                    count[0] += 1;
+                    return true;
+                }
+                this.releaseRead(stripe);
+            }
+            this.sync.lock();
+            try {
+                while (this.writerPending) {
+                    // Measure against a fixed deadline, since we may retry after being signalled
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0L) {
+                        return false;
+                    }
+                    this.writerReleased.awaitNanos(remaining);
+                }
+            } finally {
+                this.sync.unlock();
+            }
+        }
+    }
+
+    private void releaseRead() {
+        int[] count = this.readLockCount.get();
+        if (count[0] == 0) {
+            throw new IllegalMonitorStateException();
+        }
+        count[0] -= 1;
+        this.releaseRead(stripe());
+    }
+
+    private void releaseRead(int stripe) {
+        this.readers.getAndDecrement(stripe);
+        if (this.writerPending) {
+            this.sync.lock();
+            try {
+                this.readersReleased.signalAll();
+            } finally {
+                this.sync.unlock();
+            }
+        }
+    }
+
+    private boolean acquireWrite(long nanos) throws InterruptedException {
+        this.checkLoopback();
+        long deadline = System.nanoTime() + nanos;
+        if (!this.writer.tryLock(nanos, TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        if (this.writer.getHoldCount() > 1) {
+            return true;
+        }
+        boolean acquired = false;
+        this.writerPending = true;
+        try {
+            this.sync.lock();
+            try {
+                while (this.readers() != 0L) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0L) {
+                        return false;
+                    }
+                    this.readersReleased.awaitNanos(remaining);
+                }
+            } finally {
+                this.sync.unlock();
+            }
+            acquired = true;
+            return true;
+        } finally {
+            if (!acquired) {
+                this.releaseWrite();
+            }
+        }
+    }
+
+    private void releaseWrite() {
+        if (this.writer.isHeldByCurrentThread() && (this.writer.getHoldCount() == 1)) {
+            this.writerPending = false;
+            this.sync.lock();
+            try {
+                this.writerReleased.signalAll();
+            } finally {
+                this.sync.unlock();
+            }
+        }
+        this.writer.unlock();
+    }
+
+    /**
+     * Ensures that the current thread doesn't hold any read locks. If
+     * the thread holds any read locks, this method throws a {@link jakarta.ejb.IllegalLoopbackException}.
+     */
+    private void checkLoopback() {
+        if (this.readLockCount.get()[0] > 0) {
+            throw EjbLogger.ROOT_LOGGER.failToUpgradeToWriteLock();
+        }
+    }
+
+    /**
+     * Base lock implementation, whose blocking methods delegate to {@link #tryLock(long, TimeUnit)}.
+     */
+    private abstract static class AbstractLock implements Lock {
+
+        @Override
+        public void lock() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    this.lockInterruptibly();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            this.tryLock(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public boolean tryLock() {
+            try {
+                return this.tryLock(0L, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class ReadLock extends AbstractLock {
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return StripedEJBReadWriteLock.this.acquireRead(unit.toNanos(time));
+        }
+
+        @Override
+        public void unlock() {
+            StripedEJBReadWriteLock.this.releaseRead();
+        }
+    }
+
+    private class WriteLock extends AbstractLock {
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return StripedEJBReadWriteLock.this.acquireWrite(unit.toNanos(time));
+        }
+
+        @Override
+        public void unlock() {
+            StripedEJBReadWriteLock.this.releaseWrite();
+        }
+    }
+}
@@ -43,6 +43,21 @@ public class DecoratedStatefulSessionBeanCache<K, V extends StatefulSessionBeanI
         return this.cache.getPassiveCount();
     }
 
+    @Override
+    public long getHitCount() {
+        return this.cache.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.cache.getMissCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.cache.getEvictionCount();
+    }
+
     @Override
     public Affinity getStrongAffinity() {
         return this.cache.getStrongAffinity();
@@ -40,6 +40,30 @@ public interface StatefulSessionBeanCache<K, V extends StatefulSessionBeanInstan
         return true;
     }
 
+    /**
+     * Returns the number of lookups that found an existing bean in this cache.
+     * @return a number of lookups
+     */
+    default long getHitCount() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a bean in this cache.
+     * @return a number of lookups
+     */
+    default long getMissCount() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of beans evicted from this cache to enforce its maximum size.
+     * @return a number of beans
+     */
+    default long getEvictionCount() {
+        return 0L;
+    }
+
     /**
      * Returns the identifier factory of this cache.
      * @return an identifier factory
@@ -7,10 +7,20 @@ package org.jboss.as.ejb3.component.stateful.cache.simple;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
 import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBean;
@@ -31,23 +41,53 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 /**
  * A simple stateful session bean cache implementation.
  * Bean instances are stored in memory and are lost on undeploy, shutdown, or server crash.
+ * If configured with a maximum size, idle bean instances are evicted, i.e. removed, according to a {@link WindowTinyLfuEvictionPolicy}.
+ * Operations on the eviction policy are buffered by the calling threads and applied in batches by whichever thread acquires the policy lock, so that request threads never block on the policy.
+ * Bean creation and removal are always applied; bean accesses are dropped if too many are pending, which only affects the recency and frequency estimates of the policy.
  * @author Paul Ferraro
  * @param <K> the bean identifier type
  * @param <V> the bean instance type
  */
 public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInstance<K>> implements StatefulSessionBeanCache<K, V>, Predicate<K>, Consumer<StatefulSessionBean<K, V>> {
     private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(SimpleStatefulSessionBeanCache.class, WildFlySecurityManager.getClassLoaderPrivileged(SimpleStatefulSessionBeanCache.class));
+    // Number of pending bean accesses that triggers their application to the policy
+    private static final int DRAIN_THRESHOLD = 16;
+    // Maximum number of pending operations beyond which bean accesses are dropped
+    private static final int MAX_PENDING_OPERATIONS = 1024;
+
+    private enum PolicyOperation {
+        ADD, ACCESS, REMOVE;
+    }
 
     private final Map<K, V> instances = new ConcurrentHashMap<>();
-    private final Consumer<K> remover = this.instances::remove;
+    private final Consumer<K> remover = this::remove;
     private final StatefulSessionBeanInstanceFactory<V> factory;
     private final Supplier<K> identifierFactory;
     private final Optional<Duration> maxIdle;
     private final Affinity strongAffinity;
     private final SchedulerService<K, Instant> scheduler;
+    // Guarded by policyLock, null if unbounded
+    private final WindowTinyLfuEvictionPolicy<K> policy;
+    private final int maxSize;
+    private final Lock policyLock = new ReentrantLock();
+    // Pending operations on the policy
+    private final Queue<Map.Entry<K, PolicyOperation>> operations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingOperations = new AtomicInteger();
+    // Indicates whether the pending operations must be applied without waiting for a full batch
+    private final AtomicBoolean drainRequired = new AtomicBoolean();
+    // Indicates whether the policy exceeds its maximum size because too few beans were evictable
+    private volatile boolean overflow = false;
+    // Number of concurrent users of each bean that is currently in use
+    private final Map<K, Integer> users = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
     public SimpleStatefulSessionBeanCache(SimpleStatefulSessionBeanCacheConfiguration<K, V> configuration) {
         this.factory = configuration.getInstanceFactory();
+        OptionalInt maxSize = configuration.getMaxSize();
+        this.policy = maxSize.isPresent() ? new WindowTinyLfuEvictionPolicy<>(maxSize.getAsInt()) : null;
+        this.maxSize = maxSize.orElse(Integer.MAX_VALUE);
         this.identifierFactory = configuration.getIdentifierFactory();
         this.maxIdle = configuration.getMaxIdle();
         this.strongAffinity = new NodeAffinity(configuration.getEnvironment().getNodeName());
@@ -95,6 +135,18 @@ public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInst
             instance.removed();
         }
         this.instances.clear();
+        if (this.policy != null) {
+            this.policyLock.lock();
+            try {
+                this.operations.clear();
+                this.pendingOperations.set(0);
+                this.drainRequired.set(false);
+                this.policy.clear();
+            } finally {
+                this.policyLock.unlock();
+            }
+            this.users.clear();
+        }
     }
 
     @Override
@@ -116,8 +168,20 @@ public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInst
 
     @Override
     public void accept(StatefulSessionBean<K, V> bean) {
+        K id = bean.getId();
+        if (this.policy != null) {
+            this.release(id);
+            if (this.overflow) {
+                // Evict any beans that could not be evicted while in use
+                this.drainRequired.set(true);
+            }
+            this.drain();
+            if (!this.instances.containsKey(id)) {
+                // Bean was evicted
+                return;
+            }
+        }
         if (this.maxIdle.isPresent()) {
-            K id = bean.getId();
             if (this.scheduler != null) {
                 // Timeout > 0, schedule bean to expire
                 this.scheduler.schedule(id, Instant.now().plus(this.maxIdle.get()));
@@ -130,13 +194,107 @@ public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInst
 
     @Override
     public boolean test(K id) {
-        V instance = this.instances.remove(id);
+        V instance = this.remove(id);
         if (instance != null) {
             instance.removed();
         }
         return true;
     }
 
+    private V remove(K id) {
+        V instance = this.instances.remove(id);
+        if ((instance != null) && (this.policy != null)) {
+            this.users.remove(id);
+            this.submit(id, PolicyOperation.REMOVE);
+        }
+        return instance;
+    }
+
+    private boolean isIdle(K id) {
+        return !this.users.containsKey(id);
+    }
+
+    private void acquire(K id) {
+        this.users.merge(id, 1, Integer::sum);
+    }
+
+    private void release(K id) {
+        this.users.computeIfPresent(id, (key, count) -> (count > 1) ? count - 1 : null);
+    }
+
+    /**
+     * Buffers the specified operation on the eviction policy, and applies any pending operations if necessary.
+     */
+    private void submit(K id, PolicyOperation operation) {
+        if ((operation == PolicyOperation.ACCESS) && (this.pendingOperations.get() >= MAX_PENDING_OPERATIONS)) {
+            // Drop access, rather than block
+            return;
+        }
+        this.enqueue(id, operation);
+        this.drain();
+    }
+
+    private void enqueue(K id, PolicyOperation operation) {
+        this.pendingOperations.incrementAndGet();
+        this.operations.add(Map.entry(id, operation));
+        if (operation != PolicyOperation.ACCESS) {
+            this.drainRequired.set(true);
+        }
+    }
+
+    /**
+     * Applies any pending operations to the eviction policy and evicts excess beans, unless another thread is already doing so.
+     * Pending operations are applied once any bean was added or removed, or once a batch of bean accesses has accumulated.
+     * A thread that fails to acquire the policy lock leaves its operations to the thread holding it, which re-checks for pending operations after releasing it.
+     */
+    private void drain() {
+        while ((this.drainRequired.get() || (this.pendingOperations.get() >= DRAIN_THRESHOLD)) && this.policyLock.tryLock()) {
+            List<K> evicted;
+            try {
+                this.drainRequired.set(false);
+                Map.Entry<K, PolicyOperation> entry = this.operations.poll();
+                while (entry != null) {
+                    this.pendingOperations.decrementAndGet();
+                    switch (entry.getValue()) {
+                        case ADD -> this.policy.add(entry.getKey());
+                        case ACCESS -> this.policy.access(entry.getKey());
+                        case REMOVE -> this.policy.remove(entry.getKey());
+                    }
+                    entry = this.operations.poll();
+                }
+                evicted = this.policy.evict(this::isIdle);
+                this.overflow = this.policy.size() > this.maxSize;
+            } finally {
+                this.policyLock.unlock();
+            }
+            for (K id : evicted) {
+                this.evict(id);
+            }
+        }
+    }
+
+    private void evict(K id) {
+        AtomicReference<V> evicted = new AtomicReference<>();
+        // Synchronizes with acquisition of the bean via findStatefulSessionBean(...)
+        this.instances.computeIfPresent(id, (key, instance) -> {
+            if (this.isIdle(key)) {
+                evicted.set(instance);
+                return null;
+            }
+            // Bean was acquired since its selection for eviction, so resume tracking it
+            this.enqueue(key, PolicyOperation.ADD);
+            return instance;
+        });
+        V instance = evicted.get();
+        if (instance != null) {
+            if (this.scheduler != null) {
+                this.scheduler.cancel(id);
+            }
+            this.evictions.increment();
+            instance.removed();
+        }
+    }
+
     @Override
     public StatefulSessionBean<K, V> createStatefulSessionBean() {
         if (CURRENT_GROUP.get() != null) {
@@ -145,14 +303,31 @@ public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInst
         }
         V instance = this.factory.createInstance();
         K id = instance.getId();
+        if (this.policy != null) {
+            this.acquire(id);
+        }
         this.instances.put(id, instance);
+        if (this.policy != null) {
+            this.submit(id, PolicyOperation.ADD);
+        }
         return new SimpleStatefulSessionBean<>(instance, this.remover, this);
     }
 
     @Override
     public StatefulSessionBean<K, V> findStatefulSessionBean(K id) {
-        V instance = this.instances.get(id);
-        if (instance == null) return null;
+        // Synchronizes with eviction of the bean
+        V instance = (this.policy != null) ? this.instances.computeIfPresent(id, (key, value) -> {
+            this.acquire(key);
+            return value;
+        }) : this.instances.get(id);
+        if (instance != null && this.policy != null) {
+            this.submit(id, PolicyOperation.ACCESS);
+        }
+        if (instance == null) {
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
         if (this.scheduler != null) {
             this.scheduler.cancel(id);
         }
@@ -169,6 +344,21 @@ public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInst
         return 0;
     }
 
+    @Override
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
     @Override
     public Supplier<K> getIdentifierFactory() {
         return this.identifierFactory;
@@ -5,6 +5,8 @@
 
 package org.jboss.as.ejb3.component.stateful.cache.simple;
 
+import java.util.OptionalInt;
+
 import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanCacheConfiguration;
 import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanInstance;
 import org.jboss.as.server.ServerEnvironment;
@@ -18,4 +20,12 @@ import org.jboss.as.server.ServerEnvironment;
 public interface SimpleStatefulSessionBeanCacheConfiguration<K, V extends StatefulSessionBeanInstance<K>> extends StatefulSessionBeanCacheConfiguration<K, V> {
 
     ServerEnvironment getEnvironment();
+
+    /**
+     * Returns the maximum number of bean instances retained by this cache, if bounded.
+     * @return an optional maximum size
+     */
+    default OptionalInt getMaxSize() {
+        return OptionalInt.empty();
+    }
 }
@@ -7,6 +7,7 @@ package org.jboss.as.ejb3.component.stateful.cache.simple;
 
 import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.Function;
 
 import org.jboss.as.ejb3.component.stateful.StatefulComponentDescription;
@@ -29,6 +30,16 @@ import org.wildfly.subsystem.service.ServiceInstaller;
  */
 public class SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory<K, V extends StatefulSessionBeanInstance<K>> implements Function<StatefulComponentDescription, ServiceInstaller> {
 
+    private final OptionalInt maxSize;
+
+    public SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory() {
+        this(OptionalInt.empty());
+    }
+
+    public SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory(OptionalInt maxSize) {
+        this.maxSize = maxSize;
+    }
+
     @Override
     public ServiceInstaller apply(StatefulComponentDescription description) {
         ServiceDependency<ServerEnvironment> environment = ServiceDependency.on(ServerEnvironment.SERVICE_DESCRIPTOR);
@@ -56,6 +67,11 @@ public class SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory<K, V e
                         return environment.get();
                     }
 
+                    @Override
+                    public OptionalInt getMaxSize() {
+                        return SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory.this.maxSize;
+                    }
+
                     @Override
                     public String getComponentName() {
                         return configuration.getComponentName();
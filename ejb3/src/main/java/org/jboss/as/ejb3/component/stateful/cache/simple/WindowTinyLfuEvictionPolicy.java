@@ -0,0 +1,240 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.component.stateful.cache.simple;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A size-bounded eviction policy implementing W-TinyLFU.
+ * <p/>
+ * New entries enter a small LRU admission window.
+ * Entries leaving the window compete for admission into the main region (a segmented LRU, with probationary and protected segments)
+ * against the least recently used entry of the probationary segment, based on their estimated frequency of use.
+ * Frequencies are estimated by a count-min sketch of 4-bit counters, which are periodically halved so that the estimates favor recent use.
+ * <p/>
+ * Entries that are not evictable, e.g. because they are currently in use, are never selected for eviction.
+ * Consequently, the number of entries may temporarily exceed the maximum size if too few entries are evictable.
+ * This class is not thread-safe.
+ * @param <K> the key type
+ */
+class WindowTinyLfuEvictionPolicy<K> {
+    // Percentage of the maximum size allocated to the admission window
+    private static final int WINDOW_PERCENT = 1;
+    // Percentage of the main region allocated to its protected segment
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final int maximum;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    // Iteration order of each segment is from least to most recently used
+    private final Set<K> window = new LinkedHashSet<>();
+    private final Set<K> probation = new LinkedHashSet<>();
+    private final Set<K> protect = new LinkedHashSet<>();
+    private final FrequencySketch sketch;
+
+    WindowTinyLfuEvictionPolicy(int maximum) {
+        this.maximum = maximum;
+        this.windowMaximum = Math.max(1, maximum * WINDOW_PERCENT / 100);
+        this.protectedMaximum = (maximum - this.windowMaximum) * PROTECTED_PERCENT / 100;
+        this.sketch = new FrequencySketch(maximum);
+    }
+
+    int size() {
+        return this.window.size() + this.probation.size() + this.protect.size();
+    }
+
+    boolean contains(K key) {
+        return this.window.contains(key) || this.probation.contains(key) || this.protect.contains(key);
+    }
+
+    /**
+     * Records the addition of the specified key.
+     * @param key a key
+     */
+    void add(K key) {
+        this.sketch.increment(key);
+        this.window.add(key);
+    }
+
+    /**
+     * Records an access of the specified key.
+     * @param key a key
+     */
+    void access(K key) {
+        this.sketch.increment(key);
+        if (this.window.remove(key)) {
+            this.window.add(key);
+        } else if (this.probation.remove(key)) {
+            this.protect.add(key);
+            // Demote least recently used protected entries
+            Iterator<K> keys = this.protect.iterator();
+            while (this.protect.size() > this.protectedMaximum) {
+                K demoted = keys.next();
+                keys.remove();
+                this.probation.add(demoted);
+            }
+        } else if (this.protect.remove(key)) {
+            this.protect.add(key);
+        }
+    }
+
+    /**
+     * Records the removal of the specified key.
+     * @param key a key
+     */
+    void remove(K key) {
+        if (!this.window.remove(key) && !this.probation.remove(key)) {
+            this.protect.remove(key);
+        }
+    }
+
+    /**
+     * Removes all keys.
+     */
+    void clear() {
+        this.window.clear();
+        this.probation.clear();
+        this.protect.clear();
+    }
+
+    /**
+     * Evicts entries until the number of entries no longer exceeds the maximum size, or until no evictable entries remain.
+     * @param evictable indicates whether a given key may be evicted
+     * @return the evicted keys
+     */
+    List<K> evict(Predicate<K> evictable) {
+        List<K> evicted = new ArrayList<>(1);
+        while (this.window.size() > this.windowMaximum) {
+            Iterator<K> keys = this.window.iterator();
+            K candidate = keys.next();
+            keys.remove();
+            if (this.size() < this.maximum) {
+                this.probation.add(candidate);
+                continue;
+            }
+            // Main region is full, candidate competes with the victim for admission
+            K victim = this.findVictim(evictable);
+            boolean candidateEvictable = evictable.test(candidate);
+            if ((victim != null) && (!candidateEvictable || (this.sketch.frequency(candidate) > this.sketch.frequency(victim)))) {
+                this.remove(victim);
+                evicted.add(victim);
+                this.probation.add(candidate);
+            } else if (candidateEvictable) {
+                evicted.add(candidate);
+            } else {
+                this.probation.add(candidate);
+            }
+        }
+        // Main region may still exceed its capacity if previously non-evictable entries have since become evictable
+        while (this.size() > this.maximum) {
+            K victim = this.findVictim(evictable);
+            if (victim == null) {
+                victim = findFirst(this.window, evictable);
+                if (victim == null) break;
+            }
+            this.remove(victim);
+            evicted.add(victim);
+        }
+        return evicted;
+    }
+
+    private K findVictim(Predicate<K> evictable) {
+        K victim = findFirst(this.probation, evictable);
+        return (victim != null) ? victim : findFirst(this.protect, evictable);
+    }
+
+    private static <K> K findFirst(Set<K> keys, Predicate<K> evictable) {
+        for (K key : keys) {
+            if (evictable.test(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A count-min sketch of 4-bit counters, 16 of which are packed into each long.
+     * Each key maps to 4 counters in 4 different table entries.
+     * Once the number of increments reaches 10 times the maximum size, all counters are halved.
+     */
+    static class FrequencySketch {
+        private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long ONE_MASK = 0x1111111111111111L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int size = 0;
+
+        FrequencySketch(int maximum) {
+            int length = Integer.highestOneBit(Math.max(16, Math.min(maximum, 1 << 24)) - 1) << 1;
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = (int) Math.min(10L * maximum, Integer.MAX_VALUE);
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; ++i) {
+                int index = this.indexOf(hash, i);
+                int count = (int) ((this.table[index] >>> ((start + i) << 2)) & 0xFL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            boolean incremented = false;
+            for (int i = 0; i < 4; ++i) {
+                incremented |= this.incrementAt(this.indexOf(hash, i), start + i);
+            }
+            if (incremented && (++this.size >= this.sampleSize)) {
+                this.reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xFL << offset;
+            if ((this.table[index] & mask) != mask) {
+                this.table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            int odd = 0;
+            for (int i = 0; i < this.table.length; ++i) {
+                odd += Long.bitCount(this.table[i] & ONE_MASK);
+                this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+            }
+            this.size = (this.size >>> 1) - (odd >>> 2);
+        }
+
+        private int indexOf(int hash, int i) {
+            long value = (hash + SEEDS[i]) * SEEDS[i];
+            value += value >>> 32;
+            return ((int) value) & this.tableMask;
+        }
+
+        private static int spread(int hash) {
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            return (hash >>> 16) ^ hash;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.concurrency;
+
+import org.jboss.metadata.ejb.parser.jboss.ejb3.AbstractEJBBoundMetaData;
+
+/**
+ * Metadata represents the container managed concurrency options configured for singleton beans via the jboss-ejb3.xml deployment descriptor
+ */
+public class EJBBoundConcurrencyMetaData extends AbstractEJBBoundMetaData {
+
+    private Boolean stripedReadLock;
+
+    public Boolean getStripedReadLock() {
+        return stripedReadLock;
+    }
+
+    public void setStripedReadLock(final boolean stripedReadLock) {
+        this.stripedReadLock = stripedReadLock;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Records events where a virtual thread is pinned to its carrier thread, e.g. while blocking within a synchronized block, via JFR.
+ * A single recording stream, started on first registration and closed on last unregistration, is shared by all listeners,
+ * each of which is notified of the events of the threads whose name starts with its prefix.
+ * <p/>
+ * This is the only class referencing JFR, such that JFR is only required if pinning events are actually recorded.
+ */
+final class PinnedThreadRecorder {
+
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final Duration EVENT_THRESHOLD = Duration.ofMillis(20);
+
+    private static final Map<String, Consumer<Duration>> LISTENERS = new ConcurrentHashMap<>();
+    // Guarded by PinnedThreadRecorder.class
+    private static RecordingStream stream;
+
+    /**
+     * Registers a listener for the pinning events of the threads with the specified name prefix.
+     * @param prefix a thread name prefix
+     * @param listener a listener, notified of the duration of each pinning event
+     * @throws RuntimeException if the events could not be recorded, e.g. if JFR is not available
+     */
+    static synchronized void register(String prefix, Consumer<Duration> listener) {
+        if (stream == null) {
+            RecordingStream recording = new RecordingStream();
+            try {
+                recording.enable(EVENT_NAME).withThreshold(EVENT_THRESHOLD);
+                recording.onEvent(EVENT_NAME, PinnedThreadRecorder::accept);
+                recording.startAsync();
+            } catch (RuntimeException e) {
+                recording.close();
+                throw e;
+            }
+            stream = recording;
+        }
+        LISTENERS.put(prefix, listener);
+    }
+
+    /**
+     * Unregisters the listener for the pinning events of the threads with the specified name prefix.
+     * @param prefix a thread name prefix
+     */
+    static synchronized void unregister(String prefix) {
+        if ((LISTENERS.remove(prefix) != null) && LISTENERS.isEmpty() && (stream != null)) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private static void accept(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        String name = (thread != null) ? thread.getJavaName() : null;
+        if (name != null) {
+            for (Map.Entry<String, Consumer<Duration>> entry : LISTENERS.entrySet()) {
+                if (name.startsWith(entry.getKey())) {
+                    entry.getValue().accept(event.getDuration());
+                }
+            }
+        }
+    }
+
+    private PinnedThreadRecorder() {
+    }
+}
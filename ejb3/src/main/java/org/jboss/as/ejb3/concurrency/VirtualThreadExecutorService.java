@@ -0,0 +1,215 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ee.utils.VirtualThreadUtils;
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * An executor service that runs each task on a new virtual thread.
+ * Rather than by the size of a thread pool, the number of concurrently executing tasks is limited by a semaphore.
+ * A task submitted while this limit is reached waits for a permit on its own virtual thread, and thus never blocks the submitting thread.
+ * <p/>
+ * If created via {@link #create(String, int, boolean)} with pinning recorded,
+ * events where a virtual thread of this executor is pinned to its carrier thread, e.g. while blocking within a synchronized block,
+ * are recorded via JFR and exposed via {@link #getStatistics()}.
+ * Recording is opt-in, as it requires a JFR recording stream, which is shared by all executors.
+ */
+public class VirtualThreadExecutorService extends AbstractExecutorService {
+
+    private final ThreadFactory factory;
+    private final Semaphore permits;
+    private final int maxThreads;
+    // Maps each started thread to its task
+    private final Map<Thread, Runnable> threads = new ConcurrentHashMap<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder pinned = new LongAdder();
+    private final LongAdder pinnedTime = new LongAdder();
+    // The name prefix of the threads whose pinning is recorded, or null if not recorded
+    private final String pinnedThreadNamePrefix;
+    private final VirtualThreadExecutorStatistics statistics = new VirtualThreadExecutorStatistics() {
+        @Override
+        public int getActiveCount() {
+            return VirtualThreadExecutorService.this.maxThreads - VirtualThreadExecutorService.this.permits.availablePermits();
+        }
+
+        @Override
+        public int getQueueSize() {
+            return Math.max(0, VirtualThreadExecutorService.this.threads.size() - this.getActiveCount());
+        }
+
+        @Override
+        public long getCompletedTaskCount() {
+            return VirtualThreadExecutorService.this.completed.sum();
+        }
+
+        @Override
+        public long getPinnedCount() {
+            return VirtualThreadExecutorService.this.pinned.sum();
+        }
+
+        @Override
+        public long getPinnedTime() {
+            return VirtualThreadExecutorService.this.pinnedTime.sum();
+        }
+    };
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates an executor service that runs tasks on virtual threads, if supported by the current runtime.
+     * @param name the name of this executor, used as the name prefix of its threads
+     * @param maxThreads the maximum number of concurrently executing tasks
+     * @param recordPinned indicates whether events where a thread of this executor is pinned to its carrier thread should be recorded
+     * @return a new executor service, or null, if virtual threads are not supported
+     */
+    public static VirtualThreadExecutorService create(String name, int maxThreads, boolean recordPinned) {
+        ThreadFactory factory = VirtualThreadUtils.createThreadFactory(name + "-");
+        return (factory != null) ? new VirtualThreadExecutorService(factory, maxThreads, recordPinned ? name + "-" : null) : null;
+    }
+
+    /**
+     * Indicates whether the current runtime supports virtual threads.
+     * @return true, if virtual threads are supported, false otherwise
+     */
+    public static boolean isSupported() {
+        return VirtualThreadUtils.isSupported();
+    }
+
+    /**
+     * Creates an executor service whose tasks run on threads created by the specified factory.
+     * @param factory a thread factory
+     * @param maxThreads the maximum number of concurrently executing tasks
+     */
+    VirtualThreadExecutorService(ThreadFactory factory, int maxThreads) {
+        this(factory, maxThreads, null);
+    }
+
+    private VirtualThreadExecutorService(ThreadFactory factory, int maxThreads, String pinnedThreadNamePrefix) {
+        this.factory = factory;
+        this.maxThreads = maxThreads;
+        this.permits = new Semaphore(maxThreads);
+        this.pinnedThreadNamePrefix = (pinnedThreadNamePrefix != null) && this.recordPinnedEvents(pinnedThreadNamePrefix) ? pinnedThreadNamePrefix : null;
+    }
+
+    private boolean recordPinnedEvents(String prefix) {
+        try {
+            PinnedThreadRecorder.register(prefix, duration -> {
+                this.pinned.increment();
+                this.pinnedTime.add(duration.toMillis());
+            });
+            return true;
+        } catch (RuntimeException | LinkageError e) {
+            // e.g. JFR is not available
+            EjbLogger.ROOT_LOGGER.debugf(e, "Pinning of virtual threads %s* will not be recorded", prefix);
+            return false;
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (this.shutdown) {
+            throw new RejectedExecutionException();
+        }
+        Thread thread = this.factory.newThread(() -> this.run(task));
+        this.threads.put(thread, task);
+        // Recheck, in case of concurrent shutdown
+        if (this.shutdown) {
+            this.threads.remove(thread);
+            throw new RejectedExecutionException();
+        }
+        try {
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            this.threads.remove(thread);
+            throw new RejectedExecutionException(e);
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            this.permits.acquire();
+            try {
+                task.run();
+            } finally {
+                this.permits.release();
+                this.completed.increment();
+            }
+        } catch (InterruptedException e) {
+            // Executor was shutdown before this task was permitted to run
+            Thread.currentThread().interrupt();
+        } finally {
+            this.threads.remove(Thread.currentThread());
+            if (this.shutdown && this.threads.isEmpty()) {
+                synchronized (this.threads) {
+                    this.threads.notifyAll();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        if (this.pinnedThreadNamePrefix != null) {
+            PinnedThreadRecorder.unregister(this.pinnedThreadNamePrefix);
+        }
+        if (this.threads.isEmpty()) {
+            synchronized (this.threads) {
+                this.threads.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        this.shutdown();
+        List<Runnable> tasks = new ArrayList<>();
+        for (Map.Entry<Thread, Runnable> entry : this.threads.entrySet()) {
+            entry.getKey().interrupt();
+            tasks.add(entry.getValue());
+        }
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.shutdown && this.threads.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this.threads) {
+            while (!this.isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this.threads, remaining);
+            }
+        }
+        return true;
+    }
+
+    public VirtualThreadExecutorStatistics getStatistics() {
+        return this.statistics;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.concurrency;
+
+/**
+ * Exposes the statistics of a {@link VirtualThreadExecutorService}.
+ */
+public interface VirtualThreadExecutorStatistics {
+
+    /**
+     * Returns the number of tasks currently executing.
+     * @return the number of executing tasks
+     */
+    int getActiveCount();
+
+    /**
+     * Returns the number of submitted tasks waiting for the concurrency limit to permit their execution.
+     * @return the number of waiting tasks
+     */
+    int getQueueSize();
+
+    /**
+     * Returns the number of tasks that completed execution since this executor was created.
+     * @return the number of completed tasks
+     */
+    long getCompletedTaskCount();
+
+    /**
+     * Returns the number of times a virtual thread of this executor was pinned to its carrier thread while blocked.
+     * @return the number of pinning events
+     */
+    long getPinnedCount();
+
+    /**
+     * Returns the total duration for which virtual threads of this executor were pinned to their carrier thread, in milliseconds.
+     * @return the total duration of pinning events
+     */
+    long getPinnedTime();
+}
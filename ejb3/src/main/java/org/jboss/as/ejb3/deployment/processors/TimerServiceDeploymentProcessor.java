@@ -61,10 +61,12 @@ import org.wildfly.subsystem.service.ServiceInstaller;
 public class TimerServiceDeploymentProcessor implements DeploymentUnitProcessor {
 
     private final String threadPoolName;
+    private final boolean virtualThreads;
     private final TimerServiceMetaData defaultMetaData;
 
-    public TimerServiceDeploymentProcessor(final String threadPoolName, final TimerServiceMetaData defaultMetaData) {
+    public TimerServiceDeploymentProcessor(final String threadPoolName, final boolean virtualThreads, final TimerServiceMetaData defaultMetaData) {
         this.threadPoolName = threadPoolName;
+        this.virtualThreads = virtualThreads;
         this.defaultMetaData = defaultMetaData;
     }
 
@@ -105,6 +107,7 @@ public class TimerServiceDeploymentProcessor implements DeploymentUnitProcessor
         }
 
         String threadPoolName = this.threadPoolName;
+        boolean virtualThreads = this.virtualThreads;
         TimerServiceMetaData defaultMetaData = timerServiceMetaData.get(null);
 
         StringBuilder deploymentNameBuilder = new StringBuilder();
@@ -156,7 +159,7 @@ public class TimerServiceDeploymentProcessor implements DeploymentUnitProcessor
 
                             if ((threadPoolName != null) && (componentMetaData.getDataStoreName() != null)) {
                                 // Install in-memory timer service factory w/persistence support
-                                new TimerServiceFactoryServiceInstaller(serviceName, factoryConfiguration, TimerFilter.ALL, threadPoolName, componentMetaData.getDataStoreName()).install(context);
+                                new TimerServiceFactoryServiceInstaller(serviceName, factoryConfiguration, TimerFilter.ALL, threadPoolName, virtualThreads, componentMetaData.getDataStoreName()).install(context);
                             } else {
                                 // Use composite timer service, with separate transient vs persistent implementations.
                                 ServiceName transientServiceName = TimerFilter.TRANSIENT.apply(serviceName);
@@ -166,7 +169,7 @@ public class TimerServiceDeploymentProcessor implements DeploymentUnitProcessor
                                     installDistributableTimerServiceFactory(phaseContext, transientServiceName, componentMetaData.getTransientTimerManagementProvider(), factoryConfiguration, componentDescription, TimerFilter.TRANSIENT);
                                 } else {
                                     // Install in-memory timer service factory w/out persistence support
-                                    new TimerServiceFactoryServiceInstaller(transientServiceName, factoryConfiguration, TimerFilter.TRANSIENT, threadPoolName, null).install(context);
+                                    new TimerServiceFactoryServiceInstaller(transientServiceName, factoryConfiguration, TimerFilter.TRANSIENT, threadPoolName, virtualThreads, null).install(context);
                                 }
 
                                 installDistributableTimerServiceFactory(phaseContext, persistentServiceName, componentMetaData.getPersistentTimerManagementProvider(), factoryConfiguration, componentDescription, TimerFilter.PERSISTENT);
@@ -3255,4 +3255,28 @@ public interface EjbLogger extends BasicLogger {
 
     @Message(id = 536, value = "Unsupported EJB receiver protocol %s")
     IllegalArgumentException unsupportedEJBReceiverProtocol(String uriScheme);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 537, value = "Failed to execute scheduled timeout task %s")
+    void scheduledTimeoutTaskFailed(Runnable task, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 538, value = "Timer table lacks the LAST_MODIFIED column or the JBOSS_EJB_TIMER_DELETED table, timers of partition %s will be fully refreshed instead")
+    void timerTableNotTracked(String partition, @Cause SQLException e);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 539, value = "Failed to refresh timers of partition %s")
+    void failedToRefreshTimersOfPartition(String partition, @Cause SQLException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 540, value = "Discarding corrupt or incomplete timer journal records of %s from offset %d")
+    void truncatedTimerJournal(File segment, long offset);
+
+    @LogMessage(level = WARN)
+    @Message(id = 541, value = "Virtual threads are not supported by this runtime, %s will use thread pool %s instead")
+    void virtualThreadsNotSupported(String service, String threadPoolName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 542, value = "Failed to compact timer journal %s")
+    void failedToCompactTimerJournal(File directory, @Cause Throwable cause);
 }
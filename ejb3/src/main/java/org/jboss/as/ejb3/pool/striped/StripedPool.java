@@ -0,0 +1,264 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.pool.striped;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size whose free instances are spread across a number of stripes.
+ * <p/>
+ * Unlike {@link org.jboss.as.ejb3.pool.strictmax.StrictMaxPool}, acquiring and releasing an instance does not go through a
+ * shared semaphore and queue. Each thread is mapped to a stripe, and will preferentially reuse the instance it released last.
+ * The maximum size is enforced by bounding the number of live instances (whether idle or in use): a thread whose stripe is
+ * empty first steals an idle instance from another stripe, or otherwise creates a new instance, if the pool has not yet
+ * reached its maximum size. Only when neither is possible does the thread block, until an instance is released or discarded.
+ */
+public class StripedPool<T> extends AbstractPool<T> {
+
+    private final Deque<T>[] stripes;
+    private final int mask;
+    /**
+     * The maximum number of instances allowed in the pool
+     */
+    private final int maxSize;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+    /**
+     * The number of live instances, i.e. those idle within a stripe and those in use.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    /**
+     * The number of threads waiting for an instance.  Only consulted by releasing threads, which avoid the lock entirely when zero.
+     */
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    /**
+     * Incremented (while holding the lock) whenever an instance or creation slot becomes available, so that waiting threads can detect a concurrent release.
+     */
+    private volatile int generation = 0;
+
+    public StripedPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    StripedPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, int concurrency) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        // There is no benefit to having more stripes than instances
+        int stripeCount = stripeCount(Math.min(concurrency, maxSize));
+        this.stripes = new Deque[stripeCount];
+        for (int i = 0; i < stripeCount; ++i) {
+            this.stripes[i] = new ConcurrentLinkedDeque<>();
+        }
+        this.mask = stripeCount - 1;
+    }
+
+    /**
+     * Returns the smallest power of 2 greater than or equal to the specified concurrency.
+     */
+    private static int stripeCount(int concurrency) {
+        return (concurrency <= 1) ? 1 : Integer.highestOneBit(concurrency - 1) << 1;
+    }
+
+    @Override
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+        try {
+            super.doRemove(ctx);
+        } finally {
+            this.size.decrementAndGet();
+            this.signal();
+        }
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return this.getCreateCount() - this.getRemoveCount();
+    }
+
+    @Override
+    public int getAvailableCount() {
+        int idle = 0;
+        for (Deque<T> stripe : this.stripes) {
+            idle += stripe.size();
+        }
+        return this.maxSize - this.size.get() + idle;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    }
+
+    @Override
+    public T get() {
+        int index = this.stripeIndex();
+        T bean = this.acquire(index);
+        return (bean != null) ? bean : this.await(index);
+    }
+
+    @Override
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.size.get(), this.maxSize, this);
+        }
+        // Push to the head of our stripe, so that the next acquisition by this thread reuses the most recently used instance
+        this.stripes[this.stripeIndex()].offerFirst(obj);
+        this.signal();
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+        this.discard(ctx);
+    }
+
+    @Override
+    public void start() {
+        // Nothing to start
+    }
+
+    @Override
+    public void stop() {
+        for (Deque<T> stripe : this.stripes) {
+            for (T obj = stripe.pollFirst(); obj != null; obj = stripe.pollFirst()) {
+                try {
+                    this.destroy(obj);
+                } finally {
+                    this.size.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Attempts to acquire an instance without blocking, preferring, in order: an idle instance from the specified stripe, an idle instance stolen from another stripe, or a new instance.
+     * Idle instances are always reused before creating new ones, so that the pool only grows when all live instances are in use.
+     * @param index the stripe of the calling thread
+     * @return an instance, or null, if the pool is exhausted
+     */
+    private T acquire(int index) {
+        T bean = this.stripes[index].pollFirst();
+        if (bean != null) {
+            return bean;
+        }
+        // Steal the least recently used instance from the tail of another stripe
+        for (int i = 1; i < this.stripes.length; ++i) {
+            bean = this.stripes[(index + i) & this.mask].pollLast();
+            if (bean != null) {
+                return bean;
+            }
+        }
+        if (this.reserve()) {
+            boolean created = false;
+            try {
+                bean = this.create();
+                created = true;
+                return bean;
+            } finally {
+                if (!created) {
+                    this.size.decrementAndGet();
+                    this.signal();
+                }
+            }
+        }
+        return null;
+    }
+
+    private T await(int index) {
+        long remaining = this.timeUnit.toNanos(this.timeout);
+        long deadline = System.nanoTime() + remaining;
+        // Register as a waiter before re-attempting acquisition, so that any concurrent release either becomes visible to us, or will signal us
+        this.waiters.incrementAndGet();
+        try {
+            while (true) {
+                int current = this.generation;
+                T bean = this.acquire(index);
+                if (bean != null) {
+                    return bean;
+                }
+                remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                }
+                this.lock.lock();
+                try {
+                    // Skip waiting if an instance was made available since our last attempt
+                    if (current == this.generation) {
+                        this.available.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+                } finally {
+                    this.lock.unlock();
+                }
+            }
+        } finally {
+            this.waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Reserves a slot for a new instance, if the pool has not yet reached its maximum size.
+     */
+    private boolean reserve() {
+        int current = this.size.get();
+        while (current < this.maxSize) {
+            if (this.size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = this.size.get();
+        }
+        return false;
+    }
+
+    /**
+     * Wakes a waiting thread, if any, following the release of an instance or of a creation slot.
+     */
+    private void signal() {
+        if (this.waiters.get() > 0) {
+            this.lock.lock();
+            try {
+                this.generation += 1;
+                this.available.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private int stripeIndex() {
+        int hash = System.identityHashCode(Thread.currentThread());
+        // Spread higher bits downward, since only the lower bits are used
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+}
@@ -46,6 +46,8 @@ public class DatabaseDataStoreAdd extends AbstractAddStepHandler {
 
         int refreshInterval = DatabaseDataStoreResourceDefinition.REFRESH_INTERVAL.resolveModelAttribute(context, model).asInt();
         boolean allowExecution = DatabaseDataStoreResourceDefinition.ALLOW_EXECUTION.resolveModelAttribute(context, model).asBoolean();
+        long refreshOverlap = DatabaseDataStoreResourceDefinition.REFRESH_OVERLAP.resolveModelAttribute(context, model).asLong();
+        DatabaseDataStoreResourceDefinition.RefreshMode refreshMode = DatabaseDataStoreResourceDefinition.RefreshMode.fromValue(DatabaseDataStoreResourceDefinition.REFRESH_MODE.resolveModelAttribute(context, model).asString());
 
         final String nodeName = WildFlySecurityManager.getPropertyPrivileged(ServerEnvironment.NODE_NAME, null);
 
@@ -56,7 +58,7 @@ public class DatabaseDataStoreAdd extends AbstractAddStepHandler {
         final Supplier<ManagedReferenceFactory> dataSourceSupplier = builder.requires(ContextNames.bindInfoFor(jndiName).getBinderServiceName());
         final Supplier<ModuleLoader> moduleLoaderSupplier = builder.requires(Services.JBOSS_SERVICE_MODULE_LOADER);
         final Supplier<Timer> timerSupplier = builder.requires(TimerServiceResourceDefinition.TIMER_SERVICE_DESCRIPTOR);
-        final DatabaseTimerPersistence databaseTimerPersistence = new DatabaseTimerPersistence(consumer, dataSourceSupplier, moduleLoaderSupplier, timerSupplier, database, partition, nodeName, refreshInterval, allowExecution);
+        final DatabaseTimerPersistence databaseTimerPersistence = new DatabaseTimerPersistence(consumer, dataSourceSupplier, moduleLoaderSupplier, timerSupplier, database, partition, nodeName, refreshInterval, allowExecution, refreshMode == DatabaseDataStoreResourceDefinition.RefreshMode.INCREMENTAL, refreshOverlap);
         builder.setInstance(databaseTimerPersistence);
         builder.install();
     }
@@ -11,6 +11,9 @@ import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
@@ -18,6 +21,8 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
+import java.util.EnumSet;
+
 /**
  * {@link org.jboss.as.controller.ResourceDefinition} for the database data store resource.
  *
@@ -51,6 +56,22 @@ public class DatabaseDataStoreResourceDefinition extends TimerPersistenceResourc
                     .setDefaultValue(new ModelNode(-1))
                     .build();
 
+    public static final SimpleAttributeDefinition REFRESH_MODE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.REFRESH_MODE, ModelType.STRING, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+                    .setDefaultValue(new ModelNode(RefreshMode.FULL.toString()))
+                    .setValidator(EnumValidator.create(RefreshMode.class))
+                    .build();
+
+    public static final SimpleAttributeDefinition REFRESH_OVERLAP =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.REFRESH_OVERLAP, ModelType.LONG, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+                    .setDefaultValue(new ModelNode(60000L))
+                    .setValidator(new LongRangeValidator(0, true))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .build();
 
     public static final SimpleAttributeDefinition ALLOW_EXECUTION =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.ALLOW_EXECUTION, ModelType.BOOLEAN, true)
@@ -59,7 +80,7 @@ public class DatabaseDataStoreResourceDefinition extends TimerPersistenceResourc
                     .setDefaultValue(ModelNode.TRUE)
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { DATASOURCE_JNDI_NAME, DATABASE, PARTITION, REFRESH_INTERVAL, ALLOW_EXECUTION };
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { DATASOURCE_JNDI_NAME, DATABASE, PARTITION, REFRESH_INTERVAL, ALLOW_EXECUTION, REFRESH_MODE, REFRESH_OVERLAP };
     private static final DatabaseDataStoreAdd ADD_HANDLER = new DatabaseDataStoreAdd();
 
     DatabaseDataStoreResourceDefinition() {
@@ -75,4 +96,27 @@ public class DatabaseDataStoreResourceDefinition extends TimerPersistenceResourc
         }
     }
 
+    enum RefreshMode {
+        FULL("full"), INCREMENTAL("incremental");
+
+        private final String value;
+
+        RefreshMode(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return this.value;
+        }
+
+        static RefreshMode fromValue(String value) {
+            for (RefreshMode mode : EnumSet.allOf(RefreshMode.class)) {
+                if (mode.value.equals(value)) {
+                    return mode;
+                }
+            }
+            return valueOf(value);
+        }
+    }
 }
@@ -12,10 +12,17 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.ejb3.concurrency.VirtualThreadExecutorService;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.wildfly.service.descriptor.NullaryServiceDescriptor;
 import org.wildfly.subsystem.resource.capability.CapabilityReference;
+import org.wildfly.subsystem.resource.executor.MetricOperationStepHandler;
+import org.wildfly.subsystem.service.capture.ServiceValueExecutorRegistry;
 
 /**
  * A {@link org.jboss.as.controller.ResourceDefinition} for the Jakarta Enterprise Beans async service
@@ -25,6 +32,8 @@ import org.wildfly.subsystem.resource.capability.CapabilityReference;
 public class EJB3AsyncResourceDefinition extends SimpleResourceDefinition {
 
     public static final RuntimeCapability<Void> CAPABILITY = RuntimeCapability.Builder.of("org.wildfly.ejb3.async").build();
+    public static final NullaryServiceDescriptor<VirtualThreadExecutorService> VIRTUAL_THREAD_EXECUTOR_DESCRIPTOR = NullaryServiceDescriptor.of("org.wildfly.ejb3.async.virtual-thread-executor", VirtualThreadExecutorService.class);
+    static final RuntimeCapability<Void> VIRTUAL_THREAD_EXECUTOR_CAPABILITY = RuntimeCapability.Builder.of(VIRTUAL_THREAD_EXECUTOR_DESCRIPTOR).build();
 
     static final SimpleAttributeDefinition THREAD_POOL_NAME =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.THREAD_POOL_NAME, ModelType.STRING, true)
@@ -33,13 +42,36 @@ public class EJB3AsyncResourceDefinition extends SimpleResourceDefinition {
                     .setCapabilityReference(CapabilityReference.builder(CAPABILITY, EJB3SubsystemRootResourceDefinition.EXECUTOR_SERVICE_DESCRIPTOR).build())
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME };
+    static final SimpleAttributeDefinition MAX_VIRTUAL_THREADS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_VIRTUAL_THREADS, ModelType.INT, true)
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    static final SimpleAttributeDefinition RECORD_PINNED_VIRTUAL_THREADS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.RECORD_PINNED_VIRTUAL_THREADS, ModelType.BOOLEAN, true)
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .setRequires(EJB3SubsystemModel.MAX_VIRTUAL_THREADS)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setStability(Stability.COMMUNITY)
+                    .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, MAX_VIRTUAL_THREADS, RECORD_PINNED_VIRTUAL_THREADS };
+
+    private final ServiceValueExecutorRegistry<VirtualThreadExecutorService> registry;
 
     EJB3AsyncResourceDefinition() {
+        this(ServiceValueExecutorRegistry.newInstance());
+    }
+
+    private EJB3AsyncResourceDefinition(ServiceValueExecutorRegistry<VirtualThreadExecutorService> registry) {
         super(new Parameters(EJB3SubsystemModel.ASYNC_SERVICE_PATH, EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.ASYNC))
-                .setAddHandler(new EJB3AsyncServiceAdd())
+                .setAddHandler(new EJB3AsyncServiceAdd(registry))
                 .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE)
-                .setCapabilities(CAPABILITY));
+                .setCapabilities(CAPABILITY, VIRTUAL_THREAD_EXECUTOR_CAPABILITY));
+        this.registry = registry;
     }
 
     @Override
@@ -48,5 +80,8 @@ public class EJB3AsyncResourceDefinition extends SimpleResourceDefinition {
             // TODO: Make this RESTART_NONE by updating AsynchronousMergingProcessor
             resourceRegistration.registerReadWriteAttribute(attr, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
         }
+        if (resourceRegistration.isRuntimeOnlyRegistrationValid()) {
+            new MetricOperationStepHandler<>(new VirtualThreadExecutorMetricExecutor(this.registry, VIRTUAL_THREAD_EXECUTOR_DESCRIPTOR), VirtualThreadExecutorMetric.class).register(resourceRegistration);
+        }
     }
 }
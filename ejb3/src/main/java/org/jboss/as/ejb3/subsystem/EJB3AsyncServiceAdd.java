@@ -9,12 +9,17 @@ import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.ejb3.concurrency.VirtualThreadExecutorService;
 import org.jboss.as.ejb3.deployment.processors.merging.AsynchronousMergingProcessor;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceName;
+import org.wildfly.service.BlockingLifecycle;
+import org.wildfly.subsystem.service.ServiceDependency;
+import org.wildfly.subsystem.service.capability.CapabilityServiceInstaller;
+import org.wildfly.subsystem.service.capture.ServiceValueRegistry;
 
 /**
  * A {@link org.jboss.as.controller.AbstractBoottimeAddStepHandler} to handle the add operation for the Jakarta Enterprise Beans
@@ -25,12 +30,35 @@ import org.jboss.msc.service.ServiceName;
  */
 public class EJB3AsyncServiceAdd extends AbstractBoottimeAddStepHandler {
 
+    private final ServiceValueRegistry<VirtualThreadExecutorService> registry;
+
+    EJB3AsyncServiceAdd(ServiceValueRegistry<VirtualThreadExecutorService> registry) {
+        this.registry = registry;
+    }
+
     @Override
     protected void performBoottime(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
 
         final String threadPoolName = EJB3AsyncResourceDefinition.THREAD_POOL_NAME.resolveModelAttribute(context, model).asString();
+        final Integer maxVirtualThreads = EJB3AsyncResourceDefinition.MAX_VIRTUAL_THREADS.resolveModelAttribute(context, model).asIntOrNull();
+        final boolean recordPinnedVirtualThreads = EJB3AsyncResourceDefinition.RECORD_PINNED_VIRTUAL_THREADS.resolveModelAttribute(context, model).asBoolean();
 
-        final ServiceName threadPoolServiceName = context.getCapabilityServiceName(EJB3SubsystemRootResourceDefinition.EXECUTOR_SERVICE_DESCRIPTOR, threadPoolName);
+        final ServiceName threadPoolServiceName;
+        if ((maxVirtualThreads != null) && VirtualThreadExecutorService.isSupported()) {
+            // Run asynchronous invocations on virtual threads instead of the thread pool
+            CapabilityServiceInstaller.BlockingBuilder.of(EJB3AsyncResourceDefinition.VIRTUAL_THREAD_EXECUTOR_CAPABILITY, () -> VirtualThreadExecutorService.create("EJB async", maxVirtualThreads, recordPinnedVirtualThreads))
+                    .withLifecycle(BlockingLifecycle.compose(VirtualThreadExecutorService::shutdown))
+                    .build()
+                    .install(context);
+            // Capture the executor for use by metric operations
+            this.registry.capture(ServiceDependency.on(EJB3AsyncResourceDefinition.VIRTUAL_THREAD_EXECUTOR_DESCRIPTOR)).install(context);
+            threadPoolServiceName = context.getCapabilityServiceName(EJB3AsyncResourceDefinition.VIRTUAL_THREAD_EXECUTOR_DESCRIPTOR);
+        } else {
+            if (maxVirtualThreads != null) {
+                ROOT_LOGGER.virtualThreadsNotSupported(EJB3SubsystemModel.ASYNC, threadPoolName);
+            }
+            threadPoolServiceName = context.getCapabilityServiceName(EJB3SubsystemRootResourceDefinition.EXECUTOR_SERVICE_DESCRIPTOR, threadPoolName);
+        }
 
         context.addStep(new AbstractDeploymentChainStep() {
             @Override
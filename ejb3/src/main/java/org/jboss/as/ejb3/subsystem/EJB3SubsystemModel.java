@@ -59,12 +59,14 @@ public interface EJB3SubsystemModel {
     String DERIVED_SIZE = "derived-size";
 
     String STRICT_MAX_BEAN_INSTANCE_POOL = "strict-max-bean-instance-pool";
+    String STRIPED = "striped";
 
     @Deprecated String MAX_THREADS = "max-threads";
     @Deprecated String KEEPALIVE_TIME = "keepalive-time";
 
     String RELATIVE_TO = "relative-to";
     String PATH = "path";
+    String FORMAT = "format";
 
     String DEFAULT_SINGLETON_BEAN_ACCESS_TIMEOUT = "default-singleton-bean-access-timeout";
     String DEFAULT_STATEFUL_BEAN_ACCESS_TIMEOUT = "default-stateful-bean-access-timeout";
@@ -89,6 +91,9 @@ public interface EJB3SubsystemModel {
     String TIMER_SERVICE = "timer-service";
     String THREAD_POOL = "thread-pool";
     String THREAD_POOL_NAME = "thread-pool-name";
+    String TIMEOUT_SCHEDULER = "timeout-scheduler";
+    String MAX_VIRTUAL_THREADS = "max-virtual-threads";
+    String RECORD_PINNED_VIRTUAL_THREADS = "record-pinned-virtual-threads";
     @Deprecated String DEFAULT = "default";
 
     String USE_QUALIFIED_NAME = "use-qualified-name";
@@ -125,6 +130,8 @@ public interface EJB3SubsystemModel {
     String DATABASE_DATA_STORE = "database-data-store";
     String PARTITION  = "partition";
     String REFRESH_INTERVAL = "refresh-interval";
+    String REFRESH_MODE = "refresh-mode";
+    String REFRESH_OVERLAP = "refresh-overlap";
     String ALLOW_EXECUTION = "allow-execution";
 
     @Deprecated String STATIC_URLS = "static-urls";
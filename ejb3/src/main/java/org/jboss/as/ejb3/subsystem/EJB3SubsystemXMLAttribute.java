@@ -43,6 +43,8 @@ public enum EJB3SubsystemXMLAttribute {
     ENABLE_BY_DEFAULT("enable-by-default"),
     EXCLUDE_LOCAL_RECEIVER("exclude-local-receiver"),
 
+    FORMAT("format"),
+
     @Deprecated GROUPS_PATH("groups-path"),
 
     @Deprecated IDLE_TIMEOUT("idle-timeout"),
@@ -58,13 +60,17 @@ public enum EJB3SubsystemXMLAttribute {
     MAX_SIZE("max-size"),
     DERIVE_SIZE("derive-size"),
     MAX_THREADS("max-threads"),
+    MAX_VIRTUAL_THREADS("max-virtual-threads"),
 
     NAME("name"),
 
     OUTBOUND_CONNECTION_REF("outbound-connection-ref"),
 
     PARTITION("partition"),
+    RECORD_PINNED_VIRTUAL_THREADS("record-pinned-virtual-threads"),
     REFRESH_INTERVAL("refresh-interval"),
+    REFRESH_MODE("refresh-mode"),
+    REFRESH_OVERLAP("refresh-overlap"),
     PASS_BY_VALUE("pass-by-value"),
     @Deprecated PASSIVATE_EVENTS_ON_REPLICATE("passivate-events-on-replicate"),
     PASSIVATION_DISABLED_CACHE_REF("passivation-disabled-cache-ref"),
@@ -77,9 +83,11 @@ public enum EJB3SubsystemXMLAttribute {
 
     @Deprecated SESSIONS_PATH("sessions-path"),
     STATIC_URLS("static-urls"),
+    STRIPED("striped"),
     @Deprecated SUBDIRECTORY_COUNT("subdirectory-count"),
 
     THREAD_POOL_NAME("thread-pool-name"),
+    TIMEOUT_SCHEDULER("timeout-scheduler"),
     TYPE("type"),
 
     USE_QUALIFIED_NAME("use-qualified-name"),
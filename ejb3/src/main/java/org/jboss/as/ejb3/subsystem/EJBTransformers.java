@@ -5,6 +5,7 @@
 
 package org.jboss.as.ejb3.subsystem;
 
+import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_10_0_0;
 import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_9_0_0;
 
 import org.jboss.as.controller.ModelVersion;
@@ -38,14 +39,53 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(currentModel);
 
         // register the transformations required for each legacy version after 9.0.0
-        registerTransformers_9_0_0(chainedBuilder.createBuilder(currentModel, VERSION_9_0_0.getVersion()));
+        registerTransformers_10_0_0(chainedBuilder.createBuilder(currentModel, VERSION_10_0_0.getVersion()));
+        registerTransformers_9_0_0(chainedBuilder.createBuilder(VERSION_10_0_0.getVersion(), VERSION_9_0_0.getVersion()));
 
         // create the chained builder which incorporates all transformations
         chainedBuilder.buildAndRegister(subsystemRegistration, new ModelVersion[] {
+                VERSION_10_0_0.getVersion(),
                 VERSION_9_0_0.getVersion()
         });
     }
 
+    /*
+     * Transformers for changes in model version 11.0.0
+     */
+    private static void registerTransformers_10_0_0(ResourceTransformationDescriptionBuilder subsystemBuilder) {
+        subsystemBuilder.addChildResource(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, StrictMaxPoolResourceDefinition.STRIPED)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, StrictMaxPoolResourceDefinition.STRIPED)
+                .end();
+
+        subsystemBuilder.addChildResource(EJB3SubsystemModel.SIMPLE_CACHE_PATH).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, SimpleStatefulSessionBeanCacheProviderResourceDefinition.Attribute.MAX_SIZE.getDefinition())
+                .addRejectCheck(RejectAttributeChecker.DEFINED, SimpleStatefulSessionBeanCacheProviderResourceDefinition.Attribute.MAX_SIZE.getDefinition())
+                .end();
+
+        subsystemBuilder.addChildResource(EJB3SubsystemModel.ASYNC_SERVICE_PATH).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, EJB3AsyncResourceDefinition.MAX_VIRTUAL_THREADS)
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, EJB3AsyncResourceDefinition.RECORD_PINNED_VIRTUAL_THREADS)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, EJB3AsyncResourceDefinition.MAX_VIRTUAL_THREADS, EJB3AsyncResourceDefinition.RECORD_PINNED_VIRTUAL_THREADS)
+                .end();
+
+        ResourceTransformationDescriptionBuilder timerService = subsystemBuilder.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+        timerService.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, TimerServiceResourceDefinition.TIMEOUT_SCHEDULER)
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, TimerServiceResourceDefinition.MAX_VIRTUAL_THREADS)
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, TimerServiceResourceDefinition.RECORD_PINNED_VIRTUAL_THREADS)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, TimerServiceResourceDefinition.TIMEOUT_SCHEDULER, TimerServiceResourceDefinition.MAX_VIRTUAL_THREADS, TimerServiceResourceDefinition.RECORD_PINNED_VIRTUAL_THREADS)
+                .end();
+        timerService.addChildResource(EJB3SubsystemModel.DATABASE_DATA_STORE_PATH).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, DatabaseDataStoreResourceDefinition.REFRESH_MODE, DatabaseDataStoreResourceDefinition.REFRESH_OVERLAP)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, DatabaseDataStoreResourceDefinition.REFRESH_MODE, DatabaseDataStoreResourceDefinition.REFRESH_OVERLAP)
+                .end();
+        timerService.addChildResource(EJB3SubsystemModel.FILE_DATA_STORE_PATH).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, FileDataStoreResourceDefinition.FORMAT)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, FileDataStoreResourceDefinition.FORMAT)
+                .end();
+    }
+
     /*
      * Transformers for changes in model version 10.0.0
      */
@@ -5,33 +5,62 @@
 package org.jboss.as.ejb3.subsystem;
 
 import java.util.List;
-import java.util.function.UnaryOperator;
+import java.util.OptionalInt;
 
+import org.jboss.as.clustering.controller.SimpleResourceDescriptorConfigurator;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.ejb3.component.stateful.StatefulComponentDescription;
 import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanCacheProvider;
 import org.jboss.as.ejb3.component.stateful.cache.simple.SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.wildfly.subsystem.service.ServiceDependency;
 import org.wildfly.subsystem.service.ServiceInstaller;
 
 /**
  * Defines a CacheFactoryBuilder instance which, during deployment, is used to configure, build and install a CacheFactory for the SFSB being deployed.
  * The CacheFactory resource instances defined here produce bean caches which are non distributed and do not have passivation-enabled.
+ * If a maximum size is defined, idle beans are evicted from these caches, i.e. removed, once that size is exceeded.
  *
  * @author Paul Ferraro
  * @author Richard Achmatowicz
  */
 public class SimpleStatefulSessionBeanCacheProviderResourceDefinition extends StatefulSessionBeanCacheProviderResourceDefinition {
 
+    public enum Attribute implements org.jboss.as.clustering.controller.Attribute {
+        MAX_SIZE(EJB3SubsystemModel.MAX_SIZE, ModelType.INT),
+        ;
+        private final AttributeDefinition definition;
+
+        Attribute(String name, ModelType type) {
+            this.definition = new SimpleAttributeDefinitionBuilder(name, type)
+                    .setAllowExpression(true)
+                    .setRequired(false)
+                    .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+                    .build();
+        }
+
+        @Override
+        public AttributeDefinition getDefinition() {
+            return this.definition;
+        }
+    }
+
     public SimpleStatefulSessionBeanCacheProviderResourceDefinition() {
-        super(EJB3SubsystemModel.SIMPLE_CACHE_PATH, UnaryOperator.identity());
+        super(EJB3SubsystemModel.SIMPLE_CACHE_PATH, new SimpleResourceDescriptorConfigurator<>(Attribute.class));
     }
 
     @Override
     public ServiceDependency<StatefulSessionBeanCacheProvider> resolve(OperationContext context, ModelNode model) throws OperationFailedException {
+        ModelNode maxSizeValue = Attribute.MAX_SIZE.resolveModelAttribute(context, model);
+        OptionalInt maxSize = maxSizeValue.isDefined() ? OptionalInt.of(maxSizeValue.asInt()) : OptionalInt.empty();
         return ServiceDependency.of(new StatefulSessionBeanCacheProvider() {
             @Override
             public Iterable<ServiceInstaller> getDeploymentServiceInstallers(DeploymentUnit unit) {
@@ -40,7 +69,7 @@ public class SimpleStatefulSessionBeanCacheProviderResourceDefinition extends St
 
             @Override
             public Iterable<ServiceInstaller> getStatefulBeanCacheFactoryServiceInstallers(DeploymentUnit unit, StatefulComponentDescription description) {
-                return List.of(new SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory<>().apply(description));
+                return List.of(new SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory<>(maxSize).apply(description));
             }
 
             @Override
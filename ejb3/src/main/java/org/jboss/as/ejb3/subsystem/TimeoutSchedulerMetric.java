@@ -0,0 +1,60 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutSchedulerStatistics;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.subsystem.resource.executor.Metric;
+
+/**
+ * Enumeration of management metrics for the timeout scheduler of the timer service.
+ */
+public enum TimeoutSchedulerMetric implements Metric<TimeoutSchedulerStatistics> {
+
+    SCHEDULED_TIMEOUTS("scheduled-timeouts", AttributeAccess.Flag.GAUGE_METRIC, null) {
+        @Override
+        public ModelNode execute(TimeoutSchedulerStatistics statistics) {
+            return new ModelNode(statistics.getScheduledCount());
+        }
+    },
+    EXPIRED_TIMEOUTS("expired-timeouts", AttributeAccess.Flag.COUNTER_METRIC, null) {
+        @Override
+        public ModelNode execute(TimeoutSchedulerStatistics statistics) {
+            return new ModelNode(statistics.getExpiredCount());
+        }
+    },
+    AVERAGE_SCHEDULING_LAG("average-scheduling-lag", AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(TimeoutSchedulerStatistics statistics) {
+            return new ModelNode(statistics.getAverageLag());
+        }
+    },
+    MAX_SCHEDULING_LAG("max-scheduling-lag", AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(TimeoutSchedulerStatistics statistics) {
+            return new ModelNode(statistics.getMaxLag());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    TimeoutSchedulerMetric(String name, AttributeAccess.Flag metricType, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setFlags(metricType)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition get() {
+        return this.definition;
+    }
+}
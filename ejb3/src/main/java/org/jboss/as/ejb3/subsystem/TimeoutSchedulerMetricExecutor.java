@@ -0,0 +1,35 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutSchedulerStatistics;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.service.capture.FunctionExecutor;
+import org.wildfly.subsystem.resource.executor.Metric;
+import org.wildfly.subsystem.resource.executor.MetricExecutor;
+import org.wildfly.subsystem.resource.executor.MetricFunction;
+import org.wildfly.subsystem.service.ServiceDependency;
+import org.wildfly.subsystem.service.capture.FunctionExecutorRegistry;
+
+/**
+ * Executor for timeout scheduler metrics.
+ */
+public class TimeoutSchedulerMetricExecutor implements MetricExecutor<TimeoutSchedulerStatistics> {
+
+    private final FunctionExecutorRegistry<TimeoutScheduler> executors;
+
+    public TimeoutSchedulerMetricExecutor(FunctionExecutorRegistry<TimeoutScheduler> executors) {
+        this.executors = executors;
+    }
+
+    @Override
+    public ModelNode execute(OperationContext context, Metric<TimeoutSchedulerStatistics> metric) throws OperationFailedException {
+        FunctionExecutor<TimeoutScheduler> executor = this.executors.getExecutor(ServiceDependency.on(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_DESCRIPTOR));
+        return (executor != null) ? executor.execute(new MetricFunction<>(TimeoutScheduler::getStatistics, metric)) : null;
+    }
+}
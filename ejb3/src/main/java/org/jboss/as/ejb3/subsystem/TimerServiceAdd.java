@@ -12,17 +12,24 @@ import java.util.Timer;
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.ejb3.concurrency.VirtualThreadExecutorService;
 import org.jboss.as.ejb3.deployment.processors.AroundTimeoutAnnotationParsingProcessor;
 import org.jboss.as.ejb3.deployment.processors.TimerServiceDeploymentProcessor;
 import org.jboss.as.ejb3.deployment.processors.annotation.TimerServiceAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.merging.TimerMethodMergingProcessor;
 import org.jboss.as.ejb3.timerservice.TimerServiceMetaData;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerTimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheelTimeoutScheduler;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.service.BlockingLifecycle;
+import org.wildfly.service.Installer.StartWhen;
+import org.wildfly.subsystem.service.ServiceDependency;
 import org.wildfly.subsystem.service.capability.CapabilityServiceInstaller;
+import org.wildfly.subsystem.service.capture.ServiceValueRegistry;
 
 /**
  * Adds the timer service
@@ -31,10 +38,25 @@ import org.wildfly.subsystem.service.capability.CapabilityServiceInstaller;
  */
 public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
 
+    private final ServiceValueRegistry<TimeoutScheduler> registry;
+    private final ServiceValueRegistry<VirtualThreadExecutorService> executorRegistry;
+
+    TimerServiceAdd(ServiceValueRegistry<TimeoutScheduler> registry, ServiceValueRegistry<VirtualThreadExecutorService> executorRegistry) {
+        this.registry = registry;
+        this.executorRegistry = executorRegistry;
+    }
+
     @Override
     protected void performBoottime(final OperationContext context, ModelNode operation, final ModelNode model) throws OperationFailedException {
 
         final String threadPoolName = TimerServiceResourceDefinition.THREAD_POOL_NAME.resolveModelAttribute(context, model).asStringOrNull();
+        final Integer maxVirtualThreads = TimerServiceResourceDefinition.MAX_VIRTUAL_THREADS.resolveModelAttribute(context, model).asIntOrNull();
+        final boolean recordPinnedVirtualThreads = TimerServiceResourceDefinition.RECORD_PINNED_VIRTUAL_THREADS.resolveModelAttribute(context, model).asBoolean();
+        final boolean virtualThreads = (threadPoolName != null) && (maxVirtualThreads != null) && VirtualThreadExecutorService.isSupported();
+        if ((threadPoolName != null) && (maxVirtualThreads != null) && !virtualThreads) {
+            ROOT_LOGGER.virtualThreadsNotSupported(EJB3SubsystemModel.TIMER_SERVICE, threadPoolName);
+        }
+        final TimerServiceResourceDefinition.TimeoutSchedulerType schedulerType = TimerServiceResourceDefinition.TimeoutSchedulerType.fromValue(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER.resolveModelAttribute(context, model).asString());
 
         TimerServiceMetaData defaultMetaData = new TimerServiceMetaData();
         defaultMetaData.setDataStoreName(TimerServiceResourceDefinition.DEFAULT_DATA_STORE.resolveModelAttribute(context, model).asStringOrNull());
@@ -49,12 +71,34 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
                 processorTarget.addDeploymentProcessor(EJB3Extension.SUBSYSTEM_NAME, Phase.PARSE, Phase.PARSE_TIMEOUT_ANNOTATION, new TimerServiceAnnotationProcessor());
                 processorTarget.addDeploymentProcessor(EJB3Extension.SUBSYSTEM_NAME, Phase.PARSE, Phase.PARSE_AROUNDTIMEOUT_ANNOTATION, new AroundTimeoutAnnotationParsingProcessor());
                 processorTarget.addDeploymentProcessor(EJB3Extension.SUBSYSTEM_NAME, Phase.POST_MODULE, Phase.POST_MODULE_EJB_TIMER_METADATA_MERGE, new TimerMethodMergingProcessor());
-                processorTarget.addDeploymentProcessor(EJB3Extension.SUBSYSTEM_NAME, Phase.POST_MODULE, Phase.POST_MODULE_EJB_TIMER_SERVICE, new TimerServiceDeploymentProcessor(threadPoolName, defaultMetaData));
+                processorTarget.addDeploymentProcessor(EJB3Extension.SUBSYSTEM_NAME, Phase.POST_MODULE, Phase.POST_MODULE_EJB_TIMER_SERVICE, new TimerServiceDeploymentProcessor(threadPoolName, virtualThreads, defaultMetaData));
             }
         }, OperationContext.Stage.RUNTIME);
 
         if (threadPoolName != null) {
-            CapabilityServiceInstaller.BlockingBuilder.of(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY, Timer::new).withLifecycle(BlockingLifecycle.compose(Timer::cancel)).build().install(context);
+            // The timer thread is only started if required, i.e. by the default timeout scheduler, or by a database data store
+            CapabilityServiceInstaller.BlockingBuilder.of(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY, Timer::new).withLifecycle(BlockingLifecycle.compose(Timer::cancel)).startWhen(StartWhen.REQUIRED).build().install(context);
+
+            switch (schedulerType) {
+                case TIMING_WHEEL:
+                    CapabilityServiceInstaller.BlockingBuilder.of(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_CAPABILITY, TimingWheelTimeoutScheduler::new).withLifecycle(BlockingLifecycle.compose(TimingWheelTimeoutScheduler::start, TimingWheelTimeoutScheduler::stop)).build().install(context);
+                    break;
+                default:
+                    ServiceDependency<Timer> timer = ServiceDependency.on(TimerServiceResourceDefinition.TIMER_SERVICE_DESCRIPTOR);
+                    CapabilityServiceInstaller.BlockingBuilder.of(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_CAPABILITY, timer.map(TimerTimeoutScheduler::new)).requires(timer).build().install(context);
+            }
+            // Capture the scheduler for use by metric operations
+            this.registry.capture(ServiceDependency.on(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_DESCRIPTOR)).install(context);
+
+            if (virtualThreads) {
+                // Run timeouts on virtual threads instead of the thread pool
+                CapabilityServiceInstaller.BlockingBuilder.of(TimerServiceResourceDefinition.VIRTUAL_THREAD_EXECUTOR_CAPABILITY, () -> VirtualThreadExecutorService.create("EJB timer", maxVirtualThreads, recordPinnedVirtualThreads))
+                        .withLifecycle(BlockingLifecycle.compose(VirtualThreadExecutorService::shutdown))
+                        .build()
+                        .install(context);
+                // Capture the executor for use by metric operations
+                this.executorRegistry.capture(ServiceDependency.on(TimerServiceResourceDefinition.VIRTUAL_THREAD_EXECUTOR_DESCRIPTOR)).install(context);
+            }
         }
     }
 }
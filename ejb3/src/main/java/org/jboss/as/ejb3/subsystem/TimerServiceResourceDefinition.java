@@ -5,6 +5,7 @@
 
 package org.jboss.as.ejb3.subsystem;
 
+import java.util.EnumSet;
 import java.util.Timer;
 
 import org.jboss.as.controller.AttributeDefinition;
@@ -14,15 +15,23 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.ejb3.concurrency.VirtualThreadExecutorService;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.ejb.timer.TimerManagementProvider;
 import org.wildfly.service.descriptor.NullaryServiceDescriptor;
 import org.wildfly.subsystem.resource.capability.CapabilityReference;
+import org.wildfly.subsystem.resource.executor.MetricOperationStepHandler;
+import org.wildfly.subsystem.service.capture.ServiceValueExecutorRegistry;
 
 /**
  * {@link org.jboss.as.controller.ResourceDefinition} for the timer-service resource.
@@ -33,6 +42,10 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
 
     public static final NullaryServiceDescriptor<Timer> TIMER_SERVICE_DESCRIPTOR = NullaryServiceDescriptor.of("org.wildfly.ejb3.timer-service", Timer.class);
     static final RuntimeCapability<Void> TIMER_SERVICE_CAPABILITY = RuntimeCapability.Builder.of(TIMER_SERVICE_DESCRIPTOR).build();
+    public static final NullaryServiceDescriptor<TimeoutScheduler> TIMEOUT_SCHEDULER_DESCRIPTOR = NullaryServiceDescriptor.of("org.wildfly.ejb3.timer-service.timeout-scheduler", TimeoutScheduler.class);
+    static final RuntimeCapability<Void> TIMEOUT_SCHEDULER_CAPABILITY = RuntimeCapability.Builder.of(TIMEOUT_SCHEDULER_DESCRIPTOR).build();
+    public static final NullaryServiceDescriptor<VirtualThreadExecutorService> VIRTUAL_THREAD_EXECUTOR_DESCRIPTOR = NullaryServiceDescriptor.of("org.wildfly.ejb3.timer-service.virtual-thread-executor", VirtualThreadExecutorService.class);
+    static final RuntimeCapability<Void> VIRTUAL_THREAD_EXECUTOR_CAPABILITY = RuntimeCapability.Builder.of(VIRTUAL_THREAD_EXECUTOR_DESCRIPTOR).build();
 
     static final SimpleAttributeDefinition THREAD_POOL_NAME =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.THREAD_POOL_NAME, ModelType.STRING)
@@ -67,18 +80,52 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                     .setCapabilityReference(CapabilityReference.builder(TIMER_SERVICE_CAPABILITY, TimerManagementProvider.SERVICE_DESCRIPTOR).build())
                     .build();
 
-    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE, DEFAULT_PERSISTENT_TIMER_MANAGEMENT, DEFAULT_TRANSIENT_TIMER_MANAGEMENT };
+    static final SimpleAttributeDefinition TIMEOUT_SCHEDULER =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.TIMEOUT_SCHEDULER, ModelType.STRING, true)
+                    .setAllowExpression(true)
+                    .setDefaultValue(new ModelNode(TimeoutSchedulerType.TIMER.toString()))
+                    .setValidator(EnumValidator.create(TimeoutSchedulerType.class))
+                    .setRequires(EJB3SubsystemModel.THREAD_POOL_NAME)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    static final SimpleAttributeDefinition MAX_VIRTUAL_THREADS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_VIRTUAL_THREADS, ModelType.INT, true)
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+                    .setRequires(EJB3SubsystemModel.THREAD_POOL_NAME)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    static final SimpleAttributeDefinition RECORD_PINNED_VIRTUAL_THREADS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.RECORD_PINNED_VIRTUAL_THREADS, ModelType.BOOLEAN, true)
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .setRequires(EJB3SubsystemModel.MAX_VIRTUAL_THREADS)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setStability(Stability.COMMUNITY)
+                    .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE, DEFAULT_PERSISTENT_TIMER_MANAGEMENT, DEFAULT_TRANSIENT_TIMER_MANAGEMENT, TIMEOUT_SCHEDULER, MAX_VIRTUAL_THREADS, RECORD_PINNED_VIRTUAL_THREADS };
 
     private final PathManager pathManager;
+    private final ServiceValueExecutorRegistry<TimeoutScheduler> registry;
+    private final ServiceValueExecutorRegistry<VirtualThreadExecutorService> executorRegistry;
 
     public TimerServiceResourceDefinition(final PathManager pathManager) {
+        this(pathManager, ServiceValueExecutorRegistry.newInstance(), ServiceValueExecutorRegistry.newInstance());
+    }
+
+    private TimerServiceResourceDefinition(final PathManager pathManager, ServiceValueExecutorRegistry<TimeoutScheduler> registry, ServiceValueExecutorRegistry<VirtualThreadExecutorService> executorRegistry) {
         super(new SimpleResourceDefinition.Parameters(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.TIMER_SERVICE))
-                .setAddHandler(new TimerServiceAdd())
+                .setAddHandler(new TimerServiceAdd(registry, executorRegistry))
                 .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE)
                 .setAddRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
                 .setRemoveRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
-                .setCapabilities(TIMER_SERVICE_CAPABILITY));
+                .setCapabilities(TIMER_SERVICE_CAPABILITY, TIMEOUT_SCHEDULER_CAPABILITY, VIRTUAL_THREAD_EXECUTOR_CAPABILITY));
         this.pathManager = pathManager;
+        this.registry = registry;
+        this.executorRegistry = executorRegistry;
     }
 
     @Override
@@ -86,6 +133,10 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
         }
+        if (resourceRegistration.isRuntimeOnlyRegistrationValid()) {
+            new MetricOperationStepHandler<>(new TimeoutSchedulerMetricExecutor(this.registry), TimeoutSchedulerMetric.class).register(resourceRegistration);
+            new MetricOperationStepHandler<>(new VirtualThreadExecutorMetricExecutor(this.executorRegistry, VIRTUAL_THREAD_EXECUTOR_DESCRIPTOR), VirtualThreadExecutorMetric.class).register(resourceRegistration);
+        }
     }
 
     @Override
@@ -93,4 +144,31 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(new FileDataStoreResourceDefinition(pathManager));
         resourceRegistration.registerSubModel(new DatabaseDataStoreResourceDefinition());
     }
+
+    /**
+     * Enumerates the available implementations of the scheduler of timer timeouts.
+     */
+    enum TimeoutSchedulerType {
+        TIMER("timer"), TIMING_WHEEL("timing-wheel");
+
+        private final String value;
+
+        TimeoutSchedulerType(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return this.value;
+        }
+
+        static TimeoutSchedulerType fromValue(String value) {
+            for (TimeoutSchedulerType type : EnumSet.allOf(TimeoutSchedulerType.class)) {
+                if (type.value.equals(value)) {
+                    return type;
+                }
+            }
+            return valueOf(value);
+        }
+    }
 }
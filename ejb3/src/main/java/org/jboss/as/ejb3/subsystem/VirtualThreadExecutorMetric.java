@@ -0,0 +1,66 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.ejb3.concurrency.VirtualThreadExecutorStatistics;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.subsystem.resource.executor.Metric;
+
+/**
+ * Enumeration of management metrics for a virtual thread executor.
+ */
+public enum VirtualThreadExecutorMetric implements Metric<VirtualThreadExecutorStatistics> {
+
+    ACTIVE_COUNT("virtual-thread-active-count", ModelType.INT, AttributeAccess.Flag.GAUGE_METRIC, null) {
+        @Override
+        public ModelNode execute(VirtualThreadExecutorStatistics statistics) {
+            return new ModelNode(statistics.getActiveCount());
+        }
+    },
+    QUEUE_SIZE("virtual-thread-queue-size", ModelType.INT, AttributeAccess.Flag.GAUGE_METRIC, null) {
+        @Override
+        public ModelNode execute(VirtualThreadExecutorStatistics statistics) {
+            return new ModelNode(statistics.getQueueSize());
+        }
+    },
+    COMPLETED_TASK_COUNT("virtual-thread-completed-task-count", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC, null) {
+        @Override
+        public ModelNode execute(VirtualThreadExecutorStatistics statistics) {
+            return new ModelNode(statistics.getCompletedTaskCount());
+        }
+    },
+    PINNED_COUNT("virtual-thread-pinned-count", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC, null) {
+        @Override
+        public ModelNode execute(VirtualThreadExecutorStatistics statistics) {
+            return new ModelNode(statistics.getPinnedCount());
+        }
+    },
+    PINNED_TIME("virtual-thread-pinned-time", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(VirtualThreadExecutorStatistics statistics) {
+            return new ModelNode(statistics.getPinnedTime());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    VirtualThreadExecutorMetric(String name, ModelType type, AttributeAccess.Flag metricType, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type)
+                .setFlags(metricType)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition get() {
+        return this.definition;
+    }
+}
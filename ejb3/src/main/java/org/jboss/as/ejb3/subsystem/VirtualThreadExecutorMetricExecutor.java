@@ -0,0 +1,39 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.ejb3.concurrency.VirtualThreadExecutorService;
+import org.jboss.as.ejb3.concurrency.VirtualThreadExecutorStatistics;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.service.capture.FunctionExecutor;
+import org.wildfly.service.descriptor.NullaryServiceDescriptor;
+import org.wildfly.subsystem.resource.executor.Metric;
+import org.wildfly.subsystem.resource.executor.MetricExecutor;
+import org.wildfly.subsystem.resource.executor.MetricFunction;
+import org.wildfly.subsystem.service.ServiceDependency;
+import org.wildfly.subsystem.service.capture.FunctionExecutorRegistry;
+
+/**
+ * Executor for virtual thread executor metrics.
+ * Metrics are undefined if the associated service does not use virtual threads.
+ */
+public class VirtualThreadExecutorMetricExecutor implements MetricExecutor<VirtualThreadExecutorStatistics> {
+
+    private final FunctionExecutorRegistry<VirtualThreadExecutorService> executors;
+    private final NullaryServiceDescriptor<VirtualThreadExecutorService> descriptor;
+
+    public VirtualThreadExecutorMetricExecutor(FunctionExecutorRegistry<VirtualThreadExecutorService> executors, NullaryServiceDescriptor<VirtualThreadExecutorService> descriptor) {
+        this.executors = executors;
+        this.descriptor = descriptor;
+    }
+
+    @Override
+    public ModelNode execute(OperationContext context, Metric<VirtualThreadExecutorStatistics> metric) throws OperationFailedException {
+        FunctionExecutor<VirtualThreadExecutorService> executor = this.executors.getExecutor(ServiceDependency.on(this.descriptor));
+        return (executor != null) ? executor.execute(new MetricFunction<>(VirtualThreadExecutorService::getStatistics, metric)) : null;
+    }
+}
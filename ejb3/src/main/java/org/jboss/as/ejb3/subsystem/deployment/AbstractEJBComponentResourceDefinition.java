@@ -97,13 +97,15 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
             .build();
 
-    private static final AttributeDefinition METHODS = ObjectMapAttributeDefinition.Builder.of(
-            "methods",
-            ObjectTypeAttributeDefinition.Builder.of("complex", EXECUTION_TIME, INVOCATIONS, WAIT_TIME)
-            .build())
-            .setRequired(false)
-            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
-            .build();
+    private static final AttributeDefinition EXECUTION_TIME_P50 = createPercentileMetric("execution-time-p50");
+    private static final AttributeDefinition EXECUTION_TIME_P90 = createPercentileMetric("execution-time-p90");
+    private static final AttributeDefinition EXECUTION_TIME_P99 = createPercentileMetric("execution-time-p99");
+    private static final AttributeDefinition WAIT_TIME_P50 = createPercentileMetric("wait-time-p50");
+    private static final AttributeDefinition WAIT_TIME_P90 = createPercentileMetric("wait-time-p90");
+    private static final AttributeDefinition WAIT_TIME_P99 = createPercentileMetric("wait-time-p99");
+
+    private static final AttributeDefinition METHODS = createMethodsMetric("methods");
+    private static final AttributeDefinition METHODS_BY_SIGNATURE = createMethodsMetric("methods-by-signature");
 
     public static final SimpleAttributeDefinition RUN_AS_ROLE = new SimpleAttributeDefinitionBuilder("run-as-role", ModelType.STRING, true)
             .setValidator(new StringLengthValidator(1, true))
@@ -132,6 +134,21 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
 
+    private static final AttributeDefinition CACHE_HIT_COUNT = new SimpleAttributeDefinitionBuilder("cache-hit-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final AttributeDefinition CACHE_MISS_COUNT = new SimpleAttributeDefinitionBuilder("cache-miss-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final AttributeDefinition CACHE_EVICTION_COUNT = new SimpleAttributeDefinitionBuilder("cache-eviction-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
     // Pool attributes
 
     public static final SimpleAttributeDefinition POOL_AVAILABLE_COUNT = new SimpleAttributeDefinitionBuilder("pool-available-count", ModelType.INT, false)
@@ -157,6 +174,10 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setStorageRuntime()
             .build();
 
+    private static final double[] PERCENTILES = { 50d, 90d, 99d };
+    private static final AttributeDefinition[] EXECUTION_TIME_PERCENTILES = { EXECUTION_TIME_P50, EXECUTION_TIME_P90, EXECUTION_TIME_P99 };
+    private static final AttributeDefinition[] WAIT_TIME_PERCENTILES = { WAIT_TIME_P50, WAIT_TIME_P90, WAIT_TIME_P99 };
+
     final EJBComponentType componentType;
 
     public AbstractEJBComponentResourceDefinition(final EJBComponentType componentType) {
@@ -217,6 +238,24 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                     context.getResult().set(cache.getActiveCount() + cache.getPassiveCount());
                 }
             });
+            resourceRegistration.registerMetric(CACHE_HIT_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                    context.getResult().set(((StatefulSessionComponent) component).getCache().getHitCount());
+                }
+            });
+            resourceRegistration.registerMetric(CACHE_MISS_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                    context.getResult().set(((StatefulSessionComponent) component).getCache().getMissCount());
+                }
+            });
+            resourceRegistration.registerMetric(CACHE_EVICTION_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                    context.getResult().set(((StatefulSessionComponent) component).getCache().getEvictionCount());
+                }
+            });
         }
 
         resourceRegistration.registerMetric(EXECUTION_TIME, new AbstractRuntimeMetricsHandler() {
@@ -243,20 +282,67 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                 context.getResult().set(component.getInvocationMetrics().getWaitTime());
             }
         });
+        for (int i = 0; i < PERCENTILES.length; ++i) {
+            final double percentile = PERCENTILES[i];
+            resourceRegistration.registerMetric(EXECUTION_TIME_PERCENTILES[i], new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                    context.getResult().set(component.getInvocationMetrics().getExecutionTimePercentile(percentile));
+                }
+            });
+            resourceRegistration.registerMetric(WAIT_TIME_PERCENTILES[i], new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                    context.getResult().set(component.getInvocationMetrics().getWaitTimePercentile(percentile));
+                }
+            });
+        }
         resourceRegistration.registerMetric(METHODS, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
-                context.getResult().setEmptyObject();
-                for (final Map.Entry<String, InvocationMetrics.Values> entry : component.getInvocationMetrics().getMethods().entrySet()) {
-                    final InvocationMetrics.Values values = entry.getValue();
-                    final ModelNode result = new ModelNode();
-                    result.get("execution-time").set(values.getExecutionTime());
-                    result.get("invocations").set(values.getInvocations());
-                    result.get("wait-time").set(values.getWaitTime());
-                    context.getResult().get(entry.getKey()).set(result);
-                }
+                readMethodsMetric(context.getResult(), component.getInvocationMetrics().getMethods());
             }
         });
+        resourceRegistration.registerMetric(METHODS_BY_SIGNATURE, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                readMethodsMetric(context.getResult(), component.getInvocationMetrics().getMethodSignatures());
+            }
+        });
+    }
+
+    private static void readMethodsMetric(final ModelNode model, final Map<String, InvocationMetrics.Values> methods) {
+        model.setEmptyObject();
+        for (final Map.Entry<String, InvocationMetrics.Values> entry : methods.entrySet()) {
+            final InvocationMetrics.Values values = entry.getValue();
+            final ModelNode result = new ModelNode();
+            result.get("execution-time").set(values.getExecutionTime());
+            result.get("invocations").set(values.getInvocations());
+            result.get("wait-time").set(values.getWaitTime());
+            for (int i = 0; i < PERCENTILES.length; ++i) {
+                result.get(EXECUTION_TIME_PERCENTILES[i].getName()).set(values.getExecutionTimePercentile(PERCENTILES[i]));
+                result.get(WAIT_TIME_PERCENTILES[i].getName()).set(values.getWaitTimePercentile(PERCENTILES[i]));
+            }
+            model.get(entry.getKey()).set(result);
+        }
+    }
+
+    private static AttributeDefinition createMethodsMetric(final String name) {
+        return ObjectMapAttributeDefinition.Builder.of(
+                name,
+                ObjectTypeAttributeDefinition.Builder.of("complex", EXECUTION_TIME, INVOCATIONS, WAIT_TIME,
+                        EXECUTION_TIME_P50, EXECUTION_TIME_P90, EXECUTION_TIME_P99, WAIT_TIME_P50, WAIT_TIME_P90, WAIT_TIME_P99)
+                .build())
+                .setRequired(false)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                .build();
+    }
+
+    private static AttributeDefinition createPercentileMetric(final String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.GAUGE_METRIC)
+                .build();
     }
 
     /* (non-Javadoc)
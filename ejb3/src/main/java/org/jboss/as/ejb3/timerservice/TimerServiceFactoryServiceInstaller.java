@@ -6,7 +6,6 @@
 package org.jboss.as.ejb3.timerservice;
 
 import java.util.List;
-import java.util.Timer;
 import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
@@ -16,6 +15,7 @@ import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.subsystem.EJB3SubsystemRootResourceDefinition;
 import org.jboss.as.ejb3.subsystem.TimerServiceResourceDefinition;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
 import org.jboss.as.ejb3.timerservice.spi.ManagedTimerService;
 import org.jboss.as.ejb3.timerservice.spi.ManagedTimerServiceFactory;
 import org.jboss.as.ejb3.timerservice.spi.ManagedTimerServiceFactoryConfiguration;
@@ -39,22 +39,24 @@ public class TimerServiceFactoryServiceInstaller implements DeploymentServiceIns
     private final ServiceName name;
     private final ManagedTimerServiceFactoryConfiguration configuration;
     private final String threadPoolName;
+    private final boolean virtualThreads;
     private final String store;
     private final Predicate<TimerConfig> filter;
 
-    public TimerServiceFactoryServiceInstaller(ServiceName name, ManagedTimerServiceFactoryConfiguration configuration, Predicate<TimerConfig> filter, String threadPoolName, String store) {
+    public TimerServiceFactoryServiceInstaller(ServiceName name, ManagedTimerServiceFactoryConfiguration configuration, Predicate<TimerConfig> filter, String threadPoolName, boolean virtualThreads, String store) {
         this.name = name;
         this.configuration = configuration;
         this.filter = filter;
         this.threadPoolName = threadPoolName;
+        this.virtualThreads = virtualThreads;
         this.store = store;
     }
 
     @Override
     public void install(DeploymentPhaseContext context) {
-        ServiceDependency<Executor> executor = ServiceDependency.on(EJB3SubsystemRootResourceDefinition.EXECUTOR_SERVICE_DESCRIPTOR, this.threadPoolName);
+        ServiceDependency<? extends Executor> executor = this.virtualThreads ? ServiceDependency.on(TimerServiceResourceDefinition.VIRTUAL_THREAD_EXECUTOR_DESCRIPTOR) : ServiceDependency.on(EJB3SubsystemRootResourceDefinition.EXECUTOR_SERVICE_DESCRIPTOR, this.threadPoolName);
         ServiceDependency<TimerPersistence> persistence = (this.store != null) ? ServiceDependency.on(TimerPersistence.SERVICE_DESCRIPTOR, this.store) : ServiceDependency.of(null);
-        ServiceDependency<Timer> timer = ServiceDependency.on(TimerServiceResourceDefinition.TIMER_SERVICE_DESCRIPTOR);
+        ServiceDependency<TimeoutScheduler> scheduler = ServiceDependency.on(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_DESCRIPTOR);
         TimedObjectInvokerFactory invokerFactory = this.configuration.getInvokerFactory();
         TimerServiceRegistry registry = this.configuration.getTimerServiceRegistry();
         TimerListener listener = this.configuration.getTimerListener();
@@ -85,8 +87,8 @@ public class TimerServiceFactoryServiceInstaller implements DeploymentServiceIns
                     }
 
                     @Override
-                    public Timer getTimer() {
-                        return timer.get();
+                    public TimeoutScheduler getTimeoutScheduler() {
+                        return scheduler.get();
                     }
 
                     @Override
@@ -103,7 +105,7 @@ public class TimerServiceFactoryServiceInstaller implements DeploymentServiceIns
         };
         ServiceInstaller.BlockingBuilder.of(Functions.constantSupplier(factory))
                 .provides(this.name)
-                .requires(List.of(executor, persistence, timer))
+                .requires(List.of(executor, persistence, scheduler))
                 .build()
                 .install(context);
     }
@@ -29,6 +29,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -41,6 +42,8 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -96,7 +99,8 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private final Map<String, TimerChangeListener> changeListeners = Collections.synchronizedMap(new HashMap<String, TimerChangeListener>());
 
 
-    private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
+    /** Identifiers of the known timers per timed object, each set also guards the change listener notifications of its timed object */
+    private final ConcurrentMap<String, Set<String>> knownTimerIds = new ConcurrentHashMap<>();
 
     /** Identifier for the database dialect to be used for the timer-sql.properties */
     private String database;
@@ -108,12 +112,25 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private final int refreshInterval;
     /** Flag whether this instance should execute persistent timers*/
     private final boolean allowExecution;
+    /** Flag whether only the timers changed since the previous refresh should be loaded, cleared on start if the timer table cannot track modification times */
+    private volatile boolean incrementalRefresh;
+    /** Period in millis by which an incremental refresh reaches back beyond the high-water mark, to compensate for late commits and clock skew */
+    private final long refreshOverlap;
+    /** Flag whether the timer table tracks modification times and records deleted timers, as required by incremental refresh */
+    private volatile boolean tracked;
+    /** Most recent modification time of the timers seen by an incremental refresh */
+    private volatile Timestamp highWaterMark;
+    /** Most recent deletion time of the deleted timers seen by an incremental refresh */
+    private volatile Timestamp deletedHighWaterMark;
+    /** Time in millis of the most recent incremental refresh that compared the known timers against all timer ids of this partition */
+    private volatile long lastReconciliation;
     private volatile ManagedReference managedReference;
     private volatile DataSource dataSource;
     private volatile Properties sql;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
     private RefreshTask refreshTask;
+    private PurgeTask purgeTask;
 
     /** database values */
     private static final String POSTGRES = "postgres";
@@ -140,6 +157,19 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
     private static final String GET_TIMER_INFO = "get-timer-info";
+    private static final String LOAD_CHANGED_TIMERS = "load-changed-timers";
+    private static final String LOAD_TIMER_IDS = "load-timer-ids";
+    private static final String UPDATE_TIMER_TRACKED = "update-timer-tracked";
+    private static final String UPDATE_RUNNING_TRACKED = "update-running-tracked";
+    private static final String INSERT_DELETED_TIMER = "insert-deleted-timer";
+    private static final String LOAD_DELETED_TIMERS = "load-deleted-timers";
+    private static final String PURGE_DELETED_TIMERS = "purge-deleted-timers";
+    /** Name of the column holding the modification time of a timer */
+    private static final String LAST_MODIFIED = "LAST_MODIFIED";
+    /** Period in millis for which the records of deleted timers are retained, beyond which an incremental refresh reloads all timer ids */
+    private static final long DELETED_TIMER_RETENTION = TimeUnit.DAYS.toMillis(1);
+    /** Period in millis between purges of expired records of deleted timers */
+    private static final long DELETED_TIMER_PURGE_INTERVAL = TimeUnit.HOURS.toMillis(1);
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
     /** Pattern to pickout MSSQL */
@@ -171,7 +201,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
                                     final Supplier<ManagedReferenceFactory> dataSourceSupplier,
                                     final Supplier<ModuleLoader> moduleLoaderSupplier,
                                     final Supplier<Timer> timerSupplier,
-                                    final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
+                                    final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution, boolean incrementalRefresh, long refreshOverlap) {
         this.dbConsumer = dbConsumer;
         this.dataSourceSupplier = dataSourceSupplier;
         this.moduleLoaderSupplier = moduleLoaderSupplier;
@@ -181,6 +211,8 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         this.nodeName = nodeName;
         this.refreshInterval = refreshInterval;
         this.allowExecution = allowExecution;
+        this.incrementalRefresh = incrementalRefresh;
+        this.refreshOverlap = refreshOverlap;
     }
 
     @Override
@@ -195,17 +227,35 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         investigateDialect();
         loadSqlProperties();
         checkDatabase();
+        scheduleTasks(timerSupplier.get());
+    }
+
+    /**
+     * Schedules the refresh of the timers, if enabled, and the purge of expired records of deleted timers, if recorded.
+     * The purge is scheduled independently of the refresh, since deleted timers are also recorded if refresh is disabled.
+     *
+     * @param timer the timer used to schedule the tasks
+     */
+    void scheduleTasks(final Timer timer) {
         refreshTask = new RefreshTask();
         if (refreshInterval > 0) {
-            timerSupplier.get().schedule(refreshTask, refreshInterval, refreshInterval);
+            timer.schedule(refreshTask, refreshInterval, refreshInterval);
+        }
+        purgeTask = new PurgeTask();
+        if (tracked) {
+            timer.schedule(purgeTask, DELETED_TIMER_PURGE_INTERVAL, DELETED_TIMER_PURGE_INTERVAL);
         }
     }
 
     @Override
-    public synchronized void stop(final StopContext context) {
+    public void stop(final StopContext context) {
         dbConsumer.accept(null);
         refreshTask.cancel();
+        purgeTask.cancel();
         knownTimerIds.clear();
+        highWaterMark = null;
+        deletedHighWaterMark = null;
+        lastReconciliation = 0L;
         managedReference.release();
         managedReference = null;
         dataSource = null;
@@ -398,6 +448,45 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
             safeClose(statement);
             safeClose(connection);
         }
+        checkModificationTracking();
+    }
+
+    /**
+     * Checks whether the timer table tracks the modification time of its timers and records deleted timers, as required by incremental refresh.
+     * If so, timer updates and deletes maintain these regardless of the refresh mode of this node,
+     * so that they are visible to other nodes of the partition using incremental refresh.
+     * If not, e.g. for a timer table created by a previous release, this node falls back to full refresh.
+     */
+    void checkModificationTracking() {
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            //test for the existence of the column and table by running the load changed and deleted timers queries
+            connection = dataSource.getConnection();
+            for (String query : List.of(LOAD_CHANGED_TIMERS, LOAD_DELETED_TIMERS)) {
+                preparedStatement = connection.prepareStatement(sql.getProperty(query));
+                preparedStatement.setString(1, "NON-EXISTENT");
+                preparedStatement.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+                resultSet = preparedStatement.executeQuery();
+                safeClose(resultSet);
+                safeClose(preparedStatement);
+            }
+            // timer updates need to maintain the modification time
+            sql.setProperty(UPDATE_TIMER, sql.getProperty(UPDATE_TIMER_TRACKED));
+            sql.setProperty(UPDATE_RUNNING, sql.getProperty(UPDATE_RUNNING_TRACKED));
+            tracked = true;
+        } catch (SQLException e) {
+            //the query failed, assume it is because the column or table does not exist
+            if (incrementalRefresh) {
+                EjbLogger.EJB3_TIMER_LOGGER.timerTableNotTracked(partition, e);
+                incrementalRefresh = false;
+            }
+        } finally {
+            safeClose(resultSet);
+            safeClose(preparedStatement);
+            safeClose(connection);
+        }
     }
 
     /**
@@ -441,10 +530,8 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     @Override
     public void addTimer(final TimerImpl timerEntity) {
         String timedObjectId = timerEntity.getTimedObjectId();
-        synchronized (this) {
-            if(!knownTimerIds.containsKey(timedObjectId)) {
-                throw EjbLogger.EJB3_TIMER_LOGGER.timerCannotBeAdded(timerEntity);
-            }
+        if(!knownTimerIds.containsKey(timedObjectId)) {
+            throw EjbLogger.EJB3_TIMER_LOGGER.timerCannotBeAdded(timerEntity);
         }
 
         if (timerEntity.isAutoTimer()) {
@@ -456,9 +543,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         Connection connection = null;
         PreparedStatement statement = null;
         try {
-            synchronized (this) {
-                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-            }
+            knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
             connection = dataSource.getConnection();
             statement = connection.prepareStatement(createTimer);
             statementParameters(timerEntity, statement);
@@ -487,28 +572,20 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
                     timerEntity.getState() == TimerState.EXPIRED) {
                 String deleteTimer = sql.getProperty(DELETE_TIMER);
                 statement = connection.prepareStatement(deleteTimer);
-                statement.setString(1, timerEntity.getTimedObjectId());
-                statement.setString(2, timerEntity.getId());
-                statement.setString(3, partition);
+                deleteParameters(timerEntity.getTimedObjectId(), timerEntity.getId(), statement);
                 statement.execute();
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
+                if (tracked) {
+                    safeClose(statement);
+                    statement = connection.prepareStatement(sql.getProperty(INSERT_DELETED_TIMER));
+                    deleteParameters(timerEntity.getTimedObjectId(), timerEntity.getId(), statement);
+                    statement.execute();
                 }
+                knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
             } else {
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-                }
+                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
                 String updateTimer = sql.getProperty(UPDATE_TIMER);
                 statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
-                // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
+                updateParameters(timerEntity, statement);
                 statement.execute();
             }
         } catch (SQLException e) {
@@ -519,6 +596,108 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         }
     }
 
+    /**
+     * Persists the specified timers using the specified connection, batching the resulting deletes and updates.
+     * Deletes are recorded for other nodes using incremental refresh, if the timer table supports this.
+     *
+     * @param connection the database connection
+     * @param timers the timers to persist
+     * @throws SQLException on errors executing the batches
+     */
+    private void persistTimers(final Connection connection, final Collection<TimerImpl> timers) throws SQLException {
+        if (timers.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement deleteStatement = connection.prepareStatement(sql.getProperty(DELETE_TIMER));
+             PreparedStatement updateStatement = connection.prepareStatement(sql.getProperty(UPDATE_TIMER))) {
+            List<TimerImpl> deleted = new ArrayList<>();
+            boolean updates = false;
+            for (TimerImpl timer : timers) {
+                if (timer.getState() == TimerState.CANCELED || timer.getState() == TimerState.EXPIRED) {
+                    deleteParameters(timer.getTimedObjectId(), timer.getId(), deleteStatement);
+                    deleteStatement.addBatch();
+                    deleted.add(timer);
+                } else {
+                    updateParameters(timer, updateStatement);
+                    updateStatement.addBatch();
+                    updates = true;
+                }
+            }
+            if (!deleted.isEmpty()) {
+                deleteStatement.executeBatch();
+                if (tracked) {
+                    try (PreparedStatement insertStatement = connection.prepareStatement(sql.getProperty(INSERT_DELETED_TIMER))) {
+                        for (TimerImpl timer : deleted) {
+                            deleteParameters(timer.getTimedObjectId(), timer.getId(), insertStatement);
+                            insertStatement.addBatch();
+                        }
+                        insertStatement.executeBatch();
+                    }
+                }
+            }
+            if (updates) {
+                updateStatement.executeBatch();
+            }
+        }
+        for (TimerImpl timer : timers) {
+            Set<String> ids = knownTimerIds.get(timer.getTimedObjectId());
+            if (timer.getState() == TimerState.CANCELED || timer.getState() == TimerState.EXPIRED) {
+                ids.remove(timer.getId());
+            } else {
+                ids.add(timer.getId());
+            }
+        }
+    }
+
+    /**
+     * Deletes the specified timers of a timed object using the specified connection, as a single batch.
+     * Deletes are recorded for other nodes using incremental refresh, if the timer table supports this.
+     *
+     * @param connection the database connection
+     * @param timedObjectId the timed object id of the timers
+     * @param timerIds the ids of the timers to delete
+     * @throws SQLException on errors executing the batch
+     */
+    private void deleteTimers(final Connection connection, final String timedObjectId, final Collection<String> timerIds) throws SQLException {
+        if (timerIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql.getProperty(DELETE_TIMER))) {
+            for (String timerId : timerIds) {
+                deleteParameters(timedObjectId, timerId, statement);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        if (tracked) {
+            try (PreparedStatement statement = connection.prepareStatement(sql.getProperty(INSERT_DELETED_TIMER))) {
+                for (String timerId : timerIds) {
+                    deleteParameters(timedObjectId, timerId, statement);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private void deleteParameters(final String timedObjectId, final String timerId, final PreparedStatement statement) throws SQLException {
+        statement.setString(1, timedObjectId);
+        statement.setString(2, timerId);
+        statement.setString(3, partition);
+    }
+
+    private void updateParameters(final TimerImpl timerEntity, final PreparedStatement statement) throws SQLException {
+        statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
+        statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
+        statement.setString(3, timerEntity.getState().name());
+        setNodeName(timerEntity.getState(), statement, 4);
+        // WHERE CLAUSE
+        statement.setString(5, timerEntity.getTimedObjectId());
+        statement.setString(6, timerEntity.getId());
+        statement.setString(7, partition);
+        statement.setString(8, nodeName);   // only persist if this node or empty
+    }
+
     @Override
     public boolean shouldRun(TimerImpl timer) {
         final ContextTransactionManager tm = ContextTransactionManager.getInstance();
@@ -578,18 +757,19 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     }
 
     @Override
-    public synchronized void timerUndeployed(final String timedObjectId) {
+    public void timerUndeployed(final String timedObjectId) {
         knownTimerIds.remove(timedObjectId);
     }
 
     @Override
-    public synchronized void timerDeployed(String timedObjectId) {
-        knownTimerIds.put(timedObjectId, new HashSet<>());
+    public void timerDeployed(String timedObjectId) {
+        knownTimerIds.put(timedObjectId, ConcurrentHashMap.newKeySet());
     }
 
     @Override
     public List<TimerImpl> loadActiveTimers(final String timedObjectId, final TimerServiceImpl timerService) {
-        if(!knownTimerIds.containsKey(timedObjectId)) {
+        final Set<String> ids = knownTimerIds.get(timedObjectId);
+        if(ids == null) {
             // if the timedObjectId has not being deployed
             EjbLogger.EJB3_TIMER_LOGGER.timerNotDeployed(timedObjectId);
             return Collections.emptyList();
@@ -605,6 +785,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
             statement.setString(2, partition);
             resultSet = statement.executeQuery();
             final List<Holder> timers = new ArrayList<>();
+            final List<String> unloadableTimerIds = new ArrayList<>();
             while (resultSet.next()) {
                 String timerId = null;
                 try {
@@ -613,38 +794,33 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
                     if (timerImpl != null) {
                         timers.add(timerImpl);
                     } else {
-                        final String deleteTimer = sql.getProperty(DELETE_TIMER);
-                        try (PreparedStatement deleteStatement = connection.prepareStatement(deleteTimer)) {
-                            deleteStatement.setString(1, resultSet.getString(2));
-                            deleteStatement.setString(2, timerId);
-                            deleteStatement.setString(3, partition);
-                            deleteStatement.execute();
-                        }
+                        unloadableTimerIds.add(timerId);
                     }
                 } catch (Exception e) {
                     EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), timerId, e);
                 }
             }
-            synchronized (this) {
-                // ids should be always be not null
-                Set<String> ids = knownTimerIds.get(timedObjectId);
+            deleteTimers(connection, timedObjectId, unloadableTimerIds);
+
+            synchronized (ids) {
                 for (Holder timer : timers) {
                     ids.add(timer.timer.getId());
                 }
 
+                final List<TimerImpl> resetTimers = new ArrayList<>();
                 for(Holder timer : timers) {
                     if(timer.requiresReset) {
                         TimerImpl ret = timer.timer;
                         EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
                         if(ret.getNextExpiration() == null) {
                             ret.setTimerState(TimerState.CANCELED, null);
-                            persistTimer(ret);
                         } else {
                             ret.setTimerState(TimerState.ACTIVE, null);
-                            persistTimer(ret);
                         }
+                        resetTimers.add(ret);
                     }
                 }
+                persistTimers(connection, resetTimers);
             }
             List<TimerImpl> ret = new ArrayList<>();
             for(Holder timer : timers) {
@@ -879,9 +1055,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
             if (affectedRows < 1) {
                 timer.setTimerState(TimerState.CANCELED, null);
             } else {
-                synchronized (this) {
-                    knownTimerIds.get(timer.getTimedObjectId()).add(timer.getId());
-                }
+                knownTimerIds.get(timer.getTimedObjectId()).add(timer.getId());
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -1029,7 +1203,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         }
     }
 
-    private class RefreshTask extends TimerTask {
+    class RefreshTask extends TimerTask {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
 
@@ -1037,94 +1211,241 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         public void run() {
             if (running.compareAndSet(false, true)) {
                 try {
-                    Set<String> timedObjects;
-                    synchronized (DatabaseTimerPersistence.this) {
-                        timedObjects = new HashSet<>(knownTimerIds.keySet());
+                    if (incrementalRefresh) {
+                        refreshChangedTimers();
+                    } else {
+                        refreshAllTimers();
                     }
-                    for (String timedObjectId : timedObjects) {
-                        TimerChangeListener listener = changeListeners.get(timedObjectId);
-                        if (listener == null) {
-                            continue;
+                } finally {
+                    running.set(false);
+                }
+            }
+        }
+
+        /**
+         * Reloads all timers of each timed object, one timed object at a time.
+         */
+        private void refreshAllTimers() {
+            for (Map.Entry<String, Set<String>> entry : knownTimerIds.entrySet()) {
+                String timedObjectId = entry.getKey();
+                TimerChangeListener listener = changeListeners.get(timedObjectId);
+                if (listener == null) {
+                    continue;
+                }
+                final Set<String> ids = entry.getValue();
+                final Set<String> existing = new HashSet<>(ids);
+                String loadTimer = sql.getProperty(LOAD_ALL_TIMERS);
+                Connection connection = null;
+                PreparedStatement statement = null;
+                ResultSet resultSet = null;
+                try {
+                    connection = dataSource.getConnection();
+                    statement = connection.prepareStatement(loadTimer);
+                    statement.setString(1, timedObjectId);
+                    statement.setString(2, partition);
+                    resultSet = statement.executeQuery();
+                    while (resultSet.next()) {
+                        String id = null;
+                        try {
+                            id = resultSet.getString(1);
+                            refreshTimer(resultSet, id, existing.remove(id), ids, listener);
+                        } catch (Exception e) {
+                            EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), id, e);
                         }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+                    }
+                    removeTimers(existing, ids, listener);
+                } catch (SQLException e) {
+                    EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+                } finally {
+                    safeClose(resultSet);
+                    safeClose(statement);
+                    safeClose(connection);
+                }
+            }
+        }
+
+        /**
+         * Loads only those timers of this partition modified since the previous refresh, using a single query for all timed objects.
+         * Deleted timers are detected via the records of deleted timers since the previous refresh.
+         * The known timers are compared against all timer ids of this partition only on the first refresh,
+         * or if the records of deleted timers since the previous such comparison may have been purged meanwhile.
+         */
+        private void refreshChangedTimers() {
+            final long now = System.currentTimeMillis();
+            final boolean reconcile = now - lastReconciliation > DELETED_TIMER_RETENTION - refreshOverlap;
+            // Snapshot the known timers before querying the database, so that timers added concurrently are not mistaken for deleted ones
+            final Map<String, Set<String>> existing = new HashMap<>();
+            if (reconcile) {
+                for (Map.Entry<String, Set<String>> entry : knownTimerIds.entrySet()) {
+                    existing.put(entry.getKey(), new HashSet<>(entry.getValue()));
+                }
+            }
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                if (reconcile) {
+                    statement = connection.prepareStatement(sql.getProperty(LOAD_TIMER_IDS));
+                    statement.setString(1, partition);
+                    resultSet = statement.executeQuery();
+                    while (resultSet.next()) {
+                        Set<String> ids = existing.get(resultSet.getString(1));
+                        if (ids != null) {
+                            ids.remove(resultSet.getString(2));
                         }
-                        String loadTimer = sql.getProperty(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
-                        try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            final TimerServiceImpl timerService = listener.getTimerService();
-                            while (resultSet.next()) {
-                                String id = null;
-                                try {
-                                    id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        final Holder holder = timerFromResult(resultSet, timerService, id, null);
-                                        if(holder != null) {
-                                            synchronized (DatabaseTimerPersistence.this) {
-                                                knownTimerIds.get(timedObjectId).add(id);
-                                                listener.timerAdded(holder.timer);
-                                            }
-                                        }
-                                    } else {
-                                        TimerImpl oldTimer = timerService.getTimer(id);
-                                        // if it is already in memory but it is not in sync we have a problem
-                                        // remove and add -> the probable cause is db glitch
-                                        boolean invalidMemoryTimer = oldTimer != null && !TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(oldTimer.getState());
-
-                                        // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                        if (invalidMemoryTimer) {
-                                            TimerState dbTimerState = TimerState.valueOf(resultSet.getString(9));
-                                            boolean validDBTimer = TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(dbTimerState);
-                                            if (validDBTimer) {
-                                                final Holder holder = timerFromResult(resultSet, timerService, id, dbTimerState);
-                                                if (holder != null) {
-                                                    synchronized (DatabaseTimerPersistence.this) {
-                                                        knownTimerIds.get(timedObjectId).add(id);
-                                                        listener.timerSync(oldTimer, holder.timer);
-                                                    }
-                                                }
-                                            }
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), id, e);
-                                }
-                            }
+                    }
+                    safeClose(resultSet);
+                    safeClose(statement);
+                }
 
-                            Set<String> timers;
-                            synchronized (DatabaseTimerPersistence.this) {
-                                 timers = knownTimerIds.get(timedObjectId);
-                            }
-                            for (String timer : existing) {
-                                TimerImpl timer1 = timerService.getTimer(timer);
-                                if (timer1 != null && timer1.getState() != TimerState.CREATED) {
-                                    synchronized (DatabaseTimerPersistence.this) {
-                                        timers.remove(timer);
-                                        listener.timerRemoved(timer);
-                                    }
-                                }
+                Timestamp previous = highWaterMark;
+                Timestamp latest = previous;
+                statement = connection.prepareStatement(sql.getProperty(LOAD_CHANGED_TIMERS));
+                statement.setString(1, partition);
+                statement.setTimestamp(2, new Timestamp((previous != null) ? previous.getTime() - refreshOverlap : 0L));
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    String id = null;
+                    try {
+                        id = resultSet.getString(1);
+                        Timestamp modified = resultSet.getTimestamp(LAST_MODIFIED);
+                        if ((modified != null) && ((latest == null) || modified.after(latest))) {
+                            latest = modified;
+                        }
+                        String timedObjectId = resultSet.getString(2);
+                        Set<String> ids = knownTimerIds.get(timedObjectId);
+                        TimerChangeListener listener = changeListeners.get(timedObjectId);
+                        if ((ids != null) && (listener != null)) {
+                            refreshTimer(resultSet, id, ids.contains(id), ids, listener);
+                        }
+                    } catch (Exception e) {
+                        EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), id, e);
+                    }
+                }
+                safeClose(resultSet);
+                safeClose(statement);
+                highWaterMark = latest;
+
+                Timestamp previousDeleted = deletedHighWaterMark;
+                Timestamp latestDeleted = previousDeleted;
+                statement = connection.prepareStatement(sql.getProperty(LOAD_DELETED_TIMERS));
+                statement.setString(1, partition);
+                statement.setTimestamp(2, new Timestamp((previousDeleted != null) ? previousDeleted.getTime() - refreshOverlap : 0L));
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    existing.computeIfAbsent(resultSet.getString(1), key -> new HashSet<>()).add(resultSet.getString(2));
+                    Timestamp deleted = resultSet.getTimestamp(3);
+                    if ((deleted != null) && ((latestDeleted == null) || deleted.after(latestDeleted))) {
+                        latestDeleted = deleted;
+                    }
+                }
+                deletedHighWaterMark = latestDeleted;
+
+                for (Map.Entry<String, Set<String>> entry : existing.entrySet()) {
+                    Set<String> ids = knownTimerIds.get(entry.getKey());
+                    TimerChangeListener listener = changeListeners.get(entry.getKey());
+                    if ((ids != null) && (listener != null)) {
+                        removeTimers(entry.getValue(), ids, listener);
+                    }
+                }
+                if (reconcile) {
+                    lastReconciliation = now;
+                }
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimersOfPartition(partition, e);
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+        }
+
+        /**
+         * Reconciles a timer read from the database with the timer service of its timed object.
+         *
+         * @param resultSet the {@code ResultSet} positioned on the timer row
+         * @param id the timer id
+         * @param known indicates whether the timer is already known to this node
+         * @param ids the known timer ids of the timed object, which also guards listener notifications
+         * @param listener the change listener of the timed object
+         * @throws SQLException on errors reading from {@code ResultSet}
+         */
+        private void refreshTimer(final ResultSet resultSet, final String id, final boolean known, final Set<String> ids, final TimerChangeListener listener) throws SQLException {
+            final TimerServiceImpl timerService = listener.getTimerService();
+            if (!known) {
+                final Holder holder = timerFromResult(resultSet, timerService, id, null);
+                if(holder != null) {
+                    synchronized (ids) {
+                        ids.add(id);
+                        listener.timerAdded(holder.timer);
+                    }
+                }
+            } else {
+                TimerImpl oldTimer = timerService.getTimer(id);
+                // if it is already in memory but it is not in sync we have a problem
+                // remove and add -> the probable cause is db glitch
+                boolean invalidMemoryTimer = oldTimer != null && !TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(oldTimer.getState());
+
+                // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+                if (invalidMemoryTimer) {
+                    TimerState dbTimerState = TimerState.valueOf(resultSet.getString(9));
+                    boolean validDBTimer = TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(dbTimerState);
+                    if (validDBTimer) {
+                        final Holder holder = timerFromResult(resultSet, timerService, id, dbTimerState);
+                        if (holder != null) {
+                            synchronized (ids) {
+                                ids.add(id);
+                                listener.timerSync(oldTimer, holder.timer);
                             }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
                         }
                     }
-                } finally {
-                    running.set(false);
                 }
             }
+        }
 
+        /**
+         * Notifies the listener of a timed object of timers no longer found in the database.
+         *
+         * @param removed the ids of the timers no longer found in the database
+         * @param ids the known timer ids of the timed object, which also guards listener notifications
+         * @param listener the change listener of the timed object
+         */
+        private void removeTimers(final Collection<String> removed, final Set<String> ids, final TimerChangeListener listener) {
+            final TimerServiceImpl timerService = listener.getTimerService();
+            for (String id : removed) {
+                TimerImpl timer = timerService.getTimer(id);
+                if (timer != null && timer.getState() != TimerState.CREATED) {
+                    synchronized (ids) {
+                        ids.remove(id);
+                        listener.timerRemoved(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Purges the records of deleted timers of this partition that are older than their retention period.
+     */
+    class PurgeTask extends TimerTask {
+
+        @Override
+        public void run() {
+            Connection connection = null;
+            PreparedStatement statement = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(sql.getProperty(PURGE_DELETED_TIMERS));
+                statement.setString(1, partition);
+                statement.setTimestamp(2, new Timestamp(System.currentTimeMillis() - DELETED_TIMER_RETENTION));
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimersOfPartition(partition, e);
+            } finally {
+                safeClose(statement);
+                safeClose(connection);
+            }
         }
     }
 
@@ -59,6 +59,9 @@ import org.wildfly.transaction.client.ContextTransactionManager;
 /**
  * File based persistent timer store.
  * <p/>
+ * By default, each timer is stored as a separate XML file.  Alternatively, timers may be stored within a {@link TimerJournal},
+ * in which case any timers stored as XML files are migrated into the journal when the timers of their timed object are first loaded.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -67,6 +70,8 @@ public class FileTimerPersistence implements TimerPersistence, Service {
 
     private static final FilePermission FILE_PERMISSION = new FilePermission("<<ALL FILES>>", "read,write,delete");
     private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final String JOURNAL_DIRECTORY = "journal";
+    private static final long JOURNAL_SEGMENT_SIZE = 16L * 1024 * 1024;
 
     private final boolean createIfNotExists;
     private MarshallerFactory factory;
@@ -77,7 +82,10 @@ public class FileTimerPersistence implements TimerPersistence, Service {
     private final Supplier<PathManager> pathManagerSupplier;
     private final String path;
     private final String pathRelativeTo;
+    private final boolean journal;
     private File baseDir;
+    private TimerJournal timerJournal;
+    private TimerJournalMarshaller journalMarshaller;
     private PathManager.Callback.Handle callbackHandle;
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
@@ -87,7 +95,8 @@ public class FileTimerPersistence implements TimerPersistence, Service {
                                 final Supplier<TransactionSynchronizationRegistry> txnRegistrySupplier,
                                 final Supplier<ModuleLoader> moduleLoaderSupplier,
                                 final Supplier<PathManager> pathManagerSupplier,
-                                final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+                                final boolean createIfNotExists, final String path, final String pathRelativeTo,
+                                final boolean journal) {
         this.consumer = consumer;
         this.txnRegistrySupplier = txnRegistrySupplier;
         this.moduleLoaderSupplier = moduleLoaderSupplier;
@@ -99,6 +108,7 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         this.createIfNotExists = createIfNotExists;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.journal = journal;
     }
 
     @Override
@@ -140,6 +150,18 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         if (!baseDir.isDirectory()) {
             throw EJB3_TIMER_LOGGER.invalidTimerFileStoreDir(baseDir);
         }
+        if (journal) {
+            final File journalDir = new File(baseDir, JOURNAL_DIRECTORY);
+            if (!journalDir.isDirectory() && !journalDir.mkdirs()) {
+                throw EJB3_TIMER_LOGGER.failToCreateTimerFileStoreDir(journalDir);
+            }
+            try {
+                timerJournal = new TimerJournal(journalDir, JOURNAL_SEGMENT_SIZE);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            journalMarshaller = new TimerJournalMarshaller(factory, configuration);
+        }
     }
 
     @Override
@@ -150,6 +172,15 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
+        if (timerJournal != null) {
+            try {
+                timerJournal.close();
+            } catch (IOException e) {
+                EJB3_TIMER_LOGGER.failToCloseFile(e);
+            }
+            timerJournal = null;
+            journalMarshaller = null;
+        }
         factory = null;
         configuration = null;
     }
@@ -203,15 +234,12 @@ public class FileTimerPersistence implements TimerPersistence, Service {
             if (status == Status.STATUS_NO_TRANSACTION ||
                     status == Status.STATUS_UNKNOWN || isBeforeCompletion()
                     || status == Status.STATUS_COMMITTED) {
-                Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                 if (timer.getState() == TimerState.CANCELED ||
                         timer.getState() == TimerState.EXPIRED) {
-                    map.remove(timer.getId());
                     writeFile(timer);
-                } else if (newTimer || map.containsKey(timer.getId())) {
-                    //if it is not a new timer and is not in the map then it has
+                } else if (newTimer || isPersisted(timer)) {
+                    //if it is not a new timer and is not persisted then it has
                     //been removed by another thread.
-                    map.put(timer.getId(), timer);
                     writeFile(timer);
                 }
             } else {
@@ -262,7 +290,7 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         final Lock lock = getLock(timedObjectId);
         try {
             lock.lock();
-            final Map<String, TimerImpl> timers = getTimers(timedObjectId, timerService);
+            final Map<String, TimerImpl> timers = (timerJournal != null) ? loadTimersFromJournal(timedObjectId, timerService) : getTimers(timedObjectId, timerService);
 
             final List<TimerImpl> entities = new ArrayList<TimerImpl>();
             for (Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
@@ -324,6 +352,67 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         return loadTimersFromFile(timedObjectId, timerService);
     }
 
+    /**
+     * Indicates whether the specified timer exists in the persistent store. Should be called under lock
+     */
+    private boolean isPersisted(final TimerImpl timer) {
+        if (timerJournal != null) {
+            return timerJournal.contains(timer.getTimedObjectId(), timer.getId());
+        }
+        return getTimers(timer.getTimedObjectId(), timer.getTimerService()).containsKey(timer.getId());
+    }
+
+    /**
+     * Loads the timers of the specified timed object from the journal, first migrating any timers stored as XML files. Should be called under lock
+     */
+    private Map<String, TimerImpl> loadTimersFromJournal(String timedObjectId, TimerServiceImpl timerService) {
+        final File directory = new File(baseDir, timedObjectId.replace(File.separator, "-"));
+        if (directory.isDirectory()) {
+            // Legacy timers are first converted to XML files, so that they are migrated along with any other XML files
+            for (TimerImpl timer : LegacyFileStore.loadTimersFromFile(timedObjectId, timerService, getDirectory(timedObjectId), factory, configuration).values()) {
+                writeXmlFile(timer);
+            }
+            final XMLMapper mapper = createMapper(timerService);
+            try {
+                // Each XML file is only discarded once its timers are durable within the journal
+                final List<File> retained = timerJournal.importFiles(timedObjectId, directory, file -> file.getName().endsWith(".xml"), file -> {
+                    final Map<String, byte[]> payloads = new HashMap<>();
+                    for (TimerImpl timer : readTimerFile(file, mapper)) {
+                        // Skip deleted, cancelled or expired timers
+                        if (!timer.getId().equals("deleted-timer") && timer.getState() != TimerState.CANCELED && timer.getState() != TimerState.EXPIRED) {
+                            payloads.put(timer.getId(), journalMarshaller.write(timer));
+                        }
+                    }
+                    return payloads;
+                });
+                // Retained files are migrated the next time the timers of this timed object are loaded
+                if (retained.isEmpty() && directory.delete()) {
+                    directories.remove(timedObjectId);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        final Map<String, TimerImpl> timers = new HashMap<>();
+        final ClassLoader classLoader = timerService.getInvoker().getClassLoader();
+        for (Map.Entry<String, byte[]> entry : timerJournal.getTimers(timedObjectId).entrySet()) {
+            try {
+                final TimerImpl timer = journalMarshaller.read(timedObjectId, entry.getKey(), entry.getValue(), timerService, classLoader);
+                if (timer != null) {
+                    timers.put(timer.getId(), timer);
+                } else {
+                    // The timeout method of this auto timer no longer exists
+                    EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), null);
+                    timerJournal.sync(timerJournal.remove(timedObjectId, entry.getKey()));
+                }
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), e);
+            }
+        }
+        return timers;
+    }
+
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
@@ -348,43 +437,46 @@ public class FileTimerPersistence implements TimerPersistence, Service {
             if (!timerFile.getName().endsWith(".xml")) {
                 continue;
             }
-            FileInputStream in = null;
-
             try {
-                in = new FileInputStream(timerFile);
-                final XMLInputFactory inputFactory = INPUT_FACTORY;
-                setIfSupported(inputFactory, XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
-                setIfSupported(inputFactory, XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
-                final XMLStreamReader streamReader = inputFactory.createXMLStreamReader(in);
-                try {
-                    List<TimerImpl> timerList = new ArrayList<>();
-                    mapper.parseDocument(timerList, streamReader);
-                    for (TimerImpl timer : timerList) {
-                        if (timer.getId().equals("deleted-timer")) {
-                            timerFile.delete();
-                            break;
-                        }
-                        timers.put(timer.getId(), timer);
+                for (TimerImpl timer : readTimerFile(timerFile, mapper)) {
+                    if (timer.getId().equals("deleted-timer")) {
+                        timerFile.delete();
+                        break;
                     }
-                } finally {
-                    safeClose(in);
+                    timers.put(timer.getId(), timer);
                 }
-
             } catch (Exception e) {
                 EJB3_TIMER_LOGGER.failToRestoreTimersFromFile(timerFile, e);
-            } finally {
-                if (in != null) {
-                    try {
-                        in.close();
-                    } catch (IOException e) {
-                        EJB3_TIMER_LOGGER.failToCloseFile(e);
-                    }
-                }
             }
         }
         return timers;
     }
 
+    /**
+     * Parses the timers stored within the specified XML file.
+     */
+    private List<TimerImpl> readTimerFile(File timerFile, XMLMapper mapper) throws Exception {
+        FileInputStream in = null;
+        try {
+            in = new FileInputStream(timerFile);
+            final XMLInputFactory inputFactory = INPUT_FACTORY;
+            setIfSupported(inputFactory, XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+            setIfSupported(inputFactory, XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+            final XMLStreamReader streamReader = inputFactory.createXMLStreamReader(in);
+            List<TimerImpl> timerList = new ArrayList<>();
+            mapper.parseDocument(timerList, streamReader);
+            return timerList;
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    EJB3_TIMER_LOGGER.failToCloseFile(e);
+                }
+            }
+        }
+    }
+
     private XMLMapper createMapper(TimerServiceImpl timerService) {
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(new QName(EjbTimerXmlParser_1_0.NAMESPACE, EjbTimerXmlPersister.TIMERS), new EjbTimerXmlParser_1_0(timerService, factory, configuration, timerService.getInvoker().getClassLoader()));
@@ -448,17 +540,13 @@ public class FileTimerPersistence implements TimerPersistence, Service {
                     try {
                         lock.lock();
                         if (status == Status.STATUS_COMMITTED) {
-                            final Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                             if (timer.getState() == TimerState.CANCELED ||
                                     timer.getState() == TimerState.EXPIRED) {
-                                map.remove(timer.getId());
-                            } else {
-                                if (newTimer || map.containsKey(timer.getId())) {
-                                    //if an existing timer is not in the map it has been cancelled by another thread
-                                    map.put(timer.getId(), timer);
-                                }
+                                writeFile(timer);
+                            } else if (newTimer || isPersisted(timer)) {
+                                //if an existing timer is not persisted it has been cancelled by another thread
+                                writeFile(timer);
                             }
-                            writeFile(timer);
                         }
                     } finally {
                         lock.unlock();
@@ -472,6 +560,14 @@ public class FileTimerPersistence implements TimerPersistence, Service {
     }
 
     private void writeFile(TimerImpl timer) {
+        if (timerJournal != null) {
+            writeJournal(timer);
+        } else {
+            writeXmlFile(timer);
+        }
+    }
+
+    private void writeXmlFile(TimerImpl timer) {
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
         //if the timer is expired or cancelled delete the file
@@ -499,6 +595,27 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         }
     }
 
+    private void writeJournal(TimerImpl timer) {
+        try {
+            //if the timer is expired or cancelled remove it from the journal
+            if (timer.getState() == TimerState.CANCELED ||
+                    timer.getState() == TimerState.EXPIRED) {
+                timerJournal.sync(timerJournal.remove(timer.getTimedObjectId(), timer.getId()));
+                return;
+            }
+            final byte[] payload;
+            try {
+                payload = journalMarshaller.write(timer);
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.failedToPersistTimer(timer, e);
+                return;
+            }
+            timerJournal.sync(timerJournal.put(timer.getTimedObjectId(), timer.getId(), payload));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private void setIfSupported(final XMLInputFactory inputFactory, final String property, final Object value) {
         if (inputFactory.isPropertySupported(property)) {
             inputFactory.setProperty(property, value);
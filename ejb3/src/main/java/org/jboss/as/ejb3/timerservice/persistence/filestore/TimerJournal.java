@@ -0,0 +1,587 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Segmented, append-only journal of persistent timers.
+ * <p/>
+ * Each change to a timer is appended as a single record to the current segment file, {@code timers-<sequence>.journal}.
+ * A record consists of its length, a CRC32 checksum of its body, and a body containing the record type, the timed object id,
+ * the timer id, and, for a put, the opaque timer payload.  A segment is rolled once it exceeds the configured size.
+ * <p/>
+ * On open, all segments are replayed in sequence order into an in-memory index of the most recent payload of each timer.
+ * Replay stops at the first torn or corrupt record of a segment, which is truncated.
+ * <p/>
+ * Appends are not durable until {@link #sync(long)} is called with the offset returned by the append.
+ * Concurrent callers of {@link #sync(long)} share a single {@link FileChannel#force(boolean)}, i.e. group commit.
+ * <p/>
+ * Once the obsolete records exceed both the live records and the segment size, the current segment is sealed and appends continue
+ * in a new segment, while a background thread writes a snapshot of the live records as of the sealed segment into a separate file.
+ * The snapshot begins with a reset record and atomically replaces the sealed segment, after which all previous segments are deleted.
+ * Replay discards any segments preceding a snapshot, so a crash at any point of a compaction leaves a consistent journal.
+ */
+class TimerJournal implements AutoCloseable {
+
+    static final String SEGMENT_PREFIX = "timers-";
+    static final String SEGMENT_SUFFIX = ".journal";
+    static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(TimerJournal.class, WildFlySecurityManager.getClassLoaderPrivileged(TimerJournal.class));
+    private static final Executor DEFAULT_EXECUTOR = task -> THREAD_FACTORY.newThread(task).start();
+
+    private static final int MAGIC = 0x454A4254;
+    private static final byte VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte RESET = 3;
+
+    private final File directory;
+    private final long segmentSize;
+    private final Executor executor;
+    private final ConcurrentMap<String, ConcurrentMap<String, Entry>> timers = new ConcurrentHashMap<>();
+    private final AtomicLong synced = new AtomicLong();
+    private final Object syncLock = new Object();
+
+    // The following are guarded by this
+    private final TreeMap<Long, File> segments = new TreeMap<>();
+    private FileChannel channel;
+    private long written = 0L;
+    private long liveBytes = 0L;
+    private long totalBytes = 0L;
+    private boolean compacting = false;
+    // Total size below which compaction is not reattempted following a failure
+    private long compactionBackoff = 0L;
+    // Indicates whether the segment being replayed begins with a snapshot
+    private boolean snapshot = false;
+
+    /**
+     * Opens the journal within the specified directory, replaying any existing segments.
+     * @param directory the journal directory
+     * @param segmentSize the size beyond which a segment is rolled
+     * @throws IOException if the journal could not be opened
+     */
+    TimerJournal(File directory, long segmentSize) throws IOException {
+        this(directory, segmentSize, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Opens the journal within the specified directory, replaying any existing segments.
+     * @param directory the journal directory
+     * @param segmentSize the size beyond which a segment is rolled
+     * @param executor the executor used to compact the journal
+     * @throws IOException if the journal could not be opened
+     */
+    TimerJournal(File directory, long segmentSize, Executor executor) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.executor = executor;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)) {
+                    // Snapshot of an interrupted compaction
+                    file.delete();
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        this.segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+                    } catch (NumberFormatException e) {
+                        // Not one of ours
+                    }
+                }
+            }
+        }
+        for (Map.Entry<Long, File> entry : new ArrayList<>(this.segments.entrySet())) {
+            File segment = entry.getValue();
+            if (!this.replay(segment)) {
+                // Discard segments without records, e.g. those started by a previous open
+                segment.delete();
+                this.segments.remove(entry.getKey());
+            } else if (this.snapshot) {
+                // Discard segments superseded by the snapshot of a compaction that was interrupted before deleting them
+                Map<Long, File> obsolete = this.segments.headMap(entry.getKey());
+                for (File file : obsolete.values()) {
+                    file.delete();
+                }
+                obsolete.clear();
+                this.snapshot = false;
+            }
+        }
+        synchronized (this) {
+            this.roll();
+            this.compactIfNecessary();
+        }
+    }
+
+    /**
+     * Appends the specified payload of a timer.
+     * @return the offset to pass to {@link #sync(long)} to make this change durable
+     */
+    long put(String timedObjectId, String timerId, byte[] payload) throws IOException {
+        byte[] record = record(PUT, timedObjectId, timerId, payload);
+        synchronized (this) {
+            this.append(record);
+            this.index(timedObjectId, timerId, new Entry(payload, record.length));
+            this.compactIfNecessary();
+            return this.written;
+        }
+    }
+
+    /**
+     * Appends the removal of a timer, if it exists.
+     * @return the offset to pass to {@link #sync(long)} to make this change durable
+     */
+    long remove(String timedObjectId, String timerId) throws IOException {
+        synchronized (this) {
+            if (!this.contains(timedObjectId, timerId)) {
+                return this.written;
+            }
+            this.append(record(REMOVE, timedObjectId, timerId, null));
+            this.unindex(timedObjectId, timerId);
+            this.compactIfNecessary();
+            return this.written;
+        }
+    }
+
+    /**
+     * Ensures that all changes up to the specified offset are durable.
+     * @param offset an offset returned by {@link #put(String, String, byte[])} or {@link #remove(String, String)}
+     */
+    void sync(long offset) throws IOException {
+        if (this.synced.get() >= offset) {
+            return;
+        }
+        synchronized (this.syncLock) {
+            // Another thread may have synced on our behalf while we were waiting
+            if (this.synced.get() >= offset) {
+                return;
+            }
+            FileChannel channel;
+            long target;
+            synchronized (this) {
+                channel = this.channel;
+                target = this.written;
+            }
+            if (channel == null) {
+                throw new ClosedChannelException();
+            }
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // Segment was concurrently rolled, which forces its channel before closing it
+            }
+            this.synced.accumulateAndGet(target, Math::max);
+        }
+    }
+
+    boolean contains(String timedObjectId, String timerId) {
+        Map<String, Entry> entries = this.timers.get(timedObjectId);
+        return (entries != null) && entries.containsKey(timerId);
+    }
+
+    /**
+     * Returns the payloads of the timers of the specified timed object, keyed by timer id.
+     */
+    Map<String, byte[]> getTimers(String timedObjectId) {
+        Map<String, Entry> entries = this.timers.get(timedObjectId);
+        if (entries == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, byte[]> payloads = new HashMap<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            payloads.put(entry.getKey(), entry.getValue().payload);
+        }
+        return payloads;
+    }
+
+    /**
+     * Imports the timers of the specified timed object stored as individual files within the specified directory.
+     * Each file is deleted only once all of its timers are durable within this journal.
+     * Files that cannot be read are retained, such that their import is reattempted the next time.
+     * @param timedObjectId the timed object id
+     * @param directory the directory containing the timer files
+     * @param filter selects the timer files of the directory
+     * @param reader reads the journal payloads of the timers of a file
+     * @return the files that were retained
+     * @throws IOException if the imported timers could not be written to this journal
+     */
+    List<File> importFiles(String timedObjectId, File directory, FileFilter filter, TimerFileReader reader) throws IOException {
+        File[] files = directory.listFiles(filter);
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        List<File> retained = new ArrayList<>();
+        for (File file : files) {
+            Map<String, byte[]> payloads;
+            try {
+                payloads = reader.read(file);
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.failToRestoreTimersFromFile(file, e);
+                retained.add(file);
+                continue;
+            }
+            if (!payloads.isEmpty()) {
+                long offset = 0L;
+                for (Map.Entry<String, byte[]> entry : payloads.entrySet()) {
+                    offset = this.put(timedObjectId, entry.getKey(), entry.getValue());
+                }
+                this.sync(offset);
+            }
+            file.delete();
+        }
+        return retained;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        // Let any compaction in progress complete
+        while (this.compacting) {
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (this.channel != null) {
+            try {
+                this.channel.force(false);
+                this.synced.accumulateAndGet(this.written, Math::max);
+            } finally {
+                this.channel.close();
+                this.channel = null;
+            }
+        }
+    }
+
+    /**
+     * Replays the records of the specified segment, truncating any torn or corrupt records.
+     * @return true, if the segment contains any records, false otherwise
+     */
+    private boolean replay(File segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+            if (read(channel, header, 0L) < SEGMENT_HEADER_SIZE) {
+                // Segment header was never completely written
+                return false;
+            }
+            if ((header.getInt(0) != MAGIC) || (header.get(Integer.BYTES) != VERSION)) {
+                throw new StreamCorruptedException(segment.getPath());
+            }
+            ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            long position = SEGMENT_HEADER_SIZE;
+            while (position < size) {
+                recordHeader.clear();
+                int length = -1;
+                byte[] body = null;
+                if (read(channel, recordHeader, position) == RECORD_HEADER_SIZE) {
+                    length = recordHeader.getInt(0);
+                    if ((length > 0) && (length <= size - position - RECORD_HEADER_SIZE)) {
+                        ByteBuffer buffer = ByteBuffer.allocate(length);
+                        if (read(channel, buffer, position + RECORD_HEADER_SIZE) == length) {
+                            body = buffer.array();
+                        }
+                    }
+                }
+                if ((body == null) || (checksum(body) != recordHeader.getInt(Integer.BYTES)) || !this.apply(body)) {
+                    EJB3_TIMER_LOGGER.truncatedTimerJournal(segment, position);
+                    channel.truncate(position);
+                    channel.force(false);
+                    break;
+                }
+                position += RECORD_HEADER_SIZE + length;
+            }
+            this.totalBytes += position;
+            return position > SEGMENT_HEADER_SIZE;
+        }
+    }
+
+    private boolean apply(byte[] body) {
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(body));
+            byte type = input.readByte();
+            String timedObjectId = input.readUTF();
+            String timerId = input.readUTF();
+            switch (type) {
+                case PUT: {
+                    byte[] payload = new byte[input.available()];
+                    input.readFully(payload);
+                    this.index(timedObjectId, timerId, new Entry(payload, RECORD_HEADER_SIZE + body.length));
+                    return true;
+                }
+                case REMOVE: {
+                    this.unindex(timedObjectId, timerId);
+                    return true;
+                }
+                case RESET: {
+                    // Records of previous segments are superseded by the snapshot that follows
+                    this.timers.clear();
+                    this.liveBytes = 0L;
+                    this.totalBytes = 0L;
+                    this.snapshot = true;
+                    return true;
+                }
+                default: {
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void index(String timedObjectId, String timerId, Entry entry) {
+        Entry previous = this.timers.computeIfAbsent(timedObjectId, key -> new ConcurrentHashMap<>()).put(timerId, entry);
+        if (previous != null) {
+            this.liveBytes -= previous.size;
+        }
+        this.liveBytes += entry.size;
+    }
+
+    private void unindex(String timedObjectId, String timerId) {
+        Map<String, Entry> entries = this.timers.get(timedObjectId);
+        Entry previous = (entries != null) ? entries.remove(timerId) : null;
+        if (previous != null) {
+            this.liveBytes -= previous.size;
+        }
+    }
+
+    private void append(byte[] record) throws IOException {
+        if (this.channel == null) {
+            throw new ClosedChannelException();
+        }
+        // Never roll an empty segment, even if the record alone exceeds the segment size
+        if ((this.channel.position() > SEGMENT_HEADER_SIZE) && (this.channel.position() + record.length > this.segmentSize)) {
+            this.roll();
+        }
+        write(this.channel, ByteBuffer.wrap(record));
+        this.written += record.length;
+        this.totalBytes += record.length;
+    }
+
+    /**
+     * Forces and closes the current segment, if any, and starts a new segment.
+     */
+    private void roll() throws IOException {
+        long sequence = this.segments.isEmpty() ? 0L : this.segments.lastKey() + 1;
+        File segment = new File(this.directory, SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX);
+        FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            write(channel, ByteBuffer.allocate(SEGMENT_HEADER_SIZE).putInt(MAGIC).put(VERSION).flip());
+        } catch (IOException e) {
+            channel.close();
+            segment.delete();
+            throw e;
+        }
+        FileChannel previous = this.channel;
+        if (previous != null) {
+            try {
+                previous.force(false);
+                this.synced.accumulateAndGet(this.written, Math::max);
+            } finally {
+                previous.close();
+            }
+        }
+        this.segments.put(sequence, segment);
+        this.channel = channel;
+        this.totalBytes += SEGMENT_HEADER_SIZE;
+        syncDirectory(this.directory);
+    }
+
+    /**
+     * Seals the current segment and schedules the compaction of all records up to it, if obsolete records exceed both the live records and the segment size.
+     * Only copies the index of live records, such that appends are not blocked by the compaction.
+     */
+    private void compactIfNecessary() throws IOException {
+        if (this.compacting || (this.totalBytes < this.compactionBackoff) || (this.totalBytes - this.liveBytes <= Math.max(this.liveBytes, this.segmentSize))) {
+            return;
+        }
+        long compactedBytes = this.totalBytes;
+        Map.Entry<Long, File> sealed = this.segments.lastEntry();
+        this.roll();
+        Map<String, Map<String, Entry>> live = new HashMap<>();
+        for (Map.Entry<String, ConcurrentMap<String, Entry>> entry : this.timers.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                live.put(entry.getKey(), new HashMap<>(entry.getValue()));
+            }
+        }
+        this.compacting = true;
+        try {
+            this.executor.execute(() -> this.compact(sealed.getKey(), sealed.getValue(), compactedBytes, live));
+        } catch (RuntimeException e) {
+            this.compacting = false;
+            this.compactionBackoff = this.totalBytes + this.segmentSize;
+            EJB3_TIMER_LOGGER.failedToCompactTimerJournal(this.directory, e);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the specified live records, which then replaces the specified sealed segment, and deletes all previous segments.
+     * @param sequence the sequence of the sealed segment
+     * @param sealed the sealed segment
+     * @param compactedBytes the total size of the sealed segment and all previous segments
+     * @param live the live records as of the sealed segment, keyed by timed object id and timer id
+     */
+    private void compact(long sequence, File sealed, long compactedBytes, Map<String, Map<String, Entry>> live) {
+        File snapshot = new File(this.directory, SEGMENT_PREFIX + sequence + SNAPSHOT_SUFFIX);
+        try {
+            long size = SEGMENT_HEADER_SIZE;
+            try (FileChannel channel = FileChannel.open(snapshot.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                write(channel, ByteBuffer.allocate(SEGMENT_HEADER_SIZE).putInt(MAGIC).put(VERSION).flip());
+                byte[] reset = record(RESET, "", "", null);
+                write(channel, ByteBuffer.wrap(reset));
+                size += reset.length;
+                for (Map.Entry<String, Map<String, Entry>> entry : live.entrySet()) {
+                    for (Map.Entry<String, Entry> timer : entry.getValue().entrySet()) {
+                        byte[] record = record(PUT, entry.getKey(), timer.getKey(), timer.getValue().payload);
+                        write(channel, ByteBuffer.wrap(record));
+                        size += record.length;
+                    }
+                }
+                // Obsolete segments must not be replaced until the snapshot is durable
+                channel.force(false);
+            }
+            Files.move(snapshot.toPath(), sealed.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory(this.directory);
+            List<File> obsolete;
+            synchronized (this) {
+                Map<Long, File> previous = this.segments.headMap(sequence);
+                obsolete = new ArrayList<>(previous.values());
+                previous.clear();
+                this.totalBytes -= compactedBytes - size;
+                this.timers.values().removeIf(Map::isEmpty);
+            }
+            for (File segment : obsolete) {
+                segment.delete();
+            }
+            syncDirectory(this.directory);
+        } catch (IOException | RuntimeException e) {
+            snapshot.delete();
+            EJB3_TIMER_LOGGER.failedToCompactTimerJournal(this.directory, e);
+            synchronized (this) {
+                this.compactionBackoff = this.totalBytes + this.segmentSize;
+            }
+        } finally {
+            synchronized (this) {
+                this.compacting = false;
+                this.notifyAll();
+            }
+        }
+    }
+
+    private static byte[] record(byte type, String timedObjectId, String timerId, byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        // Reserve space for the record header
+        output.writeLong(0L);
+        output.writeByte(type);
+        output.writeUTF(timedObjectId);
+        output.writeUTF(timerId);
+        if (payload != null) {
+            output.write(payload);
+        }
+        output.flush();
+        byte[] record = bytes.toByteArray();
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        CRC32 crc = new CRC32();
+        crc.update(record, RECORD_HEADER_SIZE, record.length - RECORD_HEADER_SIZE);
+        buffer.putInt(record.length - RECORD_HEADER_SIZE);
+        buffer.putInt((int) crc.getValue());
+        return record;
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        return (int) crc.getValue();
+    }
+
+    private static int read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void syncDirectory(File directory) {
+        // Persist the creation/deletion of segments, where supported by the platform
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on all platforms
+        }
+    }
+
+    /**
+     * Reads the timers stored within a file.
+     */
+    interface TimerFileReader {
+        /**
+         * Returns the journal payloads of the timers of the specified file, keyed by timer id.
+         * @param file a timer file
+         * @return the timer payloads, which may be empty if the file contains no live timers
+         * @throws Exception if the file could not be read, or its timers could not be marshalled
+         */
+        Map<String, byte[]> read(File file) throws Exception;
+    }
+
+    private static class Entry {
+        final byte[] payload;
+        // The size of the put record of this payload
+        final int size;
+
+        Entry(byte[] payload, int size) {
+            this.payload = payload;
+            this.size = size;
+        }
+    }
+}
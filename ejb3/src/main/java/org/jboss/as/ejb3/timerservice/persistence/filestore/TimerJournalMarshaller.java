@@ -0,0 +1,186 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import jakarta.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Converts a persistent timer to and from the binary payload of a {@link TimerJournal} record.
+ * The timed object id and timer id are not part of the payload, since they form the key of the record.
+ */
+class TimerJournalMarshaller {
+
+    private static final byte VERSION = 1;
+
+    private final MarshallerFactory factory;
+    private final MarshallingConfiguration configuration;
+
+    TimerJournalMarshaller(MarshallerFactory factory, MarshallingConfiguration configuration) {
+        this.factory = factory;
+        this.configuration = configuration;
+    }
+
+    byte[] write(TimerImpl timer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(VERSION);
+        boolean calendar = timer instanceof CalendarTimer;
+        output.writeBoolean(calendar);
+        writeDate(output, timer.getInitialExpiration());
+        output.writeLong(timer.getInterval());
+        writeDate(output, timer.getNextExpiration());
+        writeDate(output, timer.getPreviousRun());
+        output.writeUTF(timer.getState().name());
+        if (calendar) {
+            CalendarTimer calendarTimer = (CalendarTimer) timer;
+            ScheduleExpression schedule = calendarTimer.getScheduleExpression();
+            writeString(output, schedule.getSecond());
+            writeString(output, schedule.getMinute());
+            writeString(output, schedule.getHour());
+            writeString(output, schedule.getDayOfWeek());
+            writeString(output, schedule.getDayOfMonth());
+            writeString(output, schedule.getMonth());
+            writeString(output, schedule.getYear());
+            writeDate(output, schedule.getStart());
+            writeDate(output, schedule.getEnd());
+            writeString(output, schedule.getTimezone());
+            output.writeBoolean(calendarTimer.isAutoTimer());
+            if (calendarTimer.isAutoTimer()) {
+                Method method = calendarTimer.getTimeoutMethod();
+                output.writeUTF(method.getDeclaringClass().getName());
+                output.writeUTF(method.getName());
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                output.writeInt(parameterTypes.length);
+                for (Class<?> parameterType : parameterTypes) {
+                    output.writeUTF(parameterType.getName());
+                }
+            }
+        }
+        Serializable info = timer.getTimerInfo();
+        if (info != null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (Marshaller marshaller = this.factory.createMarshaller(this.configuration)) {
+                marshaller.start(new OutputStreamByteOutput(out));
+                marshaller.writeObject(info);
+                marshaller.finish();
+            }
+            output.writeInt(out.size());
+            out.writeTo(output);
+        } else {
+            output.writeInt(-1);
+        }
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reconstructs a timer from the specified payload.
+     * @return the timer, or null, if the timeout method of this auto timer no longer exists
+     */
+    TimerImpl read(String timedObjectId, String timerId, byte[] payload, TimerServiceImpl timerService, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new InvalidObjectException(Byte.toString(version));
+        }
+        boolean calendar = input.readBoolean();
+        TimerImpl.Builder builder = calendar ? CalendarTimer.builder() : TimerImpl.builder();
+        builder.setId(timerId);
+        builder.setTimedObjectId(timedObjectId);
+        builder.setPersistent(true);
+        builder.setInitialDate(readDate(input));
+        builder.setRepeatInterval(input.readLong());
+        builder.setNextDate(readDate(input));
+        builder.setPreviousRun(readDate(input));
+        builder.setTimerState(TimerState.valueOf(input.readUTF()));
+        if (calendar) {
+            CalendarTimer.Builder calendarBuilder = (CalendarTimer.Builder) builder;
+            ScheduleExpression schedule = new ScheduleExpression()
+                    .second(readString(input))
+                    .minute(readString(input))
+                    .hour(readString(input))
+                    .dayOfWeek(readString(input))
+                    .dayOfMonth(readString(input))
+                    .month(readString(input))
+                    .year(readString(input))
+                    .start(readDate(input))
+                    .end(readDate(input))
+                    .timezone(readString(input));
+            calendarBuilder.setScheduleExpression(schedule);
+            boolean autoTimer = input.readBoolean();
+            calendarBuilder.setAutoTimer(autoTimer);
+            if (autoTimer) {
+                String className = input.readUTF();
+                String methodName = input.readUTF();
+                String[] parameterTypes = new String[input.readInt()];
+                for (int i = 0; i < parameterTypes.length; ++i) {
+                    parameterTypes[i] = input.readUTF();
+                }
+                Method method = CalendarTimer.getTimeoutMethod(new TimeoutMethod(className, methodName, parameterTypes), classLoader);
+                if (method == null) {
+                    return null;
+                }
+                calendarBuilder.setTimeoutMethod(method);
+            }
+        }
+        int infoLength = input.readInt();
+        if (infoLength >= 0) {
+            byte[] info = new byte[infoLength];
+            input.readFully(info);
+            try (Unmarshaller unmarshaller = this.factory.createUnmarshaller(this.configuration)) {
+                unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(info)));
+                builder.setInfo((Serializable) unmarshaller.readObject());
+                unmarshaller.finish();
+            }
+        }
+        return builder.build(timerService);
+    }
+
+    private static void writeDate(DataOutput output, Date date) throws IOException {
+        output.writeBoolean(date != null);
+        if (date != null) {
+            output.writeLong(date.getTime());
+        }
+    }
+
+    private static Date readDate(DataInput input) throws IOException {
+        return input.readBoolean() ? new Date(input.readLong()) : null;
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+}
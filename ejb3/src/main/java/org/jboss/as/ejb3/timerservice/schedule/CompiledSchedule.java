@@ -0,0 +1,218 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.schedule;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfMonth;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfWeek;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Hour;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.IntegerBasedExpression;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Minute;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Month;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Second;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Year;
+import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleExpressionType;
+
+/**
+ * The attributes of a schedule expression, compiled into bitmasks.
+ * <p/>
+ * The next matching date-time is found by scanning for the next set bit of each field, from the most significant (year) to the
+ * least significant (second) field, resetting all less significant fields whenever a field advances.
+ * With the exception of relative days of month, which are resolved per month, the search performs no allocation
+ * beyond its result.
+ */
+final class CompiledSchedule {
+
+    private static final int[] DAYS_IN_MONTH = { 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+    private static final int[] MONTH_OFFSETS = { 0, 3, 2, 5, 0, 3, 5, 1, 4, 6, 2, 4 };
+
+    // Bit n is set if second n matches
+    private final long seconds;
+    // Bit n is set if minute n matches
+    private final long minutes;
+    // Bit n is set if hour n matches
+    private final int hours;
+    // Bit n is set if month n (1-12) matches
+    private final int months;
+    // Bit n is set if day of week n (0 = Sunday) matches
+    private final int daysOfWeek;
+    private final DayOfMonth dayOfMonth;
+    private final boolean dayOfMonthWildcard;
+    private final boolean dayOfWeekWildcard;
+    // Bit n is set if year n matches
+    private final BitSet years;
+
+    CompiledSchedule(Second second, Minute minute, Hour hour, DayOfMonth dayOfMonth, Month month, DayOfWeek dayOfWeek, Year year) {
+        this.seconds = toBitmask(second);
+        this.minutes = toBitmask(minute);
+        this.hours = (int) toBitmask(hour);
+        this.months = (int) toBitmask(month);
+        int daysOfWeek = (int) toBitmask(dayOfWeek);
+        // Both 0 and 7 denote Sunday
+        this.daysOfWeek = (daysOfWeek | (daysOfWeek >>> 7)) & 0x7F;
+        this.dayOfMonth = dayOfMonth;
+        this.dayOfMonthWildcard = dayOfMonth.getType() == ScheduleExpressionType.WILDCARD;
+        this.dayOfWeekWildcard = dayOfWeek.getType() == ScheduleExpressionType.WILDCARD;
+        this.years = year.toBitSet();
+    }
+
+    private static long toBitmask(IntegerBasedExpression expression) {
+        long[] words = expression.toBitSet().toLongArray();
+        return (words.length > 0) ? words[0] : 0L;
+    }
+
+    /**
+     * Returns the first date-time, truncated to seconds, at or after the specified date-time that matches this schedule.
+     *
+     * @param dateTime a local date-time
+     * @return the next matching local date-time, or null, if there is no match on or before {@link Year#MAX_YEAR}
+     */
+    LocalDateTime getNextMatch(LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        int month = dateTime.getMonthValue();
+        int day = dateTime.getDayOfMonth();
+        int time = dateTime.getHour() * 3600 + dateTime.getMinute() * 60 + dateTime.getSecond();
+
+        while (year <= Year.MAX_YEAR) {
+            if (!this.years.get(year)) {
+                year = this.years.nextSetBit(year + 1);
+                if ((year < 0) || (year > Year.MAX_YEAR)) {
+                    return null;
+                }
+                month = 1;
+                day = 1;
+                time = 0;
+            }
+            int nextMonth = nextBit(this.months, month);
+            if (nextMonth < 0) {
+                year += 1;
+                month = 1;
+                day = 1;
+                time = 0;
+                continue;
+            }
+            if (nextMonth != month) {
+                month = nextMonth;
+                day = 1;
+                time = 0;
+            }
+            int nextDay = nextBit(this.getDaysOfMonth(year, month), day);
+            if (nextDay < 0) {
+                if (month == 12) {
+                    year += 1;
+                    month = 1;
+                } else {
+                    month += 1;
+                }
+                day = 1;
+                time = 0;
+                continue;
+            }
+            if (nextDay != day) {
+                day = nextDay;
+                time = 0;
+            }
+            int nextTime = this.getNextTime(time / 3600, (time / 60) % 60, time % 60);
+            if (nextTime >= 0) {
+                return LocalDateTime.of(year, month, day, nextTime / 3600, (nextTime / 60) % 60, nextTime % 60);
+            }
+            // No matching time remains on this day
+            day += 1;
+            time = 0;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first matching time of day, in seconds, at or after the specified time, or -1 if there is none.
+     */
+    private int getNextTime(int hour, int minute, int second) {
+        while (hour < 24) {
+            int nextHour = nextBit(this.hours, hour);
+            if (nextHour < 0) {
+                return -1;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = 0;
+                second = 0;
+            }
+            int nextMinute = nextBit(this.minutes, minute);
+            if (nextMinute < 0) {
+                hour += 1;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+            int nextSecond = nextBit(this.seconds, second);
+            if (nextSecond < 0) {
+                minute += 1;
+                second = 0;
+                continue;
+            }
+            return hour * 3600 + minute * 60 + nextSecond;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the days of the specified month matching both the day-of-month and day-of-week attributes.
+     * As per the specification, if neither attribute is a wildcard, a day matches if either attribute matches.
+     */
+    private int getDaysOfMonth(int year, int month) {
+        int lengthOfMonth = ((month == 2) && isLeapYear(year)) ? 29 : DAYS_IN_MONTH[month - 1];
+        int firstDayOfWeek = dayOfWeek(year, month, 1);
+        if (this.dayOfMonthWildcard && this.dayOfWeekWildcard) {
+            return (int) ((1L << (lengthOfMonth + 1)) - 2);
+        }
+        int daysOfWeek = 0;
+        if (!this.dayOfWeekWildcard) {
+            for (int day = 1, dayOfWeek = firstDayOfWeek; day <= lengthOfMonth; ++day, dayOfWeek = (dayOfWeek == 6) ? 0 : dayOfWeek + 1) {
+                if ((this.daysOfWeek & (1 << dayOfWeek)) != 0) {
+                    daysOfWeek |= 1 << day;
+                }
+            }
+            if (this.dayOfMonthWildcard) {
+                return daysOfWeek;
+            }
+        }
+        return daysOfWeek | this.dayOfMonth.getDaysOfMonth(lengthOfMonth, firstDayOfWeek);
+    }
+
+    private static int nextBit(long bits, int from) {
+        if (from >= Long.SIZE) {
+            return -1;
+        }
+        long remaining = bits & (-1L << from);
+        return (remaining != 0L) ? Long.numberOfTrailingZeros(remaining) : -1;
+    }
+
+    private static int nextBit(int bits, int from) {
+        if (from >= Integer.SIZE) {
+            return -1;
+        }
+        int remaining = bits & (-1 << from);
+        return (remaining != 0) ? Integer.numberOfTrailingZeros(remaining) : -1;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return ((year % 4) == 0) && (((year % 100) != 0) || ((year % 400) == 0));
+    }
+
+    /**
+     * Returns the day of week of the specified date in the proleptic Gregorian calendar, where 0 is Sunday.
+     */
+    private static int dayOfWeek(int year, int month, int day) {
+        // Sakamoto's method
+        int y = (month < 3) ? year - 1 : year;
+        return (y + y / 4 - y / 100 + y / 400 + MONTH_OFFSETS[month - 1] + day) % 7;
+    }
+}
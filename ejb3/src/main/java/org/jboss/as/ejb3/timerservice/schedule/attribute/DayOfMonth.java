@@ -4,12 +4,15 @@
  */
 package org.jboss.as.ejb3.timerservice.schedule.attribute;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.IntBinaryOperator;
 import java.util.regex.Pattern;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
@@ -70,6 +73,17 @@ public class DayOfMonth extends IntegerBasedExpression {
      */
     public static final Integer MIN_DAY_OF_MONTH = -7;
 
+    /**
+     * The absolute values of this expression, as a bitmask where bit n is set if day n of a month is matched.
+     */
+    private final int absoluteDaysOfMonth;
+
+    /**
+     * The relative values of this expression, as ranges of functions resolving a day of a month from the length of that month
+     * and the day of the week of its first day.
+     */
+    private final List<IntBinaryOperator[]> relativeDaysOfMonth = new ArrayList<>();
+
     /**
      * A {@link DayOfMonth} can be represented as a {@link String} too (for example "1st", "Sun" etc...).
      * Internally, we map all allowed {@link String} values to their {@link Integer} equivalents.
@@ -99,6 +113,81 @@ public class DayOfMonth extends IntegerBasedExpression {
      */
     public DayOfMonth(String value) {
         super(value);
+        long[] days = this.toBitSet().toLongArray();
+        // Day 0 does not exist
+        this.absoluteDaysOfMonth = (days.length > 0) ? (int) days[0] & ~1 : 0;
+        for (ScheduleValue relativeValue : this.relativeValues) {
+            if (relativeValue instanceof SingleValue) {
+                IntBinaryOperator dayOfMonth = this.compileDayOfMonth(((SingleValue) relativeValue).getValue());
+                this.relativeDaysOfMonth.add(new IntBinaryOperator[] { dayOfMonth, dayOfMonth });
+            } else if (relativeValue instanceof RangeValue) {
+                RangeValue range = (RangeValue) relativeValue;
+                this.relativeDaysOfMonth.add(new IntBinaryOperator[] { this.compileDayOfMonth(range.getStart()), this.compileDayOfMonth(range.getEnd()) });
+            }
+        }
+    }
+
+    /**
+     * Returns the days of a month matched by this expression, as a bitmask where bit n is set if day n of the month is matched.
+     * Relative values are resolved against the specified month.
+     *
+     * @param lengthOfMonth the number of days of the month
+     * @param firstDayOfWeek the day of the week of the first day of the month, where 0 is Sunday
+     * @return a bitmask of matching days
+     */
+    public int getDaysOfMonth(int lengthOfMonth, int firstDayOfWeek) {
+        int days = this.absoluteDaysOfMonth;
+        for (IntBinaryOperator[] range : this.relativeDaysOfMonth) {
+            int start = range[0].applyAsInt(lengthOfMonth, firstDayOfWeek);
+            int end = range[1].applyAsInt(lengthOfMonth, firstDayOfWeek);
+            if (start <= end) {
+                days |= mask(start, end);
+            } else {
+                // In range "x-y", if x is larger than y, the range is equivalent to "x-max, min-y"
+                days |= mask(start, MAX_DAY_OF_MONTH) | mask(1, end);
+            }
+        }
+        // Exclude days beyond the end of the month
+        return days & mask(1, lengthOfMonth);
+    }
+
+    private static int mask(int from, int to) {
+        int start = Math.max(from, 1);
+        return (to < start) ? 0 : (int) ((1L << (to + 1)) - (1L << start));
+    }
+
+    /**
+     * Compiles the specified day of month value into a function of the length of a month and the day of week of its first day,
+     * following the semantics of {@link #getAbsoluteDayOfMonth(Calendar, String)}.
+     */
+    private IntBinaryOperator compileDayOfMonth(String value) {
+        if (!this.isRelativeValue(value)) {
+            Integer dayOfMonth = this.parseInt(value);
+            this.assertValid(dayOfMonth);
+            return (lengthOfMonth, firstDayOfWeek) -> dayOfMonth;
+        }
+        String trimmedRelativeDayOfMonth = value.trim().toLowerCase(Locale.ROOT);
+        if (trimmedRelativeDayOfMonth.equals("last")) {
+            return (lengthOfMonth, firstDayOfWeek) -> lengthOfMonth;
+        }
+        if (this.isValidNegativeDayOfMonth(trimmedRelativeDayOfMonth)) {
+            int negativeRelativeDayOfMonth = Integer.parseInt(trimmedRelativeDayOfMonth);
+            return (lengthOfMonth, firstDayOfWeek) -> lengthOfMonth + negativeRelativeDayOfMonth;
+        }
+        String[] parts = splitDayOfWeekBased(trimmedRelativeDayOfMonth);
+        if (parts == null) {
+            throw EjbLogger.EJB3_TIMER_LOGGER.invalidScheduleValue(DayOfMonth.class.getSimpleName(), trimmedRelativeDayOfMonth);
+        }
+        int dayOfWeek = DayOfWeek.DAY_OF_WEEK_ALIAS.get(parts[1]);
+        if (parts[0].equals("last")) {
+            return (lengthOfMonth, firstDayOfWeek) -> lengthOfMonth - Math.floorMod(firstDayOfWeek + lengthOfMonth - 1 - dayOfWeek, 7);
+        }
+        int weekNumber = ORDINAL_TO_WEEK_NUMBER_MAPPING.get(parts[0]);
+        return (lengthOfMonth, firstDayOfWeek) -> {
+            int dayOfMonth = 1 + Math.floorMod(dayOfWeek - firstDayOfWeek, 7) + (weekNumber - 1) * 7;
+            // As with getAbsoluteDayOfMonth(...), a non-existent nth day of week resolves to the last day of the month
+            return (dayOfMonth <= lengthOfMonth) ? dayOfMonth : lengthOfMonth;
+        };
     }
 
     /**
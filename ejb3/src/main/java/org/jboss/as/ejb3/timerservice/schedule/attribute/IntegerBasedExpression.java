@@ -4,6 +4,7 @@
  */
 package org.jboss.as.ejb3.timerservice.schedule.attribute;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.SortedSet;
@@ -205,4 +206,23 @@ public abstract class IntegerBasedExpression {
     public ScheduleExpressionType getType() {
         return this.scheduleExpressionType;
     }
+
+    /**
+     * Returns the absolute values of this expression as a bit set, where a wildcard matches every value from the minimum to the maximum value.
+     * Relative values, which can only be resolved against a given date, and negative values are excluded.
+     * @return a bit set of absolute values
+     */
+    public BitSet toBitSet() {
+        BitSet values = new BitSet();
+        if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
+            values.set(Math.max(this.getMinValue(), 0), this.getMaxValue() + 1);
+        } else {
+            for (Integer value : this.absoluteValues) {
+                if (value >= 0) {
+                    values.set(value);
+                }
+            }
+        }
+        return values;
+    }
 }
@@ -0,0 +1,17 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+/**
+ * A handle to a task scheduled via a {@link TimeoutScheduler}.
+ */
+public interface ScheduledTimeout {
+
+    /**
+     * Cancels any future execution of the scheduled task.
+     * @return true, if this invocation cancelled the task, false if the task was already cancelled, or was a single action task that already executed.
+     */
+    boolean cancel();
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the statistics of a {@link TimeoutScheduler}.
+ */
+class SchedulingStatistics implements TimeoutSchedulerStatistics {
+
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0L);
+
+    void scheduled() {
+        this.scheduled.increment();
+    }
+
+    void unscheduled() {
+        this.scheduled.decrement();
+    }
+
+    void expired(long lag) {
+        long value = Math.max(lag, 0L);
+        this.expired.increment();
+        this.totalLag.add(value);
+        this.maxLag.accumulate(value);
+    }
+
+    @Override
+    public long getScheduledCount() {
+        return this.scheduled.sum();
+    }
+
+    @Override
+    public long getExpiredCount() {
+        return this.expired.sum();
+    }
+
+    @Override
+    public long getMaxLag() {
+        return this.maxLag.get();
+    }
+
+    @Override
+    public long getAverageLag() {
+        long count = this.expired.sum();
+        return (count > 0) ? this.totalLag.sum() / count : 0L;
+    }
+}
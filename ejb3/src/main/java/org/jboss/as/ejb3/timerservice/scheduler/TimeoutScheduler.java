@@ -0,0 +1,43 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+/**
+ * Schedules the tasks responsible for triggering timer timeouts.
+ * <p/>
+ * Scheduled tasks are expected to be short-lived, i.e. they should hand off the actual timeout invocation to an executor,
+ * since an implementation may run expired tasks sequentially on a single thread.
+ */
+public interface TimeoutScheduler {
+
+    /**
+     * Schedules the specified task for a single execution after the specified delay.
+     * @param task a task
+     * @param delay the delay, in milliseconds, before the task should execute
+     * @return a handle for cancelling the scheduled task
+     */
+    ScheduledTimeout schedule(Runnable task, long delay);
+
+    /**
+     * Schedules the specified task for repeated execution, starting after the specified delay, and thereafter at the specified period.
+     * If an execution is delayed, subsequent executions will occur in rapid succession, until the task has caught up.
+     * @param task a task
+     * @param delay the delay, in milliseconds, before the first execution of the task
+     * @param period the period, in milliseconds, between subsequent executions of the task
+     * @return a handle for cancelling the scheduled task
+     */
+    ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period);
+
+    /**
+     * Releases any resources held on behalf of cancelled tasks.
+     */
+    void purge();
+
+    /**
+     * Returns the statistics of this scheduler.
+     * @return scheduler statistics
+     */
+    TimeoutSchedulerStatistics getStatistics();
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+/**
+ * Exposes the statistics of a {@link TimeoutScheduler}.
+ */
+public interface TimeoutSchedulerStatistics {
+
+    /**
+     * Returns the number of tasks currently scheduled.
+     * @return the number of scheduled tasks
+     */
+    long getScheduledCount();
+
+    /**
+     * Returns the number of task executions since this scheduler started.
+     * @return the number of task executions
+     */
+    long getExpiredCount();
+
+    /**
+     * Returns the maximum scheduling lag, i.e. the difference between the intended and actual execution time of a task, in milliseconds.
+     * @return the maximum scheduling lag
+     */
+    long getMaxLag();
+
+    /**
+     * Returns the average scheduling lag, i.e. the difference between the intended and actual execution time of a task, in milliseconds.
+     * @return the average scheduling lag
+     */
+    long getAverageLag();
+}
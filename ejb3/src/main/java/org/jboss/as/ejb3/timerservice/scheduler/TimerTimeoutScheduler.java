@@ -0,0 +1,91 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link TimeoutScheduler} implementation backed by a {@link java.util.Timer}.
+ * The lifecycle of the timer is managed by its provider.
+ */
+public class TimerTimeoutScheduler implements TimeoutScheduler {
+
+    private final Timer timer;
+    private final SchedulingStatistics statistics = new SchedulingStatistics();
+
+    public TimerTimeoutScheduler(Timer timer) {
+        this.timer = timer;
+    }
+
+    @Override
+    public ScheduledTimeout schedule(Runnable task, long delay) {
+        TimeoutTask timeout = new TimeoutTask(task, false);
+        this.statistics.scheduled();
+        this.timer.schedule(timeout, delay);
+        return timeout;
+    }
+
+    @Override
+    public ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        TimeoutTask timeout = new TimeoutTask(task, true);
+        this.statistics.scheduled();
+        this.timer.scheduleAtFixedRate(timeout, delay, period);
+        return timeout;
+    }
+
+    @Override
+    public void purge() {
+        this.timer.purge();
+    }
+
+    @Override
+    public TimeoutSchedulerStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    private class TimeoutTask extends TimerTask implements ScheduledTimeout {
+        private final Runnable task;
+        private final boolean repeated;
+        private final AtomicBoolean scheduled = new AtomicBoolean(true);
+
+        TimeoutTask(Runnable task, boolean repeated) {
+            this.task = task;
+            this.repeated = repeated;
+        }
+
+        @Override
+        public void run() {
+            TimerTimeoutScheduler.this.statistics.expired(System.currentTimeMillis() - this.scheduledExecutionTime());
+            if (!this.repeated) {
+                this.unschedule();
+            }
+            try {
+                this.task.run();
+            } catch (RuntimeException e) {
+                // Don't let a misbehaving task kill the timer thread
+                EJB3_TIMER_LOGGER.scheduledTimeoutTaskFailed(this.task, e);
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            boolean cancelled = super.cancel();
+            if (cancelled) {
+                this.unschedule();
+            }
+            return cancelled;
+        }
+
+        private void unschedule() {
+            if (this.scheduled.compareAndSet(true, false)) {
+                TimerTimeoutScheduler.this.statistics.unscheduled();
+            }
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * {@link TimeoutScheduler} implementation based on a hierarchical timing wheel.
+ * <p/>
+ * Time is divided into ticks of 1 millisecond, and the wheel consists of {@value #LEVELS} levels of {@value #WHEEL_SIZE} slots,
+ * where each slot of a given level spans {@value #WHEEL_SIZE} times the range of a slot of the level below it.
+ * A task is placed in the slot of the lowest level able to represent its deadline, and cascades into lower levels as time advances,
+ * until it expires from level 0.  Consequently, scheduling and cancelling a task are O(1) operations, independent of the number of scheduled tasks.
+ * <p/>
+ * The wheel is owned by a single worker thread.  Other threads submit scheduling and cancellation requests via non-blocking queues,
+ * which the worker drains whenever it wakes.  The worker sleeps until the next occupied slot, as determined via per-level occupancy bitmaps,
+ * and is only woken early if a task is scheduled with a deadline earlier than its planned wake-up.
+ * All tasks expiring on the same tick are executed as a batch by the worker thread - thus scheduled tasks should be short-lived.
+ */
+public class TimingWheelTimeoutScheduler implements TimeoutScheduler {
+
+    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(TimingWheelTimeoutScheduler.class, WildFlySecurityManager.getClassLoaderPrivileged(TimingWheelTimeoutScheduler.class));
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 7;
+    // Deadlines beyond the range of the wheel (~139 years) are truncated
+    private static final long MAX_TICK = (1L << (WHEEL_BITS * LEVELS)) - 1;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final int SCHEDULED = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final ThreadFactory threadFactory;
+    private final long origin = System.nanoTime();
+    private final Queue<Entry> insertions = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancellations = new ConcurrentLinkedQueue<>();
+    private final SchedulingStatistics statistics = new SchedulingStatistics();
+
+    // The following are only accessed by the worker thread
+    private final Entry[][] slots = new Entry[LEVELS][WHEEL_SIZE];
+    private final long[] occupied = new long[LEVELS];
+    private final List<Entry> expired = new ArrayList<>();
+    private long tick = 0L;
+
+    /**
+     * The tick at which the worker thread intends to wake, or {@link Long#MAX_VALUE} if the wheel is empty.
+     */
+    private volatile long wakeup = Long.MAX_VALUE;
+    private volatile boolean running = false;
+    private volatile Thread worker;
+
+    public TimingWheelTimeoutScheduler() {
+        this(THREAD_FACTORY);
+    }
+
+    public TimingWheelTimeoutScheduler(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    public void start() {
+        this.running = true;
+        Thread thread = this.threadFactory.newThread(this::run);
+        this.worker = thread;
+        thread.start();
+    }
+
+    public void stop() {
+        this.running = false;
+        Thread thread = this.worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.worker = null;
+        }
+    }
+
+    @Override
+    public ScheduledTimeout schedule(Runnable task, long delay) {
+        return this.submit(task, delay, 0L);
+    }
+
+    @Override
+    public ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        if (period <= 0L) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        return this.submit(task, delay, period);
+    }
+
+    @Override
+    public void purge() {
+        // Wake the worker, so that it can unlink any cancelled tasks
+        Thread thread = this.worker;
+        if ((thread != null) && !this.cancellations.isEmpty()) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public TimeoutSchedulerStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    private ScheduledTimeout submit(Runnable task, long delay, long period) {
+        long now = this.currentTick();
+        long remaining = Math.max(delay, 0L);
+        Entry entry = new Entry(task, (remaining < MAX_TICK - now) ? now + remaining : MAX_TICK, period);
+        this.statistics.scheduled();
+        this.insertions.add(entry);
+        // Wake the worker if it intends to sleep beyond the deadline of this task
+        if (entry.deadline < this.wakeup) {
+            Thread thread = this.worker;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        return entry;
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - this.origin) / TICK_NANOS;
+    }
+
+    private void run() {
+        while (this.running) {
+            for (Entry entry = this.insertions.poll(); entry != null; entry = this.insertions.poll()) {
+                if (entry.isScheduled()) {
+                    this.place(entry);
+                }
+            }
+            for (Entry entry = this.cancellations.poll(); entry != null; entry = this.cancellations.poll()) {
+                this.unlink(entry);
+            }
+
+            long now = this.currentTick();
+            for (long next = this.nextTick(); next <= now; next = this.nextTick()) {
+                this.tick = next;
+                this.expire(next);
+            }
+            this.tick = Math.max(this.tick, now);
+
+            long next = this.nextTick();
+            // Publish our intended wake-up before checking for insertions, so that any concurrent scheduler either sees it or we see its entry
+            this.wakeup = next;
+            if (this.running && this.insertions.isEmpty()) {
+                if (next == Long.MAX_VALUE) {
+                    LockSupport.park(this);
+                } else {
+                    long nanos = (this.origin + (next * TICK_NANOS)) - System.nanoTime();
+                    if (nanos > 0L) {
+                        LockSupport.parkNanos(this, nanos);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Expires the slots corresponding to the specified tick, cascading entries from higher levels into lower levels as necessary.
+     */
+    private void expire(long tick) {
+        for (int level = LEVELS - 1; level >= 0; --level) {
+            int shift = level * WHEEL_BITS;
+            // A slot of this level is only reached once all lower digits have wrapped
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                Entry entry = this.detach(level, (int) (tick >>> shift) & WHEEL_MASK);
+                while (entry != null) {
+                    Entry next = entry.next;
+                    entry.next = null;
+                    if (entry.deadline <= tick) {
+                        this.expired.add(entry);
+                    } else {
+                        this.place(entry);
+                    }
+                    entry = next;
+                }
+            }
+        }
+        if (!this.expired.isEmpty()) {
+            long now = this.currentTick();
+            for (Entry entry : this.expired) {
+                entry.run(now);
+            }
+            this.expired.clear();
+        }
+    }
+
+    /**
+     * Returns the earliest tick at which an occupied slot needs processing, or {@link Long#MAX_VALUE} if the wheel is empty.
+     */
+    private long nextTick() {
+        long result = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; ++level) {
+            long occupied = this.occupied[level];
+            if (occupied != 0L) {
+                int shift = level * WHEEL_BITS;
+                // Entries are always placed in a slot beyond the current digit of their level, so the lowest occupied slot is the earliest
+                long base = this.tick & (-1L << (shift + WHEEL_BITS));
+                result = Math.min(result, base | ((long) Long.numberOfTrailingZeros(occupied) << shift));
+            }
+        }
+        return result;
+    }
+
+    private void place(Entry entry) {
+        // Overdue entries expire on the next tick
+        long target = Math.max(entry.deadline, this.tick + 1);
+        // Select the level of the most significant digit at which the target differs from the current tick
+        int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(target ^ this.tick)) / WHEEL_BITS;
+        int slot = (int) (target >>> (level * WHEEL_BITS)) & WHEEL_MASK;
+        Entry head = this.slots[level][slot];
+        entry.level = level;
+        entry.slot = slot;
+        entry.previous = null;
+        entry.next = head;
+        if (head != null) {
+            head.previous = entry;
+        }
+        this.slots[level][slot] = entry;
+        this.occupied[level] |= 1L << slot;
+    }
+
+    private void unlink(Entry entry) {
+        int level = entry.level;
+        if (level < 0) {
+            // Not currently within the wheel
+            return;
+        }
+        int slot = entry.slot;
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            this.slots[level][slot] = entry.next;
+            if (entry.next == null) {
+                this.occupied[level] &= ~(1L << slot);
+            }
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.level = -1;
+        entry.previous = null;
+        entry.next = null;
+    }
+
+    private Entry detach(int level, int slot) {
+        Entry head = this.slots[level][slot];
+        if (head != null) {
+            this.slots[level][slot] = null;
+            this.occupied[level] &= ~(1L << slot);
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                entry.level = -1;
+                entry.previous = null;
+            }
+        }
+        return head;
+    }
+
+    private class Entry implements ScheduledTimeout {
+        private final Runnable task;
+        private final long period;
+        private final AtomicInteger state = new AtomicInteger(SCHEDULED);
+        // The following are only accessed by the worker thread, once the entry is published via the insertion queue
+        private long deadline;
+        private int level = -1;
+        private int slot;
+        private Entry previous;
+        private Entry next;
+
+        Entry(Runnable task, long deadline, long period) {
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        boolean isScheduled() {
+            return this.state.get() == SCHEDULED;
+        }
+
+        void run(long now) {
+            if (this.period > 0L) {
+                if (!this.isScheduled()) {
+                    return;
+                }
+            } else if (this.state.compareAndSet(SCHEDULED, EXPIRED)) {
+                TimingWheelTimeoutScheduler.this.statistics.unscheduled();
+            } else {
+                return;
+            }
+            TimingWheelTimeoutScheduler.this.statistics.expired(now - this.deadline);
+            try {
+                this.task.run();
+            } catch (RuntimeException e) {
+                // Don't let a misbehaving task kill the worker thread
+                EJB3_TIMER_LOGGER.scheduledTimeoutTaskFailed(this.task, e);
+            }
+            if ((this.period > 0L) && this.isScheduled()) {
+                this.deadline = (this.deadline < MAX_TICK - this.period) ? this.deadline + this.period : MAX_TICK;
+                TimingWheelTimeoutScheduler.this.place(this);
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            if (this.state.compareAndSet(SCHEDULED, CANCELLED)) {
+                TimingWheelTimeoutScheduler.this.statistics.unscheduled();
+                TimingWheelTimeoutScheduler.this.cancellations.add(this);
+                return true;
+            }
+            return false;
+        }
+    }
+}
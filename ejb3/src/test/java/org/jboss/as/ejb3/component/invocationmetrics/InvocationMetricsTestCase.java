@@ -0,0 +1,98 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InvocationMetrics}.
+ */
+public class InvocationMetricsTestCase {
+
+    public void doIt() {
+    }
+
+    public void doIt(String value, int[] values) {
+    }
+
+    @Test
+    public void overloadedMethods() throws NoSuchMethodException {
+        InvocationMetrics metrics = new InvocationMetrics();
+        record(metrics, 1L, 10L, "doIt");
+        record(metrics, 2L, 20L, "doIt", String.class, int[].class);
+        record(metrics, 3L, 30L, "doIt", String.class, int[].class);
+
+        assertEquals(3L, metrics.getInvocations());
+        assertEquals(6L, metrics.getWaitTime());
+        assertEquals(60L, metrics.getExecutionTime());
+        assertEquals(0L, metrics.getConcurrent());
+        assertEquals(1L, metrics.getPeakConcurrent());
+
+        // Metrics of overloaded methods are aggregated by method name
+        Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        assertEquals(1, methods.size());
+        InvocationMetrics.Values values = methods.get("doIt");
+        assertEquals(3L, values.getInvocations());
+        assertEquals(6L, values.getWaitTime());
+        assertEquals(60L, values.getExecutionTime());
+
+        // Metrics keyed by method signature are not aggregated
+        Map<String, InvocationMetrics.Values> signatures = metrics.getMethodSignatures();
+        assertEquals(2, signatures.size());
+        values = signatures.get("doIt()");
+        assertEquals(1L, values.getInvocations());
+        assertEquals(1L, values.getWaitTime());
+        assertEquals(10L, values.getExecutionTime());
+        values = signatures.get("doIt(java.lang.String,int[])");
+        assertEquals(2L, values.getInvocations());
+        assertEquals(5L, values.getWaitTime());
+        assertEquals(50L, values.getExecutionTime());
+        assertPercentile(30L, values.getExecutionTimePercentile(100));
+    }
+
+    @Test
+    public void percentiles() throws NoSuchMethodException {
+        InvocationMetrics metrics = new InvocationMetrics();
+        for (long i = 1; i <= 1000; ++i) {
+            record(metrics, 0L, i, "doIt");
+        }
+        assertEquals(0L, metrics.getWaitTimePercentile(99));
+        assertPercentile(500L, metrics.getExecutionTimePercentile(50));
+        assertPercentile(900L, metrics.getExecutionTimePercentile(90));
+        assertPercentile(990L, metrics.getExecutionTimePercentile(99));
+        assertPercentile(1000L, metrics.getExecutionTimePercentile(100));
+        assertPercentile(990L, metrics.getMethods().get("doIt").getExecutionTimePercentile(99));
+    }
+
+    @Test
+    public void histogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getValueAtPercentile(50));
+        // Small values are recorded exactly
+        for (long i = 0; i < LatencyHistogram.SUB_BUCKETS; ++i) {
+            histogram.record(i);
+        }
+        assertEquals(LatencyHistogram.SUB_BUCKETS - 1, histogram.getValueAtPercentile(100));
+        histogram.record(-1L);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        // Reported percentiles are the highest value of the bucket containing the expected value
+        assertTrue(Long.toString(actual), actual >= expected);
+        assertTrue(Long.toString(actual), actual - expected <= expected / LatencyHistogram.SUB_BUCKETS);
+    }
+
+    private static void record(InvocationMetrics metrics, long waitTime, long executionTime, String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        metrics.startInvocation();
+        metrics.finishInvocation(InvocationMetricsTestCase.class.getMethod(name, parameterTypes), waitTime, executionTime);
+    }
+}
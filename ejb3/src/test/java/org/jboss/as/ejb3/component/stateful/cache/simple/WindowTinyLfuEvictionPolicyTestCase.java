@@ -0,0 +1,92 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.component.stateful.cache.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WindowTinyLfuEvictionPolicy}.
+ */
+public class WindowTinyLfuEvictionPolicyTestCase {
+
+    @Test
+    public void bounded() {
+        WindowTinyLfuEvictionPolicy<Integer> policy = new WindowTinyLfuEvictionPolicy<>(100);
+        Set<Integer> keys = new HashSet<>();
+        for (int i = 0; i < 1000; ++i) {
+            policy.add(i);
+            keys.add(i);
+            List<Integer> evicted = policy.evict(key -> true);
+            keys.removeAll(evicted);
+            assertEquals(keys.size(), policy.size());
+            assertTrue(policy.size() <= 100);
+        }
+        assertEquals(100, policy.size());
+        for (Integer key : keys) {
+            assertTrue(policy.contains(key));
+        }
+        policy.remove(keys.iterator().next());
+        assertEquals(99, policy.size());
+        policy.clear();
+        assertEquals(0, policy.size());
+    }
+
+    @Test
+    public void nonEvictable() {
+        WindowTinyLfuEvictionPolicy<Integer> policy = new WindowTinyLfuEvictionPolicy<>(10);
+        Set<Integer> pinned = new HashSet<>();
+        for (int i = 0; i < 20; ++i) {
+            policy.add(i);
+            pinned.add(i);
+            assertTrue(policy.evict(key -> !pinned.contains(key)).isEmpty());
+        }
+        // Cache may exceed its maximum size while entries cannot be evicted
+        assertEquals(20, policy.size());
+        pinned.clear();
+        List<Integer> evicted = policy.evict(key -> !pinned.contains(key));
+        assertEquals(10, evicted.size());
+        assertEquals(10, policy.size());
+        for (Integer key : evicted) {
+            assertFalse(policy.contains(key));
+        }
+    }
+
+    /**
+     * Verifies that frequently accessed entries survive a scan of entries that are never accessed again.
+     */
+    @Test
+    public void scanResistant() {
+        WindowTinyLfuEvictionPolicy<Integer> policy = new WindowTinyLfuEvictionPolicy<>(100);
+        List<Integer> hot = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            policy.add(i);
+            hot.add(i);
+            policy.evict(key -> true);
+        }
+        for (int j = 0; j < 5; ++j) {
+            for (Integer key : hot) {
+                policy.access(key);
+            }
+        }
+        for (int i = 1000; i < 1600; ++i) {
+            policy.add(i);
+            policy.evict(key -> true);
+        }
+        assertEquals(100, policy.size());
+        for (Integer key : hot) {
+            assertTrue(key.toString(), policy.contains(key));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+import jakarta.ejb.IllegalLoopbackException;
+
+import org.jboss.as.ejb3.component.singleton.StripedEJBReadWriteLock;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link StripedEJBReadWriteLock}
+ */
+public class StripedEJBReadWriteLockTest {
+
+    private final StripedEJBReadWriteLock lock = new StripedEJBReadWriteLock();
+
+    @Test
+    public void testIllegalLoopBack() throws Exception {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            this.lock.writeLock().tryLock(1, TimeUnit.SECONDS);
+            Assert.fail("Unexpected acquired write lock");
+        } catch (IllegalLoopbackException e) {
+            // expected
+        } finally {
+            readLock.unlock();
+        }
+        // Once the read lock is released, the write lock can be acquired
+        Assert.assertTrue(this.lock.writeLock().tryLock());
+        this.lock.writeLock().unlock();
+    }
+
+    @Test
+    public void testSameThreadCanGetWriteThenReadLock() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            Assert.assertTrue(this.lock.readLock().tryLock(1, TimeUnit.SECONDS));
+            this.lock.readLock().unlock();
+            // Write lock is reentrant
+            Assert.assertTrue(writeLock.tryLock());
+            writeLock.unlock();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Test
+    public void testReadersExcludeWriter() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            this.lock.readLock().lock();
+            try {
+                Assert.assertFalse(executor.submit(() -> this.lock.writeLock().tryLock(100, TimeUnit.MILLISECONDS)).get());
+                // Other readers are not excluded
+                Assert.assertTrue(executor.submit(() -> this.tryReadLockAndUnlock(0)).get());
+            } finally {
+                this.lock.readLock().unlock();
+            }
+            Assert.assertTrue(executor.submit(() -> {
+                boolean locked = this.lock.writeLock().tryLock(1, TimeUnit.SECONDS);
+                if (locked) {
+                    this.lock.writeLock().unlock();
+                }
+                return locked;
+            }).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWriterExcludesReaders() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            this.lock.writeLock().lock();
+            try {
+                Assert.assertFalse(executor.submit(() -> this.tryReadLockAndUnlock(100)).get());
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+            Assert.assertTrue(executor.submit(() -> this.tryReadLockAndUnlock(0)).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies that a waiting writer blocks new readers, but not a thread reacquiring a read lock it already holds.
+     */
+    @Test
+    public void testWriterPreference() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            this.lock.readLock().lock();
+            CountDownLatch writerStarted = new CountDownLatch(1);
+            Future<Boolean> writer = executor.submit(() -> {
+                writerStarted.countDown();
+                boolean locked = this.lock.writeLock().tryLock(10, TimeUnit.SECONDS);
+                if (locked) {
+                    this.lock.writeLock().unlock();
+                }
+                return locked;
+            });
+            writerStarted.await();
+            // Wait for the writer to announce itself
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (executor.submit(() -> this.tryReadLockAndUnlock(0)).get()) {
+                Assert.assertTrue(System.nanoTime() < deadline);
+                Thread.sleep(10);
+            }
+            // Reentrant read lock acquisition must not deadlock with the waiting writer
+            Assert.assertTrue(this.lock.readLock().tryLock(1, TimeUnit.SECONDS));
+            this.lock.readLock().unlock();
+            Assert.assertFalse(writer.isDone());
+            this.lock.readLock().unlock();
+            Assert.assertTrue(writer.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMutualExclusion() throws Exception {
+        int threads = 8;
+        int iterations = 10000;
+        AtomicInteger readers = new AtomicInteger();
+        AtomicInteger writers = new AtomicInteger();
+        int[] counter = new int[1];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; ++i) {
+                boolean writer = (i % 4) == 0;
+                futures[i] = executor.submit(() -> {
+                    for (int j = 0; j < iterations; ++j) {
+                        Lock lock = writer ? this.lock.writeLock() : this.lock.readLock();
+                        lock.lock();
+                        try {
+                            if (writer) {
+                                Assert.assertEquals(1, writers.incrementAndGet());
+                                Assert.assertEquals(0, readers.get());
+                                counter[0] += 1;
+                                writers.decrementAndGet();
+                            } else {
+                                readers.incrementAndGet();
+                                Assert.assertEquals(0, writers.get());
+                                readers.decrementAndGet();
+                            }
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            this.lock.readLock().lock();
+            try {
+                Assert.assertEquals(iterations * threads / 4, counter[0]);
+            } finally {
+                this.lock.readLock().unlock();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean tryReadLockAndUnlock(long millis) throws InterruptedException {
+        boolean locked = this.lock.readLock().tryLock(millis, TimeUnit.MILLISECONDS);
+        if (locked) {
+            this.lock.readLock().unlock();
+        }
+        return locked;
+    }
+}
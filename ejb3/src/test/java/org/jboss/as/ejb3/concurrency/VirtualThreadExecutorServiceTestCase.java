@@ -0,0 +1,106 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link VirtualThreadExecutorService}.
+ * Uses platform threads, so that the concurrency limit and lifecycle can be verified regardless of the runtime.
+ */
+public class VirtualThreadExecutorServiceTestCase {
+
+    @Test
+    public void concurrencyLimit() throws Exception {
+        int maxThreads = 2;
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService(Executors.defaultThreadFactory(), maxThreads);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(maxThreads);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 10; ++i) {
+                executor.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                });
+            }
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            VirtualThreadExecutorStatistics statistics = executor.getStatistics();
+            Assert.assertEquals(maxThreads, statistics.getActiveCount());
+            Assert.assertEquals(8, statistics.getQueueSize());
+            release.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(maxThreads, maxRunning.get());
+        Assert.assertEquals(10, executor.getStatistics().getCompletedTaskCount());
+        Assert.assertEquals(0, executor.getStatistics().getActiveCount());
+        Assert.assertEquals(0, executor.getStatistics().getQueueSize());
+    }
+
+    @Test
+    public void submit() throws Exception {
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService(Executors.defaultThreadFactory(), 1);
+        try {
+            Future<String> result = executor.submit(() -> "foo");
+            Assert.assertEquals("foo", result.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void shutdown() throws Exception {
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService(Executors.defaultThreadFactory(), 1);
+        Assert.assertFalse(executor.isShutdown());
+        executor.shutdown();
+        Assert.assertTrue(executor.isShutdown());
+        Assert.assertTrue(executor.isTerminated());
+        Assert.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+    }
+
+    @Test
+    public void shutdownNow() throws Exception {
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService(Executors.defaultThreadFactory(), 1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        executor.execute(() -> {
+            executed.incrementAndGet();
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        // Waits for a permit
+        executor.execute(executed::incrementAndGet);
+        List<Runnable> tasks = executor.shutdownNow();
+        Assert.assertEquals(2, tasks.size());
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, executed.get());
+    }
+}
@@ -144,6 +144,11 @@ public class EJB3TransformersTestCase extends AbstractSubsystemTest {
         PathAddress subsystemAddress = PathAddress.pathAddress(EJB3Extension.SUBSYSTEM_PATH);
 
         // need to include all changes from current to 9.0.0
+        if (EJB3Model.VERSION_11_0_0.requiresTransformation(version)) {
+            // Reject striped attribute of /subsystem=ejb3/strict-max-bean-instance-pool resource
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "mdb-strict-max-pool"), new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.STRIPED));
+        }
+
         if (EJB3Model.VERSION_10_0_0.requiresTransformation(version)) {
             // Reject /subsystem=ejb3/simple-cache resource
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.SIMPLE_CACHE_PATH), FailedOperationTransformationConfig.REJECTED_RESOURCE);
@@ -20,6 +20,7 @@ import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.junit.Test;
 import org.wildfly.clustering.ejb.timer.TimerManagementProvider;
@@ -39,11 +40,12 @@ import org.wildfly.clustering.singleton.service.ServiceTargetFactory;
 
 public class Ejb3SubsystemUnitTestCase extends AbstractSubsystemBaseTest {
 
-    private static final AdditionalInitialization ADDITIONAL_INITIALIZATION = AdditionalInitialization.withCapabilities(
+    private static final String[] CAPABILITIES = new String[] {
             RuntimeCapability.resolveCapabilityName(TimerManagementProvider.SERVICE_DESCRIPTOR, "transient"),
             RuntimeCapability.resolveCapabilityName(TimerManagementProvider.SERVICE_DESCRIPTOR, "persistent"),
             ServiceTargetFactory.DEFAULT_SERVICE_DESCRIPTOR.getName()
-            );
+    };
+    private static final AdditionalInitialization ADDITIONAL_INITIALIZATION = AdditionalInitialization.withCapabilities(CAPABILITIES);
 
     public Ejb3SubsystemUnitTestCase() {
         super(EJB3Extension.SUBSYSTEM_NAME, new EJB3Extension());
@@ -68,7 +70,7 @@ public class Ejb3SubsystemUnitTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-ejb3_11_0.xsd";
+        return "schema/wildfly-ejb3_12_0.xsd";
     }
 
     @Test
@@ -76,6 +78,26 @@ public class Ejb3SubsystemUnitTestCase extends AbstractSubsystemBaseTest {
         standardSubsystemTest("subsystem15.xml", false);
     }
 
+    @Test
+    public void testRecordPinnedVirtualThreads() throws Exception {
+        PathAddress async = PathAddress.pathAddress("subsystem", "ejb3").append("service", "async");
+        PathAddress timerService = PathAddress.pathAddress("subsystem", "ejb3").append("service", "timer-service");
+
+        // Only registered at community stability
+        KernelServices ks = createKernelServicesBuilder(ADDITIONAL_INITIALIZATION).setSubsystemXml(getSubsystemXml()).build();
+        assertTrue("Subsystem boot failed!", ks.isSuccessfulBoot());
+        ks.executeForFailure(Util.getWriteAttributeOperation(async, "record-pinned-virtual-threads", true));
+        ks.executeForFailure(Util.getWriteAttributeOperation(timerService, "record-pinned-virtual-threads", true));
+
+        ks = createKernelServicesBuilder(AdditionalInitialization.withCapabilities(Stability.COMMUNITY, CAPABILITIES)).setSubsystemXml(getSubsystemXml()).build();
+        assertTrue("Subsystem boot failed!", ks.isSuccessfulBoot());
+        for (PathAddress address : Set.of(async, timerService)) {
+            assertFalse(ks.executeForResult(Util.getReadAttributeOperation(address, "record-pinned-virtual-threads")).asBoolean());
+            ks.executeForResult(Util.getWriteAttributeOperation(address, "record-pinned-virtual-threads", true));
+            assertTrue(ks.executeForResult(Util.getReadAttributeOperation(address, "record-pinned-virtual-threads")).asBoolean());
+        }
+    }
+
     /** WFLY-7797 */
     @Test
     public void testPoolSizeAlternatives() throws Exception {
@@ -241,6 +263,7 @@ public class Ejb3SubsystemUnitTestCase extends AbstractSubsystemBaseTest {
 
         final String asyncThreadPoolName = ejb3.get("service", "async", "thread-pool-name").resolve().asString();
         assertEquals("default", asyncThreadPoolName);
+        assertEquals(100, ejb3.get("service", "async", "max-virtual-threads").resolve().asInt());
 
         final String iiopEnableByDefault = ejb3.get("service", "iiop", "enable-by-default").resolve().asString();
         assertEquals("true", iiopEnableByDefault);
@@ -253,9 +276,16 @@ public class Ejb3SubsystemUnitTestCase extends AbstractSubsystemBaseTest {
         assertEquals("default", remote.get("thread-pool-name").resolve().asString());
         assertEquals(20, remote.get("channel-creation-options").asPropertyList().get(0).getValue().get("value").resolve().asInt());
 
+        final ModelNode simpleCache = ejb3.get("simple-cache").asPropertyList().get(0).getValue();
+        assertEquals(1000, simpleCache.get("max-size").resolve().asInt());
+
         final ModelNode timerService = ejb3.get("service", "timer-service");
+        assertEquals("timing-wheel", timerService.get("timeout-scheduler").resolve().asString());
+        assertEquals(50, timerService.get("max-virtual-threads").resolve().asInt());
         final String fileDataStorePath = timerService.get("file-data-store").asPropertyList().get(0).getValue().get("path").resolve().asString();
         assertEquals("timer-service-data", fileDataStorePath);
+        final String fileDataStoreFormat = timerService.get("file-data-store").asPropertyList().get(0).getValue().get("format").resolve().asString();
+        assertEquals("journal", fileDataStoreFormat);
 
         final ModelNode databaseStore = timerService.get("database-data-store").asPropertyList().get(0).getValue();
         assertEquals("java:global/DataSource", databaseStore.get("datasource-jndi-name").resolve().asString());
@@ -263,6 +293,8 @@ public class Ejb3SubsystemUnitTestCase extends AbstractSubsystemBaseTest {
         assertEquals("mypartition", databaseStore.get("partition").resolve().asString());
         assertEquals("true", databaseStore.get("allow-execution").resolve().asString());
         assertEquals("100", databaseStore.get("refresh-interval").resolve().asString());
+        assertEquals("incremental", databaseStore.get("refresh-mode").resolve().asString());
+        assertEquals(30000L, databaseStore.get("refresh-overlap").resolve().asLong());
 
         final ModelNode strictMaxBeanInstancePool = ejb3.get("strict-max-bean-instance-pool").asPropertyList().get(0).getValue();
         assertEquals("from-cpu-count", strictMaxBeanInstancePool.get("derive-size").resolve().asString());
@@ -271,6 +303,7 @@ public class Ejb3SubsystemUnitTestCase extends AbstractSubsystemBaseTest {
 
         final ModelNode strictMaxBeanInstancePool2 = ejb3.get("strict-max-bean-instance-pool").asPropertyList().get(1).getValue();
         assertEquals(20, strictMaxBeanInstancePool2.get("max-pool-size").resolve().asInt());
+        assertTrue(strictMaxBeanInstancePool2.get("striped").resolve().asBoolean());
 
         final ModelNode threadPool = ejb3.get("thread-pool").asPropertyList().get(0).getValue();
         assertEquals(10, threadPool.get("max-threads").resolve().asInt());
@@ -5,18 +5,44 @@
 
 package org.jboss.as.ejb3.timerservice.persistence.database;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
 
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence.TimerChangeListener;
+import org.jboss.as.ejb3.timerservice.TimerState;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 public class DatabaseTimerPersistenceTestCase {
 
-    private DatabaseTimerPersistence object = new DatabaseTimerPersistence(null, null, null, null, "", "part", "nodeA", 1000000, true);
+    private DatabaseTimerPersistence object = new DatabaseTimerPersistence(null, null, null, null, "", "part", "nodeA", 1000000, true, false, 60000L);
     private Field field;
     private Method method;
 
@@ -168,4 +194,243 @@ public class DatabaseTimerPersistenceTestCase {
         Assert.assertEquals("sybase", field.get(object));
     }
 
-}
\ No newline at end of file
+    private static final long REFRESH_OVERLAP = 1000L;
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement loadTimerIds = mock(PreparedStatement.class);
+    private final PreparedStatement loadChangedTimers = mock(PreparedStatement.class);
+    private final PreparedStatement loadDeletedTimers = mock(PreparedStatement.class);
+
+    private DatabaseTimerPersistence createPersistence(boolean incrementalRefresh) throws Exception {
+        return this.createPersistence(1000000, incrementalRefresh);
+    }
+
+    private DatabaseTimerPersistence createPersistence(int refreshInterval, boolean incrementalRefresh) throws Exception {
+        DatabaseTimerPersistence persistence = new DatabaseTimerPersistence(null, null, null, null, "h2", "part", "nodeA", refreshInterval, true, incrementalRefresh, REFRESH_OVERLAP);
+        Properties sql = new Properties();
+        sql.setProperty("load-timer-ids", "load-timer-ids");
+        sql.setProperty("load-changed-timers", "load-changed-timers");
+        sql.setProperty("load-deleted-timers", "load-deleted-timers");
+        sql.setProperty("update-timer", "update-timer");
+        sql.setProperty("update-timer-tracked", "update-timer-tracked");
+        sql.setProperty("update-running", "update-running");
+        sql.setProperty("update-running-tracked", "update-running-tracked");
+        sql.setProperty("purge-deleted-timers", "purge-deleted-timers");
+        setField(persistence, "sql", sql);
+        setField(persistence, "dataSource", this.dataSource);
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.prepareStatement("load-timer-ids")).thenReturn(this.loadTimerIds);
+        when(this.connection.prepareStatement("load-changed-timers")).thenReturn(this.loadChangedTimers);
+        when(this.connection.prepareStatement("load-deleted-timers")).thenReturn(this.loadDeletedTimers);
+        when(this.loadTimerIds.executeQuery()).thenReturn(mock(ResultSet.class));
+        when(this.loadChangedTimers.executeQuery()).thenReturn(mock(ResultSet.class));
+        when(this.loadDeletedTimers.executeQuery()).thenReturn(mock(ResultSet.class));
+        return persistence;
+    }
+
+    @Test
+    public void incrementalRefreshHighWaterMark() throws Exception {
+        DatabaseTimerPersistence persistence = this.createPersistence(true);
+        persistence.timerDeployed("A");
+
+        // Rows are not ordered by modification time
+        ResultSet changed = mock(ResultSet.class);
+        when(changed.next()).thenReturn(true, true, false);
+        when(changed.getString(1)).thenReturn("t1", "t2");
+        when(changed.getString(2)).thenReturn("A");
+        when(changed.getTimestamp("LAST_MODIFIED")).thenReturn(new Timestamp(2000000L), new Timestamp(1000000L));
+        ResultSet unchanged = mock(ResultSet.class);
+        when(this.loadChangedTimers.executeQuery()).thenReturn(changed, unchanged);
+
+        // First refresh loads all timers of the partition
+        persistence.new RefreshTask().run();
+        verify(this.loadChangedTimers).setString(1, "part");
+        verify(this.loadChangedTimers).setTimestamp(2, new Timestamp(0L));
+        Assert.assertEquals(new Timestamp(2000000L), getField(persistence, "highWaterMark"));
+
+        // Subsequent refresh re-reads the overlap preceding the high-water mark, which is retained if nothing changed
+        persistence.new RefreshTask().run();
+        verify(this.loadChangedTimers).setTimestamp(2, new Timestamp(2000000L - REFRESH_OVERLAP));
+        Assert.assertEquals(new Timestamp(2000000L), getField(persistence, "highWaterMark"));
+    }
+
+    @Test
+    public void incrementalRefreshDetectsDeletedTimers() throws Exception {
+        DatabaseTimerPersistence persistence = this.createPersistence(true);
+        persistence.timerDeployed("A");
+        Map<String, Set<String>> knownTimerIds = getField(persistence, "knownTimerIds");
+        Set<String> ids = knownTimerIds.get("A");
+        ids.add("t1");
+        ids.add("t2");
+        ids.add("t3");
+
+        TimerChangeListener listener = mock(TimerChangeListener.class);
+        TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+        TimerImpl timer = mock(TimerImpl.class);
+        when(listener.getTimerService()).thenReturn(timerService);
+        when(timerService.getTimer("t2")).thenReturn(timer);
+        when(timerService.getTimer("t3")).thenReturn(timer);
+        when(timer.getState()).thenReturn(TimerState.ACTIVE);
+        persistence.registerChangeListener("A", listener);
+
+        // First refresh compares the known timers against all timer ids of the partition, of which t2 is missing
+        ResultSet remaining = mock(ResultSet.class);
+        when(remaining.next()).thenReturn(true, true, false);
+        when(remaining.getString(1)).thenReturn("A");
+        when(remaining.getString(2)).thenReturn("t1", "t3");
+        when(this.loadTimerIds.executeQuery()).thenReturn(remaining);
+
+        // Subsequent refresh only detects t3 via the records of deleted timers
+        ResultSet deleted = mock(ResultSet.class);
+        when(deleted.next()).thenReturn(true, false);
+        when(deleted.getString(1)).thenReturn("A");
+        when(deleted.getString(2)).thenReturn("t3");
+        when(deleted.getTimestamp(3)).thenReturn(new Timestamp(3000000L));
+        when(this.loadDeletedTimers.executeQuery()).thenReturn(mock(ResultSet.class), deleted);
+
+        persistence.new RefreshTask().run();
+
+        verify(this.loadTimerIds).setString(1, "part");
+        verify(listener).timerRemoved("t2");
+        verify(listener, never()).timerRemoved("t3");
+        Assert.assertEquals(Set.of("t1", "t3"), ids);
+
+        persistence.new RefreshTask().run();
+
+        verify(this.loadTimerIds, times(1)).executeQuery();
+        verify(this.loadDeletedTimers, times(2)).setTimestamp(2, new Timestamp(0L));
+        verify(listener).timerRemoved("t3");
+        verify(listener, never()).timerRemoved("t1");
+        Assert.assertEquals(Set.of("t1"), ids);
+        Assert.assertEquals(new Timestamp(3000000L), getField(persistence, "deletedHighWaterMark"));
+    }
+
+    @Test
+    public void incrementalRefreshTracksModifications() throws Exception {
+        DatabaseTimerPersistence persistence = this.createPersistence(true);
+
+        persistence.checkModificationTracking();
+
+        // Schema changes are left to the create table statements, or to a manual migration
+        verify(this.connection, never()).createStatement();
+        Assert.assertTrue(getField(persistence, "incrementalRefresh"));
+        Assert.assertTrue(getField(persistence, "tracked"));
+        Properties sql = getField(persistence, "sql");
+        Assert.assertEquals("update-timer-tracked", sql.getProperty("update-timer"));
+        Assert.assertEquals("update-running-tracked", sql.getProperty("update-running"));
+    }
+
+    @Test
+    public void incrementalRefreshFallsBackToFullRefresh() throws Exception {
+        DatabaseTimerPersistence persistence = this.createPersistence(true);
+        when(this.loadChangedTimers.executeQuery()).thenThrow(new SQLException());
+
+        persistence.checkModificationTracking();
+
+        verify(this.connection, never()).createStatement();
+        Assert.assertFalse(getField(persistence, "incrementalRefresh"));
+        Assert.assertFalse(getField(persistence, "tracked"));
+        Properties sql = getField(persistence, "sql");
+        Assert.assertEquals("update-timer", sql.getProperty("update-timer"));
+        Assert.assertEquals("update-running", sql.getProperty("update-running"));
+
+        // Falls back to loading the timers of each timed object
+        persistence.new RefreshTask().run();
+        verify(this.connection, never()).prepareStatement("load-timer-ids");
+    }
+
+    @Test
+    public void incrementalRefreshRequiresDeletedTimersTable() throws Exception {
+        DatabaseTimerPersistence persistence = this.createPersistence(true);
+        when(this.loadDeletedTimers.executeQuery()).thenThrow(new SQLException());
+
+        persistence.checkModificationTracking();
+
+        Assert.assertFalse(getField(persistence, "incrementalRefresh"));
+        Assert.assertFalse(getField(persistence, "tracked"));
+        Properties sql = getField(persistence, "sql");
+        Assert.assertEquals("update-timer", sql.getProperty("update-timer"));
+    }
+
+    @Test
+    public void fullRefreshTracksExistingLastModifiedColumn() throws Exception {
+        DatabaseTimerPersistence persistence = this.createPersistence(false);
+
+        persistence.checkModificationTracking();
+
+        // Updates and deletes of this node must be visible to other nodes using incremental refresh
+        Assert.assertTrue(getField(persistence, "tracked"));
+        Properties sql = getField(persistence, "sql");
+        Assert.assertEquals("update-timer-tracked", sql.getProperty("update-timer"));
+        Assert.assertEquals("update-running-tracked", sql.getProperty("update-running"));
+    }
+
+    @Test
+    public void fullRefreshIgnoresMissingLastModifiedColumn() throws Exception {
+        DatabaseTimerPersistence persistence = this.createPersistence(false);
+        when(this.loadChangedTimers.executeQuery()).thenThrow(new SQLException());
+
+        persistence.checkModificationTracking();
+
+        verify(this.connection, never()).createStatement();
+        Assert.assertFalse(getField(persistence, "tracked"));
+        Properties sql = getField(persistence, "sql");
+        Assert.assertEquals("update-timer", sql.getProperty("update-timer"));
+        Assert.assertEquals("update-running", sql.getProperty("update-running"));
+    }
+
+    @Test
+    public void purgeDeletedTimersWithoutRefresh() throws Exception {
+        DatabaseTimerPersistence persistence = this.createPersistence(-1, false);
+        PreparedStatement purgeDeletedTimers = mock(PreparedStatement.class);
+        when(this.connection.prepareStatement("purge-deleted-timers")).thenReturn(purgeDeletedTimers);
+        Timer timer = mock(Timer.class);
+
+        persistence.checkModificationTracking();
+        persistence.scheduleTasks(timer);
+
+        // Deleted timers are recorded, so their records must be purged even though refresh is disabled
+        Assert.assertTrue(getField(persistence, "tracked"));
+        ArgumentCaptor<TimerTask> task = ArgumentCaptor.forClass(TimerTask.class);
+        long purgeInterval = TimeUnit.HOURS.toMillis(1);
+        verify(timer).schedule(task.capture(), eq(purgeInterval), eq(purgeInterval));
+        verify(timer, never()).schedule(any(DatabaseTimerPersistence.RefreshTask.class), anyLong(), anyLong());
+
+        long start = System.currentTimeMillis();
+        task.getValue().run();
+
+        ArgumentCaptor<Timestamp> expiration = ArgumentCaptor.forClass(Timestamp.class);
+        verify(purgeDeletedTimers).setString(1, "part");
+        verify(purgeDeletedTimers).setTimestamp(eq(2), expiration.capture());
+        verify(purgeDeletedTimers).executeUpdate();
+        Assert.assertTrue(expiration.getValue().getTime() <= System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1));
+        Assert.assertTrue(expiration.getValue().getTime() >= start - TimeUnit.DAYS.toMillis(1));
+    }
+
+    @Test
+    public void untrackedTimersAreNotPurged() throws Exception {
+        DatabaseTimerPersistence persistence = this.createPersistence(-1, false);
+        when(this.loadChangedTimers.executeQuery()).thenThrow(new SQLException());
+        Timer timer = mock(Timer.class);
+
+        persistence.checkModificationTracking();
+        persistence.scheduleTasks(timer);
+
+        Assert.assertFalse(getField(persistence, "tracked"));
+        verify(timer, never()).schedule(any(TimerTask.class), anyLong(), anyLong());
+    }
+
+    private static void setField(Object object, String name, Object value) throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(object, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T getField(Object object, String name) throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return (T) field.get(object);
+    }
+}
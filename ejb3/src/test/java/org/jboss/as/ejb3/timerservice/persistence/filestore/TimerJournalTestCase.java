@@ -0,0 +1,261 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private static final long SEGMENT_SIZE = 4096L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replay() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            journal.sync(journal.put("bean", "1", payload("a")));
+            journal.sync(journal.put("bean", "2", payload("b")));
+            journal.sync(journal.put("bean", "1", payload("c")));
+            journal.sync(journal.put("other", "3", payload("d")));
+            journal.sync(journal.remove("other", "3"));
+            // Removal of an unknown timer is a no-op
+            journal.sync(journal.remove("other", "4"));
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            Map<String, byte[]> timers = journal.getTimers("bean");
+            assertEquals(2, timers.size());
+            assertArrayEquals(payload("c"), timers.get("1"));
+            assertArrayEquals(payload("b"), timers.get("2"));
+            assertTrue(journal.getTimers("other").isEmpty());
+            assertFalse(journal.contains("other", "3"));
+        }
+    }
+
+    @Test
+    public void truncateTornRecord() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            journal.sync(journal.put("bean", "1", payload("a")));
+            journal.sync(journal.put("bean", "2", payload("b")));
+        }
+        File segment = lastSegment(directory);
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            // Simulate a crash while appending the last record
+            file.setLength(file.length() - 1);
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            assertTrue(journal.contains("bean", "1"));
+            assertFalse(journal.contains("bean", "2"));
+            // Subsequent appends must survive another replay
+            journal.sync(journal.put("bean", "3", payload("c")));
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            assertTrue(journal.contains("bean", "1"));
+            assertFalse(journal.contains("bean", "2"));
+            assertTrue(journal.contains("bean", "3"));
+        }
+    }
+
+    @Test
+    public void truncateCorruptRecord() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            journal.sync(journal.put("bean", "1", payload("a")));
+            journal.sync(journal.put("bean", "2", payload("b")));
+        }
+        File segment = lastSegment(directory);
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            // Flip the last byte of the payload of the last record
+            file.seek(file.length() - 1);
+            int value = file.read();
+            file.seek(file.length() - 1);
+            file.write(~value);
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            assertArrayEquals(payload("a"), journal.getTimers("bean").get("1"));
+            assertFalse(journal.contains("bean", "2"));
+        }
+    }
+
+    @Test
+    public void compact() throws IOException {
+        File directory = this.folder.newFolder();
+        byte[] payload = new byte[256];
+        // Compact synchronously
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE, Runnable::run)) {
+            journal.sync(journal.put("bean", "live", payload("live")));
+            // Repeatedly update a single timer, such that most records become obsolete
+            for (int i = 0; i < 1000; ++i) {
+                journal.sync(journal.put("bean", "updated", payload));
+                journal.sync(journal.put("bean", "removed", payload));
+                journal.sync(journal.remove("bean", "removed"));
+            }
+            long size = 0L;
+            for (File segment : segments(directory)) {
+                size += segment.length();
+            }
+            // Without compaction, the journal would exceed 500KB
+            assertTrue(Long.toString(size), size < 4 * SEGMENT_SIZE);
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            Map<String, byte[]> timers = journal.getTimers("bean");
+            assertEquals(2, timers.size());
+            assertArrayEquals(payload("live"), timers.get("live"));
+            assertArrayEquals(payload, timers.get("updated"));
+        }
+    }
+
+    @Test
+    public void compactConcurrently() throws IOException {
+        File directory = this.folder.newFolder();
+        List<Runnable> compactions = new ArrayList<>();
+        byte[] payload = new byte[256];
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE, compactions::add)) {
+            journal.sync(journal.put("bean", "live", payload("live")));
+            journal.sync(journal.put("bean", "removed", payload("removed")));
+            while (compactions.isEmpty()) {
+                journal.sync(journal.put("bean", "updated", payload));
+            }
+            // Appends proceed while the compaction is pending
+            journal.sync(journal.put("bean", "updated", payload("updated")));
+            journal.sync(journal.remove("bean", "removed"));
+            journal.sync(journal.put("bean", "added", payload("added")));
+
+            File crashed = this.folder.newFolder();
+            for (File segment : segments(directory)) {
+                Files.copy(segment.toPath(), new File(crashed, segment.getName()).toPath());
+            }
+            compactions.get(0).run();
+            assertEquals(1, compactions.size());
+
+            // Simulate a crash after the snapshot replaced the sealed segment, but before previous segments were deleted
+            for (File segment : segments(crashed)) {
+                File target = new File(directory, segment.getName());
+                if (!target.exists()) {
+                    Files.copy(segment.toPath(), target.toPath());
+                }
+            }
+
+            // Simulate a crash before the compaction completed, leaving a partial snapshot
+            Files.write(new File(crashed, TimerJournal.SEGMENT_PREFIX + "0" + TimerJournal.SNAPSHOT_SUFFIX).toPath(), payload("partial"));
+            try (TimerJournal recovered = new TimerJournal(crashed, SEGMENT_SIZE, Runnable::run)) {
+                assertJournal(recovered);
+            }
+            assertEquals(0, crashed.listFiles((dir, name) -> name.endsWith(TimerJournal.SNAPSHOT_SUFFIX)).length);
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE, Runnable::run)) {
+            assertJournal(journal);
+        }
+    }
+
+    private static void assertJournal(TimerJournal journal) {
+        Map<String, byte[]> timers = journal.getTimers("bean");
+        assertEquals(3, timers.size());
+        assertArrayEquals(payload("live"), timers.get("live"));
+        assertArrayEquals(payload("updated"), timers.get("updated"));
+        assertArrayEquals(payload("added"), timers.get("added"));
+        assertFalse(journal.contains("bean", "removed"));
+    }
+
+    @Test
+    public void importFiles() throws IOException {
+        File journalDirectory = this.folder.newFolder();
+        File timerDirectory = this.folder.newFolder();
+        File valid = timerFile(timerDirectory, "1", "a");
+        File corrupt = timerFile(timerDirectory, "2", "<timers><timer");
+        File unmarshallable = timerFile(timerDirectory, "3", "unmarshallable");
+        File deleted = timerFile(timerDirectory, "4", "");
+        File other = new File(timerDirectory, LegacyFileStore.MIGRATION_MARKER);
+        Files.write(other.toPath(), payload(""));
+        TimerJournal.TimerFileReader reader = file -> {
+            String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            if (content.startsWith("<")) {
+                throw new IOException("Unexpected end of document");
+            }
+            if (content.equals("unmarshallable")) {
+                throw new IOException("Timer info is not serializable");
+            }
+            // An empty file contains no live timers
+            return content.isEmpty() ? Collections.emptyMap() : Collections.singletonMap(file.getName().substring(0, file.getName().indexOf('.')), payload(content));
+        };
+        try (TimerJournal journal = new TimerJournal(journalDirectory, SEGMENT_SIZE)) {
+            List<File> retained = journal.importFiles("bean", timerDirectory, file -> file.getName().endsWith(".xml"), reader);
+            assertEquals(2, retained.size());
+            assertTrue(retained.contains(corrupt));
+            assertTrue(retained.contains(unmarshallable));
+        }
+        // Files are only deleted once their timers were imported
+        assertFalse(valid.exists());
+        assertFalse(deleted.exists());
+        assertTrue(corrupt.exists());
+        assertTrue(unmarshallable.exists());
+        assertTrue(other.exists());
+        try (TimerJournal journal = new TimerJournal(journalDirectory, SEGMENT_SIZE)) {
+            Map<String, byte[]> timers = journal.getTimers("bean");
+            assertEquals(1, timers.size());
+            assertArrayEquals(payload("a"), timers.get("1"));
+
+            // Retained files are imported once they become readable
+            Files.write(unmarshallable.toPath(), payload("b"));
+            List<File> retained = journal.importFiles("bean", timerDirectory, file -> file.getName().endsWith(".xml"), reader);
+            assertEquals(Collections.singletonList(corrupt), retained);
+            assertFalse(unmarshallable.exists());
+        }
+        try (TimerJournal journal = new TimerJournal(journalDirectory, SEGMENT_SIZE)) {
+            assertArrayEquals(payload("b"), journal.getTimers("bean").get("3"));
+        }
+    }
+
+    private static File timerFile(File directory, String id, String content) throws IOException {
+        File file = new File(directory, id + ".xml");
+        Files.write(file.toPath(), payload(content));
+        return file;
+    }
+
+    private static byte[] payload(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static File[] segments(File directory) {
+        return directory.listFiles((dir, name) -> name.startsWith(TimerJournal.SEGMENT_PREFIX) && name.endsWith(TimerJournal.SEGMENT_SUFFIX));
+    }
+
+    private static File lastSegment(File directory) {
+        File result = null;
+        long last = -1L;
+        for (File segment : segments(directory)) {
+            String name = segment.getName();
+            long sequence = Long.parseLong(name.substring(TimerJournal.SEGMENT_PREFIX.length(), name.length() - TimerJournal.SEGMENT_SUFFIX.length()));
+            // Skip the empty segment started on open
+            if ((sequence > last) && (segment.length() > 5)) {
+                last = sequence;
+                result = segment;
+            }
+        }
+        return result;
+    }
+}
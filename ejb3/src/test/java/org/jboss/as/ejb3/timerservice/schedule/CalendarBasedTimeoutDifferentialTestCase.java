@@ -0,0 +1,170 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.schedule;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TimeZone;
+
+import jakarta.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfMonth;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfWeek;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Hour;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Minute;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Month;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Second;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Year;
+import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleExpressionType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Verifies that {@link CalendarBasedTimeout} computes the same timeouts as the original {@link Calendar} based implementation,
+ * i.e. {@link ReferenceCalendarBasedTimeout}, for randomly generated schedules.
+ * The reference implementation can miss the correct date when advancing to the next month or year, in which case its result does not match the schedule,
+ * and can skip the first occurrence of a local time repeated at the end of daylight saving time.
+ * Such divergent results are accepted, provided that the result of {@link CalendarBasedTimeout} matches the schedule.
+ */
+public class CalendarBasedTimeoutDifferentialTestCase {
+
+    private static final String[] SECONDS = { "*", "0", "0, 30", "*/15", "10-20", "5/7", "58-3" };
+    private static final String[] MINUTES = { "*", "0", "15, 45", "*/10", "30-35", "59", "50-5" };
+    private static final String[] HOURS = { "*", "0", "3", "1-5", "*/6", "12, 18", "22-2", "23" };
+    private static final String[] DAYS_OF_MONTH = { "*", "1", "15", "29", "31", "10-20", "28-3", "Last", "-3", "1st Mon", "Last Fri", "3rd Sun", "5th Wed", "2nd Tue-Last", "-7-Last", "1, Last" };
+    private static final String[] DAYS_OF_WEEK = { "*", "0", "Mon", "Mon-Fri", "Sat, Sun", "7", "Fri-Mon", "Wed" };
+    private static final String[] MONTHS = { "*", "1", "Feb", "Jun-Aug", "Nov-Feb", "2, 4", "Dec" };
+    private static final String[] YEARS = { "*", "*", "*", "2025, 2028", "2024-2030", "2040" };
+    private static final String[] TIMEZONES = { "UTC", "Europe/Prague", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata" };
+
+    // 2020-01-01T00:00:00Z
+    private static final long MIN_TIME = 1577836800000L;
+    // 2030-01-01T00:00:00Z
+    private static final long MAX_TIME = 1893456000000L;
+
+    private static final int SCHEDULES = 2000;
+    private static final int TIMEOUTS = 20;
+
+    @Test
+    public void nextTimeout() {
+        Random random = new Random(0);
+        for (int i = 0; i < SCHEDULES; ++i) {
+            ScheduleExpression schedule = randomSchedule(random);
+            CalendarBasedTimeout timeout = new CalendarBasedTimeout(copy(schedule));
+            ReferenceCalendarBasedTimeout reference = new ReferenceCalendarBasedTimeout(copy(schedule));
+
+            Calendar current = new GregorianCalendar(TimeZone.getTimeZone(schedule.getTimezone()));
+            current.setTimeInMillis(MIN_TIME + (long) (random.nextDouble() * (MAX_TIME - MIN_TIME)));
+            for (int j = 0; j < TIMEOUTS; ++j) {
+                Calendar expected = reference.getNextTimeout(current);
+                Calendar actual = timeout.getNextTimeout(current);
+                String message = describe(schedule, current);
+                if (expected == null) {
+                    Assert.assertNull(message, actual);
+                    break;
+                }
+                Assert.assertNotNull(message, actual);
+                assertTimeout(schedule, message, expected, actual);
+                current = actual;
+            }
+        }
+    }
+
+    @Test
+    public void firstTimeout() {
+        Random random = new Random(1);
+        for (int i = 0; i < SCHEDULES; ++i) {
+            ScheduleExpression schedule = randomSchedule(random);
+            schedule.start(new Date(MIN_TIME + (long) (random.nextDouble() * (MAX_TIME - MIN_TIME))));
+            if (random.nextBoolean()) {
+                schedule.end(new Date(schedule.getStart().getTime() + (long) (random.nextDouble() * 400L * 24 * 60 * 60 * 1000)));
+            }
+            Calendar expected = new ReferenceCalendarBasedTimeout(copy(schedule)).getFirstTimeout();
+            Calendar actual = new CalendarBasedTimeout(copy(schedule)).getFirstTimeout();
+            String message = describe(schedule, null);
+            if (expected == null) {
+                Assert.assertNull(message, actual);
+            } else {
+                Assert.assertNotNull(message, actual);
+                assertTimeout(schedule, message, expected, actual);
+            }
+        }
+    }
+
+    private static void assertTimeout(ScheduleExpression schedule, String message, Calendar expected, Calendar actual) {
+        if (!expected.getTime().equals(actual.getTime())) {
+            Assert.assertTrue(message + ", actual=" + actual.toInstant(), matches(schedule, actual));
+            // A later timeout is only acceptable if the expected timeout was incorrect
+            if (actual.after(expected)) {
+                Assert.assertFalse(message + ", expected=" + expected.toInstant(), matches(schedule, expected));
+            }
+        }
+    }
+
+    /**
+     * Determines whether the specified time matches the specified schedule, using the attributes of the schedule to evaluate each field independently.
+     */
+    private static boolean matches(ScheduleExpression schedule, Calendar time) {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(schedule.getTimezone()));
+        calendar.setTime(time.getTime());
+        DayOfMonth dayOfMonth = new DayOfMonth(schedule.getDayOfMonth());
+        DayOfWeek dayOfWeek = new DayOfWeek(schedule.getDayOfWeek());
+        boolean dayOfMonthMatches = Objects.equals(dayOfMonth.getNextMatch(calendar), calendar.get(Calendar.DAY_OF_MONTH));
+        boolean dayOfWeekMatches = Objects.equals(dayOfWeek.getNextMatch(calendar), calendar.get(Calendar.DAY_OF_WEEK));
+        boolean dayMatches;
+        if (dayOfMonth.getType() == ScheduleExpressionType.WILDCARD) {
+            dayMatches = dayOfWeekMatches;
+        } else if (dayOfWeek.getType() == ScheduleExpressionType.WILDCARD) {
+            dayMatches = dayOfMonthMatches;
+        } else {
+            dayMatches = dayOfMonthMatches || dayOfWeekMatches;
+        }
+        return dayMatches
+                && Objects.equals(new Second(schedule.getSecond()).getNextMatch(calendar.get(Calendar.SECOND)), calendar.get(Calendar.SECOND))
+                && Objects.equals(new Minute(schedule.getMinute()).getNextMatch(calendar.get(Calendar.MINUTE)), calendar.get(Calendar.MINUTE))
+                && Objects.equals(new Hour(schedule.getHour()).getNextMatch(calendar.get(Calendar.HOUR_OF_DAY)), calendar.get(Calendar.HOUR_OF_DAY))
+                && Objects.equals(new Month(schedule.getMonth()).getNextMatch(calendar), calendar.get(Calendar.MONTH))
+                && Objects.equals(new Year(schedule.getYear()).getNextMatch(calendar), calendar.get(Calendar.YEAR));
+    }
+
+    private static ScheduleExpression randomSchedule(Random random) {
+        return new ScheduleExpression()
+                .second(select(random, SECONDS))
+                .minute(select(random, MINUTES))
+                .hour(select(random, HOURS))
+                .dayOfMonth(select(random, DAYS_OF_MONTH))
+                .dayOfWeek(select(random, DAYS_OF_WEEK))
+                .month(select(random, MONTHS))
+                .year(select(random, YEARS))
+                .timezone(select(random, TIMEZONES));
+    }
+
+    private static String select(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static ScheduleExpression copy(ScheduleExpression schedule) {
+        return new ScheduleExpression()
+                .second(schedule.getSecond())
+                .minute(schedule.getMinute())
+                .hour(schedule.getHour())
+                .dayOfMonth(schedule.getDayOfMonth())
+                .dayOfWeek(schedule.getDayOfWeek())
+                .month(schedule.getMonth())
+                .year(schedule.getYear())
+                .timezone(schedule.getTimezone())
+                .start(schedule.getStart())
+                .end(schedule.getEnd());
+    }
+
+    private static String describe(ScheduleExpression schedule, Calendar current) {
+        return String.format("second=%s, minute=%s, hour=%s, dayOfMonth=%s, dayOfWeek=%s, month=%s, year=%s, timezone=%s, start=%s, end=%s, current=%s",
+                schedule.getSecond(), schedule.getMinute(), schedule.getHour(), schedule.getDayOfMonth(), schedule.getDayOfWeek(), schedule.getMonth(), schedule.getYear(), schedule.getTimezone(),
+                (schedule.getStart() != null) ? schedule.getStart().toInstant() : null, (schedule.getEnd() != null) ? schedule.getEnd().toInstant() : null, (current != null) ? current.toInstant() : null);
+    }
+}
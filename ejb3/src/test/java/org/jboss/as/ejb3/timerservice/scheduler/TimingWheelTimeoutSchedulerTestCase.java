@@ -0,0 +1,132 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheelTimeoutScheduler}.
+ */
+public class TimingWheelTimeoutSchedulerTestCase {
+
+    private final TimingWheelTimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(task -> {
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Before
+    public void start() {
+        this.scheduler.start();
+    }
+
+    @After
+    public void stop() {
+        this.scheduler.stop();
+    }
+
+    @Test
+    public void schedule() throws InterruptedException {
+        int count = 10000;
+        Random random = new Random();
+        CountDownLatch latch = new CountDownLatch(count);
+        AtomicInteger early = new AtomicInteger();
+        for (int i = 0; i < count; ++i) {
+            long delay = random.nextInt(2000);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+            this.scheduler.schedule(() -> {
+                // Allow for truncation of the current tick
+                if (System.nanoTime() < deadline - TimeUnit.MILLISECONDS.toNanos(1)) {
+                    early.incrementAndGet();
+                }
+                latch.countDown();
+            }, delay);
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(0, early.get());
+
+        TimeoutSchedulerStatistics statistics = this.scheduler.getStatistics();
+        assertEquals(0L, statistics.getScheduledCount());
+        assertEquals(count, statistics.getExpiredCount());
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        ScheduledTimeout timeout = this.scheduler.schedule(executions::incrementAndGet, 100);
+        assertEquals(1L, this.scheduler.getStatistics().getScheduledCount());
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0L, this.scheduler.getStatistics().getScheduledCount());
+
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(0, executions.get());
+
+        // A single action task cannot be cancelled once executed
+        CountDownLatch latch = new CountDownLatch(1);
+        ScheduledTimeout executed = this.scheduler.schedule(latch::countDown, 0);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertFalse(executed.cancel());
+    }
+
+    @Test
+    public void scheduleAtFixedRate() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(10);
+        ScheduledTimeout timeout = this.scheduler.scheduleAtFixedRate(latch::countDown, 0, 10);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.cancel());
+
+        AtomicInteger executions = new AtomicInteger();
+        timeout = this.scheduler.scheduleAtFixedRate(executions::incrementAndGet, 0, 5);
+        TimeUnit.MILLISECONDS.sleep(100);
+        timeout.cancel();
+        // Allow any in-flight execution to complete
+        TimeUnit.MILLISECONDS.sleep(20);
+        int count = executions.get();
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertEquals(count, executions.get());
+        assertEquals(0L, this.scheduler.getStatistics().getScheduledCount());
+    }
+
+    @Test
+    public void earlierDeadlineWakesWorker() throws InterruptedException {
+        // Worker will plan to sleep until this deadline
+        this.scheduler.schedule(() -> { }, TimeUnit.MINUTES.toMillis(1));
+        TimeUnit.MILLISECONDS.sleep(10);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicLong executed = new AtomicLong();
+        long start = System.nanoTime();
+        this.scheduler.schedule(() -> {
+            executed.set(System.nanoTime());
+            latch.countDown();
+        }, 50);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(executed.get() - start >= TimeUnit.MILLISECONDS.toNanos(49));
+        assertEquals(1L, this.scheduler.getStatistics().getScheduledCount());
+    }
+
+    @Test
+    public void failingTask() throws InterruptedException {
+        this.scheduler.schedule(() -> {
+            throw new IllegalStateException();
+        }, 0);
+        CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.schedule(latch::countDown, 10);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -169,6 +169,21 @@ public class InMemoryNamingStore implements WritableNamingStore {
             final Name emptyName = new CompositeName("");
             return new NamingContext(emptyName, this, new Hashtable<String, Object>());
         }
+        // Resolve the common case of an existing node without allocation, via the copy-on-write children of each context
+        final int size = name.size();
+        TreeNode node = root;
+        for (int i = 0; (node != null) && (i < size); ++i) {
+            final String component = name.get(i);
+            if ((i == size - 1) && component.isEmpty()) {
+                // A trailing empty component denotes the node itself
+                break;
+            }
+            node = (node instanceof ContextNode) ? ((ContextNode) node).children.get(component) : null;
+        }
+        if (node != null) {
+            return node.binding.getObject();
+        }
+        // Otherwise, let the visitor resolve continuations or generate the appropriate exception
         return root.accept(new LookupVisitor(name));
     }
 
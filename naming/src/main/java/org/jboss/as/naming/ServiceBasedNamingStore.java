@@ -11,9 +11,12 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -47,6 +50,9 @@ public class ServiceBasedNamingStore implements NamingStore {
     private final ServiceName serviceNameBase;
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
+    // Values of bound services, keyed by the string form of their name, invalidated whenever a service is bound or unbound
+    private final Map<String, Object> resolvedValues = new ConcurrentHashMap<String, Object>();
+    private final AtomicLong generation = new AtomicLong();
 
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
@@ -62,8 +68,27 @@ public class ServiceBasedNamingStore implements NamingStore {
         if (name.isEmpty()) {
             return new NamingContext(EMPTY_NAME, this, null);
         }
+        final String nameString = name.toString();
+        final Object cachedValue = resolvedValues.get(nameString);
+        if (cachedValue != null) {
+            final Object obj = dereference(nameString, cachedValue, dereference);
+            if (obj != null) {
+                return obj;
+            }
+        }
         final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
+        Object obj = null;
+        if (cachedValue == null) {
+            final long generation = this.generation.get();
+            final Object value = resolve(nameString, lookupName);
+            if (value != null) {
+                // Only cache the values of bound services, whose unbinding will invalidate the cache
+                if (boundServices.contains(lookupName)) {
+                    cache(nameString, value, generation);
+                }
+                obj = dereference(nameString, value, dereference);
+            }
+        }
         if (obj == null) {
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
@@ -107,39 +132,65 @@ public class ServiceBasedNamingStore implements NamingStore {
     }
 
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
+        return dereference(name, resolve(name, lookupName), dereference);
+    }
+
+    private Object resolve(final String name, final ServiceName lookupName) throws NamingException {
         try {
             final ServiceController<?> controller = serviceRegistry.getService(lookupName);
-            if (controller != null) {
-                final Object object = controller.getValue();
-                if (dereference && object instanceof ManagedReferenceFactory) {
-                    if(WildFlySecurityManager.isChecking()) {
-                        //WFLY-3487 JNDI lookups should be executed in a clean access control context
-                        return AccessController.doPrivileged(new PrivilegedAction<Object>() {
-                            @Override
-                            public Object run() {
-                                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                                return managedReference != null ? managedReference.getInstance() : null;
-                            }
-                        });
-                    } else {
-                        final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                        return managedReference != null ? managedReference.getInstance() : null;
-                    }
+            return (controller != null) ? controller.getValue() : null;
+        } catch (Throwable t) {
+            throw lookupException(name, t);
+        }
+    }
+
+    private static Object dereference(final String name, final Object object, boolean dereference) throws NamingException {
+        try {
+            if (dereference && object instanceof ManagedReferenceFactory) {
+                if(WildFlySecurityManager.isChecking()) {
+                    //WFLY-3487 JNDI lookups should be executed in a clean access control context
+                    return AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                        @Override
+                        public Object run() {
+                            final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                            return managedReference != null ? managedReference.getInstance() : null;
+                        }
+                    });
                 } else {
-                    return object;
+                    final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                    return managedReference != null ? managedReference.getInstance() : null;
                 }
             } else {
-                return null;
+                return object;
             }
-        } catch (IllegalStateException e) {
-            NameNotFoundException n = new NameNotFoundException(name);
-            n.initCause(e);
-            throw n;
-        } catch (SecurityException ex) {
-            throw ex;
         } catch (Throwable t) {
-            throw NamingLogger.ROOT_LOGGER.lookupError(t, name);
+            throw lookupException(name, t);
+        }
+    }
+
+    private static NamingException lookupException(final String name, final Throwable t) {
+        if (t instanceof IllegalStateException) {
+            NameNotFoundException n = new NameNotFoundException(name);
+            n.initCause(t);
+            return n;
         }
+        if (t instanceof SecurityException) {
+            throw (SecurityException) t;
+        }
+        return NamingLogger.ROOT_LOGGER.lookupError(t, name);
+    }
+
+    private void cache(final String name, final Object value, final long generation) {
+        resolvedValues.put(name, value);
+        // Discard if a service was bound or unbound concurrently
+        if (this.generation.get() != generation) {
+            resolvedValues.remove(name, value);
+        }
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        resolvedValues.clear();
     }
 
     public List<NameClassPair> list(final Name name) throws NamingException {
@@ -240,6 +291,7 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        invalidate();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -254,10 +306,12 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw NamingLogger.ROOT_LOGGER.serviceAlreadyBound(serviceName);
         }
         boundServices.add(serviceName);
+        invalidate();
     }
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        invalidate();
     }
 
     protected ServiceName buildServiceName(final Name name) {
@@ -86,6 +86,24 @@ public class InMemoryNamingStoreTestCase {
         assertTrue(result instanceof ResolveResult);
     }
 
+    @Test
+    public void testNestedLookup() throws Exception {
+        final Object object = new Object();
+        nameStore.bind(new CompositeName("a/b/c"), object, Object.class);
+        assertEquals(object, nameStore.lookup(new CompositeName("a/b/c")));
+        assertEquals(object, nameStore.lookup(new CompositeName("a/b/c/")));
+        assertTrue(nameStore.lookup(new CompositeName("a/b")) instanceof NamingContext);
+        assertTrue(nameStore.lookup(new CompositeName("a/b/")) instanceof NamingContext);
+        try {
+            nameStore.lookup(new CompositeName("a/x/c"));
+            fail("Should have thrown and NameNotFoundException");
+        } catch(NameNotFoundException expected) {}
+        try {
+            nameStore.lookup(new CompositeName("a//b"));
+            fail("Should have thrown and NameNotFoundException");
+        } catch(NameNotFoundException expected) {}
+    }
+
     @Test
     public void testUnbindNotFound() throws Exception {
         try {
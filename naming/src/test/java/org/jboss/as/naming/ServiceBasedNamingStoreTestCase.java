@@ -9,6 +9,7 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.naming.Binding;
 import javax.naming.CompositeName;
 import javax.naming.Context;
@@ -26,6 +27,7 @@ import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -380,6 +382,41 @@ public class ServiceBasedNamingStoreTestCase {
         fail("Child [" + name + "] not found in [" + list + "]");
     }
 
+    @Test
+    public void testLookupCacheInvalidation() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
+        final AtomicReference<Object> value = new AtomicReference<>(new Object());
+        final CountDownLatch latch = new CountDownLatch(1);
+        container.addService(bindingName, new Service<ManagedReferenceFactory>() {
+            public void start(StartContext context) throws StartException {
+                store.add(bindingName);
+                latch.countDown();
+            }
+
+            public void stop(StopContext context) {
+            }
+
+            public ManagedReferenceFactory getValue() throws IllegalStateException, IllegalArgumentException {
+                return new ValueManagedReferenceFactory(value.get());
+            }
+        }).install();
+        latch.await();
+
+        final Object initialValue = value.get();
+        assertSame(initialValue, store.lookup(new CompositeName("foo/bar")));
+
+        // Resolved value is retained until a binding changes
+        value.set(new Object());
+        assertSame(initialValue, store.lookup(new CompositeName("foo/bar")));
+
+        store.add(ServiceName.JBOSS.append("foo", "baz"));
+        assertSame(value.get(), store.lookup(new CompositeName("foo/bar")));
+
+        value.set(new Object());
+        store.remove(ServiceName.JBOSS.append("foo", "baz"));
+        assertSame(value.get(), store.lookup(new CompositeName("foo/bar")));
+    }
+
     private void bindObject(final ServiceName serviceName, final Object value) throws Exception {
         final CountDownLatch latch = new CountDownLatch(1);
         container.addService(serviceName, new Service<ManagedReferenceFactory>() {
@@ -93,6 +93,7 @@ public class AbstractValidationUnitTest {
         EXCLUDED_SCHEMA_FILES.add("jboss-ejb-delivery-active_1_2.xsd");
         EXCLUDED_SCHEMA_FILES.add("jboss-ejb-delivery-active_2_0.xsd");
         EXCLUDED_SCHEMA_FILES.add("jboss-ejb-delivery_3_0.xsd");
+        EXCLUDED_SCHEMA_FILES.add("jboss-ejb-concurrency_1_0.xsd");
         EXCLUDED_SCHEMA_FILES.add("jboss-ejb-clustering_1_1.xsd");
         EXCLUDED_SCHEMA_FILES.add("jboss-ejb-clustering_2_0.xsd");
         EXCLUDED_SCHEMA_FILES.add("jboss-ejb-iiop_1_0.xsd");
@@ -5,6 +5,7 @@
 
 package org.wildfly.extension.undertow;
 
+import static org.jboss.as.controller.client.helpers.MeasurementUnit.BYTES;
 import static org.jboss.as.controller.client.helpers.MeasurementUnit.SECONDS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
@@ -22,6 +23,7 @@ import io.undertow.server.session.Session;
 import io.undertow.server.session.SessionManager;
 import io.undertow.server.session.SessionManagerStatistics;
 import io.undertow.servlet.api.Deployment;
+import io.undertow.servlet.api.DeploymentInfo;
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
@@ -40,8 +42,11 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.undertow.deployment.StaticResourceCache;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.wildfly.extension.undertow.session.SessionAttributeStatistics;
+import org.wildfly.extension.undertow.session.SessionExpirationStatistics;
 
 /**
  * @author Tomaz Cerar
@@ -138,6 +143,9 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         for (SessionStat stat : SessionStat.values()) {
             resourceRegistration.registerMetric(stat.definition, SessionManagerStatsHandler.getInstance());
         }
+        for (StaticResourceStat stat : StaticResourceStat.values()) {
+            resourceRegistration.registerMetric(stat.definition, StaticResourceCacheStatsHandler.INSTANCE);
+        }
     }
 
     @Override
@@ -339,6 +347,27 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
                             result.set((int) sms.getRejectedSessions());
                         }
                         break;
+                    case PENDING_SESSION_EXPIRATIONS:
+                        if (sms instanceof SessionExpirationStatistics) {
+                            result.set((int) ((SessionExpirationStatistics) sms).getPendingExpirationCount());
+                        } else {
+                            result.set(0);
+                        }
+                        break;
+                    case SESSION_AVG_ATTRIBUTE_READS:
+                        if (sms instanceof SessionAttributeStatistics) {
+                            result.set(((SessionAttributeStatistics) sms).getMeanAttributeReads());
+                        } else {
+                            result.set(0d);
+                        }
+                        break;
+                    case SESSION_AVG_ATTRIBUTE_WRITES:
+                        if (sms instanceof SessionAttributeStatistics) {
+                            result.set(((SessionAttributeStatistics) sms).getMeanAttributeWrites());
+                        } else {
+                            result.set(0d);
+                        }
+                        break;
                     case HIGHEST_SESSION_COUNT:
                         if (sms == null) {
                             result.set(0);
@@ -354,6 +383,61 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         }
     }
 
+    static class StaticResourceCacheStatsHandler extends AbstractRuntimeOnlyHandler {
+
+        static final StaticResourceCacheStatsHandler INSTANCE = new StaticResourceCacheStatsHandler();
+
+        private StaticResourceCacheStatsHandler() {
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+
+            final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+
+            final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
+            final ModelNode subModel = web.getModel();
+
+            final String host = VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
+            final String path = CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
+            final String server = SERVER.resolveModelAttribute(context, subModel).asString();
+
+            StaticResourceStat stat = StaticResourceStat.getStat(operation.require(ModelDescriptionConstants.NAME).asString());
+
+            if (stat == null) {
+                context.getFailureDescription().set(UndertowLogger.ROOT_LOGGER.unknownMetric(operation.require(ModelDescriptionConstants.NAME).asString()));
+            } else {
+                final ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.deploymentServiceName(server, host, path));
+                if (controller == null || controller.getState() != ServiceController.State.UP) {//check if deployment is active at all
+                    return;
+                }
+                final UndertowDeploymentService deploymentService = (UndertowDeploymentService) controller.getService();
+                final DeploymentInfo deploymentInfo = (deploymentService != null) ? deploymentService.getDeploymentInfo() : null;
+                final StaticResourceCache cache = (deploymentInfo != null) ? (StaticResourceCache) deploymentInfo.getServletContextAttributes().get(StaticResourceCache.ATTRIBUTE_NAME) : null;
+                if (cache == null) { // static resources are not cached
+                    return;
+                }
+
+                switch (stat) {
+                    case STATIC_RESOURCE_CACHE_HITS:
+                        context.getResult().set(cache.getHitCount());
+                        break;
+                    case STATIC_RESOURCE_CACHE_MISSES:
+                        context.getResult().set(cache.getMissCount());
+                        break;
+                    case STATIC_RESOURCE_CACHE_SIZE:
+                        context.getResult().set(cache.getSize());
+                        break;
+                    case STATIC_RESOURCE_BYTES_SERVED:
+                        context.getResult().set(cache.getBytesServed());
+                        break;
+                    default:
+                        throw new IllegalStateException(UndertowLogger.ROOT_LOGGER.unknownMetric(stat));
+                }
+            }
+        }
+    }
+
     private static SessionManager getSessionManager(OperationContext context, ModelNode operation) throws OperationFailedException {
         final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
         final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
@@ -408,7 +492,13 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         MAX_ACTIVE_SESSIONS(new SimpleAttributeDefinitionBuilder("max-active-sessions", ModelType.INT)
                 .setUndefinedMetricValue(ModelNode.ZERO).setStorageRuntime().build()),
         HIGHEST_SESSION_COUNT(new SimpleAttributeDefinitionBuilder("highest-session-count", ModelType.INT)
-                .setUndefinedMetricValue(ModelNode.ZERO).setStorageRuntime().build());
+                .setUndefinedMetricValue(ModelNode.ZERO).setStorageRuntime().build()),
+        PENDING_SESSION_EXPIRATIONS(new SimpleAttributeDefinitionBuilder("pending-session-expirations", ModelType.INT)
+                .setUndefinedMetricValue(ModelNode.ZERO).setStorageRuntime().build()),
+        SESSION_AVG_ATTRIBUTE_READS(new SimpleAttributeDefinitionBuilder("session-avg-attribute-reads", ModelType.DOUBLE)
+                .setUndefinedMetricValue(new ModelNode(0d)).setStorageRuntime().build()),
+        SESSION_AVG_ATTRIBUTE_WRITES(new SimpleAttributeDefinitionBuilder("session-avg-attribute-writes", ModelType.DOUBLE)
+                .setUndefinedMetricValue(new ModelNode(0d)).setStorageRuntime().build());
 
         private static final Map<String, SessionStat> MAP = new HashMap<>();
 
@@ -434,4 +524,51 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         }
     }
 
+    public enum StaticResourceStat {
+        STATIC_RESOURCE_CACHE_HITS(new SimpleAttributeDefinitionBuilder("static-resource-cache-hits", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build()),
+        STATIC_RESOURCE_CACHE_MISSES(new SimpleAttributeDefinitionBuilder("static-resource-cache-misses", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build()),
+        STATIC_RESOURCE_CACHE_SIZE(new SimpleAttributeDefinitionBuilder("static-resource-cache-size", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(BYTES)
+                .setStorageRuntime()
+                .build()),
+        STATIC_RESOURCE_BYTES_SERVED(new SimpleAttributeDefinitionBuilder("static-resource-bytes-served", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(BYTES)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build());
+
+        private static final Map<String, StaticResourceStat> MAP = new HashMap<>();
+
+        static {
+            for (StaticResourceStat stat : EnumSet.allOf(StaticResourceStat.class)) {
+                MAP.put(stat.toString(), stat);
+            }
+        }
+
+        final AttributeDefinition definition;
+
+        StaticResourceStat(final AttributeDefinition definition) {
+            this.definition = definition;
+        }
+
+        @Override
+        public final String toString() {
+            return definition.getName();
+        }
+
+        public static StaticResourceStat getStat(final String stringForm) {
+            return MAP.get(stringForm);
+        }
+    }
+
 }
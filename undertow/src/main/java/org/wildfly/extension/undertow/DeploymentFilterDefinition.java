@@ -0,0 +1,77 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.jboss.as.controller.client.helpers.MeasurementUnit.NANOSECONDS;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.extension.undertow.DeploymentServletDefinition.LatencyMetricsHandler;
+import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
+
+/**
+ * Runtime resource for a filter of a deployment, exposing its latency distribution, if statistics are enabled.
+ */
+public class DeploymentFilterDefinition extends SimpleResourceDefinition {
+
+    public static final PathElement PATH_ELEMENT = PathElement.pathElement("filter");
+
+    static final SimpleAttributeDefinition FILTER_NAME = new SimpleAttributeDefinitionBuilder("filter-name", ModelType.STRING, false).setStorageRuntime().build();
+    static final SimpleAttributeDefinition FILTER_CLASS = new SimpleAttributeDefinitionBuilder("filter-class", ModelType.STRING, false).setStorageRuntime().build();
+    static final SimpleAttributeDefinition REQUEST_COUNT = new SimpleAttributeDefinitionBuilder("request-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition TOTAL_REQUEST_TIME = new SimpleAttributeDefinitionBuilder("total-request-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(NANOSECONDS)
+            .setFlags(COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition MAX_REQUEST_TIME = new SimpleAttributeDefinitionBuilder("max-request-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(NANOSECONDS)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition P50_REQUEST_TIME = new SimpleAttributeDefinitionBuilder("p50-request-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(NANOSECONDS)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition P99_REQUEST_TIME = new SimpleAttributeDefinitionBuilder("p99-request-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(NANOSECONDS)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition P999_REQUEST_TIME = new SimpleAttributeDefinitionBuilder("p999-request-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(NANOSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    DeploymentFilterDefinition() {
+        super(PATH_ELEMENT, UndertowExtension.getResolver("deployment.filter"));
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration registration) {
+        registration.registerReadOnlyAttribute(FILTER_NAME, null);
+        registration.registerReadOnlyAttribute(FILTER_CLASS, null);
+        registration.registerMetric(REQUEST_COUNT, new LatencyMetricsHandler(UndertowMetricsCollector::getFilterLatency, histogram -> histogram.getCount()));
+        registration.registerMetric(TOTAL_REQUEST_TIME, new LatencyMetricsHandler(UndertowMetricsCollector::getFilterLatency, histogram -> histogram.getTotal()));
+        registration.registerMetric(MAX_REQUEST_TIME, new LatencyMetricsHandler(UndertowMetricsCollector::getFilterLatency, histogram -> histogram.getMax()));
+        registration.registerMetric(P50_REQUEST_TIME, new LatencyMetricsHandler(UndertowMetricsCollector::getFilterLatency, histogram -> histogram.getValueAtQuantile(0.5)));
+        registration.registerMetric(P99_REQUEST_TIME, new LatencyMetricsHandler(UndertowMetricsCollector::getFilterLatency, histogram -> histogram.getValueAtQuantile(0.99)));
+        registration.registerMetric(P999_REQUEST_TIME, new LatencyMetricsHandler(UndertowMetricsCollector::getFilterLatency, histogram -> histogram.getValueAtQuantile(0.999)));
+    }
+}
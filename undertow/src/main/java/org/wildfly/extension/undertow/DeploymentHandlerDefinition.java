@@ -0,0 +1,129 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.jboss.as.controller.client.helpers.MeasurementUnit.NANOSECONDS;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+
+import java.util.function.Function;
+
+import io.undertow.servlet.api.DeploymentInfo;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.undertow.deployment.HandlerTimings;
+import org.wildfly.extension.undertow.deployment.LatencyHistogram;
+import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
+
+/**
+ * Runtime resource exposing the sampled timings of a handler of the handler chain of a deployment.
+ * Only registered if handler timing is enabled.
+ */
+public class DeploymentHandlerDefinition extends SimpleResourceDefinition {
+
+    public static final PathElement PATH_ELEMENT = PathElement.pathElement("handler");
+
+    enum HandlerStat {
+        SAMPLE_COUNT(new SimpleAttributeDefinitionBuilder("sample-count", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build(), LatencyHistogram::getCount),
+        TOTAL_TIME(new SimpleAttributeDefinitionBuilder("total-time", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(NANOSECONDS)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build(), LatencyHistogram::getTotal),
+        MEAN_TIME(new SimpleAttributeDefinitionBuilder("mean-time", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(NANOSECONDS)
+                .setStorageRuntime()
+                .build(), LatencyHistogram::getMean),
+        MAX_TIME(new SimpleAttributeDefinitionBuilder("max-time", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(NANOSECONDS)
+                .setStorageRuntime()
+                .build(), LatencyHistogram::getMax),
+        P50_TIME(new SimpleAttributeDefinitionBuilder("p50-time", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(NANOSECONDS)
+                .setStorageRuntime()
+                .build(), histogram -> histogram.getValueAtQuantile(0.5)),
+        P99_TIME(new SimpleAttributeDefinitionBuilder("p99-time", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(NANOSECONDS)
+                .setStorageRuntime()
+                .build(), histogram -> histogram.getValueAtQuantile(0.99)),
+        ;
+        private final AttributeDefinition definition;
+        private final Function<LatencyHistogram, Long> reader;
+
+        HandlerStat(AttributeDefinition definition, Function<LatencyHistogram, Long> reader) {
+            this.definition = definition;
+            this.reader = reader;
+        }
+    }
+
+    DeploymentHandlerDefinition() {
+        super(PATH_ELEMENT, UndertowExtension.getResolver("deployment.handler"));
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration registration) {
+        for (HandlerStat stat : HandlerStat.values()) {
+            registration.registerMetric(stat.definition, new HandlerTimingHandler(stat));
+        }
+    }
+
+    private static class HandlerTimingHandler implements OperationStepHandler {
+        private final HandlerStat stat;
+
+        HandlerTimingHandler(HandlerStat stat) {
+            this.stat = stat;
+        }
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+
+            final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size() - 1), false);
+            final ModelNode subModel = web.getModel();
+
+            final String host = DeploymentDefinition.VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
+            final String path = DeploymentDefinition.CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
+            final String server = DeploymentDefinition.SERVER.resolveModelAttribute(context, subModel).asString();
+
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(final OperationContext context, final ModelNode operation) {
+                    final ServiceController<?> deploymentServiceController = context.getServiceRegistry(false).getService(UndertowService.deploymentServiceName(server, host, path));
+                    if (deploymentServiceController == null || deploymentServiceController.getState() != ServiceController.State.UP) {
+                        return;
+                    }
+                    final UndertowDeploymentService deploymentService = (UndertowDeploymentService) deploymentServiceController.getService();
+                    final DeploymentInfo deploymentInfo = deploymentService.getDeploymentInfo();
+                    final HandlerTimings timings = (HandlerTimings) deploymentInfo.getServletContextAttributes().get(HandlerTimings.ATTRIBUTE_NAME);
+                    final LatencyHistogram histogram = (timings != null) ? timings.getTimings().get(context.getCurrentAddressValue()) : null;
+                    if (histogram != null) {
+                        context.getResult().set(HandlerTimingHandler.this.stat.reader.apply(histogram));
+                    }
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
+}
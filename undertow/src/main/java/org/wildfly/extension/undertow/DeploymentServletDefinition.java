@@ -6,8 +6,12 @@
 package org.wildfly.extension.undertow;
 
 import static org.jboss.as.controller.client.helpers.MeasurementUnit.MILLISECONDS;
+import static org.jboss.as.controller.client.helpers.MeasurementUnit.NANOSECONDS;
 import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
 
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+
 import io.undertow.server.handlers.MetricsHandler;
 import io.undertow.servlet.api.DeploymentInfo;
 import io.undertow.servlet.api.ServletInfo;
@@ -26,6 +30,7 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.undertow.deployment.LatencyHistogram;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
 import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
 
@@ -58,6 +63,21 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
             .setFlags(COUNTER_METRIC)
             .setStorageRuntime()
             .build();
+    static final SimpleAttributeDefinition P50_REQUEST_TIME = new SimpleAttributeDefinitionBuilder("p50-request-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(NANOSECONDS)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition P99_REQUEST_TIME = new SimpleAttributeDefinitionBuilder("p99-request-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(NANOSECONDS)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition P999_REQUEST_TIME = new SimpleAttributeDefinitionBuilder("p999-request-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(NANOSECONDS)
+            .setStorageRuntime()
+            .build();
     static final SimpleListAttributeDefinition SERVLET_MAPPINGS = new SimpleListAttributeDefinition.Builder("mappings", new SimpleAttributeDefinitionBuilder("mapping", ModelType.STRING).setRequired(false).build())
             .setRequired(false)
             .setStorageRuntime()
@@ -96,6 +116,9 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
                 response.set(metricResult.getTotalRequests());
             }
         });
+        registration.registerMetric(P50_REQUEST_TIME, new LatencyMetricsHandler(UndertowMetricsCollector::getServletLatency, histogram -> histogram.getValueAtQuantile(0.5)));
+        registration.registerMetric(P99_REQUEST_TIME, new LatencyMetricsHandler(UndertowMetricsCollector::getServletLatency, histogram -> histogram.getValueAtQuantile(0.99)));
+        registration.registerMetric(P999_REQUEST_TIME, new LatencyMetricsHandler(UndertowMetricsCollector::getServletLatency, histogram -> histogram.getValueAtQuantile(0.999)));
         registration.registerReadOnlyAttribute(SERVLET_MAPPINGS, new OperationStepHandler() {
             @Override
             public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -167,4 +190,46 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
         }
     }
 
+    /**
+     * Reads a metric from the latency distribution of a servlet or filter of a deployment.
+     */
+    static class LatencyMetricsHandler implements OperationStepHandler {
+        private final BiFunction<UndertowMetricsCollector, String, LatencyHistogram> latency;
+        private final ToLongFunction<LatencyHistogram> reader;
+
+        LatencyMetricsHandler(BiFunction<UndertowMetricsCollector, String, LatencyHistogram> latency, ToLongFunction<LatencyHistogram> reader) {
+            this.latency = latency;
+            this.reader = reader;
+        }
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+
+            final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size() - 1), false);
+            final ModelNode subModel = web.getModel();
+
+            final String host = DeploymentDefinition.VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
+            final String path = DeploymentDefinition.CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
+            final String server = DeploymentDefinition.SERVER.resolveModelAttribute(context, subModel).asString();
+
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(final OperationContext context, final ModelNode operation) {
+                    final ServiceController<?> deploymentServiceController = context.getServiceRegistry(false).getService(UndertowService.deploymentServiceName(server, host, path));
+                    if (deploymentServiceController == null || deploymentServiceController.getState() != ServiceController.State.UP) {
+                        return;
+                    }
+                    final UndertowDeploymentService deploymentService = (UndertowDeploymentService) deploymentServiceController.getService();
+                    final DeploymentInfo deploymentInfo = deploymentService.getDeploymentInfo();
+                    final UndertowMetricsCollector collector = (UndertowMetricsCollector) deploymentInfo.getMetricsCollector();
+
+                    LatencyHistogram histogram = collector != null ? LatencyMetricsHandler.this.latency.apply(collector, context.getCurrentAddressValue()) : null;
+                    if (histogram != null) {
+                        context.getResult().set(LatencyMetricsHandler.this.reader.applyAsLong(histogram));
+                    }
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
 }
@@ -4,6 +4,7 @@
  */
 package org.wildfly.extension.undertow;
 
+import io.undertow.servlet.UndertowServletLogger;
 import io.undertow.servlet.api.SessionPersistenceManager;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.marshalling.InputStreamByteInput;
@@ -26,7 +27,9 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
- * Persistent session manager that stores persistent session information to disk
+ * Persistent session manager that stores persistent session information to disk.
+ * Sessions are stored using the streaming format of {@link PersistentSessionFile}.
+ * Files written by previous releases, i.e. containing a single marshalled map of sessions, can still be loaded.
  *
  * @author Stuart Douglas
  * @author <a href="mailto:ropalka@redhat.com">Richard Opalka</a>
@@ -72,6 +75,34 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
     }
 
 
+    @Override
+    public void persistSessions(String deploymentName, Map<String, PersistentSession> sessionData) {
+        try {
+            PersistentSessionFile.write(new File(baseDir, deploymentName).toPath(), sessionData, this::createMarshaller);
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+        }
+    }
+
+    @Override
+    public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, ClassLoader classLoader) {
+        File file = new File(baseDir, deploymentName);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            Map<String, PersistentSession> sessions = PersistentSessionFile.read(file.toPath(), System.currentTimeMillis(), this::createUnmarshaller);
+            if (sessions != null) {
+                return sessions;
+            }
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+            return null;
+        }
+        // File uses legacy format
+        return super.loadSessionAttributes(deploymentName, classLoader);
+    }
+
     @Override
     protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException {
         File file = new File(baseDir, deploymentName);
@@ -0,0 +1,309 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.undertow;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.undertow.servlet.api.SessionPersistenceManager.PersistentSession;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+import org.wildfly.common.function.ExceptionSupplier;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+/**
+ * Streaming binary format for persistent sessions.
+ * Sessions are written incrementally in chunks, each prefixed by its length, so that the serialized form of all sessions need not be held in memory at once.
+ * Sessions are read from a memory-mapped file, chunks are indexed in parallel, and session attributes are only unmarshalled on first access.
+ * <pre>
+ * file    := MAGIC VERSION chunk*
+ * chunk   := int(length) int(session-count) session*
+ * session := string(id) long(expiry) int(attribute-count) (string(name) int(length) byte*)*
+ * string  := int(length) utf-8-byte*
+ * </pre>
+ */
+final class PersistentSessionFile {
+
+    private static final int MAGIC = 0x57465053;
+    private static final int VERSION = 1;
+    // Number of sessions per chunk
+    private static final int CHUNK_SIZE = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private PersistentSessionFile() {
+        // Hide
+    }
+
+    /**
+     * Writes the specified sessions to the specified file.
+     * Sessions are first written to a temporary file, which then replaces the target file, so that any mapping of a previous file remains valid.
+     * @param file the target file
+     * @param sessions the sessions to persist
+     * @param marshallerFactory a factory for creating a marshaller of session attributes
+     * @throws IOException if the sessions could not be written
+     */
+    static void write(Path file, Map<String, PersistentSession> sessions, ExceptionSupplier<Marshaller, IOException> marshallerFactory) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            Marshaller marshaller = marshallerFactory.get();
+            try {
+                ByteArrayOutputStream chunk = new ByteArrayOutputStream(BUFFER_SIZE);
+                DataOutputStream chunkOutput = new DataOutputStream(chunk);
+                ByteArrayOutputStream attribute = new ByteArrayOutputStream();
+                int count = 0;
+                for (Map.Entry<String, PersistentSession> session : sessions.entrySet()) {
+                    writeSession(chunkOutput, session.getKey(), session.getValue(), marshaller, attribute);
+                    if (++count == CHUNK_SIZE) {
+                        writeChunk(output, chunk, count);
+                        count = 0;
+                    }
+                }
+                if (count > 0) {
+                    writeChunk(output, chunk, count);
+                }
+            } finally {
+                marshaller.close();
+            }
+            output.flush();
+            channel.force(false);
+        }
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeSession(DataOutputStream output, String id, PersistentSession session, Marshaller marshaller, ByteArrayOutputStream attribute) throws IOException {
+        Map<String, Object> attributes = session.getSessionData();
+        List<String> names = new ArrayList<>(attributes.size());
+        List<byte[]> values = new ArrayList<>(attributes.size());
+        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+            attribute.reset();
+            try {
+                marshaller.start(new OutputStreamByteOutput(attribute));
+                marshaller.writeObject(entry.getValue());
+                marshaller.finish();
+                names.add(entry.getKey());
+                values.add(attribute.toByteArray());
+            } catch (Exception e) {
+                UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(entry.getKey(), entry.getValue(), id, e);
+            }
+        }
+        writeString(output, id);
+        output.writeLong(session.getExpiration().getTime());
+        output.writeInt(names.size());
+        for (int i = 0; i < names.size(); ++i) {
+            byte[] value = values.get(i);
+            writeString(output, names.get(i));
+            output.writeInt(value.length);
+            output.write(value);
+        }
+    }
+
+    private static void writeChunk(DataOutputStream output, ByteArrayOutputStream chunk, int count) throws IOException {
+        output.writeInt(chunk.size());
+        output.writeInt(count);
+        chunk.writeTo(output);
+        chunk.reset();
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads the unexpired sessions from the specified file.
+     * @param file a file written via {@link #write(Path, Map, ExceptionSupplier)}
+     * @param time the current time, in milliseconds, used to exclude expired sessions
+     * @param unmarshallerFactory a factory for creating an unmarshaller of session attributes
+     * @return a map of session identifier to persistent session, or null, if the file was not written in this format
+     * @throws IOException if the file could not be read
+     */
+    static Map<String, PersistentSession> read(Path file, long time, ExceptionSupplier<Unmarshaller, IOException> unmarshallerFactory) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Mapping remains valid after channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if ((buffer.remaining() < Integer.BYTES * 2) || (buffer.getInt() != MAGIC)) {
+            return null;
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException(String.valueOf(version));
+        }
+        // Locate chunks
+        List<ByteBuffer> chunks = new ArrayList<>();
+        int sessions = 0;
+        while (buffer.hasRemaining()) {
+            int length = buffer.getInt();
+            sessions += buffer.getInt();
+            chunks.add(buffer.slice(buffer.position(), length));
+            buffer.position(buffer.position() + length);
+        }
+        Map<String, PersistentSession> result = new ConcurrentHashMap<>(sessions);
+        // Index chunks in parallel
+        chunks.parallelStream().forEach(chunk -> {
+            while (chunk.hasRemaining()) {
+                String id = readString(chunk);
+                long expiry = chunk.getLong();
+                int count = chunk.getInt();
+                String[] names = new String[count];
+                ByteBuffer[] values = new ByteBuffer[count];
+                for (int i = 0; i < count; ++i) {
+                    names[i] = readString(chunk);
+                    int length = chunk.getInt();
+                    values[i] = chunk.slice(chunk.position(), length);
+                    chunk.position(chunk.position() + length);
+                }
+                if (expiry > time) {
+                    result.put(id, new PersistentSession(new Date(expiry), new LazySessionAttributes(id, names, values, unmarshallerFactory)));
+                }
+            }
+        });
+        return result;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String value = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), length)).toString();
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Immutable map of session attributes, whose values are unmarshalled on first access.
+     */
+    static class LazySessionAttributes extends AbstractMap<String, Object> {
+        private static final Object UNRESOLVED = new Object();
+
+        private final String id;
+        private final String[] names;
+        private final ByteBuffer[] values;
+        private final AtomicReferenceArray<Object> resolved;
+        private final ExceptionSupplier<Unmarshaller, IOException> unmarshallerFactory;
+
+        LazySessionAttributes(String id, String[] names, ByteBuffer[] values, ExceptionSupplier<Unmarshaller, IOException> unmarshallerFactory) {
+            this.id = id;
+            this.names = names;
+            this.values = values;
+            this.unmarshallerFactory = unmarshallerFactory;
+            this.resolved = new AtomicReferenceArray<>(names.length);
+            for (int i = 0; i < names.length; ++i) {
+                this.resolved.set(i, UNRESOLVED);
+            }
+        }
+
+        @Override
+        public int size() {
+            return this.names.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return this.indexOf(key) >= 0;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int index = this.indexOf(key);
+            return (index >= 0) ? this.resolve(index) : null;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < this.names.length; ++i) {
+                if (this.names[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Object resolve(int index) {
+            Object value = this.resolved.get(index);
+            if (value == UNRESOLVED) {
+                value = this.unmarshal(index);
+                // Another thread may have resolved this value concurrently
+                if (!this.resolved.compareAndSet(index, UNRESOLVED, value)) {
+                    value = this.resolved.get(index);
+                }
+            }
+            return value;
+        }
+
+        private Object unmarshal(int index) {
+            try (Unmarshaller unmarshaller = this.unmarshallerFactory.get()) {
+                unmarshaller.start(new ByteBufferInput(this.values[index].duplicate()));
+                Object value = unmarshaller.readObject();
+                unmarshaller.finish();
+                return value;
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                UndertowLogger.ROOT_LOGGER.failedToLoadSessionAttribute(this.names[index], this.id, e);
+                return null;
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return LazySessionAttributes.this.size();
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.index < LazySessionAttributes.this.names.length;
+                        }
+
+                        @Override
+                        public Map.Entry<String, Object> next() {
+                            if (!this.hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = this.index++;
+                            return new AbstractMap.SimpleImmutableEntry<>(LazySessionAttributes.this.names[index], LazySessionAttributes.this.resolve(index));
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -72,6 +72,9 @@ final class ServletContainerAdd extends AbstractBoottimeAddStepHandler {
         final int defaultCookieVersion = ServletContainerDefinition.DEFAULT_COOKIE_VERSION.resolveModelAttribute(resolver, model).asInt();
         final boolean preservePathOnForward = ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD.resolveModelAttribute(resolver, model).asBoolean();
         boolean orphanSessionAllowed = ServletContainerDefinition.ORPHAN_SESSION_ALLOWED.resolveModelAttribute(resolver, model).asBoolean();
+        final long staticResourceCacheMaxSize = ServletContainerDefinition.STATIC_RESOURCE_CACHE_MAX_SIZE.resolveModelAttribute(resolver, model).asLong();
+        final long staticResourceCacheMaxFileSize = ServletContainerDefinition.STATIC_RESOURCE_CACHE_MAX_FILE_SIZE.resolveModelAttribute(resolver, model).asLong(staticResourceCacheMaxSize);
+        final int handlerTimingSamplingInterval = ServletContainerDefinition.HANDLER_TIMING_SAMPLING_INTERVAL.resolveModelAttribute(resolver, model).asInt();
 
         Boolean directoryListingEnabled = ServletContainerDefinition.DIRECTORY_LISTING.resolveModelAttribute(resolver, model).asBooleanOrNull();
         Integer maxSessions = ServletContainerDefinition.MAX_SESSIONS.resolveModelAttribute(resolver, model).asIntOrNull();
@@ -267,6 +270,21 @@ final class ServletContainerAdd extends AbstractBoottimeAddStepHandler {
             public boolean isOrphanSessionAllowed() {
                 return orphanSessionAllowed;
             }
+
+            @Override
+            public long getStaticResourceCacheMaxSize() {
+                return staticResourceCacheMaxSize;
+            }
+
+            @Override
+            public long getStaticResourceCacheMaxFileSize() {
+                return staticResourceCacheMaxFileSize;
+            }
+
+            @Override
+            public int getHandlerTimingSamplingInterval() {
+                return handlerTimingSamplingInterval;
+            }
         };
         builder.setInstance(Service.newInstance(builder.provides(ServletContainerDefinition.SERVLET_CONTAINER_CAPABILITY), service));
         builder.setInitialMode(ServiceController.Mode.ON_DEMAND);
@@ -20,7 +20,9 @@ import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -187,6 +189,37 @@ class ServletContainerDefinition extends PersistentResourceDefinition {
                     .setDefaultValue(ModelNode.FALSE)
                     .build();
 
+    static final AttributeDefinition STATIC_RESOURCE_CACHE_MAX_SIZE =
+            new SimpleAttributeDefinitionBuilder("static-resource-cache-max-size", ModelType.LONG)
+                    .setRequired(false)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.ZERO_LONG)
+                    .setMeasurementUnit(MeasurementUnit.BYTES)
+                    .setValidator(new LongRangeValidator(0, true, true))
+                    .setStability(Stability.COMMUNITY)
+                    .build();
+
+    static final AttributeDefinition STATIC_RESOURCE_CACHE_MAX_FILE_SIZE =
+            new SimpleAttributeDefinitionBuilder("static-resource-cache-max-file-size", ModelType.LONG)
+                    .setRequired(false)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setAllowExpression(true)
+                    .setMeasurementUnit(MeasurementUnit.BYTES)
+                    .setValidator(new LongRangeValidator(1, true, true))
+                    .setStability(Stability.COMMUNITY)
+                    .build();
+
+    static final AttributeDefinition HANDLER_TIMING_SAMPLING_INTERVAL =
+            new SimpleAttributeDefinitionBuilder("handler-timing-sampling-interval", ModelType.INT)
+                    .setRequired(false)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.ZERO)
+                    .setValidator(new IntRangeValidator(0, true, true))
+                    .setStability(Stability.COMMUNITY)
+                    .build();
+
     static final Collection<AttributeDefinition> ATTRIBUTES = List.of(
             ALLOW_NON_STANDARD_WRAPPERS,
             DEFAULT_BUFFER_CACHE,
@@ -208,7 +241,10 @@ class ServletContainerDefinition extends PersistentResourceDefinition {
             FILE_CACHE_TIME_TO_LIVE,
             DEFAULT_COOKIE_VERSION,
             PRESERVE_PATH_ON_FORWARD,
-            ORPHAN_SESSION_ALLOWED);
+            ORPHAN_SESSION_ALLOWED,
+            STATIC_RESOURCE_CACHE_MAX_SIZE,
+            STATIC_RESOURCE_CACHE_MAX_FILE_SIZE,
+            HANDLER_TIMING_SAMPLING_INTERVAL);
 
     ServletContainerDefinition() {
         super(new SimpleResourceDefinition.Parameters(PATH_ELEMENT, UndertowExtension.getResolver(PATH_ELEMENT.getKey()))
@@ -94,4 +94,22 @@ public interface ServletContainerService {
     boolean isPreservePathOnForward();
 
     boolean isOrphanSessionAllowed();
+
+    /**
+     * Returns the maximum number of bytes of static resource content cached per deployment.
+     * @return a number of bytes, where 0 disables the static resource cache
+     */
+    long getStaticResourceCacheMaxSize();
+
+    /**
+     * Returns the maximum size of a static resource eligible for caching.
+     * @return a number of bytes
+     */
+    long getStaticResourceCacheMaxFileSize();
+
+    /**
+     * Returns the interval at which requests are sampled when timing the handlers of the handler chain of a deployment.
+     * @return the average number of requests per sampled request, where 0 disables handler timing
+     */
+    int getHandlerTimingSamplingInterval();
 }
@@ -47,6 +47,8 @@ public class UndertowExtension implements Extension {
 
         final ManagementResourceRegistration deployments = subsystem.registerDeploymentModel(new DeploymentDefinition());
         deployments.registerSubModel(new DeploymentServletDefinition());
+        deployments.registerSubModel(new DeploymentFilterDefinition());
+        deployments.registerSubModel(new DeploymentHandlerDefinition());
         deployments.registerSubModel(new DeploymentWebSocketDefinition());
 
         subsystem.registerXMLElementWriter(new PersistentResourceXMLDescriptionWriter(Feature.map(UndertowSubsystemSchema.CURRENT).get(context.getStability())));
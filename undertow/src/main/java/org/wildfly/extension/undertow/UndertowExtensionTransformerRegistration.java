@@ -21,6 +21,8 @@ import org.jboss.as.controller.transform.description.ResourceTransformationDescr
 import org.jboss.as.controller.transform.description.TransformationDescription;
 import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
 import org.kohsuke.MetaInfServices;
+import org.wildfly.extension.undertow.filters.AdaptiveRequestLimitHandlerDefinition;
+import org.wildfly.extension.undertow.filters.FilterDefinitions;
 import org.wildfly.extension.undertow.handlers.HandlerDefinitions;
 import org.wildfly.extension.undertow.handlers.ReverseProxyHandlerDefinition;
 
@@ -43,6 +45,7 @@ public class UndertowExtensionTransformerRegistration implements ExtensionTransf
             ResourceTransformationDescriptionBuilder subsystem = TransformationDescriptionBuilder.Factory.createSubsystemInstance();
 
             ResourceTransformationDescriptionBuilder server = subsystem.addChildResource(ServerDefinition.PATH_ELEMENT);
+            ResourceTransformationDescriptionBuilder servletContainer = subsystem.addChildResource(ServletContainerDefinition.PATH_ELEMENT);
             for (PathElement listenerPath : Set.of(HttpListenerResourceDefinition.PATH_ELEMENT, HttpsListenerResourceDefinition.PATH_ELEMENT)) {
                 if (UndertowSubsystemModel.VERSION_13_0_0.requiresTransformation(version)) {
                     server.addChildResource(listenerPath).getAttributeBuilder()
@@ -51,6 +54,19 @@ public class UndertowExtensionTransformerRegistration implements ExtensionTransf
                 }
             }
 
+            if (UndertowSubsystemModel.VERSION_16_0_0.requiresTransformation(version)) {
+                subsystem.addChildResource(FilterDefinitions.PATH_ELEMENT).rejectChildResource(AdaptiveRequestLimitHandlerDefinition.PATH_ELEMENT);
+
+                servletContainer.getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, ServletContainerDefinition.STATIC_RESOURCE_CACHE_MAX_SIZE)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, ServletContainerDefinition.STATIC_RESOURCE_CACHE_MAX_SIZE)
+                    .setDiscard(DiscardAttributeChecker.UNDEFINED, ServletContainerDefinition.STATIC_RESOURCE_CACHE_MAX_FILE_SIZE)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, ServletContainerDefinition.STATIC_RESOURCE_CACHE_MAX_FILE_SIZE)
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, ServletContainerDefinition.HANDLER_TIMING_SAMPLING_INTERVAL)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, ServletContainerDefinition.HANDLER_TIMING_SAMPLING_INTERVAL)
+                    .end();
+            }
+
             if (UndertowSubsystemModel.VERSION_15_0_0.requiresTransformation(version)) {
                 final ResourceTransformationDescriptionBuilder handlers = subsystem.addChildResource(HandlerDefinitions.PATH_ELEMENT);
                 final ResourceTransformationDescriptionBuilder reverseProxy = handlers.addChildResource(ReverseProxyHandlerDefinition.PATH_ELEMENT);
@@ -78,7 +94,6 @@ public class UndertowExtensionTransformerRegistration implements ExtensionTransf
                 ;
 
                 if (UndertowSubsystemModel.VERSION_13_0_0.requiresTransformation(version)) {
-                    final ResourceTransformationDescriptionBuilder servletContainer = subsystem.addChildResource(ServletContainerDefinition.PATH_ELEMENT);
                     servletContainer.getAttributeBuilder()
                         .setDiscard(DiscardAttributeChecker.UNDEFINED, ServletContainerDefinition.ORPHAN_SESSION_ALLOWED)
                         .addRejectCheck(RejectAttributeChecker.DEFINED, ServletContainerDefinition.ORPHAN_SESSION_ALLOWED)
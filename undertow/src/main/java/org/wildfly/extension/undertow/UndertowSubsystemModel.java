@@ -18,9 +18,10 @@ public enum UndertowSubsystemModel implements SubsystemModel {
     VERSION_12_0_0(12), // WildFly 27
     VERSION_13_0_0(13), // WildFly 28
     VERSION_14_0_0(14), // WildFly 32-39
-    VERSION_15_0_0(15), // WildFly 40-present
+    VERSION_15_0_0(15), // WildFly 40-42
+    VERSION_16_0_0(16), // WildFly 43-present
     ;
-    static final UndertowSubsystemModel CURRENT = VERSION_15_0_0;
+    static final UndertowSubsystemModel CURRENT = VERSION_16_0_0;
 
     private final ModelVersion version;
 
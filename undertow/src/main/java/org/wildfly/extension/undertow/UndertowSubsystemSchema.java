@@ -21,6 +21,7 @@ import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.xml.VersionedNamespace;
 import org.jboss.as.version.Stability;
 import org.jboss.staxmapper.IntVersion;
+import org.wildfly.extension.undertow.filters.AdaptiveRequestLimitHandlerDefinition;
 import org.wildfly.extension.undertow.filters.CustomFilterDefinition;
 import org.wildfly.extension.undertow.filters.ErrorPageDefinition;
 import org.wildfly.extension.undertow.filters.ExpressionFilterDefinition;
@@ -65,10 +66,11 @@ public enum UndertowSubsystemSchema implements PersistentSubsystemSchema<Underto
     VERSION_14_0(14),   // WildFly 28-39
     VERSION_14_0_PREVIEW(14, 0, Stability.PREVIEW),   // WildFly 33-35
     VERSION_14_0_COMMUNITY(14, 0, Stability.COMMUNITY),   // WildFly 36-40
-    VERSION_15_0(15)    // WildFly 40-present
+    VERSION_15_0(15),   // WildFly 40-present
+    VERSION_16_0_COMMUNITY(16, 0, Stability.COMMUNITY),   // WildFly 43-present
     ;
 
-    static final Set<UndertowSubsystemSchema> CURRENT = EnumSet.of(VERSION_15_0);
+    static final Set<UndertowSubsystemSchema> CURRENT = EnumSet.of(VERSION_15_0, VERSION_16_0_COMMUNITY);
     private final VersionedNamespace<IntVersion, UndertowSubsystemSchema> namespace;
     private final PersistentResourceXMLDescription.Factory factory = PersistentResourceXMLDescription.factory(this);
 
@@ -114,17 +116,7 @@ public enum UndertowSubsystemSchema implements PersistentSubsystemSchema<Underto
         );
         builder.addChild(this.servletContainer());
         builder.addChild(this.handlers());
-        builder.addChild(this.factory.builder(FilterDefinitions.PATH_ELEMENT).setXmlElementName(Constants.FILTERS).setNoAddOperation(true)
-            .addChild(this.factory.builder(RequestLimitHandlerDefinition.PATH_ELEMENT).addAttributes(RequestLimitHandlerDefinition.ATTRIBUTES.stream()).build())
-            .addChild(this.factory.builder(ResponseHeaderFilterDefinition.PATH_ELEMENT).addAttributes(ResponseHeaderFilterDefinition.ATTRIBUTES.stream()).build())
-            .addChild(this.factory.builder(GzipFilterDefinition.PATH_ELEMENT).build())
-            .addChild(this.factory.builder(ErrorPageDefinition.PATH_ELEMENT).addAttributes(ErrorPageDefinition.ATTRIBUTES.stream()).build())
-            .addChild(this.modCluster())
-            .addChild(this.factory.builder(CustomFilterDefinition.PATH_ELEMENT).addAttributes(CustomFilterDefinition.ATTRIBUTES.stream()).setXmlElementName("filter").build())
-            .addChild(this.factory.builder(ExpressionFilterDefinition.PATH_ELEMENT).addAttributes(ExpressionFilterDefinition.ATTRIBUTES.stream()).build())
-            .addChild(this.factory.builder(RewriteFilterDefinition.PATH_ELEMENT).addAttributes(RewriteFilterDefinition.ATTRIBUTES.stream()).build())
-            .build()
-        );
+        builder.addChild(this.filters());
         if (this.since(UndertowSubsystemSchema.VERSION_4_0)) {
             builder.addChild(this.applicationSecurityDomain());
         }
@@ -253,6 +245,9 @@ public enum UndertowSubsystemSchema implements PersistentSubsystemSchema<Underto
         if (!this.since(UndertowSubsystemSchema.VERSION_10_0)) {
             attributes = attributes.filter(Predicate.isEqual(ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD).negate());
         }
+        if (!this.since(UndertowSubsystemSchema.VERSION_16_0_COMMUNITY)) {
+            attributes = attributes.filter(Predicate.not(Set.of(ServletContainerDefinition.STATIC_RESOURCE_CACHE_MAX_SIZE, ServletContainerDefinition.STATIC_RESOURCE_CACHE_MAX_FILE_SIZE, ServletContainerDefinition.HANDLER_TIMING_SAMPLING_INTERVAL)::contains));
+        }
         attributes.forEach(builder::addAttribute);
         return builder.build();
     }
@@ -290,6 +285,22 @@ public enum UndertowSubsystemSchema implements PersistentSubsystemSchema<Underto
         return builder.build();
     }
 
+    private PersistentResourceXMLDescription filters() {
+        PersistentResourceXMLDescription.Builder builder = this.factory.builder(FilterDefinitions.PATH_ELEMENT).setXmlElementName(Constants.FILTERS).setNoAddOperation(true)
+            .addChild(this.factory.builder(RequestLimitHandlerDefinition.PATH_ELEMENT).addAttributes(RequestLimitHandlerDefinition.ATTRIBUTES.stream()).build())
+            .addChild(this.factory.builder(ResponseHeaderFilterDefinition.PATH_ELEMENT).addAttributes(ResponseHeaderFilterDefinition.ATTRIBUTES.stream()).build())
+            .addChild(this.factory.builder(GzipFilterDefinition.PATH_ELEMENT).build())
+            .addChild(this.factory.builder(ErrorPageDefinition.PATH_ELEMENT).addAttributes(ErrorPageDefinition.ATTRIBUTES.stream()).build())
+            .addChild(this.modCluster())
+            .addChild(this.factory.builder(CustomFilterDefinition.PATH_ELEMENT).addAttributes(CustomFilterDefinition.ATTRIBUTES.stream()).setXmlElementName("filter").build())
+            .addChild(this.factory.builder(ExpressionFilterDefinition.PATH_ELEMENT).addAttributes(ExpressionFilterDefinition.ATTRIBUTES.stream()).build())
+            .addChild(this.factory.builder(RewriteFilterDefinition.PATH_ELEMENT).addAttributes(RewriteFilterDefinition.ATTRIBUTES.stream()).build());
+        if (this.since(UndertowSubsystemSchema.VERSION_16_0_COMMUNITY)) {
+            builder.addChild(this.factory.builder(AdaptiveRequestLimitHandlerDefinition.PATH_ELEMENT).addAttributes(AdaptiveRequestLimitHandlerDefinition.ATTRIBUTES.stream()).build());
+        }
+        return builder.build();
+    }
+
     private PersistentResourceXMLDescription modCluster() {
         PersistentResourceXMLDescription.Builder builder = this.factory.builder(ModClusterDefinition.PATH_ELEMENT);
 
@@ -0,0 +1,169 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.undertow.server.HandlerWrapper;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.AttachmentKey;
+
+/**
+ * Deployment scoped timings of the handlers of the handler chain of a deployment.
+ * For a sampled request, each timed handler records its own time, i.e. excluding the time spent within any nested timed handler.
+ * Handlers timed under the same name contribute a single sample per request, i.e. the sum of their own times.
+ * Only the time spent within the invocation of a handler is recorded, i.e. any processing of a handler following a dispatch to another thread is attributed to the dispatched handler.
+ * Timing is disabled by default; when disabled, handlers are not wrapped at all.
+ */
+public class HandlerTimings {
+
+    public static final String ATTRIBUTE_NAME = HandlerTimings.class.getName();
+    public static final String SERVLET = "servlet";
+    public static final String PREDICATES = "predicates";
+    public static final String SECURITY = "security";
+    public static final String CONTROL_POINT = "control-point";
+
+    private static final AttachmentKey<Sample> SAMPLE_KEY = AttachmentKey.create(Sample.class);
+    // Marks a request that was not sampled
+    private static final Sample UNSAMPLED = new Sample();
+
+    private final Map<String, LatencyHistogram> timings = new ConcurrentHashMap<>();
+    private final int samplingInterval;
+
+    /**
+     * Creates handler timings that sample, on average, one out of the specified number of requests.
+     * @param samplingInterval the sampling interval
+     */
+    public HandlerTimings(int samplingInterval) {
+        this.samplingInterval = samplingInterval;
+    }
+
+    /**
+     * Returns a name for the specified handler wrapper, for use with {@link #wrap(String, HandlerWrapper)}.
+     * @param wrapper a handler wrapper
+     * @return the name of the class of the wrapper, or its enclosing class, if anonymous
+     */
+    public static String nameOf(HandlerWrapper wrapper) {
+        Class<?> targetClass = wrapper.getClass();
+        while (targetClass.isAnonymousClass() && (targetClass.getEnclosingClass() != null)) {
+            targetClass = targetClass.getEnclosingClass();
+        }
+        String name = targetClass.getName();
+        // Strip generated suffix of lambdas
+        int index = name.indexOf("$$Lambda");
+        return (index > 0) ? name.substring(0, index) : name;
+    }
+
+    /**
+     * Returns a handler wrapper that times the handlers created by the specified wrapper.
+     * @param name the name under which timings are recorded
+     * @param wrapper a handler wrapper
+     * @return a handler wrapper, or the specified wrapper, if already timed
+     */
+    public HandlerWrapper wrap(String name, HandlerWrapper wrapper) {
+        if (wrapper instanceof TimedHandlerWrapper) {
+            return wrapper;
+        }
+        return new TimedHandlerWrapper(wrapper, this.timings.computeIfAbsent(name, key -> new LatencyHistogram()));
+    }
+
+    /**
+     * Returns a handler wrapper that times the handler it wraps.
+     * @param name the name under which timings are recorded
+     * @return a handler wrapper
+     */
+    public HandlerWrapper wrap(String name) {
+        return this.wrap(name, next -> next);
+    }
+
+    /**
+     * Returns the timings of each handler, by name.
+     * @return an unmodifiable map of histograms
+     */
+    public Map<String, LatencyHistogram> getTimings() {
+        return Collections.unmodifiableMap(this.timings);
+    }
+
+    private Sample sample(HttpServerExchange exchange) {
+        Sample sample = exchange.getAttachment(SAMPLE_KEY);
+        if (sample == null) {
+            // Decided once per request by the outermost timed handler
+            sample = ((this.samplingInterval == 1) || (ThreadLocalRandom.current().nextInt(this.samplingInterval) == 0)) ? new Sample() : UNSAMPLED;
+            exchange.putAttachment(SAMPLE_KEY, sample);
+        }
+        return sample;
+    }
+
+    private static class Sample {
+        // Time spent within nested timed handlers of the current timed handler
+        long nestedTime;
+        // Number of timed handlers currently in progress
+        int depth;
+        // Own time per histogram, recorded once the outermost timed handler completes
+        final Map<LatencyHistogram, Long> times = new IdentityHashMap<>();
+
+        void record() {
+            for (Map.Entry<LatencyHistogram, Long> entry : this.times.entrySet()) {
+                entry.getKey().record(entry.getValue());
+            }
+            this.times.clear();
+        }
+    }
+
+    private class TimedHandlerWrapper implements HandlerWrapper {
+        private final HandlerWrapper wrapper;
+        private final LatencyHistogram histogram;
+
+        TimedHandlerWrapper(HandlerWrapper wrapper, LatencyHistogram histogram) {
+            this.wrapper = wrapper;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public HttpHandler wrap(HttpHandler next) {
+            return new TimedHandler(this.wrapper.wrap(next), this.histogram);
+        }
+    }
+
+    private class TimedHandler implements HttpHandler {
+        private final HttpHandler handler;
+        private final LatencyHistogram histogram;
+
+        TimedHandler(HttpHandler handler, LatencyHistogram histogram) {
+            this.handler = handler;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public void handleRequest(HttpServerExchange exchange) throws Exception {
+            Sample sample = HandlerTimings.this.sample(exchange);
+            if (sample == UNSAMPLED) {
+                this.handler.handleRequest(exchange);
+                return;
+            }
+            long parentNestedTime = sample.nestedTime;
+            sample.nestedTime = 0;
+            sample.depth += 1;
+            long start = System.nanoTime();
+            try {
+                this.handler.handleRequest(exchange);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                sample.times.merge(this.histogram, elapsed - sample.nestedTime, Long::sum);
+                sample.nestedTime = parentNestedTime + elapsed;
+                sample.depth -= 1;
+                if (sample.depth == 0) {
+                    sample.record();
+                }
+            }
+        }
+    }
+}
@@ -10,10 +10,13 @@ import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.resource.RangeAwareResource;
 import io.undertow.server.handlers.resource.Resource;
 import io.undertow.util.ETag;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
 import io.undertow.util.MimeMappings;
 
 import java.io.File;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.Date;
 import java.util.List;
@@ -21,6 +24,7 @@ import java.util.List;
 /**
  *
  * Resource implementation that wraps an underlying resource, and overrides the list() method to take overlays into account.
+ * If the resource manager is configured with a {@link StaticResourceCache}, file content is served from, and tagged by, the cache.
  *
  * @author Stuart Douglas
  */
@@ -28,6 +32,7 @@ public class ServletResource implements Resource, RangeAwareResource {
 
     private final ServletResourceManager resourceManager;
     private final Resource underlying;
+    private volatile StaticResourceCache.Entry cacheEntry;
 
     public ServletResource(ServletResourceManager resourceManager, Resource underlying) {
         this.resourceManager = resourceManager;
@@ -51,7 +56,8 @@ public class ServletResource implements Resource, RangeAwareResource {
 
     @Override
     public ETag getETag() {
-        return underlying.getETag();
+        StaticResourceCache.Entry entry = getCacheEntry();
+        return (entry != null) ? new ETag(false, entry.getTag()) : underlying.getETag();
     }
 
     @Override
@@ -76,7 +82,70 @@ public class ServletResource implements Resource, RangeAwareResource {
 
     @Override
     public void serve(Sender sender, HttpServerExchange exchange, IoCallback completionCallback) {
-        underlying.serve(sender, exchange, completionCallback);
+        StaticResourceCache cache = resourceManager.getStaticResourceCache();
+        StaticResourceCache.Entry entry = getCacheEntry();
+        HeaderMap responseHeaders = exchange.getResponseHeaders();
+        boolean compressible = isCompressible(responseHeaders.getFirst(Headers.CONTENT_TYPE));
+        if (entry == null) {
+            Path path = (cache != null) ? getFilePath() : null;
+            if (path != null && !isDirectory()) {
+                cache.recordMiss();
+                // Load off the request thread, to be served from the cache by subsequent requests
+                cache.load(path, compressible, exchange.getConnection().getWorker());
+            }
+            underlying.serve(sender, exchange, completionCallback);
+            return;
+        }
+        ByteBuffer content = null;
+        if (!responseHeaders.contains(Headers.CONTENT_ENCODING)) {
+            for (String coding : StaticResourceCache.acceptedEncodings(exchange.getRequestHeaders().getFirst(Headers.ACCEPT_ENCODING))) {
+                content = entry.getEncodedContent(coding);
+                if (content != null) {
+                    responseHeaders.put(Headers.CONTENT_ENCODING, coding);
+                    responseHeaders.put(Headers.CONTENT_LENGTH, content.remaining());
+                    if (responseHeaders.contains(Headers.ETAG)) {
+                        // Encoded variants share a weak entity tag with the unencoded content, which still matches conditional requests using weak comparison
+                        responseHeaders.put(Headers.ETAG, new ETag(true, entry.getTag()).toString());
+                    }
+                    break;
+                }
+            }
+            if (compressible || content != null) {
+                responseHeaders.add(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+            }
+        }
+        if (content == null) {
+            content = entry.getContent();
+        }
+        cache.recordHit(content.remaining());
+        // Content is already in memory, so there is no need to dispatch to a worker thread
+        sender.send(content, completionCallback);
+    }
+
+    /**
+     * Returns the cache entry for this resource.
+     * The entry is retained by this resource, which may be shared across requests, so that it is looked up once, rather than by both {@link #getETag()} and {@link #serve(Sender, HttpServerExchange, IoCallback)}.
+     */
+    private StaticResourceCache.Entry getCacheEntry() {
+        StaticResourceCache.Entry entry = this.cacheEntry;
+        if (entry != null && entry.isValid()) {
+            return entry;
+        }
+        StaticResourceCache cache = resourceManager.getStaticResourceCache();
+        if (cache == null) {
+            return null;
+        }
+        Path path = getFilePath();
+        entry = (path != null) ? cache.get(path) : null;
+        this.cacheEntry = entry;
+        return entry;
+    }
+
+    private static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        return contentType.startsWith("text/") || contentType.contains("javascript") || contentType.contains("json") || contentType.contains("xml") || contentType.startsWith("image/svg");
     }
 
     @Override
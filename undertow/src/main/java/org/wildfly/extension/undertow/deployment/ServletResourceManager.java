@@ -30,11 +30,19 @@ public class ServletResourceManager implements ResourceManager {
     private final Collection<VirtualFile> overlays;
     private final ResourceManager[] externalOverlays;
     private final boolean explodedDeployment;
+    private final StaticResourceCache staticResourceCache;
 
     public ServletResourceManager(final VirtualFile resourcesRoot, final Collection<VirtualFile> overlays,
                                   boolean explodedDeployment, boolean followSymlink, boolean disableFileWatchService,
                                   List<String> externalOverlays) throws IOException {
+        this(resourcesRoot, overlays, explodedDeployment, followSymlink, disableFileWatchService, externalOverlays, null);
+    }
+
+    public ServletResourceManager(final VirtualFile resourcesRoot, final Collection<VirtualFile> overlays,
+                                  boolean explodedDeployment, boolean followSymlink, boolean disableFileWatchService,
+                                  List<String> externalOverlays, StaticResourceCache staticResourceCache) throws IOException {
         this.explodedDeployment = explodedDeployment;
+        this.staticResourceCache = staticResourceCache;
         Path physicalFile = resourcesRoot.getPhysicalFile().toPath().toRealPath();
         deploymentResourceManager = new PathResourceManager(physicalFile, TRANSFER_MIN_SIZE, true,
                 followSymlink, !disableFileWatchService);
@@ -129,6 +137,18 @@ public class ServletResourceManager implements ResourceManager {
     @Override
     public void close() throws IOException {
         deploymentResourceManager.close();
+        if (staticResourceCache != null) {
+            staticResourceCache.clear();
+        }
+    }
+
+    /**
+     * Returns the cache from which static resources of this deployment are served.
+     *
+     * @return a static resource cache, or null, if static resources are not cached
+     */
+    public StaticResourceCache getStaticResourceCache() {
+        return staticResourceCache;
     }
 
     /**
@@ -0,0 +1,445 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Deployment scoped cache of static resource content.
+ * Content of archive deployments is memory-mapped, so that it can be written to a connection directly, without first copying it into a pooled buffer via a worker thread.
+ * Content of exploded deployments, which may be modified or truncated while cached, is read into the heap instead.
+ * Each cached file is identified by a strong entity tag computed from its content.
+ * Content encoded variants are either read from precompressed files alongside the original, i.e. with a .br or .gz suffix,
+ * or, for gzip only, compressed when the file is loaded.
+ * Files are loaded asynchronously, so that reading, hashing, and compressing never happen on a request thread.
+ * When full, the least recently used entries are evicted.
+ */
+public class StaticResourceCache {
+
+    public static final String ATTRIBUTE_NAME = StaticResourceCache.class.getName();
+
+    static final String BROTLI = "br";
+    static final String GZIP = "gzip";
+    // Supported content codings, in order of preference
+    private static final Map<String, String> PRECOMPRESSED_SUFFIXES = Map.of(BROTLI, ".br", GZIP, ".gz");
+    private static final List<String> ENCODINGS = List.of(BROTLI, GZIP);
+
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<Path> loading = ConcurrentHashMap.newKeySet();
+    private final long maxSize;
+    private final long maxFileSize;
+    private final boolean mapped;
+    private final long revalidationInterval;
+    private final AtomicLong size = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+
+    /**
+     * Creates a static resource cache.
+     * @param maxSize the maximum number of bytes retained by this cache
+     * @param maxFileSize the maximum size of a cacheable file
+     * @param mapped indicates whether file content should be memory-mapped, which is only safe if files are never modified while cached
+     * @param revalidationInterval the interval in milliseconds after which a cached file is checked for modification, or a negative value, if files are never modified
+     */
+    public StaticResourceCache(long maxSize, long maxFileSize, boolean mapped, long revalidationInterval) {
+        this.maxSize = maxSize;
+        this.maxFileSize = Math.min(maxSize, maxFileSize);
+        this.mapped = mapped;
+        this.revalidationInterval = (revalidationInterval >= 0) ? TimeUnit.MILLISECONDS.toNanos(revalidationInterval) : -1;
+    }
+
+    /**
+     * Returns the cached content of the specified file.
+     * A cached entry is removed if the file was modified since it was loaded.
+     * @param path the path of a file
+     * @return the cache entry for the specified file, or null, if the file is not cached
+     */
+    public Entry get(Path path) {
+        Entry entry = this.entries.get(path);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (entry.isRevalidationDue(now)) {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (IOException e) {
+                attributes = null;
+            }
+            if ((attributes == null) || !entry.isCurrent(attributes)) {
+                // File was modified or removed since it was loaded
+                this.remove(path, entry);
+                return null;
+            }
+            entry.validated = now;
+        }
+        entry.accessed = now;
+        return entry;
+    }
+
+    /**
+     * Loads the specified file into this cache using the specified executor, unless it is already loading.
+     * @param path the path of a file
+     * @param compressible indicates whether the content of this file is compressible, used to determine whether gzip encoded content should be generated if no precompressed variant exists.
+     * @param executor the executor used to load the file
+     */
+    public void load(Path path, boolean compressible, Executor executor) {
+        if (this.loading.add(path)) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        this.load(path, compressible);
+                    } finally {
+                        this.loading.remove(path);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                this.loading.remove(path);
+            }
+        }
+    }
+
+    private void load(Path path, boolean compressible) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return;
+        }
+        if (!attributes.isRegularFile() || (attributes.size() > this.maxFileSize)) {
+            return;
+        }
+        Entry entry;
+        try {
+            entry = new Entry(path, attributes, compressible);
+        } catch (IOException e) {
+            return;
+        }
+        if (!this.reserve(entry.footprint)) {
+            return;
+        }
+        Entry existing = this.entries.put(path, entry);
+        if (existing != null) {
+            existing.retire();
+        }
+    }
+
+    private void remove(Path path, Entry entry) {
+        // Only the thread that removes an entry may release its footprint
+        if (this.entries.remove(path, entry)) {
+            entry.retire();
+        }
+    }
+
+    private boolean reserve(long bytes) {
+        if (bytes > this.maxSize) {
+            return false;
+        }
+        while (true) {
+            long current = this.size.get();
+            long excess = current + bytes - this.maxSize;
+            if (excess > 0) {
+                if (!this.evict(excess)) {
+                    return false;
+                }
+            } else if (this.size.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    private void release(long bytes) {
+        this.size.addAndGet(-bytes);
+    }
+
+    /**
+     * Evicts the least recently used entries from this cache.
+     * Frees more than the requested number of bytes, to amortize the cost of ordering entries by access time.
+     * @param bytes the minimum number of bytes to free
+     * @return true, if any entries were evicted, false otherwise
+     */
+    private synchronized boolean evict(long bytes) {
+        List<Map.Entry<Path, Entry>> candidates = new ArrayList<>(this.entries.entrySet());
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.getValue().accessed));
+        long target = bytes + (this.maxSize / 10);
+        long freed = 0;
+        for (Map.Entry<Path, Entry> candidate : candidates) {
+            if (freed >= target) {
+                break;
+            }
+            if (this.entries.remove(candidate.getKey(), candidate.getValue())) {
+                candidate.getValue().retire();
+                freed += candidate.getValue().footprint;
+            }
+        }
+        return freed > 0;
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public void clear() {
+        for (Map.Entry<Path, Entry> entry : this.entries.entrySet()) {
+            this.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Records a request for a static resource that was served from this cache.
+     * @param bytes the number of bytes served
+     */
+    public void recordHit(long bytes) {
+        this.hits.increment();
+        this.bytesServed.add(bytes);
+    }
+
+    /**
+     * Records a request for a static resource that could not be served from this cache.
+     */
+    public void recordMiss() {
+        this.misses.increment();
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    public long getBytesServed() {
+        return this.bytesServed.sum();
+    }
+
+    /**
+     * Returns the number of bytes currently retained by this cache.
+     * @return the number of retained bytes
+     */
+    public long getSize() {
+        return this.size.get();
+    }
+
+    /**
+     * Returns the content codings, in order of preference, that are acceptable according to the specified Accept-Encoding header.
+     * @param acceptEncoding the value of an Accept-Encoding request header, or null, if none was specified
+     * @return a list of acceptable content codings
+     */
+    public static List<String> acceptedEncodings(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return List.of();
+        }
+        List<String> accepted = new ArrayList<>(ENCODINGS.size());
+        List<String> rejected = new ArrayList<>(ENCODINGS.size());
+        boolean wildcard = false;
+        for (String value : acceptEncoding.split(",")) {
+            String[] parameters = value.split(";");
+            String coding = parameters[0].trim().toLowerCase(Locale.ENGLISH);
+            boolean acceptable = true;
+            for (int i = 1; i < parameters.length; ++i) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        acceptable = Float.parseFloat(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        acceptable = false;
+                    }
+                }
+            }
+            if (coding.equals("*")) {
+                wildcard = acceptable;
+            } else {
+                (acceptable ? accepted : rejected).add(coding);
+            }
+        }
+        List<String> result = new ArrayList<>(ENCODINGS.size());
+        for (String encoding : ENCODINGS) {
+            if (accepted.contains(encoding) || (wildcard && !rejected.contains(encoding))) {
+                result.add(encoding);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The cached content of a file, including its content encoded variants.
+     * An entry is immutable once loaded, and its footprint is released exactly once, when it is retired.
+     */
+    public class Entry {
+        private final ByteBuffer content;
+        private final long lastModified;
+        private final long size;
+        private final String tag;
+        // Content encoded variants, by content coding
+        private final Map<String, ByteBuffer> encodedContent;
+        private final long footprint;
+        private final AtomicBoolean retired = new AtomicBoolean();
+        volatile long validated;
+        volatile long accessed;
+
+        Entry(Path path, BasicFileAttributes attributes, boolean compressible) throws IOException {
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.size = attributes.size();
+            this.content = StaticResourceCache.this.read(path, this.size);
+            this.tag = digest(this.content.duplicate());
+            Map<String, ByteBuffer> encodedContent = new HashMap<>();
+            long footprint = this.content.remaining();
+            for (String coding : ENCODINGS) {
+                ByteBuffer encoded = this.encode(path, coding, compressible);
+                if (encoded != null) {
+                    encodedContent.put(coding, encoded);
+                    footprint += encoded.remaining();
+                }
+            }
+            this.encodedContent = Map.copyOf(encodedContent);
+            this.footprint = footprint;
+            this.validated = this.accessed = System.nanoTime();
+        }
+
+        boolean isCurrent(BasicFileAttributes attributes) {
+            return (attributes.lastModifiedTime().toMillis() == this.lastModified) && (attributes.size() == this.size);
+        }
+
+        boolean isRevalidationDue(long now) {
+            long interval = StaticResourceCache.this.revalidationInterval;
+            return (interval >= 0) && (now - this.validated >= interval);
+        }
+
+        void retire() {
+            if (this.retired.compareAndSet(false, true)) {
+                StaticResourceCache.this.release(this.footprint);
+            }
+        }
+
+        /**
+         * Indicates whether this entry may still be served without consulting its cache, i.e. it was not removed from its cache and is not due for revalidation.
+         * @return true, if this entry is valid, false otherwise
+         */
+        public boolean isValid() {
+            long now = System.nanoTime();
+            if (this.retired.get() || this.isRevalidationDue(now)) {
+                return false;
+            }
+            this.accessed = now;
+            return true;
+        }
+
+        /**
+         * Returns the unencoded content of this file.
+         * @return a read-only buffer
+         */
+        public ByteBuffer getContent() {
+            return this.content.duplicate();
+        }
+
+        /**
+         * Returns the opaque tag from which a strong entity tag for the unencoded content of this file can be constructed.
+         * @return an entity tag value
+         */
+        public String getTag() {
+            return this.tag;
+        }
+
+        /**
+         * Returns the content of this file encoded using the specified content coding.
+         * @param coding a content coding
+         * @return a read-only buffer, or null, if no encoded variant is available
+         */
+        public ByteBuffer getEncodedContent(String coding) {
+            ByteBuffer content = this.encodedContent.get(coding);
+            return (content != null) ? content.duplicate() : null;
+        }
+
+        private ByteBuffer encode(Path path, String coding, boolean compressible) throws IOException {
+            Path precompressed = path.resolveSibling(path.getFileName() + PRECOMPRESSED_SUFFIXES.get(coding));
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(precompressed, BasicFileAttributes.class);
+                // Ignore precompressed variants that are older than the original
+                if (attributes.isRegularFile() && (attributes.lastModifiedTime().toMillis() >= this.lastModified) && (attributes.size() < this.size)) {
+                    return StaticResourceCache.this.read(precompressed, attributes.size());
+                }
+            } catch (NoSuchFileException e) {
+                // No precompressed variant
+            }
+            if (!compressible || !coding.equals(GZIP)) {
+                return null;
+            }
+            ByteBuffer compressed = gzip(this.getContent());
+            // Only retain compressed content if it is smaller than the original
+            return (compressed.remaining() < this.size) ? compressed : null;
+        }
+    }
+
+    private ByteBuffer read(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (this.mapped) {
+                // Mapping remains valid after channel is closed
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size).asReadOnlyBuffer();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    // File was truncated while reading
+                    throw new IOException(path.toString());
+                }
+            }
+            return buffer.flip().asReadOnlyBuffer();
+        }
+    }
+
+    private static String digest(ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ByteBuffer gzip(ByteBuffer content) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(content.remaining() / 4);
+        byte[] buffer = new byte[8192];
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            while (content.hasRemaining()) {
+                int length = Math.min(buffer.length, content.remaining());
+                content.get(buffer, 0, length);
+                gzip.write(buffer, 0, length);
+            }
+        } catch (IOException e) {
+            // Cannot happen when writing to memory
+            throw new IllegalStateException(e);
+        }
+        return ByteBuffer.wrap(output.toByteArray()).asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import io.undertow.server.HandlerWrapper;
+import io.undertow.servlet.api.DeploymentInfo;
+
+/**
+ * A {@link DeploymentInfo} that times the handlers created by any handler wrapper added to its handler chains, including its security handler chain.
+ * Handler wrappers are timed under the current handler name, or, if none, under the {@link HandlerTimings#nameOf(HandlerWrapper) name} of the handler wrapper.
+ * Copies of this deployment info, e.g. via {@link #clone()}, retain the timed handler wrappers.
+ */
+class TimedDeploymentInfo extends DeploymentInfo {
+
+    private final HandlerTimings timings;
+    private String handlerName;
+
+    TimedDeploymentInfo(HandlerTimings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * Sets the name under which subsequently added handler wrappers are timed.
+     * @param handlerName a handler name, or null, to time each handler wrapper under its own name
+     */
+    void setHandlerName(String handlerName) {
+        this.handlerName = handlerName;
+    }
+
+    private HandlerWrapper timed(HandlerWrapper wrapper) {
+        return this.timings.wrap((this.handlerName != null) ? this.handlerName : HandlerTimings.nameOf(wrapper), wrapper);
+    }
+
+    @Override
+    public DeploymentInfo addInitialHandlerChainWrapper(HandlerWrapper wrapper) {
+        return super.addInitialHandlerChainWrapper(this.timed(wrapper));
+    }
+
+    @Override
+    public DeploymentInfo addOuterHandlerChainWrapper(HandlerWrapper wrapper) {
+        return super.addOuterHandlerChainWrapper(this.timed(wrapper));
+    }
+
+    @Override
+    public DeploymentInfo addInnerHandlerChainWrapper(HandlerWrapper wrapper) {
+        return super.addInnerHandlerChainWrapper(this.timed(wrapper));
+    }
+
+    @Override
+    public DeploymentInfo setInitialSecurityWrapper(HandlerWrapper wrapper) {
+        return super.setInitialSecurityWrapper((wrapper != null) ? this.timed(wrapper) : null);
+    }
+
+    @Override
+    public DeploymentInfo addSecurityWrapper(HandlerWrapper wrapper) {
+        return super.addSecurityWrapper(this.timed(wrapper));
+    }
+}
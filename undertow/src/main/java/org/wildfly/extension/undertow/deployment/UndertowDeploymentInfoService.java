@@ -211,6 +211,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
     private final File tempDir;
     private final List<File> externalResources;
     private final List<Predicate> allowSuspendedRequests;
+    private final HandlerTimings handlerTimings;
 
     private UndertowDeploymentInfoService(
             final Consumer<DeploymentInfo> deploymentInfoConsumer,
@@ -226,7 +227,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             final Supplier<SecurityDomain> rawSecurityDomain,
             final Supplier<HttpServerAuthenticationMechanismFactory> rawMechanismFactory,
             final Supplier<BiFunction<DeploymentInfo, Function<String, RunAsIdentityMetaData>, Registration>> applySecurityFunction,
-            final JBossWebMetaData mergedMetaData, final String deploymentName, final HashMap<String, TagLibraryInfo> tldInfo, final Module module, final ScisMetaData scisMetaData, final VirtualFile deploymentRoot, final String jaccContextId, final String securityDomain, final List<ServletContextAttribute> attributes, final String contextPath, final List<SetupAction> setupActions, final Set<VirtualFile> overlays, final List<ExpressionFactoryWrapper> expressionFactoryWrappers, List<PredicatedHandler> predicatedHandlers, List<HandlerWrapper> initialHandlerChainWrappers, List<HandlerWrapper> innerHandlerChainWrappers, List<HandlerWrapper> outerHandlerChainWrappers, List<ThreadSetupHandler> threadSetupActions, boolean explodedDeployment, List<ServletExtension> servletExtensions, SharedSessionManagerConfig sharedSessionManagerConfig, WebSocketDeploymentInfo webSocketDeploymentInfo, File tempDir, List<File> externalResources, List<Predicate> allowSuspendedRequests) {
+            final JBossWebMetaData mergedMetaData, final String deploymentName, final HashMap<String, TagLibraryInfo> tldInfo, final Module module, final ScisMetaData scisMetaData, final VirtualFile deploymentRoot, final String jaccContextId, final String securityDomain, final List<ServletContextAttribute> attributes, final String contextPath, final List<SetupAction> setupActions, final Set<VirtualFile> overlays, final List<ExpressionFactoryWrapper> expressionFactoryWrappers, List<PredicatedHandler> predicatedHandlers, List<HandlerWrapper> initialHandlerChainWrappers, List<HandlerWrapper> innerHandlerChainWrappers, List<HandlerWrapper> outerHandlerChainWrappers, List<ThreadSetupHandler> threadSetupActions, boolean explodedDeployment, List<ServletExtension> servletExtensions, SharedSessionManagerConfig sharedSessionManagerConfig, WebSocketDeploymentInfo webSocketDeploymentInfo, File tempDir, List<File> externalResources, List<Predicate> allowSuspendedRequests, HandlerTimings handlerTimings) {
         this.deploymentInfoConsumer = deploymentInfoConsumer;
         this.undertowService = undertowService;
         this.sessionManagerFactory = sessionManagerFactory;
@@ -265,6 +266,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
         this.tempDir = tempDir;
         this.externalResources = externalResources;
         this.allowSuspendedRequests = allowSuspendedRequests;
+        this.handlerTimings = handlerTimings;
     }
 
     @Override
@@ -367,6 +369,12 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                 deploymentInfo.addThreadSetupAction(new UndertowThreadSetupAction(action));
             }
 
+            if (handlerTimings != null) {
+                // Innermost timed handler, i.e. the servlet request dispatch, including filters
+                deploymentInfo.addInnerHandlerChainWrapper(handlerTimings.wrap(HandlerTimings.SERVLET));
+                deploymentInfo.addServletContextAttribute(HandlerTimings.ATTRIBUTE_NAME, handlerTimings);
+            }
+
             if (initialHandlerChainWrappers != null) {
                 for (HandlerWrapper handlerWrapper : initialHandlerChainWrappers) {
                     deploymentInfo.addInitialHandlerChainWrapper(handlerWrapper);
@@ -392,7 +400,15 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             }
             deploymentInfo.setServerName(serverEnvironment.get().getProductConfig().getPrettyVersionString());
             if (undertowService.get().isStatisticsEnabled()) {
-                deploymentInfo.setMetricsCollector(new UndertowMetricsCollector());
+                UndertowMetricsCollector collector = new UndertowMetricsCollector();
+                deploymentInfo.setMetricsCollector(collector);
+                // Records the latency distribution of each servlet
+                setHandlerName(deploymentInfo, HandlerTimings.SERVLET);
+                deploymentInfo.addInnerHandlerChainWrapper(collector);
+                setHandlerName(deploymentInfo, null);
+                for (FilterInfo filter : deploymentInfo.getFilters().values()) {
+                    collector.registerFilter(filter);
+                }
             }
 
             deploymentInfoConsumer.accept(this.deploymentInfo = deploymentInfo);
@@ -454,7 +470,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
     }
 
     private DeploymentInfo createDeploymentInfo() {
-        DeploymentInfo deployment = new DeploymentInfo();
+        DeploymentInfo deployment = (this.handlerTimings != null) ? new TimedDeploymentInfo(this.handlerTimings) : new DeploymentInfo();
 
         SessionManagerFactory managerFactory = this.sessionManagerFactory != null ? this.sessionManagerFactory.get() : null;
         if (managerFactory != null) {
@@ -470,7 +486,10 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
 
         UnaryOperator<DeploymentInfo> decorator = this.controlPoint != null ? new ControlPointDeploymentInfoConfigurator(this.controlPoint.get(), this.allowSuspendedRequests) : UnaryOperator.identity();
 
-        return decorator.apply(deployment);
+        setHandlerName(deployment, HandlerTimings.CONTROL_POINT);
+        deployment = decorator.apply(deployment);
+        setHandlerName(deployment, null);
+        return deployment;
     }
 
     private DeploymentInfo createServletConfig() throws StartException {
@@ -493,9 +512,16 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                 //TODO: make the caching limits configurable
                 List<String> externalOverlays = mergedMetaData.getOverlays();
 
-                ResourceManager resourceManager = new ServletResourceManager(deploymentRoot, overlays, explodedDeployment, mergedMetaData.isSymbolicLinkingEnabled(), servletContainer.isDisableFileWatchService(), externalOverlays);
+                int fileCacheTimeToLive = servletContainer.getFileCacheTimeToLive() == null ? (explodedDeployment ? 2000 : -1) : servletContainer.getFileCacheTimeToLive();
+                // Content of exploded deployments may be modified while cached, so must not be memory-mapped
+                StaticResourceCache staticResourceCache = (servletContainer.getStaticResourceCacheMaxSize() > 0) ? new StaticResourceCache(servletContainer.getStaticResourceCacheMaxSize(), servletContainer.getStaticResourceCacheMaxFileSize(), !explodedDeployment, fileCacheTimeToLive) : null;
+                ResourceManager resourceManager = new ServletResourceManager(deploymentRoot, overlays, explodedDeployment, mergedMetaData.isSymbolicLinkingEnabled(), servletContainer.isDisableFileWatchService(), externalOverlays, staticResourceCache);
 
-                resourceManager = new CachingResourceManager(servletContainer.getFileCacheMetadataSize(), servletContainer.getFileCacheMaxFileSize(), servletContainer.getBufferCache(), resourceManager, servletContainer.getFileCacheTimeToLive() == null ? (explodedDeployment ? 2000 : -1) : servletContainer.getFileCacheTimeToLive());
+                // If static resources are cached by the deployment, bypass the buffer cache, which would otherwise intercept small files
+                resourceManager = new CachingResourceManager(servletContainer.getFileCacheMetadataSize(), servletContainer.getFileCacheMaxFileSize(), (staticResourceCache != null) ? null : servletContainer.getBufferCache(), resourceManager, fileCacheTimeToLive);
+                if (staticResourceCache != null) {
+                    d.addServletContextAttribute(StaticResourceCache.ATTRIBUTE_NAME, staticResourceCache);
+                }
                 if(externalResources != null && !externalResources.isEmpty()) {
                     //TODO: we don't cache external deployments, as they are intended for development use
                     //should be make this configurable or something?
@@ -886,7 +912,9 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
 
             if (isElytronActive()) {
                 Map<String, RunAsIdentityMetaData> runAsIdentityMap = mergedMetaData.getRunAsIdentity();
+                setHandlerName(d, HandlerTimings.SECURITY);
                 applyElytronSecurity(d, runAsIdentityMap::get);
+                setHandlerName(d, null);
             } else {
                 if (securityDomain != null) {
                     throw UndertowLogger.ROOT_LOGGER.legacySecurityUnsupported();
@@ -964,6 +992,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             }
 
             if (predicatedHandlers != null && !predicatedHandlers.isEmpty()) {
+                setHandlerName(d, HandlerTimings.PREDICATES);
                 d.addOuterHandlerChainWrapper(new RewriteCorrectingHandlerWrappers.PostWrapper());
                 d.addOuterHandlerChainWrapper(new HandlerWrapper() {
                     @Override
@@ -972,6 +1001,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                     }
                 });
                 d.addOuterHandlerChainWrapper(new RewriteCorrectingHandlerWrappers.PreWrapper());
+                setHandlerName(d, null);
             }
 
             if (mergedMetaData.getDefaultEncoding() != null) {
@@ -1182,6 +1212,15 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
         }
     }
 
+    /**
+     * Sets the name under which handler wrappers subsequently added to the specified deployment are timed, if handler timing is enabled.
+     */
+    private static void setHandlerName(DeploymentInfo deploymentInfo, String handlerName) {
+        if (deploymentInfo instanceof TimedDeploymentInfo timedDeploymentInfo) {
+            timedDeploymentInfo.setHandlerName(handlerName);
+        }
+    }
+
     public void addInjectedExecutor(final String name, final Supplier<Executor> injected) {
         executorsByName.put(name, injected);
     }
@@ -1254,6 +1293,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
         private File tempDir;
         private List<File> externalResources;
         List<Predicate> allowSuspendedRequests;
+        private HandlerTimings handlerTimings;
 
         Builder setMergedMetaData(final JBossWebMetaData mergedMetaData) {
             this.mergedMetaData = mergedMetaData;
@@ -1383,6 +1423,11 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             return this;
         }
 
+        public Builder setHandlerTimings(HandlerTimings handlerTimings) {
+            this.handlerTimings = handlerTimings;
+            return this;
+        }
+
         public Builder setExternalResources(List<File> externalResources) {
             this.externalResources = externalResources;
             return this;
@@ -1408,7 +1453,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                     suspendController, serverEnvironment, rawSecurityDomain, rawMechanismFactory, applySecurityFunction, mergedMetaData, deploymentName, tldInfo, module,
                     scisMetaData, deploymentRoot, jaccContextId, securityDomain, attributes, contextPath, setupActions, overlays,
                     expressionFactoryWrappers, predicatedHandlers, initialHandlerChainWrappers, innerHandlerChainWrappers, outerHandlerChainWrappers,
-                    threadSetupActions, explodedDeployment, servletExtensions, sharedSessionManagerConfig, webSocketDeploymentInfo, tempDir, externalResources, allowSuspendedRequests);
+                    threadSetupActions, explodedDeployment, servletExtensions, sharedSessionManagerConfig, webSocketDeploymentInfo, tempDir, externalResources, allowSuspendedRequests, handlerTimings);
         }
     }
 
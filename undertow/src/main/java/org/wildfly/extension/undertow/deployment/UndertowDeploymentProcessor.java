@@ -23,6 +23,7 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.function.BiFunction;
@@ -33,6 +34,8 @@ import java.util.function.Supplier;
 
 import jakarta.security.jacc.PolicyConfiguration;
 
+import io.undertow.server.HandlerWrapper;
+import io.undertow.server.handlers.builder.PredicatedHandler;
 import io.undertow.servlet.api.DeploymentInfo;
 import io.undertow.servlet.api.SessionManagerFactory;
 import io.undertow.servlet.core.InMemorySessionManagerFactory;
@@ -56,6 +59,8 @@ import org.jboss.as.ee.component.deployers.StartupCountdown;
 import org.jboss.as.ee.security.JaccService;
 import org.jboss.as.server.ServerEnvironment;
 import org.jboss.as.server.Services;
+import org.jboss.as.server.deployment.AttachmentKey;
+import org.jboss.as.server.deployment.AttachmentList;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentResourceSupport;
@@ -83,6 +88,7 @@ import org.jboss.metadata.javaee.spec.ParamValueMetaData;
 import org.jboss.metadata.web.jboss.JBossServletMetaData;
 import org.jboss.metadata.web.jboss.JBossWebMetaData;
 import org.jboss.metadata.web.spec.AttributeMetaData;
+import org.jboss.metadata.web.spec.FilterMetaData;
 import org.jboss.metadata.web.spec.FunctionMetaData;
 import org.jboss.metadata.web.spec.ListenerMetaData;
 import org.jboss.metadata.web.spec.SessionConfigMetaData;
@@ -105,6 +111,8 @@ import org.wildfly.extension.requestcontroller.ControlPointService;
 import org.wildfly.extension.requestcontroller.RequestControllerActivationMarker;
 import org.wildfly.extension.undertow.Capabilities;
 import org.wildfly.extension.undertow.DeploymentDefinition;
+import org.wildfly.extension.undertow.DeploymentFilterDefinition;
+import org.wildfly.extension.undertow.DeploymentHandlerDefinition;
 import org.wildfly.extension.undertow.Host;
 import org.wildfly.extension.undertow.ServletContainerService;
 import org.wildfly.extension.undertow.UndertowExtension;
@@ -358,6 +366,8 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor {
             provider.getSessionAffinityProviderServiceInstaller(configuration).install(phaseContext);
         }
 
+        int handlerTimingSamplingInterval = (servletContainer != null) ? servletContainer.getHandlerTimingSamplingInterval() : 0;
+        HandlerTimings handlerTimings = (handlerTimingSamplingInterval > 0) ? new HandlerTimings(handlerTimingSamplingInterval) : null;
         UndertowDeploymentInfoService undertowDeploymentInfoService = UndertowDeploymentInfoService.builder()
                 .setAttributes(deploymentUnit.getAttachmentList(ServletContextAttribute.ATTACHMENT_KEY))
                 .setContextPath(pathName)
@@ -384,6 +394,7 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor {
                 .setTempDir(warMetaData.getTempDir())
                 .setExternalResources(deploymentUnit.getAttachmentList(UndertowAttachments.EXTERNAL_RESOURCES))
                 .setAllowSuspendedRequests(deploymentUnit.getAttachmentList(UndertowAttachments.ALLOW_REQUEST_WHEN_SUSPENDED))
+                .setHandlerTimings(handlerTimings)
                 .createUndertowDeploymentInfoService(deploymentInfo, undertowService, sessionManagerFactory, sessionAffinityProvider,
                         servletContainerService, componentRegistryDependency, host, controlPoint, suspendController, serverEnvironment, securityDomain, mechanismFactorySupplier, applySecurityFunction);
         builder.setInstance(undertowDeploymentInfoService);
@@ -458,6 +469,28 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor {
         node.get(DeploymentDefinition.VIRTUAL_HOST.getName()).set(hostName);
         node.get(DeploymentDefinition.SERVER.getName()).set(serverInstanceName);
         processManagement(deploymentUnit, metaData);
+        if (handlerTimings != null) {
+            Set<String> handlerNames = new TreeSet<>();
+            handlerNames.add(HandlerTimings.SERVLET);
+            List<PredicatedHandler> predicatedHandlers = deploymentUnit.getAttachment(UndertowHandlersDeploymentProcessor.PREDICATED_HANDLERS);
+            if (predicatedHandlers != null && !predicatedHandlers.isEmpty()) {
+                handlerNames.add(HandlerTimings.PREDICATES);
+            }
+            if ((applySecurityFunction != null) || (securityDomain != null)) {
+                handlerNames.add(HandlerTimings.SECURITY);
+            }
+            if (controlPoint != null) {
+                handlerNames.add(HandlerTimings.CONTROL_POINT);
+            }
+            for (AttachmentKey<AttachmentList<HandlerWrapper>> key : List.of(UndertowAttachments.UNDERTOW_INITIAL_HANDLER_CHAIN_WRAPPERS, UndertowAttachments.UNDERTOW_INNER_HANDLER_CHAIN_WRAPPERS, UndertowAttachments.UNDERTOW_OUTER_HANDLER_CHAIN_WRAPPERS)) {
+                for (HandlerWrapper wrapper : deploymentUnit.getAttachmentList(key)) {
+                    handlerNames.add(HandlerTimings.nameOf(wrapper));
+                }
+            }
+            for (String handlerName : handlerNames) {
+                deploymentResourceSupport.getDeploymentSubModel(UndertowExtension.SUBSYSTEM_NAME, PathElement.pathElement(DeploymentHandlerDefinition.PATH_ELEMENT.getKey(), handlerName));
+            }
+        }
     }
 
     private static String hostNameOfDeployment(final WarMetaData metaData, String defaultHost) {
@@ -510,6 +543,13 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor {
                 continue;
             }
         }
+        if (metaData.getFilters() != null) {
+            for (final FilterMetaData filter : metaData.getFilters()) {
+                final ModelNode node = deploymentResourceSupport.getDeploymentSubModel(UndertowExtension.SUBSYSTEM_NAME, PathElement.pathElement(DeploymentFilterDefinition.PATH_ELEMENT.getKey(), filter.getName()));
+                node.get("filter-name").set(filter.getName());
+                node.get("filter-class").set(filter.getFilterClass());
+            }
+        }
 
     }
 
@@ -5,27 +5,167 @@
 
 package org.wildfly.extension.undertow.deployment;
 
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import io.undertow.server.HandlerWrapper;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.MetricsHandler;
+import io.undertow.servlet.api.FilterInfo;
+import io.undertow.servlet.api.InstanceFactory;
+import io.undertow.servlet.api.InstanceHandle;
 import io.undertow.servlet.api.MetricsCollector;
+import io.undertow.servlet.handlers.ServletChain;
+import io.undertow.servlet.handlers.ServletRequestContext;
 
 /**
+ * Collects the request metrics of each servlet of a deployment, as well as the latency distribution of each servlet and filter.
+ * As a handler wrapper, records the latency of each request, i.e. until completion of its exchange, for its target servlet.
+ * All methods may be invoked concurrently, and recording never blocks.
  * @author Tomaz Cerar (c) 2014 Red Hat Inc.
  */
-public class UndertowMetricsCollector implements MetricsCollector {
-    private final Map<String, MetricsHandler> metrics = new HashMap<>();
+public class UndertowMetricsCollector implements MetricsCollector, HandlerWrapper {
+    private final Map<String, MetricsHandler> metrics = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> servletLatencies = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> filterLatencies = new ConcurrentHashMap<>();
 
     @Override
     public void registerMetric(String name, MetricsHandler handler) {
         metrics.put(name, handler);
+        servletLatencies.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Records the latency of the specified filter, i.e. the time spent within the filter itself, excluding the remainder of its filter chain.
+     * Must be invoked before the filter is instantiated.
+     * @param filter a filter
+     */
+    public void registerFilter(FilterInfo filter) {
+        LatencyHistogram histogram = filterLatencies.computeIfAbsent(filter.getName(), key -> new LatencyHistogram());
+        InstanceFactory<? extends Filter> factory = filter.getInstanceFactory();
+        filter.setInstanceFactory(new InstanceFactory<Filter>() {
+            @Override
+            public InstanceHandle<Filter> createInstance() throws InstantiationException {
+                InstanceHandle<? extends Filter> handle = factory.createInstance();
+                Filter instance = new TimedFilter(handle.getInstance(), histogram);
+                return new InstanceHandle<>() {
+                    @Override
+                    public Filter getInstance() {
+                        return instance;
+                    }
+
+                    @Override
+                    public void release() {
+                        handle.release();
+                    }
+                };
+            }
+        });
     }
 
     public MetricsHandler.MetricResult getMetrics(String name) {
-        if (metrics.containsKey(name)) {
-            return metrics.get(name).getMetrics();
+        MetricsHandler handler = metrics.get(name);
+        return (handler != null) ? handler.getMetrics() : null;
+    }
+
+    /**
+     * Returns the latency distribution of the specified servlet.
+     * @param name a servlet name
+     * @return a histogram, or null, if no such servlet exists
+     */
+    public LatencyHistogram getServletLatency(String name) {
+        return servletLatencies.get(name);
+    }
+
+    /**
+     * Returns the latency distribution of the specified filter.
+     * @param name a filter name
+     * @return a histogram, or null, if no such filter was registered
+     */
+    public LatencyHistogram getFilterLatency(String name) {
+        return filterLatencies.get(name);
+    }
+
+    @Override
+    public HttpHandler wrap(HttpHandler next) {
+        return new HttpHandler() {
+            @Override
+            public void handleRequest(HttpServerExchange exchange) throws Exception {
+                ServletRequestContext context = exchange.getAttachment(ServletRequestContext.ATTACHMENT_KEY);
+                ServletChain servlet = (context != null) ? context.getCurrentServlet() : null;
+                LatencyHistogram histogram = (servlet != null) ? servletLatencies.get(servlet.getManagedServlet().getServletInfo().getName()) : null;
+                if (histogram != null) {
+                    long start = System.nanoTime();
+                    exchange.addExchangeCompleteListener((completed, nextListener) -> {
+                        try {
+                            histogram.record(System.nanoTime() - start);
+                        } finally {
+                            nextListener.proceed();
+                        }
+                    });
+                }
+                next.handleRequest(exchange);
+            }
+        };
+    }
+
+    private static class TimedFilter implements Filter {
+        private final Filter filter;
+        private final LatencyHistogram histogram;
+
+        TimedFilter(Filter filter, LatencyHistogram histogram) {
+            this.filter = filter;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public void init(FilterConfig config) throws ServletException {
+            this.filter.init(config);
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+            TimedFilterChain timedChain = new TimedFilterChain(chain);
+            long start = System.nanoTime();
+            try {
+                this.filter.doFilter(request, response, timedChain);
+            } finally {
+                this.histogram.record(System.nanoTime() - start - timedChain.time);
+            }
+        }
+
+        @Override
+        public void destroy() {
+            this.filter.destroy();
+        }
+    }
+
+    // Measures the time spent within the remainder of a filter chain
+    private static class TimedFilterChain implements FilterChain {
+        private final FilterChain chain;
+        long time;
+
+        TimedFilterChain(FilterChain chain) {
+            this.chain = chain;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            long start = System.nanoTime();
+            try {
+                this.chain.doFilter(request, response);
+            } finally {
+                this.time += System.nanoTime() - start;
+            }
         }
-        return null;
     }
 }
@@ -12,9 +12,12 @@ import java.util.List;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.ResourceRegistration;
+import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.access.constraint.SensitivityClassification;
 import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.version.Stability;
 import org.wildfly.extension.undertow.Constants;
 import org.wildfly.extension.undertow.UndertowExtension;
 
@@ -24,7 +27,11 @@ import org.wildfly.extension.undertow.UndertowExtension;
 public abstract class AbstractFilterDefinition extends PersistentResourceDefinition {
 
     protected AbstractFilterDefinition(PathElement path) {
-        super(path, UndertowExtension.getResolver(Constants.FILTER, path.getKey()));
+        this(path, Stability.DEFAULT);
+    }
+
+    protected AbstractFilterDefinition(PathElement path, Stability stability) {
+        super(new SimpleResourceDefinition.Parameters(ResourceRegistration.of(path, stability), UndertowExtension.getResolver(Constants.FILTER, path.getKey())));
     }
 
     @Override
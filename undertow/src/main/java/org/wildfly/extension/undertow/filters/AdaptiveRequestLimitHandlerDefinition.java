@@ -0,0 +1,149 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.GAUGE_METRIC;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+/**
+ * Filter that limits concurrent requests using a limit that adapts to observed request latency.
+ */
+public class AdaptiveRequestLimitHandlerDefinition extends SimpleFilterDefinition {
+    public static final PathElement PATH_ELEMENT = PathElement.pathElement("adaptive-request-limit");
+
+    public static final AttributeDefinition INITIAL_LIMIT = new SimpleAttributeDefinitionBuilder("initial-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(20))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition MIN_LIMIT = new SimpleAttributeDefinitionBuilder("min-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(ModelNode.ONE)
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition MAX_LIMIT = new SimpleAttributeDefinitionBuilder("max-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1000))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition RETRY_AFTER = new SimpleAttributeDefinitionBuilder("retry-after", ModelType.INT)
+            .setValidator(new IntRangeValidator(0, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(ModelNode.ONE)
+            .setMeasurementUnit(MeasurementUnit.SECONDS)
+            .setRestartAllServices()
+            .build();
+
+    public static final Collection<AttributeDefinition> ATTRIBUTES = List.of(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT, RETRY_AFTER);
+
+    enum LimiterStat {
+        LIMIT(new SimpleAttributeDefinitionBuilder("limit", ModelType.INT)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(GAUGE_METRIC)
+                .setStorageRuntime()
+                .build(), limiter -> new ModelNode(limiter.getLimit())),
+        ACTIVE_REQUESTS(new SimpleAttributeDefinitionBuilder("active-requests", ModelType.INT)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(GAUGE_METRIC)
+                .setStorageRuntime()
+                .build(), limiter -> new ModelNode(limiter.getActiveRequests())),
+        REQUEST_COUNT(new SimpleAttributeDefinitionBuilder("request-count", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build(), limiter -> new ModelNode(limiter.getRequestCount())),
+        REJECTED_REQUEST_COUNT(new SimpleAttributeDefinitionBuilder("rejected-request-count", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build(), limiter -> new ModelNode(limiter.getRejectedRequestCount())),
+        ;
+        private final AttributeDefinition definition;
+        private final Function<AdaptiveRequestLimiter, ModelNode> reader;
+
+        LimiterStat(AttributeDefinition definition, Function<AdaptiveRequestLimiter, ModelNode> reader) {
+            this.definition = definition;
+            this.reader = reader;
+        }
+    }
+
+    AdaptiveRequestLimitHandlerDefinition() {
+        super(PATH_ELEMENT, Stability.COMMUNITY, AdaptiveRequestLimitHandlerDefinition::createHandlerWrapper);
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return ATTRIBUTES;
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        for (LimiterStat stat : LimiterStat.values()) {
+            resourceRegistration.registerMetric(stat.definition, new ReadStatisticHandler(stat));
+        }
+    }
+
+    static PredicateHandlerWrapper createHandlerWrapper(OperationContext context, ModelNode model) throws OperationFailedException {
+        int initialLimit = INITIAL_LIMIT.resolveModelAttribute(context, model).asInt();
+        int minLimit = MIN_LIMIT.resolveModelAttribute(context, model).asInt();
+        int maxLimit = MAX_LIMIT.resolveModelAttribute(context, model).asInt();
+        int retryAfter = RETRY_AFTER.resolveModelAttribute(context, model).asInt();
+        if ((initialLimit < minLimit) || (initialLimit > maxLimit)) {
+            throw UndertowLogger.ROOT_LOGGER.invalidAdaptiveRequestLimit(initialLimit, minLimit, maxLimit);
+        }
+        return new AdaptiveRequestLimiter(initialLimit, minLimit, maxLimit, retryAfter);
+    }
+
+    private static class ReadStatisticHandler implements OperationStepHandler {
+        private final LimiterStat stat;
+
+        ReadStatisticHandler(LimiterStat stat) {
+            this.stat = stat;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            // Filter service is only started on demand, i.e. if referenced by a host or location
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(FilterCapabilities.FILTER_CAPABILITY.getDefinition().getCapabilityServiceName(context.getCurrentAddress()));
+            if ((controller != null) && (controller.getState() == ServiceController.State.UP)) {
+                Object value = controller.getValue();
+                if (value instanceof AdaptiveRequestLimiter) {
+                    context.getResult().set(this.stat.reader.apply((AdaptiveRequestLimiter) value));
+                }
+            }
+        }
+    }
+}
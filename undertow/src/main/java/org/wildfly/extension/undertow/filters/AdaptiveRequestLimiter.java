@@ -0,0 +1,211 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.undertow.Handlers;
+import io.undertow.predicate.Predicate;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.StatusCodes;
+
+/**
+ * Limits the number of concurrent requests using a limit that adapts to observed request latency.
+ * Request round-trip times are sampled per window; the limit shrinks when the latency of the recent window exceeds the long-term latency baseline,
+ * and grows by a queue allowance, proportional to the square root of the limit, while latency remains stable.
+ * Requests exceeding the current limit are rejected with a 503 response and a Retry-After header.
+ * A single limiter is shared by every handler created by this filter.
+ */
+public class AdaptiveRequestLimiter implements PredicateHandlerWrapper {
+
+    // Latency increase tolerated before the limit is reduced
+    private static final double TOLERANCE = 1.5;
+    // Smoothing factor applied to each change of the limit
+    private static final double SMOOTHING = 0.2;
+    // Smoothing factor of the long-term latency baseline
+    private static final double BASELINE_SMOOTHING = 0.05;
+    private static final long DEFAULT_WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int DEFAULT_WINDOW_MIN_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final String retryAfter;
+    private final long windowNanos;
+    private final int windowMinSamples;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    // Samples of the current window
+    private final LongAdder windowLatency = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAccumulator windowMaxActive = new LongAccumulator(Math::max, 0);
+    private final Lock updateLock = new ReentrantLock();
+
+    private volatile int limit;
+    private volatile long windowStart = System.nanoTime();
+    // Guarded by updateLock
+    private double estimatedLimit;
+    private double baselineLatency = Double.NaN;
+
+    public AdaptiveRequestLimiter(int initialLimit, int minLimit, int maxLimit, int retryAfter) {
+        this(initialLimit, minLimit, maxLimit, retryAfter, DEFAULT_WINDOW, DEFAULT_WINDOW_MIN_SAMPLES);
+    }
+
+    AdaptiveRequestLimiter(int initialLimit, int minLimit, int maxLimit, int retryAfter, long windowNanos, int windowMinSamples) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.retryAfter = Integer.toString(retryAfter);
+        this.windowNanos = windowNanos;
+        this.windowMinSamples = windowMinSamples;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    @Override
+    public HttpHandler wrap(Predicate predicate, HttpHandler next) {
+        HttpHandler handler = new AdaptiveRequestLimitingHandler(next);
+        return (predicate != null) ? Handlers.predicate(predicate, handler, next) : handler;
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     * @return the current limit
+     */
+    public int getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * Returns the number of requests currently being processed.
+     * @return the number of active requests
+     */
+    public int getActiveRequests() {
+        return this.active.get();
+    }
+
+    /**
+     * Returns the number of requests admitted by this limiter.
+     * @return the number of admitted requests
+     */
+    public long getRequestCount() {
+        return this.requests.sum();
+    }
+
+    /**
+     * Returns the number of requests rejected by this limiter.
+     * @return the number of rejected requests
+     */
+    public long getRejectedRequestCount() {
+        return this.rejections.sum();
+    }
+
+    /**
+     * Attempts to admit a request.
+     * @return the number of active requests including the admitted request, or 0 if the request was rejected.
+     */
+    int acquire() {
+        int active = this.active.incrementAndGet();
+        if (active > this.limit) {
+            this.active.decrementAndGet();
+            this.rejections.increment();
+            return 0;
+        }
+        this.requests.increment();
+        return active;
+    }
+
+    /**
+     * Releases a previously admitted request, recording its latency.
+     * @param latency the latency of the request, in nanoseconds
+     * @param active the number of active requests when this request was admitted
+     */
+    void release(long latency, int active) {
+        this.active.decrementAndGet();
+        this.windowLatency.add(latency);
+        this.windowSamples.increment();
+        this.windowMaxActive.accumulate(active);
+
+        long now = System.nanoTime();
+        // Only a single thread updates the limit, others simply continue
+        if ((now - this.windowStart >= this.windowNanos) && this.updateLock.tryLock()) {
+            try {
+                if (now - this.windowStart >= this.windowNanos) {
+                    this.update(now);
+                }
+            } finally {
+                this.updateLock.unlock();
+            }
+        }
+    }
+
+    private void update(long now) {
+        long samples = this.windowSamples.sum();
+        if (samples < this.windowMinSamples) return;
+
+        // Samples recorded concurrently with this update may be attributed to the next window
+        this.windowSamples.reset();
+        double latency = (double) this.windowLatency.sumThenReset() / samples;
+        long maxActive = this.windowMaxActive.getThenReset();
+        this.windowStart = now;
+
+        if (Double.isNaN(this.baselineLatency)) {
+            this.baselineLatency = latency;
+        } else {
+            this.baselineLatency += (latency - this.baselineLatency) * BASELINE_SMOOTHING;
+            // If latency improved considerably (e.g. a slow dependency recovered), converge baseline more quickly
+            if (this.baselineLatency > 2 * latency) {
+                this.baselineLatency = (this.baselineLatency + latency) / 2;
+            }
+        }
+
+        double current = this.estimatedLimit;
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * this.baselineLatency / Math.max(latency, 1)));
+        double target = current * gradient + Math.sqrt(current);
+        double estimate = Math.max(this.minLimit, Math.min(this.maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+        // Avoid growing the limit if demand did not approach it
+        if ((estimate > current) && (maxActive < current / 2)) return;
+
+        this.estimatedLimit = estimate;
+        this.limit = (int) estimate;
+    }
+
+    private class AdaptiveRequestLimitingHandler implements HttpHandler {
+        private final HttpHandler next;
+
+        AdaptiveRequestLimitingHandler(HttpHandler next) {
+            this.next = next;
+        }
+
+        @Override
+        public void handleRequest(HttpServerExchange exchange) throws Exception {
+            AdaptiveRequestLimiter limiter = AdaptiveRequestLimiter.this;
+            int active = limiter.acquire();
+            if (active == 0) {
+                exchange.setStatusCode(StatusCodes.SERVICE_UNAVAILABLE);
+                exchange.getResponseHeaders().put(Headers.RETRY_AFTER, limiter.retryAfter);
+                exchange.endExchange();
+                return;
+            }
+            long start = System.nanoTime();
+            exchange.addExchangeCompleteListener((completed, nextListener) -> {
+                try {
+                    limiter.release(System.nanoTime() - start, active);
+                } finally {
+                    nextListener.proceed();
+                }
+            });
+            this.next.handleRequest(exchange);
+        }
+    }
+}
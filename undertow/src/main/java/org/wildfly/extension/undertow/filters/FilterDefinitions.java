@@ -48,7 +48,8 @@ public class FilterDefinitions extends PersistentResourceDefinition {
                 new CustomFilterDefinition(),
                 new ModClusterDefinition(),
                 new ExpressionFilterDefinition(),
-                new RewriteFilterDefinition());
+                new RewriteFilterDefinition(),
+                new AdaptiveRequestLimitHandlerDefinition());
     }
 
     @Override
@@ -9,6 +9,7 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.version.Stability;
 import org.wildfly.extension.undertow.UndertowService;
 
 /**
@@ -19,7 +20,11 @@ abstract class SimpleFilterDefinition extends AbstractFilterDefinition {
     private final PredicateHandlerWrapperFactory factory;
 
     protected SimpleFilterDefinition(PathElement path, PredicateHandlerWrapperFactory factory) {
-        super(path);
+        this(path, Stability.DEFAULT, factory);
+    }
+
+    protected SimpleFilterDefinition(PathElement path, Stability stability, PredicateHandlerWrapperFactory factory) {
+        super(path, stability);
         this.factory = factory;
     }
 
@@ -437,4 +437,10 @@ public interface UndertowLogger extends BasicLogger {
     @Message(id = 113, value = "Unable to apply Jakarta Authorization Policy - unexpected SecurityContext type: %s")
     void unexpectedSecurityContextType(String securityContextClassName);
 
+    @LogMessage(level = WARN)
+    @Message(id = 114, value = "Failed to load session attribute %s for session %s")
+    void failedToLoadSessionAttribute(String attributeName, String sessionID, @Cause Exception e);
+
+    @Message(id = 115, value = "Initial limit %d must be between the minimum limit %d and the maximum limit %d")
+    OperationFailedException invalidAdaptiveRequestLimit(int initialLimit, int minLimit, int maxLimit);
 }
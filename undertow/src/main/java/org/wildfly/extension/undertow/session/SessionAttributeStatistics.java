@@ -0,0 +1,23 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.undertow.session;
+
+/**
+ * Statistics of session attribute access per request, optionally implemented by the {@link io.undertow.server.session.SessionManagerStatistics} of a session manager.
+ */
+public interface SessionAttributeStatistics {
+
+    /**
+     * Returns the mean number of session attribute reads by a request that accessed a session.
+     * @return the mean number of attribute reads per request
+     */
+    double getMeanAttributeReads();
+
+    /**
+     * Returns the mean number of session attribute writes or removals by a request that accessed a session.
+     * @return the mean number of attribute writes per request
+     */
+    double getMeanAttributeWrites();
+}
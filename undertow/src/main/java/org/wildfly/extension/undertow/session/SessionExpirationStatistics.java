@@ -0,0 +1,17 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.undertow.session;
+
+/**
+ * Statistics of session expiration, optionally implemented by the {@link io.undertow.server.session.SessionManagerStatistics} of a session manager.
+ */
+public interface SessionExpirationStatistics {
+
+    /**
+     * Returns the number of expired sessions whose expiration has not yet been processed, e.g. whose listeners have not yet been notified.
+     * @return the number of pending session expirations
+     */
+    long getPendingExpirationCount();
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.undertow.servlet.api.SessionPersistenceManager.PersistentSession;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.river.RiverMarshallerFactory;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PersistentSessionFile}.
+ */
+public class PersistentSessionFileTestCase {
+
+    private final MarshallerFactory factory = new RiverMarshallerFactory();
+    private final MarshallingConfiguration configuration = new MarshallingConfiguration();
+
+    @Test
+    public void test() throws IOException {
+        long now = System.currentTimeMillis();
+        Map<String, PersistentSession> sessions = new HashMap<>();
+        // Spans multiple chunks
+        for (int i = 0; i < 2500; ++i) {
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put("index", i);
+            attributes.put("list", List.of("foo", "bar"));
+            sessions.put(UUID.randomUUID().toString(), new PersistentSession(new Date(now + 60000), attributes));
+        }
+        String expiredId = UUID.randomUUID().toString();
+        sessions.put(expiredId, new PersistentSession(new Date(now - 60000), Map.of("index", -1)));
+        String emptyId = UUID.randomUUID().toString();
+        sessions.put(emptyId, new PersistentSession(new Date(now + 60000), Map.of()));
+
+        Path directory = Files.createTempDirectory(PersistentSessionFileTestCase.class.getSimpleName());
+        Path file = directory.resolve("test.war");
+        try {
+            PersistentSessionFile.write(file, sessions, () -> this.factory.createMarshaller(this.configuration));
+            assertTrue(Files.exists(file));
+
+            Map<String, PersistentSession> result = PersistentSessionFile.read(file, now, () -> this.factory.createUnmarshaller(this.configuration));
+            assertNotNull(result);
+            assertEquals(sessions.size() - 1, result.size());
+            assertFalse(result.containsKey(expiredId));
+            assertTrue(result.get(emptyId).getSessionData().isEmpty());
+
+            for (Map.Entry<String, PersistentSession> entry : result.entrySet()) {
+                PersistentSession expected = sessions.get(entry.getKey());
+                PersistentSession session = entry.getValue();
+                assertEquals(expected.getExpiration(), session.getExpiration());
+                assertEquals(expected.getSessionData().keySet(), session.getSessionData().keySet());
+                assertEquals(expected.getSessionData(), session.getSessionData());
+            }
+
+            // Overwrite existing file
+            PersistentSessionFile.write(file, Map.of(), () -> this.factory.createMarshaller(this.configuration));
+            assertTrue(PersistentSessionFile.read(file, now, () -> this.factory.createUnmarshaller(this.configuration)).isEmpty());
+
+            // Unrecognized format
+            Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+            assertNull(PersistentSessionFile.read(file, now, () -> this.factory.createUnmarshaller(this.configuration)));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+}
@@ -23,12 +23,14 @@ import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.KernelServicesBuilder;
 import org.jboss.as.subsystem.test.LegacyKernelServicesInitializer;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
+import org.wildfly.extension.undertow.filters.AdaptiveRequestLimitHandlerDefinition;
 import org.wildfly.extension.undertow.filters.FilterDefinitions;
 import org.wildfly.extension.undertow.handlers.HandlerDefinitions;
 
@@ -86,7 +88,11 @@ public class UndertowSubsystemTransformerTestCase extends AbstractSubsystemTest
     }
 
     private AdditionalInitialization createAdditionalInitialization() {
-        return AdditionalInitialization.withCapabilities(
+        return this.createAdditionalInitialization(Stability.DEFAULT);
+    }
+
+    private AdditionalInitialization createAdditionalInitialization(Stability stability) {
+        return AdditionalInitialization.withCapabilities(stability,
                 RuntimeCapability.resolveCapabilityName(SocketBinding.SERVICE_DESCRIPTOR, "ajp"),
                 RuntimeCapability.resolveCapabilityName(SocketBinding.SERVICE_DESCRIPTOR, "http"),
                 RuntimeCapability.resolveCapabilityName(SocketBinding.SERVICE_DESCRIPTOR, "https"),
@@ -135,12 +141,23 @@ public class UndertowSubsystemTransformerTestCase extends AbstractSubsystemTest
 
     @Test
     public void testRejections() throws Exception {
-        KernelServicesBuilder builder = this.createKernelServicesBuilder(this.createAdditionalInitialization());
+        // Rejected resources include community features
+        KernelServicesBuilder builder = this.createKernelServicesBuilder(this.createAdditionalInitialization(Stability.COMMUNITY));
         KernelServices services = this.build(builder);
 
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
         PathAddress subsystemAddress = PathAddress.pathAddress(UndertowRootDefinition.PATH_ELEMENT);
 
+        if (UndertowSubsystemModel.VERSION_16_0_0.requiresTransformation(this.modelVersion)) {
+            PathAddress adaptiveRequestLimitAddress = subsystemAddress.append(FilterDefinitions.PATH_ELEMENT).append(PathElement.pathElement(AdaptiveRequestLimitHandlerDefinition.PATH_ELEMENT.getKey(), "adaptive-limit"));
+            config.addFailedAttribute(adaptiveRequestLimitAddress, FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            PathAddress staticResourceCacheContainerAddress = subsystemAddress.append(PathElement.pathElement(ServletContainerDefinition.PATH_ELEMENT.getKey(), "static-resource-cache-container"));
+            config.addFailedAttribute(staticResourceCacheContainerAddress, new FailedOperationTransformationConfig.NewAttributesConfig(ServletContainerDefinition.STATIC_RESOURCE_CACHE_MAX_SIZE, ServletContainerDefinition.STATIC_RESOURCE_CACHE_MAX_FILE_SIZE));
+
+            PathAddress handlerTimingContainerAddress = subsystemAddress.append(PathElement.pathElement(ServletContainerDefinition.PATH_ELEMENT.getKey(), "handler-timing-container"));
+            config.addFailedAttribute(handlerTimingContainerAddress, new FailedOperationTransformationConfig.NewAttributesConfig(ServletContainerDefinition.HANDLER_TIMING_SAMPLING_INTERVAL));
+        }
         if (UndertowSubsystemModel.VERSION_15_0_0.requiresTransformation(this.modelVersion)) {
             PathAddress serverAddress = subsystemAddress.append(PathElement.pathElement(ServerDefinition.PATH_ELEMENT.getKey(), "default-server"));
 
@@ -0,0 +1,131 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.server.HandlerWrapper;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link HandlerTimings} and {@link LatencyHistogram}.
+ */
+public class HandlerTimingsTestCase {
+
+    private static final long DELAY = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    public void selfTime() throws Exception {
+        HandlerTimings timings = new HandlerTimings(1);
+        HandlerWrapper outer = timings.wrap("outer", next -> exchange -> {
+            sleep(DELAY);
+            next.handleRequest(exchange);
+        });
+        HandlerWrapper inner = timings.wrap("inner", next -> exchange -> {
+            sleep(2 * DELAY);
+            next.handleRequest(exchange);
+        });
+        HttpHandler handler = outer.wrap(inner.wrap(timings.wrap(HandlerTimings.SERVLET).wrap(exchange -> {})));
+
+        for (int i = 0; i < 3; ++i) {
+            handler.handleRequest(new HttpServerExchange());
+        }
+
+        LatencyHistogram outerTimings = timings.getTimings().get("outer");
+        LatencyHistogram innerTimings = timings.getTimings().get("inner");
+        assertEquals(3, outerTimings.getCount());
+        assertEquals(3, innerTimings.getCount());
+        assertEquals(3, timings.getTimings().get(HandlerTimings.SERVLET).getCount());
+
+        // Time of nested handlers must not be attributed to the outer handler
+        assertTrue(outerTimings.getMean() >= DELAY);
+        assertTrue(innerTimings.getMean() >= 2 * DELAY);
+        assertTrue(outerTimings.getMean() < innerTimings.getMean());
+        assertTrue(timings.getTimings().get(HandlerTimings.SERVLET).getMean() < DELAY);
+    }
+
+    @Test
+    public void sameName() throws Exception {
+        HandlerTimings timings = new HandlerTimings(1);
+        HandlerWrapper delay = next -> exchange -> {
+            sleep(DELAY);
+            next.handleRequest(exchange);
+        };
+        HandlerWrapper outer = timings.wrap(HandlerTimings.SECURITY, delay);
+        HandlerWrapper inner = timings.wrap(HandlerTimings.SECURITY, delay);
+        // Already timed wrappers are not timed again
+        assertSame(inner, timings.wrap("other", inner));
+        HttpHandler handler = outer.wrap(timings.wrap(HandlerTimings.SERVLET).wrap(inner.wrap(exchange -> {})));
+
+        for (int i = 0; i < 3; ++i) {
+            handler.handleRequest(new HttpServerExchange());
+        }
+
+        // Handlers timed under the same name yield a single sample per request
+        LatencyHistogram securityTimings = timings.getTimings().get(HandlerTimings.SECURITY);
+        assertEquals(3, securityTimings.getCount());
+        assertTrue(securityTimings.getMean() >= 2 * DELAY);
+        assertEquals(3, timings.getTimings().get(HandlerTimings.SERVLET).getCount());
+        assertTrue(timings.getTimings().get(HandlerTimings.SERVLET).getMean() < DELAY);
+        assertFalse(timings.getTimings().containsKey("other"));
+    }
+
+    @Test
+    public void nameOf() {
+        HandlerWrapper anonymous = new HandlerWrapper() {
+            @Override
+            public HttpHandler wrap(HttpHandler next) {
+                return next;
+            }
+        };
+        HandlerWrapper lambda = next -> next;
+        assertEquals(HandlerTimingsTestCase.class.getName(), HandlerTimings.nameOf(anonymous));
+        assertEquals(HandlerTimingsTestCase.class.getName(), HandlerTimings.nameOf(lambda));
+    }
+
+    @Test
+    public void histogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+
+        for (long i = 1; i <= 1000; ++i) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), histogram.getMax());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(500500) / 1000, histogram.getMean());
+
+        // Quantiles are accurate to within the width of a bucket, i.e. 12.5%
+        assertAccurate(TimeUnit.MICROSECONDS.toNanos(500), histogram.getValueAtQuantile(0.5));
+        assertAccurate(TimeUnit.MICROSECONDS.toNanos(990), histogram.getValueAtQuantile(0.99));
+        assertEquals(histogram.getMax(), histogram.getValueAtQuantile(1));
+
+        // Bucket boundaries are contiguous
+        for (int i = 1; i < 300; ++i) {
+            assertEquals(i, LatencyHistogram.index(LatencyHistogram.upperBound(i - 1) + 1));
+            assertEquals(i, LatencyHistogram.index(LatencyHistogram.upperBound(i)));
+        }
+    }
+
+    private static void assertAccurate(long expected, long actual) {
+        assertTrue(actual >= expected);
+        assertTrue(actual <= expected + expected / 8);
+    }
+
+    private static void sleep(long nanos) throws InterruptedException {
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < nanos) {
+            Thread.sleep(1);
+        }
+    }
+}
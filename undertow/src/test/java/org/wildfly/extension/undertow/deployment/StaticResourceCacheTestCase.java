@@ -0,0 +1,182 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.undertow.deployment;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StaticResourceCache}.
+ */
+public class StaticResourceCacheTestCase {
+
+    private static final String CONTENT = "function foo() { return 'bar'; }\n".repeat(100);
+
+    private Path directory;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory(StaticResourceCacheTestCase.class.getSimpleName());
+    }
+
+    @After
+    public void destroy() throws IOException {
+        try (var paths = Files.list(this.directory)) {
+            for (Path path : paths.toList()) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(this.directory);
+    }
+
+    @Test
+    public void get() throws IOException {
+        Path path = Files.writeString(this.directory.resolve("app.js"), CONTENT);
+        StaticResourceCache cache = new StaticResourceCache(1024 * 1024, 1024 * 1024, false, 0);
+
+        assertNull(cache.get(path));
+        cache.load(path, false, Runnable::run);
+        StaticResourceCache.Entry entry = cache.get(path);
+        assertNotNull(entry);
+        assertEquals(CONTENT, StandardCharsets.UTF_8.decode(entry.getContent()).toString());
+        assertEquals(CONTENT.length(), cache.getSize());
+        assertSame(entry, cache.get(path));
+
+        // Modified content must invalidate cached entry
+        Files.writeString(path, CONTENT + CONTENT);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+        assertNull(cache.get(path));
+        assertFalse(entry.isValid());
+        assertEquals(0, cache.getSize());
+        cache.load(path, false, Runnable::run);
+        StaticResourceCache.Entry modified = cache.get(path);
+        assertNotNull(modified);
+        assertNotEquals(entry.getTag(), modified.getTag());
+        assertEquals(2 * CONTENT.length(), cache.getSize());
+
+        Files.delete(path);
+        assertNull(cache.get(path));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void mapped() throws IOException {
+        Path path = Files.writeString(this.directory.resolve("app.js"), CONTENT);
+        StaticResourceCache cache = new StaticResourceCache(1024 * 1024, 1024 * 1024, true, -1);
+
+        cache.load(path, false, Runnable::run);
+        StaticResourceCache.Entry entry = cache.get(path);
+        assertNotNull(entry);
+        assertEquals(CONTENT, StandardCharsets.UTF_8.decode(entry.getContent()).toString());
+
+        // Files are never revalidated
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+        assertTrue(entry.isValid());
+        assertSame(entry, cache.get(path));
+    }
+
+    @Test
+    public void eviction() throws IOException {
+        Path path1 = Files.writeString(this.directory.resolve("1.js"), CONTENT);
+        Path path2 = Files.writeString(this.directory.resolve("2.js"), CONTENT);
+        Path path3 = Files.writeString(this.directory.resolve("3.js"), CONTENT);
+        StaticResourceCache cache = new StaticResourceCache(2 * CONTENT.length(), CONTENT.length(), false, 0);
+
+        cache.load(path1, false, Runnable::run);
+        cache.load(path2, false, Runnable::run);
+        assertNotNull(cache.get(path2));
+        StaticResourceCache.Entry entry1 = cache.get(path1);
+        assertNotNull(entry1);
+        assertEquals(2 * CONTENT.length(), cache.getSize());
+
+        // Least recently used entry must be evicted
+        cache.load(path3, false, Runnable::run);
+        assertNull(cache.get(path2));
+        assertNotNull(cache.get(path3));
+        assertTrue(cache.getSize() <= 2 * CONTENT.length());
+
+        cache.load(this.directory, false, Runnable::run);
+        assertNull(cache.get(this.directory));
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertFalse(entry1.isValid());
+
+        StaticResourceCache small = new StaticResourceCache(1024 * 1024, CONTENT.length() - 1, false, 0);
+        small.load(path1, false, Runnable::run);
+        assertNull(small.get(path1));
+        assertEquals(0, small.getSize());
+    }
+
+    @Test
+    public void gzip() throws IOException {
+        Path path = Files.writeString(this.directory.resolve("app.js"), CONTENT);
+        StaticResourceCache cache = new StaticResourceCache(1024 * 1024, 1024 * 1024, false, 0);
+        cache.load(path, false, Runnable::run);
+        StaticResourceCache.Entry entry = cache.get(path);
+
+        assertNull(entry.getEncodedContent(StaticResourceCache.GZIP));
+        assertNull(entry.getEncodedContent(StaticResourceCache.BROTLI));
+
+        cache.clear();
+        cache.load(path, true, Runnable::run);
+        entry = cache.get(path);
+        ByteBuffer encoded = entry.getEncodedContent(StaticResourceCache.GZIP);
+        assertNotNull(encoded);
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            assertEquals(CONTENT, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(CONTENT.length() + bytes.length, cache.getSize());
+    }
+
+    @Test
+    public void precompressed() throws IOException {
+        Path path = Files.writeString(this.directory.resolve("app.js"), CONTENT);
+        byte[] brotli = new byte[] { 1, 2, 3 };
+        Path precompressed = Files.write(this.directory.resolve("app.js.br"), brotli);
+        Files.setLastModifiedTime(precompressed, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 1000));
+        StaticResourceCache cache = new StaticResourceCache(1024 * 1024, 1024 * 1024, false, 0);
+        cache.load(path, false, Runnable::run);
+        StaticResourceCache.Entry entry = cache.get(path);
+
+        ByteBuffer encoded = entry.getEncodedContent(StaticResourceCache.BROTLI);
+        assertNotNull(encoded);
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        assertArrayEquals(brotli, bytes);
+    }
+
+    @Test
+    public void acceptedEncodings() {
+        assertEquals(List.of(), StaticResourceCache.acceptedEncodings(null));
+        assertEquals(List.of(), StaticResourceCache.acceptedEncodings("identity"));
+        assertEquals(List.of(StaticResourceCache.GZIP), StaticResourceCache.acceptedEncodings("gzip, deflate"));
+        assertEquals(List.of(StaticResourceCache.BROTLI, StaticResourceCache.GZIP), StaticResourceCache.acceptedEncodings("gzip;q=0.8, br"));
+        assertEquals(List.of(StaticResourceCache.GZIP), StaticResourceCache.acceptedEncodings("br;q=0, gzip"));
+        assertEquals(List.of(StaticResourceCache.BROTLI), StaticResourceCache.acceptedEncodings("*, gzip;q=0"));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.Filter;
+
+import io.undertow.server.handlers.MetricsHandler;
+import io.undertow.servlet.api.FilterInfo;
+import io.undertow.servlet.api.InstanceHandle;
+import io.undertow.servlet.util.ImmediateInstanceFactory;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link UndertowMetricsCollector}.
+ */
+public class UndertowMetricsCollectorTestCase {
+
+    private static final long DELAY = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    public void servlet() {
+        UndertowMetricsCollector collector = new UndertowMetricsCollector();
+        assertNull(collector.getMetrics("servlet"));
+        assertNull(collector.getServletLatency("servlet"));
+
+        collector.registerMetric("servlet", new MetricsHandler(null));
+
+        assertNotNull(collector.getMetrics("servlet"));
+        assertNotNull(collector.getServletLatency("servlet"));
+        assertEquals(0, collector.getServletLatency("servlet").getCount());
+    }
+
+    @Test
+    public void filter() throws Exception {
+        UndertowMetricsCollector collector = new UndertowMetricsCollector();
+        Filter filter = (request, response, chain) -> {
+            sleep(DELAY);
+            chain.doFilter(request, response);
+        };
+        FilterInfo info = new FilterInfo("filter", Filter.class, new ImmediateInstanceFactory<>(filter));
+        collector.registerFilter(info);
+
+        InstanceHandle<? extends Filter> handle = info.getInstanceFactory().createInstance();
+        for (int i = 0; i < 3; ++i) {
+            handle.getInstance().doFilter(null, null, (request, response) -> sleep(2 * DELAY));
+        }
+
+        LatencyHistogram latency = collector.getFilterLatency("filter");
+        assertEquals(3, latency.getCount());
+        // Remainder of the filter chain must not be attributed to the filter
+        assertTrue(latency.getMean() >= DELAY);
+        assertTrue(latency.getMean() < 2 * DELAY);
+    }
+
+    private static void sleep(long nanos) {
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < nanos) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AdaptiveRequestLimiter}.
+ */
+public class AdaptiveRequestLimiterTestCase {
+
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void reject() {
+        AdaptiveRequestLimiter limiter = new AdaptiveRequestLimiter(2, 1, 10, 1, Long.MAX_VALUE, 1);
+
+        assertEquals(1, limiter.acquire());
+        assertEquals(2, limiter.acquire());
+        assertEquals(0, limiter.acquire());
+
+        assertEquals(2, limiter.getActiveRequests());
+        assertEquals(2, limiter.getRequestCount());
+        assertEquals(1, limiter.getRejectedRequestCount());
+
+        limiter.release(LATENCY, 1);
+        assertEquals(2, limiter.acquire());
+        limiter.release(LATENCY, 2);
+        limiter.release(LATENCY, 2);
+
+        assertEquals(0, limiter.getActiveRequests());
+        assertEquals(3, limiter.getRequestCount());
+        // Window never elapses, so limit never changes
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void adapt() {
+        // Update limit every 20 samples
+        AdaptiveRequestLimiter limiter = new AdaptiveRequestLimiter(30, 30, 40, 1, 0, 20);
+
+        // Stable latency while saturated should grow the limit up to its maximum
+        for (int i = 0; i < 100; ++i) {
+            this.saturate(limiter, LATENCY);
+        }
+        assertEquals(40, limiter.getLimit());
+
+        // Significantly increased latency should shrink the limit down to its minimum
+        for (int i = 0; i < 10; ++i) {
+            this.saturate(limiter, 10 * LATENCY);
+        }
+        assertEquals(30, limiter.getLimit());
+
+        // Demand well below the limit should not grow the limit
+        limiter = new AdaptiveRequestLimiter(20, 1, 40, 1, 0, 20);
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(1, limiter.acquire());
+            limiter.release(LATENCY, 1);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private void saturate(AdaptiveRequestLimiter limiter, long latency) {
+        int limit = limiter.getLimit();
+        for (int i = 0; i < limit; ++i) {
+            assertTrue(limiter.acquire() > 0);
+        }
+        for (int i = 0; i < limit; ++i) {
+            limiter.release(latency, limit);
+        }
+    }
+}